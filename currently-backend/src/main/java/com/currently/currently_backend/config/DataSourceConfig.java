@@ -0,0 +1,146 @@
+/*
+ * File: DataSourceConfig.java
+ * Description: SQLite connection pools: one writer connection and a pool of read-only
+ *              connections, chosen per transaction.
+ * Author: Liam Connell
+ * Date: 2026-10-17
+ *
+ * Notes:
+ * - The database runs in WAL mode, so readers never block the writer and the writer
+ *   never blocks readers; SQLite still allows only one writer, so the write pool has a
+ *   single connection instead of letting several fight over the lock.
+ * - That connection belongs to WriteQueue's thread: request handlers and background
+ *   jobs hand their writes to it rather than opening write transactions of their own.
+ *   Anything that still borrows the writer directly (Flyway at startup) waits at most
+ *   currently.datasource.write-connection-timeout-ms for it and then fails.
+ * - Read-only transactions (@Transactional(readOnly = true), and Spring Data's own
+ *   finder methods) are routed to the read pool; everything else goes to the writer.
+ *   The choice is made on the first statement, when the transaction's read-only flag
+ *   is known, by LazyConnectionDataSourceProxy.
+ * - Open-session-in-view is off (spring.jpa.open-in-view=false). A session held open
+ *   for the whole request keeps whichever connection its first statement was routed
+ *   to; if that is the writer, the request's own queued write waits on it until the
+ *   connection timeout.
+ * - Per-connection pragmas: synchronous (NORMAL is durable across application crashes
+ *   in WAL mode; only an OS crash can lose the last commits), page cache size, memory
+ *   mapped I/O size and busy timeout. Set under currently.sqlite.* in
+ *   application.properties.
+ */
+
+package com.currently.currently_backend.config;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.sqlite.SQLiteConfig;
+import org.sqlite.SQLiteDataSource;
+
+import javax.sql.DataSource;
+
+@Configuration
+public class DataSourceConfig {
+
+    private final String url;
+    private final SQLiteConfig.SynchronousMode synchronous;
+    private final int cacheSizeKiB;
+    private final long mmapSizeBytes;
+    private final int busyTimeoutMillis;
+    private final long writeConnectionTimeoutMillis;
+
+    public DataSourceConfig(
+            @Value("${spring.datasource.url}") String url,
+            @Value("${currently.sqlite.synchronous:NORMAL}") String synchronous,
+            @Value("${currently.sqlite.cache-size-kib:16384}") int cacheSizeKiB,
+            @Value("${currently.sqlite.mmap-size-mb:256}") long mmapSizeMb,
+            @Value("${currently.sqlite.busy-timeout-ms:5000}") int busyTimeoutMillis,
+            @Value("${currently.datasource.write-connection-timeout-ms:5000}") long writeConnectionTimeoutMillis
+    ) {
+        this.url = url;
+        this.synchronous = SQLiteConfig.SynchronousMode.valueOf(synchronous.trim().toUpperCase());
+        this.cacheSizeKiB = cacheSizeKiB;
+        this.mmapSizeBytes = mmapSizeMb * 1024 * 1024;
+        this.busyTimeoutMillis = busyTimeoutMillis;
+        this.writeConnectionTimeoutMillis = writeConnectionTimeoutMillis;
+    }
+
+    /*
+     * Bean: writeDataSource
+     * Purpose: The single writer connection. Opening it switches the database to WAL
+     *          (a setting stored in the file), so it is created before the read pool.
+     */
+    @Bean(destroyMethod = "close")
+    public HikariDataSource writeDataSource() {
+        SQLiteConfig config = connectionConfig();
+        config.setJournalMode(SQLiteConfig.JournalMode.WAL);
+
+        HikariConfig pool = poolConfig("sqlite-write", config);
+        pool.setMaximumPoolSize(1);
+        // Hikari's minimum is 250 ms
+        pool.setConnectionTimeout(Math.max(250, writeConnectionTimeoutMillis));
+        return new HikariDataSource(pool);
+    }
+
+    /*
+     * Bean: readDataSource
+     * Purpose: Read-only connections, one per core unless currently.datasource.read-pool-size
+     *          says otherwise.
+     */
+    @Bean(destroyMethod = "close")
+    public HikariDataSource readDataSource(
+            @Qualifier("writeDataSource") HikariDataSource writeDataSource,
+            @Value("${currently.datasource.read-pool-size:0}") int readPoolSize
+    ) {
+        // Opened read-only, so a stray write on a read connection fails instead of
+        // taking the write lock
+        SQLiteConfig config = connectionConfig();
+        config.setReadOnly(true);
+
+        HikariConfig pool = poolConfig("sqlite-read", config);
+        pool.setMaximumPoolSize(readPoolSize > 0 ? readPoolSize : Runtime.getRuntime().availableProcessors());
+        // Hikari sets the flag on every new connection; it has to match the open mode
+        pool.setReadOnly(true);
+        return new HikariDataSource(pool);
+    }
+
+    /*
+     * Bean: dataSource
+     * Purpose: The DataSource JPA, JdbcTemplate and Flyway use: the writer, or the read
+     *          pool for read-only transactions.
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(
+            @Qualifier("writeDataSource") HikariDataSource writeDataSource,
+            @Qualifier("readDataSource") HikariDataSource readDataSource
+    ) {
+        LazyConnectionDataSourceProxy routing = new LazyConnectionDataSourceProxy(writeDataSource);
+        routing.setReadOnlyDataSource(readDataSource);
+        return routing;
+    }
+
+    private SQLiteConfig connectionConfig() {
+        SQLiteConfig config = new SQLiteConfig();
+        config.setSynchronous(synchronous);
+        // Negative cache_size is in KiB rather than pages
+        config.setCacheSize(-cacheSizeKiB);
+        config.setBusyTimeout(busyTimeoutMillis);
+        return config;
+    }
+
+    private HikariConfig poolConfig(String name, SQLiteConfig config) {
+        SQLiteDataSource sqlite = new SQLiteDataSource(config);
+        sqlite.setUrl(url);
+
+        HikariConfig pool = new HikariConfig();
+        pool.setPoolName(name);
+        pool.setDataSource(sqlite);
+        // Not covered by SQLiteConfig
+        pool.setConnectionInitSql("pragma mmap_size = " + mmapSizeBytes);
+        return pool;
+    }
+}
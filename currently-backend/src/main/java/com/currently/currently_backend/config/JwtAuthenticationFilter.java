@@ -1,16 +1,16 @@
 /*
  * File: JwtAuthenticationFilter.java
  * Description: Reads JWT from Authorization header, validates it, and sets the
- *              authenticated user in Spring Security's context.
+ *              authenticated user (id and email from the token's claims) in Spring
+ *              Security's context.
  * Author: Liam Connell
  * Date: 2025-12-01
  */
 
 package com.currently.currently_backend.config;
 
+import com.currently.currently_backend.util.AuthenticatedUser;
 import com.currently.currently_backend.util.JwtUtil;
-import com.currently.currently_backend.model.User;
-import com.currently.currently_backend.repository.UserRepository;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -22,16 +22,15 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.List;
 
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtUtil jwtUtil;
-    private final UserRepository userRepository;
 
-    public JwtAuthenticationFilter(JwtUtil jwtUtil, UserRepository userRepository) {
+    public JwtAuthenticationFilter(JwtUtil jwtUtil) {
         this.jwtUtil = jwtUtil;
-        this.userRepository = userRepository;
     }
 
     @Override
@@ -42,7 +41,6 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         final String authHeader = request.getHeader("Authorization");
         final String token;
-        final String email;
 
         if (authHeader == null || !authHeader.startsWith("Bearer ")) {
             chain.doFilter(request, response);
@@ -51,25 +49,24 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         token = authHeader.substring(7);
 
-        email = jwtUtil.extractUsername(token);
-        if (email != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+        // Verifies signature and expiry once (or finds the token already verified);
+        // null for any token that is not valid
+        AuthenticatedUser user = jwtUtil.verify(token);
 
-            User user = userRepository.findByEmail(email).orElse(null);
+        if (user != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+            // The principal carries the id, so services never look the user up
+            UsernamePasswordAuthenticationToken authToken =
+                    new UsernamePasswordAuthenticationToken(
+                            user,
+                            null,
+                            List.of() // no roles needed for this project
+                    );
 
-            if (user != null && jwtUtil.validateToken(token, email)) {
-                UsernamePasswordAuthenticationToken authToken =
-                        new UsernamePasswordAuthenticationToken(
-                                user.getEmail(),
-                                null,
-                                null // no roles needed for this project
-                        );
+            authToken.setDetails(
+                    new WebAuthenticationDetailsSource().buildDetails(request)
+            );
 
-                authToken.setDetails(
-                        new WebAuthenticationDetailsSource().buildDetails(request)
-                );
-
-                SecurityContextHolder.getContext().setAuthentication(authToken);
-            }
+            SecurityContextHolder.getContext().setAuthentication(authToken);
         }
 
         chain.doFilter(request, response);
@@ -9,6 +9,7 @@
 package com.currently.currently_backend.config;
 
 import com.currently.currently_backend.config.JwtAuthenticationFilter;
+import jakarta.servlet.DispatcherType;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -51,6 +52,10 @@ public class SecurityConfig {
 
                 // Authorization rules
                 .authorizeHttpRequests(auth -> auth
+                        // Streamed responses finish on an ASYNC re-dispatch after the
+                        // original (authenticated) request has already been checked
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+
                         // Public: authentication endpoints
                         .requestMatchers("/api/auth/**").permitAll()
 
@@ -7,13 +7,18 @@
  * Notes:
  * - Public endpoint (no authentication) as per current Sprint 3 requirements.
  * - Backend reads from static JSON; no DB storage at this stage.
+ * - The catalogue body is served from ApplianceResponseCache (serialized once per
+ *   catalogue version, with strong ETags for conditional GETs).
  */
 
 package com.currently.currently_backend.controller;
 
 import com.currently.currently_backend.model.Appliance;
+import com.currently.currently_backend.service.ApplianceResponseCache;
 import com.currently.currently_backend.service.ApplianceService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -23,15 +28,38 @@ import java.util.List;
 @CrossOrigin(origins = "*")
 public class ApplianceController {
 
+    private static final int MAX_SEARCH_LIMIT = 50;
+
     private final ApplianceService applianceService;
+    private final ApplianceResponseCache responseCache;
 
     @Autowired
-    public ApplianceController(ApplianceService applianceService) {
+    public ApplianceController(ApplianceService applianceService, ApplianceResponseCache responseCache) {
         this.applianceService = applianceService;
+        this.responseCache = responseCache;
     }
 
+    // Endpoint: GET /api/appliances
+    // Purpose: Return the full catalogue as prebuilt JSON (gzip when accepted),
+    //          or 304 Not Modified when If-None-Match carries the current ETag.
     @GetMapping
-    public List<Appliance> getAllAppliances() {
-        return applianceService.getAllAppliances();
+    public ResponseEntity<byte[]> getAllAppliances(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding
+    ) {
+        return responseCache.respond(ifNoneMatch, acceptEncoding);
+    }
+
+    // Endpoint: GET /api/appliances/search?q=&category=&limit=
+    // Purpose: Ranked typeahead for the appliance picker, so the client does not
+    //          need to download and filter the whole catalogue.
+    @GetMapping("/search")
+    public List<Appliance> searchAppliances(
+            @RequestParam(value = "q", required = false) String query,
+            @RequestParam(value = "category", required = false) String category,
+            @RequestParam(value = "limit", defaultValue = "10") int limit
+    ) {
+        int boundedLimit = Math.max(1, Math.min(limit, MAX_SEARCH_LIMIT));
+        return applianceService.searchAppliances(query, category, boundedLimit);
     }
 }
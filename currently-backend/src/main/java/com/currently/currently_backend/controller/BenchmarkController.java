@@ -0,0 +1,35 @@
+/*
+ * File: BenchmarkController.java
+ * Description: REST endpoint comparing the current household with similar homes.
+ * Author: Liam Connell
+ * Date: 2026-10-17
+ */
+
+package com.currently.currently_backend.controller;
+
+import com.currently.currently_backend.dto.BenchmarkResponse;
+import com.currently.currently_backend.service.BenchmarkService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Class: BenchmarkController
+ * Purpose: Expose the "homes like yours" percentile for the current user.
+ */
+@RestController
+@RequestMapping("/api/users/me/benchmark")
+public class BenchmarkController {
+
+    private final BenchmarkService benchmarkService;
+
+    public BenchmarkController(BenchmarkService benchmarkService) {
+        this.benchmarkService = benchmarkService;
+    }
+
+    // Endpoint: GET /api/users/me/benchmark
+    // Purpose: Where the household's consumption ranks among similar households.
+    @GetMapping
+    public ResponseEntity<BenchmarkResponse> getMyBenchmark() {
+        return ResponseEntity.ok(benchmarkService.getMyBenchmark());
+    }
+}
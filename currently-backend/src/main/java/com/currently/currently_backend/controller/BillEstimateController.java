@@ -0,0 +1,38 @@
+/*
+ * File: BillEstimateController.java
+ * Description: REST endpoint for the current user's monthly bill range.
+ * Author: Liam Connell
+ * Date: 2026-10-17
+ */
+
+package com.currently.currently_backend.controller;
+
+import com.currently.currently_backend.dto.BillEstimateResponse;
+import com.currently.currently_backend.service.BillEstimateService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Class: BillEstimateController
+ * Purpose: Expose the sampled P10/P50/P90 monthly bill for the household and its rooms.
+ */
+@RestController
+@RequestMapping("/api/users/me/estimate")
+public class BillEstimateController {
+
+    private final BillEstimateService billEstimateService;
+
+    public BillEstimateController(BillEstimateService billEstimateService) {
+        this.billEstimateService = billEstimateService;
+    }
+
+    // Endpoint: GET /api/users/me/estimate?samples=20000&seed=
+    // Purpose: Monthly kWh and bill ranges, treating wattage and usage as uncertain.
+    @GetMapping
+    public ResponseEntity<BillEstimateResponse> getMyEstimate(
+            @RequestParam(required = false) Integer samples,
+            @RequestParam(required = false) Long seed
+    ) {
+        return ResponseEntity.ok(billEstimateService.estimateMyBill(samples, seed));
+    }
+}
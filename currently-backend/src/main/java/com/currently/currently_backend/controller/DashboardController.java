@@ -0,0 +1,46 @@
+/*
+ * File: DashboardController.java
+ * Description: REST endpoints for the current user's household dashboard and totals.
+ * Author: Liam Connell
+ * Date: 2026-10-17
+ */
+
+package com.currently.currently_backend.controller;
+
+import com.currently.currently_backend.dto.DashboardResponse;
+import com.currently.currently_backend.dto.HouseholdTotalsResponse;
+import com.currently.currently_backend.service.DashboardService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Class: DashboardController
+ * Purpose: Serve household totals grouped by room, floor, category and usage type in
+ *          one response, instead of the client combining the appliance and room lists.
+ */
+@RestController
+@RequestMapping("/api/users/me")
+public class DashboardController {
+
+    private final DashboardService dashboardService;
+
+    public DashboardController(DashboardService dashboardService) {
+        this.dashboardService = dashboardService;
+    }
+
+    // Endpoint: GET /api/users/me/dashboard
+    // Purpose: Return the dashboard totals for the current user.
+    @GetMapping("/dashboard")
+    public ResponseEntity<DashboardResponse> getMyDashboard() {
+        return ResponseEntity.ok(dashboardService.getMyDashboard());
+    }
+
+    // Endpoint: GET /api/users/me/totals
+    // Purpose: Return the household totals kept up to date by the write paths.
+    @GetMapping("/totals")
+    public ResponseEntity<HouseholdTotalsResponse> getMyTotals() {
+        return ResponseEntity.ok(dashboardService.getMyTotals());
+    }
+}
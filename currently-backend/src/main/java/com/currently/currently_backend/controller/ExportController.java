@@ -0,0 +1,54 @@
+/*
+ * File: ExportController.java
+ * Description: REST endpoint for downloading everything recorded for the current user.
+ * Author: Liam Connell
+ * Date: 2026-10-17
+ */
+
+package com.currently.currently_backend.controller;
+
+import com.currently.currently_backend.service.ExportService;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.LocalDate;
+
+/**
+ * Class: ExportController
+ * Purpose: Serve the household export as a file download, streamed as it is read.
+ */
+@RestController
+@RequestMapping("/api/users/me/export")
+public class ExportController {
+
+    private static final MediaType TEXT_CSV = new MediaType("text", "csv");
+
+    private final ExportService exportService;
+
+    public ExportController(ExportService exportService) {
+        this.exportService = exportService;
+    }
+
+    // Endpoint: GET /api/users/me/export?format=csv&from=2026-01-01&to=2026-03-31
+    // Purpose: Rooms, appliances with derived kWh/cost, totals and history (json or csv).
+    @GetMapping
+    public ResponseEntity<StreamingResponseBody> exportMyData(
+            @RequestParam(defaultValue = ExportService.FORMAT_JSON) String format,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to
+    ) {
+        StreamingResponseBody body = exportService.streamMyExport(format, from, to);
+        boolean csv = ExportService.FORMAT_CSV.equalsIgnoreCase(format.trim());
+        return ResponseEntity.ok()
+                .contentType(csv ? TEXT_CSV : MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename(csv ? "currently-export.csv" : "currently-export.json")
+                        .build().toString())
+                .body(body);
+    }
+}
@@ -0,0 +1,45 @@
+/*
+ * File: HistoryController.java
+ * Description: REST endpoint for the current user's estimate history.
+ * Author: Liam Connell
+ * Date: 2026-10-17
+ */
+
+package com.currently.currently_backend.controller;
+
+import com.currently.currently_backend.service.HistoryService;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.LocalDate;
+
+/**
+ * Class: HistoryController
+ * Purpose: Expose recorded daily estimates so users can see how their footprint changed.
+ *          The body is streamed from the history store rather than built in memory.
+ */
+@RestController
+@RequestMapping("/api/users/me/history")
+public class HistoryController {
+
+    private final HistoryService historyService;
+
+    public HistoryController(HistoryService historyService) {
+        this.historyService = historyService;
+    }
+
+    // Endpoint: GET /api/users/me/history?from=2026-01-01&to=2026-03-31
+    // Purpose: Daily kWh, cost and per-room kWh for each recorded day in the range.
+    @GetMapping
+    public ResponseEntity<StreamingResponseBody> getMyHistory(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to
+    ) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(historyService.streamMyHistory(from, to));
+    }
+}
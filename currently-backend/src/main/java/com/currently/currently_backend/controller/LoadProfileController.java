@@ -0,0 +1,39 @@
+/*
+ * File: LoadProfileController.java
+ * Description: REST endpoint for the current user's simulated hourly load profile.
+ * Author: Liam Connell
+ * Date: 2026-10-17
+ */
+
+package com.currently.currently_backend.controller;
+
+import com.currently.currently_backend.dto.LoadProfileResponse;
+import com.currently.currently_backend.service.LoadProfileService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Class: LoadProfileController
+ * Purpose: Expose peak demand, load factor, night-time use and the hourly curve
+ *          behind them, for a typical day or a whole year.
+ */
+@RestController
+@RequestMapping("/api/users/me/load-profile")
+public class LoadProfileController {
+
+    private final LoadProfileService loadProfileService;
+
+    public LoadProfileController(LoadProfileService loadProfileService) {
+        this.loadProfileService = loadProfileService;
+    }
+
+    // Endpoint: GET /api/users/me/load-profile?period=day|year&year=2026
+    // Purpose: Return the household and per-room load profile.
+    @GetMapping
+    public ResponseEntity<LoadProfileResponse> getMyLoadProfile(
+            @RequestParam(defaultValue = "day") String period,
+            @RequestParam(required = false) Integer year
+    ) {
+        return ResponseEntity.ok(loadProfileService.getMyLoadProfile(period, year));
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ * File: MeterReadingController.java
+ * Description: REST endpoints for uploading meter and bill readings and reading the
+ *              resulting calibration.
+ * Author: Liam Connell
+ * Date: 2026-10-17
+ */
+
+package com.currently.currently_backend.controller;
+
+import com.currently.currently_backend.dto.CalibrationResponse;
+import com.currently.currently_backend.dto.ReadingImportResponse;
+import com.currently.currently_backend.service.MeterReadingService;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Class: MeterReadingController
+ * Purpose: Accept a CSV export either as a multipart "file" field or as the raw request
+ *          body. Both are handed to the service as a stream; the upload is never held
+ *          in memory.
+ */
+@RestController
+@RequestMapping("/api/users/me/readings")
+public class MeterReadingController {
+
+    private final MeterReadingService meterReadingService;
+
+    public MeterReadingController(MeterReadingService meterReadingService) {
+        this.meterReadingService = meterReadingService;
+    }
+
+    // Endpoint: POST /api/users/me/readings?source=meter&intervalMinutes=30 (multipart "file")
+    // Purpose: Import a smart-meter (source=meter) or bill (source=bill) CSV export.
+    @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<ReadingImportResponse> uploadMyReadingsFile(
+            @RequestParam("file") MultipartFile file,
+            @RequestParam(defaultValue = "meter") String source,
+            @RequestParam(defaultValue = "30") int intervalMinutes
+    ) throws IOException {
+        try (InputStream in = file.getInputStream()) {
+            return ResponseEntity.ok(meterReadingService.importMyReadings(in, source, intervalMinutes));
+        }
+    }
+
+    // Endpoint: POST /api/users/me/readings?source=meter&intervalMinutes=30 (text/csv body)
+    // Purpose: Same import, with the CSV as the request body.
+    @PostMapping(consumes = {"text/csv", MediaType.TEXT_PLAIN_VALUE, MediaType.APPLICATION_OCTET_STREAM_VALUE})
+    public ResponseEntity<ReadingImportResponse> uploadMyReadings(
+            InputStream body,
+            @RequestParam(defaultValue = "meter") String source,
+            @RequestParam(defaultValue = "30") int intervalMinutes
+    ) {
+        return ResponseEntity.ok(meterReadingService.importMyReadings(body, source, intervalMinutes));
+    }
+
+    // Endpoint: GET /api/users/me/readings/calibration
+    // Purpose: Measured vs estimated daily kWh and the calibration factor.
+    @GetMapping("/calibration")
+    public ResponseEntity<CalibrationResponse> getMyCalibration() {
+        return ResponseEntity.ok(meterReadingService.getMyCalibration());
+    }
+}
@@ -0,0 +1,39 @@
+/*
+ * File: RecommendationController.java
+ * Description: REST endpoint for ranked savings recommendations.
+ * Author: Liam Connell
+ * Date: 2026-10-17
+ */
+
+package com.currently.currently_backend.controller;
+
+import com.currently.currently_backend.dto.RecommendationResponse;
+import com.currently.currently_backend.service.RecommendationService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * Class: RecommendationController
+ * Purpose: Return the current user's best savings actions, largest saving first.
+ */
+@RestController
+@RequestMapping("/api/users/me/recommendations")
+public class RecommendationController {
+
+    private final RecommendationService recommendationService;
+
+    public RecommendationController(RecommendationService recommendationService) {
+        this.recommendationService = recommendationService;
+    }
+
+    // Endpoint: GET /api/users/me/recommendations?limit=5
+    // Purpose: Top recommendations for the current household.
+    @GetMapping
+    public ResponseEntity<List<RecommendationResponse>> getMyRecommendations(
+            @RequestParam(defaultValue = "5") int limit
+    ) {
+        return ResponseEntity.ok(recommendationService.getMyRecommendations(limit));
+    }
+}
@@ -28,6 +28,12 @@ public class RoomController {
         return ResponseEntity.ok(roomService.createRoom(request));
     }
 
+    // One request for a whole house's rooms
+    @PostMapping("/bulk")
+    public ResponseEntity<List<RoomResponse>> createRooms(@RequestBody List<RoomRequest> requests) {
+        return ResponseEntity.ok(roomService.createRooms(requests));
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<RoomResponse> updateRoom(
             @PathVariable Long id,
@@ -0,0 +1,40 @@
+/*
+ * File: ScenarioController.java
+ * Description: REST endpoint for evaluating what-if scenarios on the current user's
+ *              household.
+ * Author: Liam Connell
+ * Date: 2026-10-17
+ */
+
+package com.currently.currently_backend.controller;
+
+import com.currently.currently_backend.dto.ScenarioRequest;
+import com.currently.currently_backend.dto.ScenarioResponse;
+import com.currently.currently_backend.service.ScenarioService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * Class: ScenarioController
+ * Purpose: Accept a batch of hypothetical changes and return their cost and kWh
+ *          impact. Stateless: nothing is saved.
+ */
+@RestController
+@RequestMapping("/api/users/me/scenarios")
+public class ScenarioController {
+
+    private final ScenarioService scenarioService;
+
+    public ScenarioController(ScenarioService scenarioService) {
+        this.scenarioService = scenarioService;
+    }
+
+    // Endpoint: POST /api/users/me/scenarios
+    // Purpose: Evaluate each scenario against the current household.
+    @PostMapping
+    public ResponseEntity<ScenarioResponse> evaluateScenarios(@RequestBody List<ScenarioRequest> scenarios) {
+        return ResponseEntity.ok(scenarioService.evaluateMyScenarios(scenarios));
+    }
+}
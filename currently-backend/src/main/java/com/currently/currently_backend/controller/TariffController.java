@@ -0,0 +1,51 @@
+/*
+ * File: TariffController.java
+ * Description: REST endpoints for the current user's electricity tariff plan.
+ * Author: Liam Connell
+ * Date: 2026-10-17
+ */
+
+package com.currently.currently_backend.controller;
+
+import com.currently.currently_backend.dto.TariffPlanDto;
+import com.currently.currently_backend.service.TariffService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Class: TariffController
+ * Purpose: Define HTTP endpoints under /api/users/me/tariff to view, replace and
+ *          remove the tariff used to price the user's appliances.
+ */
+@RestController
+@RequestMapping("/api/users/me/tariff")
+public class TariffController {
+
+    private final TariffService tariffService;
+
+    public TariffController(TariffService tariffService) {
+        this.tariffService = tariffService;
+    }
+
+    // Endpoint: GET /api/users/me/tariff
+    // Purpose: Return the user's plan (or the default flat rate).
+    @GetMapping
+    public ResponseEntity<TariffPlanDto> getMyTariff() {
+        return ResponseEntity.ok(tariffService.getMyPlan());
+    }
+
+    // Endpoint: PUT /api/users/me/tariff
+    // Purpose: Replace the user's plan with a standing charge and time-of-use bands.
+    @PutMapping
+    public ResponseEntity<TariffPlanDto> updateMyTariff(@RequestBody TariffPlanDto request) {
+        return ResponseEntity.ok(tariffService.updateMyPlan(request));
+    }
+
+    // Endpoint: DELETE /api/users/me/tariff
+    // Purpose: Go back to the default flat rate.
+    @DeleteMapping
+    public ResponseEntity<Void> deleteMyTariff() {
+        tariffService.deleteMyPlan();
+        return ResponseEntity.noContent().build();
+    }
+}
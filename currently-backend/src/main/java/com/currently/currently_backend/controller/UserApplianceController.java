@@ -49,6 +49,16 @@ public class UserApplianceController {
         return ResponseEntity.ok(created);
     }
 
+    // Endpoint: POST /api/users/me/appliances/bulk
+    // Purpose: Create many user appliances in one request; all or none are created.
+    @PostMapping("/bulk")
+    public ResponseEntity<List<UserApplianceResponse>> createMyAppliances(
+            @RequestBody List<UserApplianceRequest> requests
+    ) {
+        List<UserApplianceResponse> created = userApplianceService.createUserAppliances(requests);
+        return ResponseEntity.ok(created);
+    }
+
     // Endpoint: PUT /api/users/me/appliances/{id}
     // Purpose: Update custom name or usage values for an existing user appliance.
     @PutMapping("/{id}")
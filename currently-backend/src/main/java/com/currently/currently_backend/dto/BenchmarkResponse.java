@@ -0,0 +1,115 @@
+/*
+ * File: BenchmarkResponse.java
+ * Description: Response body for the "homes like yours" benchmark endpoint.
+ * Author: Liam Connell
+ * Date: 2026-10-17
+ */
+
+package com.currently.currently_backend.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Class: BenchmarkResponse
+ * Purpose: The household's cohort, how it ranks within it and the cohort's spread.
+ *          comparedWith is "cohort", "rooms and floors" or "all households" when the
+ *          cohort is too small, or "none" (and nothing else is set) for a household
+ *          without consumption.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BenchmarkResponse {
+
+    private String rooms;
+    private String floors;
+    private String usageProfile;
+    private String comparedWith;
+    private Long households;
+    private Double monthlyKWh;
+
+    // Share of compared households using less, 0-100
+    private Double percentile;
+
+    private Double p25MonthlyKWh;
+    private Double medianMonthlyKWh;
+    private Double p75MonthlyKWh;
+
+    public String getRooms() {
+        return rooms;
+    }
+
+    public void setRooms(String rooms) {
+        this.rooms = rooms;
+    }
+
+    public String getFloors() {
+        return floors;
+    }
+
+    public void setFloors(String floors) {
+        this.floors = floors;
+    }
+
+    public String getUsageProfile() {
+        return usageProfile;
+    }
+
+    public void setUsageProfile(String usageProfile) {
+        this.usageProfile = usageProfile;
+    }
+
+    public String getComparedWith() {
+        return comparedWith;
+    }
+
+    public void setComparedWith(String comparedWith) {
+        this.comparedWith = comparedWith;
+    }
+
+    public Long getHouseholds() {
+        return households;
+    }
+
+    public void setHouseholds(Long households) {
+        this.households = households;
+    }
+
+    public Double getMonthlyKWh() {
+        return monthlyKWh;
+    }
+
+    public void setMonthlyKWh(Double monthlyKWh) {
+        this.monthlyKWh = monthlyKWh;
+    }
+
+    public Double getPercentile() {
+        return percentile;
+    }
+
+    public void setPercentile(Double percentile) {
+        this.percentile = percentile;
+    }
+
+    public Double getP25MonthlyKWh() {
+        return p25MonthlyKWh;
+    }
+
+    public void setP25MonthlyKWh(Double p25MonthlyKWh) {
+        this.p25MonthlyKWh = p25MonthlyKWh;
+    }
+
+    public Double getMedianMonthlyKWh() {
+        return medianMonthlyKWh;
+    }
+
+    public void setMedianMonthlyKWh(Double medianMonthlyKWh) {
+        this.medianMonthlyKWh = medianMonthlyKWh;
+    }
+
+    public Double getP75MonthlyKWh() {
+        return p75MonthlyKWh;
+    }
+
+    public void setP75MonthlyKWh(Double p75MonthlyKWh) {
+        this.p75MonthlyKWh = p75MonthlyKWh;
+    }
+}
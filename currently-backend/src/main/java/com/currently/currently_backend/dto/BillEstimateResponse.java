@@ -0,0 +1,64 @@
+/*
+ * File: BillEstimateResponse.java
+ * Description: Response body for the monthly bill estimate endpoint.
+ * Author: Liam Connell
+ * Date: 2026-10-17
+ */
+
+package com.currently.currently_backend.dto;
+
+import java.util.List;
+
+/**
+ * Class: BillEstimateResponse
+ * Purpose: Sampled monthly kWh and bill ranges for the household (bill includes the
+ *          standing charge) and for each room, next to the single point estimate.
+ */
+public class BillEstimateResponse {
+
+    private int samples;
+    private double pointMonthlyCost;
+    private BillRange monthlyKWh;
+    private BillRange monthlyCost;
+    private List<RoomBillEstimate> rooms;
+
+    public int getSamples() {
+        return samples;
+    }
+
+    public void setSamples(int samples) {
+        this.samples = samples;
+    }
+
+    public double getPointMonthlyCost() {
+        return pointMonthlyCost;
+    }
+
+    public void setPointMonthlyCost(double pointMonthlyCost) {
+        this.pointMonthlyCost = pointMonthlyCost;
+    }
+
+    public BillRange getMonthlyKWh() {
+        return monthlyKWh;
+    }
+
+    public void setMonthlyKWh(BillRange monthlyKWh) {
+        this.monthlyKWh = monthlyKWh;
+    }
+
+    public BillRange getMonthlyCost() {
+        return monthlyCost;
+    }
+
+    public void setMonthlyCost(BillRange monthlyCost) {
+        this.monthlyCost = monthlyCost;
+    }
+
+    public List<RoomBillEstimate> getRooms() {
+        return rooms;
+    }
+
+    public void setRooms(List<RoomBillEstimate> rooms) {
+        this.rooms = rooms;
+    }
+}
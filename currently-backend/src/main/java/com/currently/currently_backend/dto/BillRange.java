@@ -0,0 +1,52 @@
+/*
+ * File: BillRange.java
+ * Description: P10/P50/P90 range of an estimated monthly figure.
+ * Author: Liam Connell
+ * Date: 2026-10-17
+ */
+
+package com.currently.currently_backend.dto;
+
+/**
+ * Class: BillRange
+ * Purpose: Low (P10), typical (P50) and high (P90) value of a sampled estimate.
+ */
+public class BillRange {
+
+    private double p10;
+    private double p50;
+    private double p90;
+
+    public BillRange() {
+    }
+
+    public BillRange(double p10, double p50, double p90) {
+        this.p10 = p10;
+        this.p50 = p50;
+        this.p90 = p90;
+    }
+
+    public double getP10() {
+        return p10;
+    }
+
+    public void setP10(double p10) {
+        this.p10 = p10;
+    }
+
+    public double getP50() {
+        return p50;
+    }
+
+    public void setP50(double p50) {
+        this.p50 = p50;
+    }
+
+    public double getP90() {
+        return p90;
+    }
+
+    public void setP90(double p90) {
+        this.p90 = p90;
+    }
+}
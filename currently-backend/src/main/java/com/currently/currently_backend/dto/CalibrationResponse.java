@@ -0,0 +1,97 @@
+/*
+ * File: CalibrationResponse.java
+ * Description: Response body comparing imported readings with the household estimate.
+ * Author: Liam Connell
+ * Date: 2026-10-17
+ */
+
+package com.currently.currently_backend.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.time.LocalDateTime;
+
+/**
+ * Class: CalibrationResponse
+ * Purpose: Measured daily kWh from the latest window of imported readings next to the
+ *          current estimate. calibrationFactor = measured / estimated; above 1 means the
+ *          appliance list under-estimates. Only estimatedDailyKWh is set before any import.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class CalibrationResponse {
+
+    // "meter" or "bill"
+    private String source;
+
+    private Long readings;
+    private LocalDateTime from;
+    private LocalDateTime to;
+    private Double measuredDays;
+    private Double measuredDailyKWh;
+    private Double estimatedDailyKWh;
+    private Double calibrationFactor;
+
+    public String getSource() {
+        return source;
+    }
+
+    public void setSource(String source) {
+        this.source = source;
+    }
+
+    public Long getReadings() {
+        return readings;
+    }
+
+    public void setReadings(Long readings) {
+        this.readings = readings;
+    }
+
+    public LocalDateTime getFrom() {
+        return from;
+    }
+
+    public void setFrom(LocalDateTime from) {
+        this.from = from;
+    }
+
+    public LocalDateTime getTo() {
+        return to;
+    }
+
+    public void setTo(LocalDateTime to) {
+        this.to = to;
+    }
+
+    public Double getMeasuredDays() {
+        return measuredDays;
+    }
+
+    public void setMeasuredDays(Double measuredDays) {
+        this.measuredDays = measuredDays;
+    }
+
+    public Double getMeasuredDailyKWh() {
+        return measuredDailyKWh;
+    }
+
+    public void setMeasuredDailyKWh(Double measuredDailyKWh) {
+        this.measuredDailyKWh = measuredDailyKWh;
+    }
+
+    public Double getEstimatedDailyKWh() {
+        return estimatedDailyKWh;
+    }
+
+    public void setEstimatedDailyKWh(Double estimatedDailyKWh) {
+        this.estimatedDailyKWh = estimatedDailyKWh;
+    }
+
+    public Double getCalibrationFactor() {
+        return calibrationFactor;
+    }
+
+    public void setCalibrationFactor(Double calibrationFactor) {
+        this.calibrationFactor = calibrationFactor;
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * File: DashboardGroup.java
+ * Description: One group (room, floor, category or usage type) of the dashboard totals.
+ * Author: Liam Connell
+ * Date: 2026-10-17
+ */
+
+package com.currently.currently_backend.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Class: DashboardGroup
+ * Purpose: Totals for the appliances sharing one key. Costs are energy only; the standing
+ *          charge is reported once, on the household totals.
+ */
+public class DashboardGroup {
+
+    // Group key: room name, floor label, catalogue category or usage type
+    private String key;
+
+    // Room groups only
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Long roomId;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String floorLabel;
+
+    private int applianceCount;
+    private double dailyKWh;
+    private double dailyCost;
+    private double monthlyKWh;
+    private double monthlyCost;
+    private double annualKWh;
+    private double annualCost;
+
+    // Share of the household's daily kWh, 0..1
+    private double share;
+
+    public String getKey() {
+        return key;
+    }
+
+    public void setKey(String key) {
+        this.key = key;
+    }
+
+    public Long getRoomId() {
+        return roomId;
+    }
+
+    public void setRoomId(Long roomId) {
+        this.roomId = roomId;
+    }
+
+    public String getFloorLabel() {
+        return floorLabel;
+    }
+
+    public void setFloorLabel(String floorLabel) {
+        this.floorLabel = floorLabel;
+    }
+
+    public int getApplianceCount() {
+        return applianceCount;
+    }
+
+    public void setApplianceCount(int applianceCount) {
+        this.applianceCount = applianceCount;
+    }
+
+    public double getDailyKWh() {
+        return dailyKWh;
+    }
+
+    public void setDailyKWh(double dailyKWh) {
+        this.dailyKWh = dailyKWh;
+    }
+
+    public double getDailyCost() {
+        return dailyCost;
+    }
+
+    public void setDailyCost(double dailyCost) {
+        this.dailyCost = dailyCost;
+    }
+
+    public double getMonthlyKWh() {
+        return monthlyKWh;
+    }
+
+    public void setMonthlyKWh(double monthlyKWh) {
+        this.monthlyKWh = monthlyKWh;
+    }
+
+    public double getMonthlyCost() {
+        return monthlyCost;
+    }
+
+    public void setMonthlyCost(double monthlyCost) {
+        this.monthlyCost = monthlyCost;
+    }
+
+    public double getAnnualKWh() {
+        return annualKWh;
+    }
+
+    public void setAnnualKWh(double annualKWh) {
+        this.annualKWh = annualKWh;
+    }
+
+    public double getAnnualCost() {
+        return annualCost;
+    }
+
+    public void setAnnualCost(double annualCost) {
+        this.annualCost = annualCost;
+    }
+
+    public double getShare() {
+        return share;
+    }
+
+    public void setShare(double share) {
+        this.share = share;
+    }
+}
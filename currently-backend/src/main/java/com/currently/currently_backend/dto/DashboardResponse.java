@@ -0,0 +1,152 @@
+/*
+ * File: DashboardResponse.java
+ * Description: Response body for GET /api/users/me/dashboard.
+ * Author: Liam Connell
+ * Date: 2026-10-17
+ */
+
+package com.currently.currently_backend.dto;
+
+import java.util.List;
+
+/**
+ * Class: DashboardResponse
+ * Purpose: Household totals plus the same totals grouped by room, floor label, catalogue
+ *          category and usage type, so the client does not need to add anything up.
+ */
+public class DashboardResponse {
+
+    private int applianceCount;
+    private int roomCount;
+
+    // Household totals; costs include the standing charge
+    private double dailyKWh;
+    private double dailyCost;
+    private double monthlyKWh;
+    private double monthlyCost;
+    private double annualKWh;
+    private double annualCost;
+    private double standingChargePerDay;
+
+    // Rooms without appliances are included with zero totals; unassigned appliances are grouped as "Unassigned"
+    private List<DashboardGroup> byRoom;
+
+    private List<DashboardGroup> byFloor;
+    private List<DashboardGroup> byCategory;
+    private List<DashboardGroup> byUsageType;
+
+    // Top savings recommendations (cached per household data version)
+    private List<RecommendationResponse> recommendations;
+
+    public int getApplianceCount() {
+        return applianceCount;
+    }
+
+    public void setApplianceCount(int applianceCount) {
+        this.applianceCount = applianceCount;
+    }
+
+    public int getRoomCount() {
+        return roomCount;
+    }
+
+    public void setRoomCount(int roomCount) {
+        this.roomCount = roomCount;
+    }
+
+    public double getDailyKWh() {
+        return dailyKWh;
+    }
+
+    public void setDailyKWh(double dailyKWh) {
+        this.dailyKWh = dailyKWh;
+    }
+
+    public double getDailyCost() {
+        return dailyCost;
+    }
+
+    public void setDailyCost(double dailyCost) {
+        this.dailyCost = dailyCost;
+    }
+
+    public double getMonthlyKWh() {
+        return monthlyKWh;
+    }
+
+    public void setMonthlyKWh(double monthlyKWh) {
+        this.monthlyKWh = monthlyKWh;
+    }
+
+    public double getMonthlyCost() {
+        return monthlyCost;
+    }
+
+    public void setMonthlyCost(double monthlyCost) {
+        this.monthlyCost = monthlyCost;
+    }
+
+    public double getAnnualKWh() {
+        return annualKWh;
+    }
+
+    public void setAnnualKWh(double annualKWh) {
+        this.annualKWh = annualKWh;
+    }
+
+    public double getAnnualCost() {
+        return annualCost;
+    }
+
+    public void setAnnualCost(double annualCost) {
+        this.annualCost = annualCost;
+    }
+
+    public double getStandingChargePerDay() {
+        return standingChargePerDay;
+    }
+
+    public void setStandingChargePerDay(double standingChargePerDay) {
+        this.standingChargePerDay = standingChargePerDay;
+    }
+
+    public List<DashboardGroup> getByRoom() {
+        return byRoom;
+    }
+
+    public void setByRoom(List<DashboardGroup> byRoom) {
+        this.byRoom = byRoom;
+    }
+
+    public List<DashboardGroup> getByFloor() {
+        return byFloor;
+    }
+
+    public void setByFloor(List<DashboardGroup> byFloor) {
+        this.byFloor = byFloor;
+    }
+
+    public List<DashboardGroup> getByCategory() {
+        return byCategory;
+    }
+
+    public void setByCategory(List<DashboardGroup> byCategory) {
+        this.byCategory = byCategory;
+    }
+
+    public List<DashboardGroup> getByUsageType() {
+        return byUsageType;
+    }
+
+    public void setByUsageType(List<DashboardGroup> byUsageType) {
+        this.byUsageType = byUsageType;
+    }
+
+    public List<RecommendationResponse> getRecommendations() {
+        return recommendations;
+    }
+
+    public void setRecommendations(List<RecommendationResponse> recommendations) {
+        this.recommendations = recommendations;
+    }
+}
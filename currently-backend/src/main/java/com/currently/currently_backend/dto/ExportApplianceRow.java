@@ -0,0 +1,81 @@
+/*
+ * File: ExportApplianceRow.java
+ * Description: Read-only projection of a user appliance with its room, for the export.
+ * Author: Liam Connell
+ * Date: 2026-10-17
+ */
+
+package com.currently.currently_backend.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Class: ExportApplianceRow
+ * Purpose: Filled by a JPQL constructor expression and read from a forward-only stream,
+ *          so an export never holds more than one appliance at a time and never loads
+ *          UserAppliance, Room or User entities into the persistence context.
+ */
+public class ExportApplianceRow {
+
+    private final Long id;
+    private final String applianceName;
+    private final String customName;
+    private final String usageType;
+    private final Double hoursPerDay;
+    private final Double usesPerDay;
+    private final LocalDateTime createdAt;
+
+    // Null when the appliance is not assigned to a room
+    private final Long roomId;
+    private final String roomName;
+
+    public ExportApplianceRow(Long id, String applianceName, String customName, String usageType,
+                              Double hoursPerDay, Double usesPerDay, LocalDateTime createdAt,
+                              Long roomId, String roomName) {
+        this.id = id;
+        this.applianceName = applianceName;
+        this.customName = customName;
+        this.usageType = usageType;
+        this.hoursPerDay = hoursPerDay;
+        this.usesPerDay = usesPerDay;
+        this.createdAt = createdAt;
+        this.roomId = roomId;
+        this.roomName = roomName;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getApplianceName() {
+        return applianceName;
+    }
+
+    public String getCustomName() {
+        return customName;
+    }
+
+    public String getUsageType() {
+        return usageType;
+    }
+
+    public Double getHoursPerDay() {
+        return hoursPerDay;
+    }
+
+    public Double getUsesPerDay() {
+        return usesPerDay;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public Long getRoomId() {
+        return roomId;
+    }
+
+    public String getRoomName() {
+        return roomName;
+    }
+}
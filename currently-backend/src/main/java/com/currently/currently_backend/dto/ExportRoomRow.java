@@ -0,0 +1,76 @@
+/*
+ * File: ExportRoomRow.java
+ * Description: Read-only projection of a room and its running totals for the export.
+ * Author: Liam Connell
+ * Date: 2026-10-17
+ */
+
+package com.currently.currently_backend.dto;
+
+import com.currently.currently_backend.model.TimeOfUseProfile;
+
+/**
+ * Class: ExportRoomRow
+ * Purpose: Filled by a JPQL constructor expression joining each room to its
+ *          RoomAggregate, so the export can price a room without touching its appliances.
+ *          Rooms without an aggregate row have zero totals.
+ */
+public class ExportRoomRow {
+
+    private final Long id;
+    private final String name;
+    private final String floorLabel;
+    private final String type;
+    private final int applianceCount;
+    private final double dailyKWh;
+
+    // Daily kWh per TimeOfUseProfile, indexed by profile code
+    private final double[] energy;
+
+    public ExportRoomRow(Long id, String name, String floorLabel, String type,
+                         int applianceCount, double dailyKWh,
+                         double flat, double mealtimes, double evening,
+                         double morningEvening, double daytime, double night) {
+        this.id = id;
+        this.name = name;
+        this.floorLabel = floorLabel;
+        this.type = type;
+        this.applianceCount = applianceCount;
+        this.dailyKWh = dailyKWh;
+        this.energy = new double[TimeOfUseProfile.values().length];
+        this.energy[TimeOfUseProfile.FLAT.ordinal()] = flat;
+        this.energy[TimeOfUseProfile.MEALTIMES.ordinal()] = mealtimes;
+        this.energy[TimeOfUseProfile.EVENING.ordinal()] = evening;
+        this.energy[TimeOfUseProfile.MORNING_EVENING.ordinal()] = morningEvening;
+        this.energy[TimeOfUseProfile.DAYTIME.ordinal()] = daytime;
+        this.energy[TimeOfUseProfile.NIGHT.ordinal()] = night;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getFloorLabel() {
+        return floorLabel;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public int getApplianceCount() {
+        return applianceCount;
+    }
+
+    public double getDailyKWh() {
+        return dailyKWh;
+    }
+
+    public double[] getEnergy() {
+        return energy;
+    }
+}
@@ -0,0 +1,61 @@
+/*
+ * File: HouseholdApplianceRow.java
+ * Description: Read-only projection of a user appliance with just the fields the
+ *              energy calculations need.
+ * Author: Liam Connell
+ * Date: 2026-10-17
+ */
+
+package com.currently.currently_backend.dto;
+
+/**
+ * Class: HouseholdApplianceRow
+ * Purpose: Filled directly by a JPQL constructor expression, so aggregate views read a
+ *          whole household in one statement without loading UserAppliance, Room or User
+ *          entities.
+ */
+public class HouseholdApplianceRow {
+
+    private final Long id;
+    private final String applianceName;
+    private final String usageType;
+    private final Double hoursPerDay;
+    private final Double usesPerDay;
+
+    // Null when the appliance is not assigned to a room
+    private final Long roomId;
+
+    public HouseholdApplianceRow(Long id, String applianceName, String usageType,
+                                 Double hoursPerDay, Double usesPerDay, Long roomId) {
+        this.id = id;
+        this.applianceName = applianceName;
+        this.usageType = usageType;
+        this.hoursPerDay = hoursPerDay;
+        this.usesPerDay = usesPerDay;
+        this.roomId = roomId;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getApplianceName() {
+        return applianceName;
+    }
+
+    public String getUsageType() {
+        return usageType;
+    }
+
+    public Double getHoursPerDay() {
+        return hoursPerDay;
+    }
+
+    public Double getUsesPerDay() {
+        return usesPerDay;
+    }
+
+    public Long getRoomId() {
+        return roomId;
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * File: HouseholdBenchmarkRow.java
+ * Description: Read-only projection of a household aggregate with the room and floor
+ *              counts used to place it in a benchmark cohort.
+ * Author: Liam Connell
+ * Date: 2026-10-17
+ */
+
+package com.currently.currently_backend.dto;
+
+import com.currently.currently_backend.model.TimeOfUseProfile;
+
+/**
+ * Class: HouseholdBenchmarkRow
+ * Purpose: Filled by a JPQL constructor expression, so placing a household in its cohort
+ *          is one statement and never loads appliance or room entities.
+ */
+public class HouseholdBenchmarkRow {
+
+    private final Long userId;
+    private final int applianceCount;
+    private final double dailyKWh;
+
+    // Daily kWh per TimeOfUseProfile, indexed by profile code
+    private final double[] energy;
+
+    private final long roomCount;
+    private final long floorCount;
+
+    // What the benchmark histograms currently count; null if not counted
+    private final Integer cohortKey;
+    private final Double benchmarkKWh;
+
+    public HouseholdBenchmarkRow(Long userId, int applianceCount, double dailyKWh,
+                                 double flat, double mealtimes, double evening,
+                                 double morningEvening, double daytime, double night,
+                                 long roomCount, long floorCount,
+                                 Integer cohortKey, Double benchmarkKWh) {
+        this.userId = userId;
+        this.applianceCount = applianceCount;
+        this.dailyKWh = dailyKWh;
+        this.energy = new double[TimeOfUseProfile.values().length];
+        this.energy[TimeOfUseProfile.FLAT.ordinal()] = flat;
+        this.energy[TimeOfUseProfile.MEALTIMES.ordinal()] = mealtimes;
+        this.energy[TimeOfUseProfile.EVENING.ordinal()] = evening;
+        this.energy[TimeOfUseProfile.MORNING_EVENING.ordinal()] = morningEvening;
+        this.energy[TimeOfUseProfile.DAYTIME.ordinal()] = daytime;
+        this.energy[TimeOfUseProfile.NIGHT.ordinal()] = night;
+        this.roomCount = roomCount;
+        this.floorCount = floorCount;
+        this.cohortKey = cohortKey;
+        this.benchmarkKWh = benchmarkKWh;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public int getApplianceCount() {
+        return applianceCount;
+    }
+
+    public double getDailyKWh() {
+        return dailyKWh;
+    }
+
+    public double[] getEnergy() {
+        return energy;
+    }
+
+    public long getRoomCount() {
+        return roomCount;
+    }
+
+    public long getFloorCount() {
+        return floorCount;
+    }
+
+    public Integer getCohortKey() {
+        return cohortKey;
+    }
+
+    public Double getBenchmarkKWh() {
+        return benchmarkKWh;
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * File: HouseholdTotalsResponse.java
+ * Description: Response body for GET /api/users/me/totals.
+ * Author: Liam Connell
+ * Date: 2026-10-17
+ */
+
+package com.currently.currently_backend.dto;
+
+/**
+ * Class: HouseholdTotalsResponse
+ * Purpose: Household totals read from the persisted aggregate row. Costs include the
+ *          standing charge and are priced with the user's current tariff.
+ */
+public class HouseholdTotalsResponse {
+
+    private int applianceCount;
+    private double dailyKWh;
+    private double dailyCost;
+    private double monthlyKWh;
+    private double monthlyCost;
+    private double annualKWh;
+    private double annualCost;
+    private double standingChargePerDay;
+
+    // Increases whenever the totals change
+    private long dataVersion;
+
+    public int getApplianceCount() {
+        return applianceCount;
+    }
+
+    public void setApplianceCount(int applianceCount) {
+        this.applianceCount = applianceCount;
+    }
+
+    public double getDailyKWh() {
+        return dailyKWh;
+    }
+
+    public void setDailyKWh(double dailyKWh) {
+        this.dailyKWh = dailyKWh;
+    }
+
+    public double getDailyCost() {
+        return dailyCost;
+    }
+
+    public void setDailyCost(double dailyCost) {
+        this.dailyCost = dailyCost;
+    }
+
+    public double getMonthlyKWh() {
+        return monthlyKWh;
+    }
+
+    public void setMonthlyKWh(double monthlyKWh) {
+        this.monthlyKWh = monthlyKWh;
+    }
+
+    public double getMonthlyCost() {
+        return monthlyCost;
+    }
+
+    public void setMonthlyCost(double monthlyCost) {
+        this.monthlyCost = monthlyCost;
+    }
+
+    public double getAnnualKWh() {
+        return annualKWh;
+    }
+
+    public void setAnnualKWh(double annualKWh) {
+        this.annualKWh = annualKWh;
+    }
+
+    public double getAnnualCost() {
+        return annualCost;
+    }
+
+    public void setAnnualCost(double annualCost) {
+        this.annualCost = annualCost;
+    }
+
+    public double getStandingChargePerDay() {
+        return standingChargePerDay;
+    }
+
+    public void setStandingChargePerDay(double standingChargePerDay) {
+        this.standingChargePerDay = standingChargePerDay;
+    }
+
+    public long getDataVersion() {
+        return dataVersion;
+    }
+
+    public void setDataVersion(long dataVersion) {
+        this.dataVersion = dataVersion;
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * File: LoadProfileResponse.java
+ * Description: Response body for GET /api/users/me/load-profile.
+ * Author: Liam Connell
+ * Date: 2026-10-17
+ */
+
+package com.currently.currently_backend.dto;
+
+import java.util.List;
+
+public class LoadProfileResponse {
+
+    // "day" (typical day, 24 values) or "year" (8760 values)
+    private String period;
+
+    // Calendar year simulated, null for a typical day
+    private Integer year;
+
+    // Average kW in each hour, which is also the kWh used in that hour
+    private double[] hourlyKW;
+
+    private double totalKWh;
+    private double peakKW;
+    private double averageKW;
+
+    // Index into hourlyKW where the peak occurs
+    private int peakHour;
+
+    // Average / peak; 1.0 is a perfectly flat load
+    private double loadFactor;
+
+    // Energy used between 23:00 and 08:00
+    private double nightKWh;
+
+    private List<RoomLoadProfileResponse> rooms;
+
+    public String getPeriod() {
+        return period;
+    }
+
+    public void setPeriod(String period) {
+        this.period = period;
+    }
+
+    public Integer getYear() {
+        return year;
+    }
+
+    public void setYear(Integer year) {
+        this.year = year;
+    }
+
+    public double[] getHourlyKW() {
+        return hourlyKW;
+    }
+
+    public void setHourlyKW(double[] hourlyKW) {
+        this.hourlyKW = hourlyKW;
+    }
+
+    public double getTotalKWh() {
+        return totalKWh;
+    }
+
+    public void setTotalKWh(double totalKWh) {
+        this.totalKWh = totalKWh;
+    }
+
+    public double getPeakKW() {
+        return peakKW;
+    }
+
+    public void setPeakKW(double peakKW) {
+        this.peakKW = peakKW;
+    }
+
+    public int getPeakHour() {
+        return peakHour;
+    }
+
+    public void setPeakHour(int peakHour) {
+        this.peakHour = peakHour;
+    }
+
+    public double getAverageKW() {
+        return averageKW;
+    }
+
+    public void setAverageKW(double averageKW) {
+        this.averageKW = averageKW;
+    }
+
+    public double getLoadFactor() {
+        return loadFactor;
+    }
+
+    public void setLoadFactor(double loadFactor) {
+        this.loadFactor = loadFactor;
+    }
+
+    public double getNightKWh() {
+        return nightKWh;
+    }
+
+    public void setNightKWh(double nightKWh) {
+        this.nightKWh = nightKWh;
+    }
+
+    public List<RoomLoadProfileResponse> getRooms() {
+        return rooms;
+    }
+
+    public void setRooms(List<RoomLoadProfileResponse> rooms) {
+        this.rooms = rooms;
+    }
+}
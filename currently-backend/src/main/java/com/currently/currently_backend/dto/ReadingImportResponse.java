@@ -0,0 +1,46 @@
+/*
+ * File: ReadingImportResponse.java
+ * Description: Response body for a meter or bill CSV upload.
+ * Author: Liam Connell
+ * Date: 2026-10-17
+ */
+
+package com.currently.currently_backend.dto;
+
+/**
+ * Class: ReadingImportResponse
+ * Purpose: How many rows were stored or skipped, and the resulting calibration.
+ */
+public class ReadingImportResponse {
+
+    private long imported;
+
+    // Rows that could not be read (footers, blank or negative values)
+    private long skipped;
+
+    private CalibrationResponse calibration;
+
+    public long getImported() {
+        return imported;
+    }
+
+    public void setImported(long imported) {
+        this.imported = imported;
+    }
+
+    public long getSkipped() {
+        return skipped;
+    }
+
+    public void setSkipped(long skipped) {
+        this.skipped = skipped;
+    }
+
+    public CalibrationResponse getCalibration() {
+        return calibration;
+    }
+
+    public void setCalibration(CalibrationResponse calibration) {
+        this.calibration = calibration;
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * File: RecommendationResponse.java
+ * Description: One ranked savings recommendation for the current household.
+ * Author: Liam Connell
+ * Date: 2026-10-17
+ */
+
+package com.currently.currently_backend.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Class: RecommendationResponse
+ * Purpose: A suggested action (SWAP, REDUCE_USAGE or SHIFT_OFF_PEAK) on one of the
+ *          user's appliances and what it would save.
+ */
+public class RecommendationResponse {
+
+    private String type;
+    private Long userApplianceId;
+    private String applianceName;
+
+    // Only for SWAP: the catalogue appliance to switch to
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String suggestedApplianceName;
+
+    private String message;
+    private double monthlyKWhSaving;
+    private double monthlySaving;
+    private double annualSaving;
+
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public Long getUserApplianceId() {
+        return userApplianceId;
+    }
+
+    public void setUserApplianceId(Long userApplianceId) {
+        this.userApplianceId = userApplianceId;
+    }
+
+    public String getApplianceName() {
+        return applianceName;
+    }
+
+    public void setApplianceName(String applianceName) {
+        this.applianceName = applianceName;
+    }
+
+    public String getSuggestedApplianceName() {
+        return suggestedApplianceName;
+    }
+
+    public void setSuggestedApplianceName(String suggestedApplianceName) {
+        this.suggestedApplianceName = suggestedApplianceName;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+
+    public double getMonthlyKWhSaving() {
+        return monthlyKWhSaving;
+    }
+
+    public void setMonthlyKWhSaving(double monthlyKWhSaving) {
+        this.monthlyKWhSaving = monthlyKWhSaving;
+    }
+
+    public double getMonthlySaving() {
+        return monthlySaving;
+    }
+
+    public void setMonthlySaving(double monthlySaving) {
+        this.monthlySaving = monthlySaving;
+    }
+
+    public double getAnnualSaving() {
+        return annualSaving;
+    }
+
+    public void setAnnualSaving(double annualSaving) {
+        this.annualSaving = annualSaving;
+    }
+}
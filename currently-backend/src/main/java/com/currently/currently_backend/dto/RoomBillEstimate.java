@@ -0,0 +1,55 @@
+/*
+ * File: RoomBillEstimate.java
+ * Description: Estimated monthly kWh and energy cost range for one room.
+ * Author: Liam Connell
+ * Date: 2026-10-17
+ */
+
+package com.currently.currently_backend.dto;
+
+/**
+ * Class: RoomBillEstimate
+ * Purpose: One room's share of a bill estimate. Costs exclude the standing charge,
+ *          which belongs to the household as a whole.
+ */
+public class RoomBillEstimate {
+
+    // Null for appliances without a room
+    private Long roomId;
+
+    private String roomName;
+    private BillRange monthlyKWh;
+    private BillRange monthlyCost;
+
+    public Long getRoomId() {
+        return roomId;
+    }
+
+    public void setRoomId(Long roomId) {
+        this.roomId = roomId;
+    }
+
+    public String getRoomName() {
+        return roomName;
+    }
+
+    public void setRoomName(String roomName) {
+        this.roomName = roomName;
+    }
+
+    public BillRange getMonthlyKWh() {
+        return monthlyKWh;
+    }
+
+    public void setMonthlyKWh(BillRange monthlyKWh) {
+        this.monthlyKWh = monthlyKWh;
+    }
+
+    public BillRange getMonthlyCost() {
+        return monthlyCost;
+    }
+
+    public void setMonthlyCost(BillRange monthlyCost) {
+        this.monthlyCost = monthlyCost;
+    }
+}
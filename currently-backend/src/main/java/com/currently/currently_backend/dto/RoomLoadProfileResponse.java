@@ -0,0 +1,100 @@
+/*
+ * File: RoomLoadProfileResponse.java
+ * Description: Per-room part of a LoadProfileResponse.
+ * Author: Liam Connell
+ * Date: 2026-10-17
+ */
+
+package com.currently.currently_backend.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+public class RoomLoadProfileResponse {
+
+    // Null for appliances not assigned to a room
+    private Long roomId;
+
+    private String roomName;
+    private int applianceCount;
+    private double totalKWh;
+    private double peakKW;
+    private int peakHour;
+    private double loadFactor;
+    private double nightKWh;
+
+    // Only returned for a typical day; omitted for a year
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private double[] hourlyKW;
+
+    public Long getRoomId() {
+        return roomId;
+    }
+
+    public void setRoomId(Long roomId) {
+        this.roomId = roomId;
+    }
+
+    public String getRoomName() {
+        return roomName;
+    }
+
+    public void setRoomName(String roomName) {
+        this.roomName = roomName;
+    }
+
+    public int getApplianceCount() {
+        return applianceCount;
+    }
+
+    public void setApplianceCount(int applianceCount) {
+        this.applianceCount = applianceCount;
+    }
+
+    public double getTotalKWh() {
+        return totalKWh;
+    }
+
+    public void setTotalKWh(double totalKWh) {
+        this.totalKWh = totalKWh;
+    }
+
+    public double getPeakKW() {
+        return peakKW;
+    }
+
+    public void setPeakKW(double peakKW) {
+        this.peakKW = peakKW;
+    }
+
+    public int getPeakHour() {
+        return peakHour;
+    }
+
+    public void setPeakHour(int peakHour) {
+        this.peakHour = peakHour;
+    }
+
+    public double getLoadFactor() {
+        return loadFactor;
+    }
+
+    public void setLoadFactor(double loadFactor) {
+        this.loadFactor = loadFactor;
+    }
+
+    public double getNightKWh() {
+        return nightKWh;
+    }
+
+    public void setNightKWh(double nightKWh) {
+        this.nightKWh = nightKWh;
+    }
+
+    public double[] getHourlyKW() {
+        return hourlyKW;
+    }
+
+    public void setHourlyKW(double[] hourlyKW) {
+        this.hourlyKW = hourlyKW;
+    }
+}
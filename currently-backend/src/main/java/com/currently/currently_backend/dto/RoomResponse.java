@@ -7,6 +7,17 @@ public class RoomResponse {
     private String floorLabel;
     private String type;
 
+    public RoomResponse() {
+    }
+
+    // Used by JPQL constructor expressions, so rooms can be listed without loading entities
+    public RoomResponse(Long id, String name, String floorLabel, String type) {
+        this.id = id;
+        this.name = name;
+        this.floorLabel = floorLabel;
+        this.type = type;
+    }
+
     public Long getId() {
         return id;
     }
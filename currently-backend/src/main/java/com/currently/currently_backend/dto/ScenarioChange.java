@@ -0,0 +1,102 @@
+/*
+ * File: ScenarioChange.java
+ * Description: One hypothetical change to a user appliance within a scenario.
+ * Author: Liam Connell
+ * Date: 2026-10-17
+ */
+
+package com.currently.currently_backend.dto;
+
+/**
+ * Class: ScenarioChange
+ * Purpose: Describe a what-if edit. type is one of:
+ *          - "swap": replace the appliance with another catalogue entry (applianceName)
+ *          - "usage": set hoursPerDay/usesPerDay, or adjust them by hoursDelta/usesDelta
+ *          - "move": put the appliance in roomId (null = no room)
+ *          - "remove": take the appliance out of the household
+ */
+public class ScenarioChange {
+
+    private String type;
+
+    // Id of the user appliance being changed
+    private Long applianceId;
+
+    // swap: new catalogue appliance
+    private String applianceName;
+
+    // swap/usage: absolute values
+    private Double hoursPerDay;
+    private Double usesPerDay;
+
+    // usage: relative values, e.g. -2 for "two hours less"
+    private Double hoursDelta;
+    private Double usesDelta;
+
+    // move: target room
+    private Long roomId;
+
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public Long getApplianceId() {
+        return applianceId;
+    }
+
+    public void setApplianceId(Long applianceId) {
+        this.applianceId = applianceId;
+    }
+
+    public String getApplianceName() {
+        return applianceName;
+    }
+
+    public void setApplianceName(String applianceName) {
+        this.applianceName = applianceName;
+    }
+
+    public Double getHoursPerDay() {
+        return hoursPerDay;
+    }
+
+    public void setHoursPerDay(Double hoursPerDay) {
+        this.hoursPerDay = hoursPerDay;
+    }
+
+    public Double getUsesPerDay() {
+        return usesPerDay;
+    }
+
+    public void setUsesPerDay(Double usesPerDay) {
+        this.usesPerDay = usesPerDay;
+    }
+
+    public Double getHoursDelta() {
+        return hoursDelta;
+    }
+
+    public void setHoursDelta(Double hoursDelta) {
+        this.hoursDelta = hoursDelta;
+    }
+
+    public Double getUsesDelta() {
+        return usesDelta;
+    }
+
+    public void setUsesDelta(Double usesDelta) {
+        this.usesDelta = usesDelta;
+    }
+
+    public Long getRoomId() {
+        return roomId;
+    }
+
+    public void setRoomId(Long roomId) {
+        this.roomId = roomId;
+    }
+}
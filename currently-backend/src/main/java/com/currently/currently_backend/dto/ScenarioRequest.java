@@ -0,0 +1,36 @@
+/*
+ * File: ScenarioRequest.java
+ * Description: One named what-if scenario for POST /api/users/me/scenarios.
+ * Author: Liam Connell
+ * Date: 2026-10-17
+ */
+
+package com.currently.currently_backend.dto;
+
+import java.util.List;
+
+/**
+ * Class: ScenarioRequest
+ * Purpose: A list of changes applied together to a copy of the household.
+ */
+public class ScenarioRequest {
+
+    private String name;
+    private List<ScenarioChange> changes;
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public List<ScenarioChange> getChanges() {
+        return changes;
+    }
+
+    public void setChanges(List<ScenarioChange> changes) {
+        this.changes = changes;
+    }
+}
@@ -0,0 +1,66 @@
+/*
+ * File: ScenarioResponse.java
+ * Description: Response body for POST /api/users/me/scenarios.
+ * Author: Liam Connell
+ * Date: 2026-10-17
+ */
+
+package com.currently.currently_backend.dto;
+
+import java.util.List;
+
+/**
+ * Class: ScenarioResponse
+ * Purpose: The household as it is now (baseline) and one result per requested scenario,
+ *          in request order.
+ */
+public class ScenarioResponse {
+
+    // Baseline totals (cost includes the standing charge)
+    private double dailyKWh;
+    private double dailyCost;
+    private double monthlyCost;
+    private double annualCost;
+
+    private List<ScenarioResult> scenarios;
+
+    public double getDailyKWh() {
+        return dailyKWh;
+    }
+
+    public void setDailyKWh(double dailyKWh) {
+        this.dailyKWh = dailyKWh;
+    }
+
+    public double getDailyCost() {
+        return dailyCost;
+    }
+
+    public void setDailyCost(double dailyCost) {
+        this.dailyCost = dailyCost;
+    }
+
+    public double getMonthlyCost() {
+        return monthlyCost;
+    }
+
+    public void setMonthlyCost(double monthlyCost) {
+        this.monthlyCost = monthlyCost;
+    }
+
+    public double getAnnualCost() {
+        return annualCost;
+    }
+
+    public void setAnnualCost(double annualCost) {
+        this.annualCost = annualCost;
+    }
+
+    public List<ScenarioResult> getScenarios() {
+        return scenarios;
+    }
+
+    public void setScenarios(List<ScenarioResult> scenarios) {
+        this.scenarios = scenarios;
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ * File: ScenarioResult.java
+ * Description: Outcome of one scenario, relative to the current household.
+ * Author: Liam Connell
+ * Date: 2026-10-17
+ */
+
+package com.currently.currently_backend.dto;
+
+import java.util.List;
+
+/**
+ * Class: ScenarioResult
+ * Purpose: Scenario totals and their difference from the baseline. Only rooms whose usage
+ *          changes are listed in rooms.
+ */
+public class ScenarioResult {
+
+    private String name;
+
+    // Totals with the scenario applied (cost includes the standing charge)
+    private double dailyKWh;
+    private double dailyCost;
+    private double monthlyCost;
+    private double annualCost;
+
+    // Scenario minus baseline; negative means a saving
+    private double dailyKWhDelta;
+    private double dailyCostDelta;
+    private double monthlyCostDelta;
+    private double annualKWhDelta;
+    private double annualCostDelta;
+
+    private List<ScenarioRoomDelta> rooms;
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public double getDailyKWh() {
+        return dailyKWh;
+    }
+
+    public void setDailyKWh(double dailyKWh) {
+        this.dailyKWh = dailyKWh;
+    }
+
+    public double getDailyCost() {
+        return dailyCost;
+    }
+
+    public void setDailyCost(double dailyCost) {
+        this.dailyCost = dailyCost;
+    }
+
+    public double getMonthlyCost() {
+        return monthlyCost;
+    }
+
+    public void setMonthlyCost(double monthlyCost) {
+        this.monthlyCost = monthlyCost;
+    }
+
+    public double getAnnualCost() {
+        return annualCost;
+    }
+
+    public void setAnnualCost(double annualCost) {
+        this.annualCost = annualCost;
+    }
+
+    public double getDailyKWhDelta() {
+        return dailyKWhDelta;
+    }
+
+    public void setDailyKWhDelta(double dailyKWhDelta) {
+        this.dailyKWhDelta = dailyKWhDelta;
+    }
+
+    public double getDailyCostDelta() {
+        return dailyCostDelta;
+    }
+
+    public void setDailyCostDelta(double dailyCostDelta) {
+        this.dailyCostDelta = dailyCostDelta;
+    }
+
+    public double getMonthlyCostDelta() {
+        return monthlyCostDelta;
+    }
+
+    public void setMonthlyCostDelta(double monthlyCostDelta) {
+        this.monthlyCostDelta = monthlyCostDelta;
+    }
+
+    public double getAnnualKWhDelta() {
+        return annualKWhDelta;
+    }
+
+    public void setAnnualKWhDelta(double annualKWhDelta) {
+        this.annualKWhDelta = annualKWhDelta;
+    }
+
+    public double getAnnualCostDelta() {
+        return annualCostDelta;
+    }
+
+    public void setAnnualCostDelta(double annualCostDelta) {
+        this.annualCostDelta = annualCostDelta;
+    }
+
+    public List<ScenarioRoomDelta> getRooms() {
+        return rooms;
+    }
+
+    public void setRooms(List<ScenarioRoomDelta> rooms) {
+        this.rooms = rooms;
+    }
+}
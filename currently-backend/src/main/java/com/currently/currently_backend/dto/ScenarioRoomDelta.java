@@ -0,0 +1,54 @@
+/*
+ * File: ScenarioRoomDelta.java
+ * Description: Per-room change in usage for one scenario.
+ * Author: Liam Connell
+ * Date: 2026-10-17
+ */
+
+package com.currently.currently_backend.dto;
+
+/**
+ * Class: ScenarioRoomDelta
+ * Purpose: How much a scenario moves one room's daily kWh and energy cost.
+ */
+public class ScenarioRoomDelta {
+
+    // Null for appliances without a room
+    private Long roomId;
+
+    private String roomName;
+    private double dailyKWhDelta;
+    private double dailyCostDelta;
+
+    public Long getRoomId() {
+        return roomId;
+    }
+
+    public void setRoomId(Long roomId) {
+        this.roomId = roomId;
+    }
+
+    public String getRoomName() {
+        return roomName;
+    }
+
+    public void setRoomName(String roomName) {
+        this.roomName = roomName;
+    }
+
+    public double getDailyKWhDelta() {
+        return dailyKWhDelta;
+    }
+
+    public void setDailyKWhDelta(double dailyKWhDelta) {
+        this.dailyKWhDelta = dailyKWhDelta;
+    }
+
+    public double getDailyCostDelta() {
+        return dailyCostDelta;
+    }
+
+    public void setDailyCostDelta(double dailyCostDelta) {
+        this.dailyCostDelta = dailyCostDelta;
+    }
+}
@@ -0,0 +1,67 @@
+/*
+ * File: TariffBandDto.java
+ * Description: DTO for one price band of a tariff plan, in requests and responses.
+ * Author: Liam Connell
+ * Date: 2026-10-17
+ */
+
+package com.currently.currently_backend.dto;
+
+import java.util.List;
+
+/**
+ * Class: TariffBandDto
+ * Purpose: Represent a band such as {"name":"night","start":"23:00","end":"08:00",
+ *          "pricePerKWh":0.18}. "days" lists MON..SUN; omitted or empty means every day.
+ */
+public class TariffBandDto {
+
+    private String name;
+    private List<String> days;
+
+    // "HH:mm" on a half-hour boundary; end before start runs past midnight
+    private String start;
+    private String end;
+
+    private Double pricePerKWh;
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public List<String> getDays() {
+        return days;
+    }
+
+    public void setDays(List<String> days) {
+        this.days = days;
+    }
+
+    public String getStart() {
+        return start;
+    }
+
+    public void setStart(String start) {
+        this.start = start;
+    }
+
+    public String getEnd() {
+        return end;
+    }
+
+    public void setEnd(String end) {
+        this.end = end;
+    }
+
+    public Double getPricePerKWh() {
+        return pricePerKWh;
+    }
+
+    public void setPricePerKWh(Double pricePerKWh) {
+        this.pricePerKWh = pricePerKWh;
+    }
+}
@@ -0,0 +1,57 @@
+/*
+ * File: TariffPlanDto.java
+ * Description: DTO for the current user's tariff plan (GET/PUT /api/users/me/tariff).
+ * Author: Liam Connell
+ * Date: 2026-10-17
+ */
+
+package com.currently.currently_backend.dto;
+
+import java.util.List;
+
+/**
+ * Class: TariffPlanDto
+ * Purpose: Standing charge plus ordered price bands. Later bands override earlier ones,
+ *          so a plan can list "day" for 08:00-23:00 and then "peak" for 17:00-19:00.
+ */
+public class TariffPlanDto {
+
+    private String name;
+    private Double standingChargePerDay;
+    private List<TariffBandDto> bands;
+
+    // Set on responses only: true when the user has no plan and the default applies
+    private boolean defaultPlan;
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public Double getStandingChargePerDay() {
+        return standingChargePerDay;
+    }
+
+    public void setStandingChargePerDay(Double standingChargePerDay) {
+        this.standingChargePerDay = standingChargePerDay;
+    }
+
+    public List<TariffBandDto> getBands() {
+        return bands;
+    }
+
+    public void setBands(List<TariffBandDto> bands) {
+        this.bands = bands;
+    }
+
+    public boolean isDefaultPlan() {
+        return defaultPlan;
+    }
+
+    public void setDefaultPlan(boolean defaultPlan) {
+        this.defaultPlan = defaultPlan;
+    }
+}
@@ -31,6 +31,23 @@ public class UserApplianceResponse {
     private Double dailyKWh;
     private Double estimatedDailyCost;
 
+    public UserApplianceResponse() {
+    }
+
+    // Used by JPQL constructor expressions, so appliances can be listed with their room
+    // name without loading UserAppliance or Room entities; derived metrics are set after
+    public UserApplianceResponse(Long id, String applianceName, String customName, String usageType,
+                                 Double hoursPerDay, Double usesPerDay, Long roomId, String roomName) {
+        this.id = id;
+        this.applianceName = applianceName;
+        this.customName = customName;
+        this.usageType = usageType;
+        this.hoursPerDay = hoursPerDay;
+        this.usesPerDay = usesPerDay;
+        this.roomId = roomId;
+        this.roomName = roomName;
+    }
+
     public Long getId() {
         return id;
     }
@@ -8,44 +8,86 @@
  * - Supports both continuous-use and per-use appliances via the "usageType" discriminator.
  * - Mirrors the structure stored in appliances.json.
  * - No database persistence; this model is purely loaded from static JSON.
+ * - brand/model/energyLabel are only set for SKU-level catalogues and are left out
+ *   of the JSON when absent. Large catalogues are served as read-only views over
+ *   columnar storage (see ColumnarApplianceStore), which override the getters.
+ * - Immutable: catalogue snapshots are shared by every request, so there are no
+ *   setters and Jackson fills the fields through the constructor.
  */
 
 package com.currently.currently_backend.model;
 
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
 public class Appliance {
 
-    private String name;
-    private String category;
-    private String usageType; // "continuous" or "perUse"
+    private final String name;
+    private final String category;
+    private final String usageType; // "continuous" or "perUse"
 
     // Continuous-use fields
-    private Integer averageWatts;
-    private Integer defaultHoursPerDay;
+    private final Integer averageWatts;
+    private final Integer defaultHoursPerDay;
 
     // Per-use fields
-    private Integer averageWattsPerUse;
-    private Integer defaultUsesPerDay;
+    private final Integer averageWattsPerUse;
+    private final Integer defaultUsesPerDay;
+
+    // SKU-level fields (optional)
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private final String brand;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private final String model;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private final String energyLabel;
+
+    @JsonCreator
+    public Appliance(@JsonProperty("name") String name,
+                     @JsonProperty("category") String category,
+                     @JsonProperty("usageType") String usageType,
+                     @JsonProperty("averageWatts") Integer averageWatts,
+                     @JsonProperty("defaultHoursPerDay") Integer defaultHoursPerDay,
+                     @JsonProperty("averageWattsPerUse") Integer averageWattsPerUse,
+                     @JsonProperty("defaultUsesPerDay") Integer defaultUsesPerDay,
+                     @JsonProperty("brand") String brand,
+                     @JsonProperty("model") String model,
+                     @JsonProperty("energyLabel") String energyLabel) {
+        this.name = name;
+        this.category = category;
+        this.usageType = usageType;
+        this.averageWatts = averageWatts;
+        this.defaultHoursPerDay = defaultHoursPerDay;
+        this.averageWattsPerUse = averageWattsPerUse;
+        this.defaultUsesPerDay = defaultUsesPerDay;
+        this.brand = brand;
+        this.model = model;
+        this.energyLabel = energyLabel;
+    }
 
-    public Appliance() {}
+    // For views that override every getter
+    protected Appliance() {
+        this(null, null, null, null, null, null, null, null, null, null);
+    }
 
     public String getName() { return name; }
-    public void setName(String name) { this.name = name; }
 
     public String getCategory() { return category; }
-    public void setCategory(String category) { this.category = category; }
 
     public String getUsageType() { return usageType; }
-    public void setUsageType(String usageType) { this.usageType = usageType; }
 
     public Integer getAverageWatts() { return averageWatts; }
-    public void setAverageWatts(Integer averageWatts) { this.averageWatts = averageWatts; }
 
     public Integer getDefaultHoursPerDay() { return defaultHoursPerDay; }
-    public void setDefaultHoursPerDay(Integer defaultHoursPerDay) { this.defaultHoursPerDay = defaultHoursPerDay; }
 
     public Integer getAverageWattsPerUse() { return averageWattsPerUse; }
-    public void setAverageWattsPerUse(Integer averageWattsPerUse) { this.averageWattsPerUse = averageWattsPerUse; }
 
     public Integer getDefaultUsesPerDay() { return defaultUsesPerDay; }
-    public void setDefaultUsesPerDay(Integer defaultUsesPerDay) { this.defaultUsesPerDay = defaultUsesPerDay; }
+
+    public String getBrand() { return brand; }
+
+    public String getModel() { return model; }
+
+    public String getEnergyLabel() { return energyLabel; }
 }
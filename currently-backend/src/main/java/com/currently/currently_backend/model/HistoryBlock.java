@@ -0,0 +1,65 @@
+/*
+ * File: HistoryBlock.java
+ * Description: JPA entity holding one user's encoded daily snapshots for one month.
+ * Author: Liam Connell
+ * Date: 2026-10-17
+ */
+
+package com.currently.currently_backend.model;
+
+import jakarta.persistence.*;
+import org.springframework.data.domain.Persistable;
+
+/**
+ * Entity: HistoryBlock
+ * Purpose: One row per user per month; the snapshots themselves are packed into data by
+ *          HistoryBlockCodec rather than stored as a row per day or per metric.
+ *          The id is assigned, so the entity says itself whether it is new; otherwise
+ *          Spring Data would select each new block before inserting it.
+ */
+@Entity
+@Table(name = "history_blocks")
+public class HistoryBlock implements Persistable<HistoryBlockId> {
+
+    @EmbeddedId
+    private HistoryBlockId id;
+
+    @Column(name = "data", nullable = false)
+    private byte[] data;
+
+    @Transient
+    private boolean isNew;
+
+    public HistoryBlock() {
+    }
+
+    public HistoryBlock(HistoryBlockId id, byte[] data) {
+        this.id = id;
+        this.data = data;
+        this.isNew = true;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        this.isNew = false;
+    }
+
+    @Override
+    public HistoryBlockId getId() {
+        return id;
+    }
+
+    @Override
+    public boolean isNew() {
+        return isNew;
+    }
+
+    public byte[] getData() {
+        return data;
+    }
+
+    public void setData(byte[] data) {
+        this.data = data;
+    }
+}
@@ -0,0 +1,64 @@
+/*
+ * File: HistoryBlockId.java
+ * Description: Composite key of a history block: user and calendar month.
+ * Author: Liam Connell
+ * Date: 2026-10-17
+ */
+
+package com.currently.currently_backend.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * Class: HistoryBlockId
+ * Purpose: (user id, month as yyyymm), so a user's blocks sort and range-scan by month.
+ */
+@Embeddable
+public class HistoryBlockId implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(name = "month")
+    private int month;
+
+    public HistoryBlockId() {
+    }
+
+    public HistoryBlockId(Long userId, int month) {
+        this.userId = userId;
+        this.month = month;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public int getMonth() {
+        return month;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof HistoryBlockId other)) {
+            return false;
+        }
+        return month == other.month && Objects.equals(userId, other.userId);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(userId, month);
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * File: HouseholdAggregate.java
+ * Description: JPA entity holding a user's running household energy totals.
+ * Author: Liam Connell
+ * Date: 2026-10-17
+ */
+
+package com.currently.currently_backend.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Entity: HouseholdAggregate
+ * Purpose: One row per user, keyed by user id, kept up to date by deltas from the
+ *          appliance and room write paths (see AggregateService). Reading the
+ *          household totals is a single primary-key lookup.
+ */
+@Entity
+@Table(name = "household_aggregates")
+public class HouseholdAggregate {
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(name = "appliance_count", nullable = false)
+    private int applianceCount;
+
+    @Column(name = "daily_kwh", nullable = false)
+    private double dailyKWh;
+
+    @Embedded
+    private ProfileEnergy energy = new ProfileEnergy();
+
+    // Incremented on every change, so clients and caches can tell when totals moved
+    @Column(name = "data_version", nullable = false)
+    private long dataVersion;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    // Cohort and daily kWh this household is currently counted under in the benchmark
+    // histograms (see BenchmarkService); null until first counted
+    @Column(name = "cohort_key")
+    private Integer cohortKey;
+
+    @Column(name = "benchmark_kwh")
+    private Double benchmarkKWh;
+
+    public HouseholdAggregate() {
+    }
+
+    public HouseholdAggregate(Long userId) {
+        this.userId = userId;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public int getApplianceCount() {
+        return applianceCount;
+    }
+
+    public void setApplianceCount(int applianceCount) {
+        this.applianceCount = applianceCount;
+    }
+
+    public double getDailyKWh() {
+        return dailyKWh;
+    }
+
+    public void setDailyKWh(double dailyKWh) {
+        this.dailyKWh = dailyKWh;
+    }
+
+    public ProfileEnergy getEnergy() {
+        return energy;
+    }
+
+    public void setEnergy(ProfileEnergy energy) {
+        this.energy = energy;
+    }
+
+    public long getDataVersion() {
+        return dataVersion;
+    }
+
+    public void setDataVersion(long dataVersion) {
+        this.dataVersion = dataVersion;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    public Integer getCohortKey() {
+        return cohortKey;
+    }
+
+    public Double getBenchmarkKWh() {
+        return benchmarkKWh;
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * File: HouseholdCalibration.java
+ * Description: JPA entity holding a household's measured consumption from imported readings.
+ * Author: Liam Connell
+ * Date: 2026-10-17
+ */
+
+package com.currently.currently_backend.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Entity: HouseholdCalibration
+ * Purpose: One row per user, recomputed after every import. Only the measured side is
+ *          stored; the calibration factor is measured / current estimate and is worked
+ *          out when read, so it stays right as appliances are edited.
+ */
+@Entity
+@Table(name = "household_calibrations")
+public class HouseholdCalibration {
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    // Readings the figures were taken from ("meter" preferred over "bill")
+    @Column(name = "source", nullable = false, length = 8)
+    private String source;
+
+    @Column(name = "reading_count", nullable = false)
+    private long readingCount;
+
+    // Covered period, as local wall-clock epoch seconds (see MeterReading)
+    @Column(name = "period_start", nullable = false)
+    private long periodStart;
+
+    @Column(name = "period_end", nullable = false)
+    private long periodEnd;
+
+    // Days actually covered by readings; gaps in the export are not counted
+    @Column(name = "measured_days", nullable = false)
+    private double measuredDays;
+
+    @Column(name = "measured_daily_kwh", nullable = false)
+    private double measuredDailyKWh;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    public HouseholdCalibration() {
+    }
+
+    public HouseholdCalibration(Long userId) {
+        this.userId = userId;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public String getSource() {
+        return source;
+    }
+
+    public void setSource(String source) {
+        this.source = source;
+    }
+
+    public long getReadingCount() {
+        return readingCount;
+    }
+
+    public void setReadingCount(long readingCount) {
+        this.readingCount = readingCount;
+    }
+
+    public long getPeriodStart() {
+        return periodStart;
+    }
+
+    public void setPeriodStart(long periodStart) {
+        this.periodStart = periodStart;
+    }
+
+    public long getPeriodEnd() {
+        return periodEnd;
+    }
+
+    public void setPeriodEnd(long periodEnd) {
+        this.periodEnd = periodEnd;
+    }
+
+    public double getMeasuredDays() {
+        return measuredDays;
+    }
+
+    public void setMeasuredDays(double measuredDays) {
+        this.measuredDays = measuredDays;
+    }
+
+    public double getMeasuredDailyKWh() {
+        return measuredDailyKWh;
+    }
+
+    public void setMeasuredDailyKWh(double measuredDailyKWh) {
+        this.measuredDailyKWh = measuredDailyKWh;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
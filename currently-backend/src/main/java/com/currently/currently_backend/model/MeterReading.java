@@ -0,0 +1,83 @@
+/*
+ * File: MeterReading.java
+ * Description: JPA entity for one imported smart-meter interval or bill period.
+ * Author: Liam Connell
+ * Date: 2026-10-17
+ */
+
+package com.currently.currently_backend.model;
+
+import jakarta.persistence.*;
+
+/**
+ * Entity: MeterReading
+ * Purpose: Measured consumption for one period, imported from a user's CSV export
+ *          (see MeterReadingService). Rows are written with JDBC batches, not through
+ *          this entity; it is mapped for reads and so the table sits with the rest of the schema.
+ *          periodStart is the local wall-clock time as epoch seconds at UTC, so
+ *          half-hour rows need no time zone and sort and range-scan as integers.
+ *          Re-importing the same file replaces rows on (user, source, periodStart), the
+ *          unique index ux_meter_readings_user_source_start from the V1 migration.
+ */
+@Entity
+@Table(name = "meter_readings")
+public class MeterReading {
+
+    public static final String SOURCE_METER = "meter";
+    public static final String SOURCE_BILL = "bill";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    // "meter" for interval data, "bill" for billing periods
+    @Column(name = "source", nullable = false, length = 8)
+    private String source;
+
+    @Column(name = "period_start", nullable = false)
+    private long periodStart;
+
+    @Column(name = "minutes", nullable = false)
+    private int minutes;
+
+    @Column(name = "kwh", nullable = false)
+    private double kWh;
+
+    // Billed amount, when the file has one
+    @Column(name = "cost")
+    private Double cost;
+
+    public MeterReading() {
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public String getSource() {
+        return source;
+    }
+
+    public long getPeriodStart() {
+        return periodStart;
+    }
+
+    public int getMinutes() {
+        return minutes;
+    }
+
+    public double getKWh() {
+        return kWh;
+    }
+
+    public Double getCost() {
+        return cost;
+    }
+}
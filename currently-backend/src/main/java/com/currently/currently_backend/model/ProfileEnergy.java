@@ -0,0 +1,65 @@
+/*
+ * File: ProfileEnergy.java
+ * Description: Daily kWh split by TimeOfUseProfile, embedded in the aggregate tables.
+ * Author: Liam Connell
+ * Date: 2026-10-17
+ */
+
+package com.currently.currently_backend.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+
+/**
+ * Embeddable: ProfileEnergy
+ * Purpose: Keep aggregates independent of the tariff. Storing kWh per profile (rather
+ *          than a cost) means a tariff change needs no aggregate rewrite: the cost is
+ *          re-derived on read from the profile totals and the compiled tariff.
+ *          Array index = TimeOfUseProfile code.
+ */
+@Embeddable
+public class ProfileEnergy {
+
+    @Column(name = "flat_kwh", nullable = false)
+    private double flatKWh;
+
+    @Column(name = "mealtimes_kwh", nullable = false)
+    private double mealtimesKWh;
+
+    @Column(name = "evening_kwh", nullable = false)
+    private double eveningKWh;
+
+    @Column(name = "morning_evening_kwh", nullable = false)
+    private double morningEveningKWh;
+
+    @Column(name = "daytime_kwh", nullable = false)
+    private double daytimeKWh;
+
+    @Column(name = "night_kwh", nullable = false)
+    private double nightKWh;
+
+    public ProfileEnergy() {
+    }
+
+    public static ProfileEnergy of(double[] kWhByProfile) {
+        ProfileEnergy energy = new ProfileEnergy();
+        energy.flatKWh = kWhByProfile[TimeOfUseProfile.FLAT.ordinal()];
+        energy.mealtimesKWh = kWhByProfile[TimeOfUseProfile.MEALTIMES.ordinal()];
+        energy.eveningKWh = kWhByProfile[TimeOfUseProfile.EVENING.ordinal()];
+        energy.morningEveningKWh = kWhByProfile[TimeOfUseProfile.MORNING_EVENING.ordinal()];
+        energy.daytimeKWh = kWhByProfile[TimeOfUseProfile.DAYTIME.ordinal()];
+        energy.nightKWh = kWhByProfile[TimeOfUseProfile.NIGHT.ordinal()];
+        return energy;
+    }
+
+    public double[] toArray() {
+        double[] values = new double[TimeOfUseProfile.values().length];
+        values[TimeOfUseProfile.FLAT.ordinal()] = flatKWh;
+        values[TimeOfUseProfile.MEALTIMES.ordinal()] = mealtimesKWh;
+        values[TimeOfUseProfile.EVENING.ordinal()] = eveningKWh;
+        values[TimeOfUseProfile.MORNING_EVENING.ordinal()] = morningEveningKWh;
+        values[TimeOfUseProfile.DAYTIME.ordinal()] = daytimeKWh;
+        values[TimeOfUseProfile.NIGHT.ordinal()] = nightKWh;
+        return values;
+    }
+}
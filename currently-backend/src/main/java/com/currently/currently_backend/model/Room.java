@@ -12,12 +12,13 @@ import jakarta.persistence.*;
 @Table(name = "rooms")
 public class Room {
 
+    // Assigned before insert, so new rows can be inserted in JDBC batches
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @SequentialId
     private Long id;
 
-    // Each room belongs to exactly one user
-    @ManyToOne(optional = false)
+    // Each room belongs to exactly one user; lazy, since listings only need the id
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
     @JoinColumn(name = "user_id")
     private User user;
 
@@ -0,0 +1,76 @@
+/*
+ * File: RoomAggregate.java
+ * Description: JPA entity holding the running energy totals of one room.
+ * Author: Liam Connell
+ * Date: 2026-10-17
+ */
+
+package com.currently.currently_backend.model;
+
+import jakarta.persistence.*;
+
+/**
+ * Entity: RoomAggregate
+ * Purpose: Per-room counterpart of HouseholdAggregate, keyed by room id. Appliances
+ *          without a room only count towards the household row.
+ */
+@Entity
+@Table(name = "room_aggregates", indexes = @Index(name = "idx_room_aggregates_user", columnList = "user_id"))
+public class RoomAggregate {
+
+    @Id
+    @Column(name = "room_id")
+    private Long roomId;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "appliance_count", nullable = false)
+    private int applianceCount;
+
+    @Column(name = "daily_kwh", nullable = false)
+    private double dailyKWh;
+
+    @Embedded
+    private ProfileEnergy energy = new ProfileEnergy();
+
+    public RoomAggregate() {
+    }
+
+    public RoomAggregate(Long roomId, Long userId) {
+        this.roomId = roomId;
+        this.userId = userId;
+    }
+
+    public Long getRoomId() {
+        return roomId;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public int getApplianceCount() {
+        return applianceCount;
+    }
+
+    public void setApplianceCount(int applianceCount) {
+        this.applianceCount = applianceCount;
+    }
+
+    public double getDailyKWh() {
+        return dailyKWh;
+    }
+
+    public void setDailyKWh(double dailyKWh) {
+        this.dailyKWh = dailyKWh;
+    }
+
+    public ProfileEnergy getEnergy() {
+        return energy;
+    }
+
+    public void setEnergy(ProfileEnergy energy) {
+        this.energy = energy;
+    }
+}
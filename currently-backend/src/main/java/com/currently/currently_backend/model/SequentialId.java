@@ -0,0 +1,26 @@
+/*
+ * File: SequentialId.java
+ * Description: Marks an entity id that is assigned by SequentialIdGenerator.
+ * Author: Liam Connell
+ * Date: 2026-10-17
+ */
+
+package com.currently.currently_backend.model;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Annotation: SequentialId
+ * Purpose: Put on the @Id of an entity whose ids should be handed out before the
+ *          insert (so inserts can be batched) rather than by SQLite on insert.
+ */
+@IdGeneratorType(SequentialIdGenerator.class)
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.FIELD, ElementType.METHOD})
+public @interface SequentialId {
+}
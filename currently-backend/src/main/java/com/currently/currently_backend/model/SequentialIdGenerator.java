@@ -0,0 +1,82 @@
+/*
+ * File: SequentialIdGenerator.java
+ * Description: Hands out entity ids in memory, continuing from the table's highest id.
+ * Author: Liam Connell
+ * Date: 2026-10-17
+ *
+ * Notes:
+ * - IDENTITY ids are only known after each row is inserted, so Hibernate has to send
+ *   those inserts one at a time. Ids assigned before the insert let it send a whole
+ *   flush of rows as one JDBC batch.
+ * - Hibernate's TABLE and SEQUENCE emulations allocate on a second connection in a
+ *   separate transaction. The write pool has a single connection, held by the writer
+ *   for the whole group commit, so they would wait on it for ever (and SQLite would
+ *   refuse the second writer anyway). Every insert already goes through that one
+ *   writer, so a counter in memory is enough: it is seeded once from max(id) on the
+ *   writer's own connection and then only moves forward.
+ * - An id taken by a write that is rolled back is not reused; that only leaves a gap.
+ * - Assumes this application is the only process inserting into the table, which the
+ *   single writer connection already requires.
+ */
+
+package com.currently.currently_backend.model;
+
+import org.hibernate.HibernateException;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerator;
+import org.hibernate.id.factory.spi.CustomIdGeneratorCreationContext;
+import org.hibernate.mapping.PersistentClass;
+
+import java.io.Serial;
+import java.lang.reflect.Member;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Class: SequentialIdGenerator
+ * Purpose: Id generator behind @SequentialId; one instance (and counter) per entity.
+ */
+public class SequentialIdGenerator implements IdentifierGenerator {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    private final String maxIdSql;
+    private final AtomicLong lastId = new AtomicLong();
+
+    private volatile boolean seeded;
+
+    public SequentialIdGenerator(SequentialId config, Member member, CustomIdGeneratorCreationContext context) {
+        PersistentClass entity = context.getPersistentClass();
+        String column = entity.getIdentifier().getColumns().get(0).getName();
+        this.maxIdSql = "select coalesce(max(" + column + "), 0) from " + entity.getTable().getName();
+    }
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object object) {
+        if (!seeded) {
+            seed(session);
+        }
+        return lastId.incrementAndGet();
+    }
+
+    // Helper: start after the highest id already stored, read on the inserting session's
+    // own connection (inside its transaction, so nothing else is needed from the pool)
+    private synchronized void seed(SharedSessionContractImplementor session) {
+        if (seeded) {
+            return;
+        }
+        Connection connection = session.getJdbcCoordinator().getLogicalConnection().getPhysicalConnection();
+        try (PreparedStatement statement = connection.prepareStatement(maxIdSql);
+             ResultSet rs = statement.executeQuery()) {
+            rs.next();
+            lastId.accumulateAndGet(rs.getLong(1), Math::max);
+        } catch (SQLException e) {
+            throw new HibernateException("Could not read the highest id: " + maxIdSql, e);
+        }
+        seeded = true;
+    }
+}
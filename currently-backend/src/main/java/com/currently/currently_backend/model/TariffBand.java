@@ -0,0 +1,122 @@
+/*
+ * File: TariffBand.java
+ * Description: JPA entity for one price band of a TariffPlan (e.g. night rate 23:00-08:00).
+ * Author: Liam Connell
+ * Date: 2026-10-17
+ */
+
+package com.currently.currently_backend.model;
+
+import jakarta.persistence.*;
+
+/**
+ * Entity: TariffBand
+ * Purpose: A unit price that applies on selected days between two times of day.
+ *          Times are minutes since midnight on half-hour boundaries; when the end is
+ *          before the start the band runs past midnight.
+ */
+@Entity
+@Table(name = "tariff_bands")
+public class TariffBand {
+
+    // Bit i set = applies on day i (0 = Monday ... 6 = Sunday)
+    public static final int ALL_DAYS = 0b1111111;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "plan_id", nullable = false)
+    private TariffPlan plan;
+
+    @Column(nullable = false)
+    private Integer position;
+
+    // e.g. "day", "night", "peak"
+    @Column(nullable = false)
+    private String name;
+
+    @Column(name = "days_mask", nullable = false)
+    private Integer daysMask;
+
+    @Column(name = "start_minute", nullable = false)
+    private Integer startMinute;
+
+    @Column(name = "end_minute", nullable = false)
+    private Integer endMinute;
+
+    @Column(name = "price_per_kwh", nullable = false)
+    private Double pricePerKWh;
+
+    public TariffBand() {
+    }
+
+    public TariffBand(String name, int daysMask, int startMinute, int endMinute, double pricePerKWh) {
+        this.name = name;
+        this.daysMask = daysMask;
+        this.startMinute = startMinute;
+        this.endMinute = endMinute;
+        this.pricePerKWh = pricePerKWh;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public TariffPlan getPlan() {
+        return plan;
+    }
+
+    public void setPlan(TariffPlan plan) {
+        this.plan = plan;
+    }
+
+    public Integer getPosition() {
+        return position;
+    }
+
+    public void setPosition(Integer position) {
+        this.position = position;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public Integer getDaysMask() {
+        return daysMask;
+    }
+
+    public void setDaysMask(Integer daysMask) {
+        this.daysMask = daysMask;
+    }
+
+    public Integer getStartMinute() {
+        return startMinute;
+    }
+
+    public void setStartMinute(Integer startMinute) {
+        this.startMinute = startMinute;
+    }
+
+    public Integer getEndMinute() {
+        return endMinute;
+    }
+
+    public void setEndMinute(Integer endMinute) {
+        this.endMinute = endMinute;
+    }
+
+    public Double getPricePerKWh() {
+        return pricePerKWh;
+    }
+
+    public void setPricePerKWh(Double pricePerKWh) {
+        this.pricePerKWh = pricePerKWh;
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * File: TariffPlan.java
+ * Description: JPA entity for a user's electricity tariff (standing charge plus
+ *              time-of-use price bands).
+ * Author: Liam Connell
+ * Date: 2026-10-17
+ */
+
+package com.currently.currently_backend.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Entity: TariffPlan
+ * Purpose: Store the tariff a user is on. At most one plan per user; users without a
+ *          plan are priced with the default flat rate, as are half hours that none of
+ *          a plan's bands cover.
+ */
+@Entity
+@Table(name = "tariff_plans")
+public class TariffPlan {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @OneToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "user_id", nullable = false, unique = true)
+    private User user;
+
+    // Display name, e.g. "Day/Night with peak"
+    @Column(nullable = false)
+    private String name;
+
+    // Fixed daily charge in euro, independent of consumption
+    @Column(name = "standing_charge_per_day", nullable = false)
+    private Double standingChargePerDay;
+
+    // Bands are applied in order; a later band overrides an earlier one where they overlap
+    @OneToMany(mappedBy = "plan", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.EAGER)
+    @OrderBy("position ASC")
+    private List<TariffBand> bands = new ArrayList<>();
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    public TariffPlan() {
+    }
+
+    @PrePersist
+    @PreUpdate
+    protected void touch() {
+        this.updatedAt = LocalDateTime.now();
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public User getUser() {
+        return user;
+    }
+
+    public void setUser(User user) {
+        this.user = user;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public Double getStandingChargePerDay() {
+        return standingChargePerDay;
+    }
+
+    public void setStandingChargePerDay(Double standingChargePerDay) {
+        this.standingChargePerDay = standingChargePerDay;
+    }
+
+    public List<TariffBand> getBands() {
+        return bands;
+    }
+
+    // Replace all bands, keeping their list order as the override order
+    public void replaceBands(List<TariffBand> newBands) {
+        bands.clear();
+        for (int i = 0; i < newBands.size(); i++) {
+            TariffBand band = newBands.get(i);
+            band.setPlan(this);
+            band.setPosition(i);
+            bands.add(band);
+        }
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * File: TimeOfUseProfile.java
+ * Description: Default time-of-day shapes describing when an appliance's daily energy
+ *              is used, at half-hour resolution.
+ * Author: Liam Connell
+ * Date: 2026-10-17
+ */
+
+package com.currently.currently_backend.model;
+
+import java.util.Locale;
+
+/**
+ * Enum: TimeOfUseProfile
+ * Purpose: Spread an appliance's daily kWh over the 48 half hours of a day so it can be
+ *          priced against time-of-use tariffs (and simulated as a load curve).
+ *          Each profile's weights sum to 1.
+ */
+public enum TimeOfUseProfile {
+
+    // Always-on loads (fridge, freezer, router)
+    FLAT(new int[][]{{0, 24, 1}}),
+
+    // Kettle, oven, microwave: breakfast, lunch and dinner
+    MEALTIMES(new int[][]{{7, 9, 3}, {12, 14, 2}, {17, 20, 4}, {9, 12, 1}, {20, 22, 1}}),
+
+    // TV, computers, lamps: mostly evenings, some daytime
+    EVENING(new int[][]{{17, 23, 5}, {9, 17, 1}, {7, 9, 1}}),
+
+    // Showers, immersion, hair dryers
+    MORNING_EVENING(new int[][]{{6, 9, 5}, {18, 22, 3}}),
+
+    // Washing, drying, vacuuming
+    DAYTIME(new int[][]{{9, 18, 3}, {18, 21, 1}}),
+
+    // Electric blankets, storage heating
+    NIGHT(new int[][]{{22, 24, 3}, {0, 7, 2}});
+
+    public static final int SLOTS_PER_DAY = 48;
+
+    private final double[] weights;
+
+    // Each row is {fromHour, toHour, relativeWeight}
+    TimeOfUseProfile(int[][] shape) {
+        double[] w = new double[SLOTS_PER_DAY];
+        for (int[] band : shape) {
+            for (int slot = band[0] * 2; slot < band[1] * 2; slot++) {
+                w[slot] += band[2];
+            }
+        }
+        double sum = 0.0;
+        for (double v : w) {
+            sum += v;
+        }
+        for (int slot = 0; slot < SLOTS_PER_DAY; slot++) {
+            w[slot] /= sum;
+        }
+        this.weights = w;
+    }
+
+    // Share of the day's energy used in a half-hour slot (0 = 00:00-00:30)
+    public double weight(int halfHourSlot) {
+        return weights[halfHourSlot];
+    }
+
+    public byte getCode() {
+        return (byte) ordinal();
+    }
+
+    public static TimeOfUseProfile fromCode(byte code) {
+        return values()[code];
+    }
+
+    // Function: forAppliance
+    // Purpose: Pick the default profile for an appliance from its catalogue category.
+    // Inputs: category, usage type code, hours per day the user runs it
+    // Outputs: profile (FLAT for near-continuous loads and unknown categories)
+    public static TimeOfUseProfile forAppliance(String category, byte usageCode, double hoursPerDay) {
+        if (usageCode == UsageType.CONTINUOUS.getCode() && hoursPerDay >= 20) {
+            return FLAT;
+        }
+        if (category == null) {
+            return FLAT;
+        }
+        switch (category.trim().toLowerCase(Locale.ROOT)) {
+            case "kitchen":
+                return MEALTIMES;
+            case "living room":
+                return EVENING;
+            case "bedroom":
+                return usageCode == UsageType.CONTINUOUS.getCode() && hoursPerDay >= 7 ? NIGHT : EVENING;
+            case "bathroom":
+                return MORNING_EVENING;
+            case "utility":
+            case "household":
+                return DAYTIME;
+            default:
+                return FLAT;
+        }
+    }
+}
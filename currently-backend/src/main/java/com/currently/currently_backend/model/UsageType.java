@@ -0,0 +1,51 @@
+/*
+ * File: UsageType.java
+ * Description: How an appliance's consumption is estimated: by running hours or by uses.
+ * Author: Liam Connell
+ * Date: 2026-10-17
+ */
+
+package com.currently.currently_backend.model;
+
+/**
+ * Enum: UsageType
+ * Purpose: Typed form of the "continuous" / "perUse" strings stored on appliances,
+ *          with a compact byte code for primitive column storage.
+ */
+public enum UsageType {
+
+    CONTINUOUS("continuous", (byte) 1),
+    PER_USE("perUse", (byte) 2);
+
+    // Code used for rows whose usage type is missing or not recognised
+    public static final byte UNKNOWN_CODE = 0;
+
+    private final String label;
+    private final byte code;
+
+    UsageType(String label, byte code) {
+        this.label = label;
+        this.code = code;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    public byte getCode() {
+        return code;
+    }
+
+    // Function: codeOf
+    // Purpose: Map a stored usage type string (case-insensitive) to its code.
+    // Outputs: CONTINUOUS/PER_USE code, or UNKNOWN_CODE
+    public static byte codeOf(String label) {
+        if (CONTINUOUS.label.equalsIgnoreCase(label)) {
+            return CONTINUOUS.code;
+        }
+        if (PER_USE.label.equalsIgnoreCase(label)) {
+            return PER_USE.code;
+        }
+        return UNKNOWN_CODE;
+    }
+}
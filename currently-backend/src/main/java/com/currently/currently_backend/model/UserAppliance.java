@@ -20,8 +20,9 @@ import java.time.LocalDateTime;
 @Table(name = "user_appliances")
 public class UserAppliance {
 
+    // Assigned before insert, so new rows can be inserted in JDBC batches
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @SequentialId
     private Long id;
 
     // Many user-appliances belong to one user
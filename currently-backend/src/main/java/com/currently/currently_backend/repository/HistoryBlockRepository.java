@@ -0,0 +1,29 @@
+/*
+ * File: HistoryBlockRepository.java
+ * Description: Spring Data JPA repository for encoded history blocks.
+ * Author: Liam Connell
+ * Date: 2026-10-17
+ */
+
+package com.currently.currently_backend.repository;
+
+import com.currently.currently_backend.model.HistoryBlock;
+import com.currently.currently_backend.model.HistoryBlockId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+/**
+ * Interface: HistoryBlockRepository
+ * Purpose: Read a user's blocks for a range of months in one primary-key range scan.
+ */
+public interface HistoryBlockRepository extends JpaRepository<HistoryBlock, HistoryBlockId> {
+
+    @Query("select b from HistoryBlock b where b.id.userId = :userId "
+            + "and b.id.month between :fromMonth and :toMonth order by b.id.month")
+    List<HistoryBlock> findRange(@Param("userId") Long userId,
+                                 @Param("fromMonth") int fromMonth,
+                                 @Param("toMonth") int toMonth);
+}
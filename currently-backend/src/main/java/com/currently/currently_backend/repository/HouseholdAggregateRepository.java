@@ -0,0 +1,87 @@
+/*
+ * File: HouseholdAggregateRepository.java
+ * Description: Spring Data JPA repository for per-user aggregate rows.
+ * Author: Liam Connell
+ * Date: 2026-10-17
+ */
+
+package com.currently.currently_backend.repository;
+
+import com.currently.currently_backend.dto.HouseholdBenchmarkRow;
+import com.currently.currently_backend.model.HouseholdAggregate;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Interface: HouseholdAggregateRepository
+ * Purpose: Primary-key reads of household totals, plus an in-place delta update so
+ *          concurrent writers never read-modify-write the same row. Reads default to
+ *          read-only for the background jobs that page through without a transaction;
+ *          the updates are only called inside the writer's transaction and join it.
+ */
+@Transactional(readOnly = true)
+public interface HouseholdAggregateRepository extends JpaRepository<HouseholdAggregate, Long> {
+
+    // Adds the deltas to the user's row; returns 0 when the user has no row yet
+    @Modifying
+    @Query("update HouseholdAggregate h set "
+            + "h.applianceCount = h.applianceCount + :count, "
+            + "h.dailyKWh = h.dailyKWh + :kWh, "
+            + "h.energy.flatKWh = h.energy.flatKWh + :flat, "
+            + "h.energy.mealtimesKWh = h.energy.mealtimesKWh + :mealtimes, "
+            + "h.energy.eveningKWh = h.energy.eveningKWh + :evening, "
+            + "h.energy.morningEveningKWh = h.energy.morningEveningKWh + :morningEvening, "
+            + "h.energy.daytimeKWh = h.energy.daytimeKWh + :daytime, "
+            + "h.energy.nightKWh = h.energy.nightKWh + :night, "
+            + "h.dataVersion = h.dataVersion + 1, "
+            + "h.updatedAt = :now "
+            + "where h.userId = :userId")
+    int addDelta(@Param("userId") Long userId,
+                 @Param("count") int count,
+                 @Param("kWh") double kWh,
+                 @Param("flat") double flat,
+                 @Param("mealtimes") double mealtimes,
+                 @Param("evening") double evening,
+                 @Param("morningEvening") double morningEvening,
+                 @Param("daytime") double daytime,
+                 @Param("night") double night,
+                 @Param("now") LocalDateTime now);
+
+    String BENCHMARK_ROW = "select new com.currently.currently_backend.dto.HouseholdBenchmarkRow("
+            + "h.userId, h.applianceCount, h.dailyKWh, "
+            + "h.energy.flatKWh, h.energy.mealtimesKWh, h.energy.eveningKWh, "
+            + "h.energy.morningEveningKWh, h.energy.daytimeKWh, h.energy.nightKWh, "
+            + "(select count(r) from Room r where r.user.id = h.userId), "
+            + "(select count(distinct r.floorLabel) from Room r where r.user.id = h.userId), "
+            + "h.cohortKey, h.benchmarkKWh) "
+            + "from HouseholdAggregate h ";
+
+    // One household's totals with its room and floor counts
+    @Query(BENCHMARK_ROW + "where h.userId = :userId")
+    Optional<HouseholdBenchmarkRow> findBenchmarkRow(@Param("userId") Long userId);
+
+    // The next page of households after the given user, for rebuilding the benchmark
+    // histograms (a keyset seek, so households added or removed meanwhile shift nothing)
+    @Query(BENCHMARK_ROW + "where h.userId > :userId order by h.userId")
+    List<HouseholdBenchmarkRow> findBenchmarkRowsAfter(@Param("userId") Long userId, Pageable pageable);
+
+    // Records the cohort and kWh a household is counted under
+    @Modifying
+    @Query("update HouseholdAggregate h set h.cohortKey = :cohortKey, h.benchmarkKWh = :kWh "
+            + "where h.userId = :userId")
+    int setBenchmark(@Param("userId") Long userId,
+                     @Param("cohortKey") Integer cohortKey,
+                     @Param("kWh") Double kWh);
+
+    // Aggregate rows in pages, for jobs that walk every household
+    @Query("select h from HouseholdAggregate h order by h.userId")
+    List<HouseholdAggregate> findPage(Pageable pageable);
+}
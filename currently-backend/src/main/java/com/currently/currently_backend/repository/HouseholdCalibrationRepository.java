@@ -0,0 +1,18 @@
+/*
+ * File: HouseholdCalibrationRepository.java
+ * Description: Spring Data JPA repository for measured household consumption.
+ * Author: Liam Connell
+ * Date: 2026-10-17
+ */
+
+package com.currently.currently_backend.repository;
+
+import com.currently.currently_backend.model.HouseholdCalibration;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+/**
+ * Interface: HouseholdCalibrationRepository
+ * Purpose: Primary-key access to a user's calibration row.
+ */
+public interface HouseholdCalibrationRepository extends JpaRepository<HouseholdCalibration, Long> {
+}
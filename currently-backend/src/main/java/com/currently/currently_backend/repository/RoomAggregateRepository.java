@@ -0,0 +1,57 @@
+/*
+ * File: RoomAggregateRepository.java
+ * Description: Spring Data JPA repository for per-room aggregate rows.
+ * Author: Liam Connell
+ * Date: 2026-10-17
+ */
+
+package com.currently.currently_backend.repository;
+
+import com.currently.currently_backend.model.RoomAggregate;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Interface: RoomAggregateRepository
+ * Purpose: Per-room totals, updated in place like HouseholdAggregateRepository (and
+ *          read-only outside a transaction in the same way).
+ */
+@Transactional(readOnly = true)
+public interface RoomAggregateRepository extends JpaRepository<RoomAggregate, Long> {
+
+    List<RoomAggregate> findByUserId(Long userId);
+
+    List<RoomAggregate> findByUserIdIn(Collection<Long> userIds);
+
+    @Modifying
+    @Query("delete from RoomAggregate r where r.userId = :userId")
+    int deleteByUserIdInBulk(@Param("userId") Long userId);
+
+    // Adds the deltas to the room's row; returns 0 when the room has no row yet
+    @Modifying
+    @Query("update RoomAggregate r set "
+            + "r.applianceCount = r.applianceCount + :count, "
+            + "r.dailyKWh = r.dailyKWh + :kWh, "
+            + "r.energy.flatKWh = r.energy.flatKWh + :flat, "
+            + "r.energy.mealtimesKWh = r.energy.mealtimesKWh + :mealtimes, "
+            + "r.energy.eveningKWh = r.energy.eveningKWh + :evening, "
+            + "r.energy.morningEveningKWh = r.energy.morningEveningKWh + :morningEvening, "
+            + "r.energy.daytimeKWh = r.energy.daytimeKWh + :daytime, "
+            + "r.energy.nightKWh = r.energy.nightKWh + :night "
+            + "where r.roomId = :roomId")
+    int addDelta(@Param("roomId") Long roomId,
+                 @Param("count") int count,
+                 @Param("kWh") double kWh,
+                 @Param("flat") double flat,
+                 @Param("mealtimes") double mealtimes,
+                 @Param("evening") double evening,
+                 @Param("morningEvening") double morningEvening,
+                 @Param("daytime") double daytime,
+                 @Param("night") double night);
+}
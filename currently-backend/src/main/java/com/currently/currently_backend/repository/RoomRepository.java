@@ -1,12 +1,39 @@
 package com.currently.currently_backend.repository;
 
+import com.currently.currently_backend.dto.ExportRoomRow;
+import com.currently.currently_backend.dto.RoomResponse;
 import com.currently.currently_backend.model.Room;
-import com.currently.currently_backend.model.User;
+
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 
 public interface RoomRepository extends JpaRepository<Room, Long> {
 
-    List<Room> findByUserOrderByFloorLabelAscNameAsc(User user);
+    // All of a user's rooms as DTOs in one statement (no Room/User entities loaded)
+    @Query("select new com.currently.currently_backend.dto.RoomResponse(r.id, r.name, r.floorLabel, r.type) "
+            + "from Room r where r.user.id = :userId order by r.floorLabel asc, r.name asc")
+    List<RoomResponse> findResponsesByUserId(@Param("userId") Long userId);
+
+    // One chunk of a user's rooms with their running totals for the export: the next page
+    // in (floorLabel, name, id) order after the given room (a keyset seek, not an offset)
+    @Query("select new com.currently.currently_backend.dto.ExportRoomRow("
+            + "r.id, r.name, r.floorLabel, r.type, "
+            + "coalesce(a.applianceCount, 0), coalesce(a.dailyKWh, 0.0), "
+            + "coalesce(a.energy.flatKWh, 0.0), coalesce(a.energy.mealtimesKWh, 0.0), "
+            + "coalesce(a.energy.eveningKWh, 0.0), coalesce(a.energy.morningEveningKWh, 0.0), "
+            + "coalesce(a.energy.daytimeKWh, 0.0), coalesce(a.energy.nightKWh, 0.0)) "
+            + "from Room r left join RoomAggregate a on a.roomId = r.id "
+            + "where r.user.id = :userId and r.floorLabel >= :floorLabel "
+            + "and (r.floorLabel > :floorLabel or r.name > :name or (r.name = :name and r.id > :id)) "
+            + "order by r.floorLabel asc, r.name asc, r.id asc")
+    List<ExportRoomRow> findExportRowsAfter(@Param("userId") Long userId,
+                                            @Param("floorLabel") String floorLabel,
+                                            @Param("name") String name,
+                                            @Param("id") Long id,
+                                            Pageable pageable);
 }
@@ -0,0 +1,25 @@
+/*
+ * File: TariffPlanRepository.java
+ * Description: Spring Data JPA repository for TariffPlan entities.
+ * Author: Liam Connell
+ * Date: 2026-10-17
+ */
+
+package com.currently.currently_backend.repository;
+
+import com.currently.currently_backend.model.TariffPlan;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+/**
+ * Interface: TariffPlanRepository
+ * Purpose: Load and store the (single) tariff plan of a user. findByUserId is read-only
+ *          so a cache miss outside a transaction reads from the read pool.
+ */
+@Transactional(readOnly = true)
+public interface TariffPlanRepository extends JpaRepository<TariffPlan, Long> {
+
+    Optional<TariffPlan> findByUserId(Long userId);
+}
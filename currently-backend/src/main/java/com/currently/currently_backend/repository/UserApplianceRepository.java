@@ -7,10 +7,19 @@
 
 package com.currently.currently_backend.repository;
 
-import com.currently.currently_backend.model.User;
+import com.currently.currently_backend.dto.ExportApplianceRow;
+import com.currently.currently_backend.dto.HouseholdApplianceRow;
+import com.currently.currently_backend.dto.UserApplianceResponse;
 import com.currently.currently_backend.model.UserAppliance;
+
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 /**
@@ -19,6 +28,38 @@ import java.util.List;
  */
 public interface UserApplianceRepository extends JpaRepository<UserAppliance, Long> {
 
-    // Find all appliances belonging to a specific user
-    List<UserAppliance> findByUserOrderByCreatedAtAsc(User user);
+    // All of a user's appliances as response DTOs with their room name, in one statement
+    // (no UserAppliance/Room/User entities loaded)
+    @Query("select new com.currently.currently_backend.dto.UserApplianceResponse("
+            + "ua.id, ua.applianceName, ua.customName, ua.usageType, ua.hoursPerDay, ua.usesPerDay, "
+            + "r.id, r.name) "
+            + "from UserAppliance ua left join ua.room r "
+            + "where ua.user.id = :userId order by ua.createdAt asc")
+    List<UserApplianceResponse> findResponsesByUserId(@Param("userId") Long userId);
+
+    // The fields the energy calculations need, for all of a user's appliances, in one statement
+    @Query("select new com.currently.currently_backend.dto.HouseholdApplianceRow("
+            + "ua.id, ua.applianceName, ua.usageType, ua.hoursPerDay, ua.usesPerDay, r.id) "
+            + "from UserAppliance ua left join ua.room r "
+            + "where ua.user.id = :userId order by ua.createdAt asc")
+    List<HouseholdApplianceRow> findRowsByUserId(@Param("userId") Long userId);
+
+    // One chunk of a user's appliances with their room for the export: the next page in
+    // (createdAt, id) order after the given appliance (a keyset seek, not an offset)
+    @Query("select new com.currently.currently_backend.dto.ExportApplianceRow("
+            + "ua.id, ua.applianceName, ua.customName, ua.usageType, ua.hoursPerDay, ua.usesPerDay, "
+            + "ua.createdAt, r.id, r.name) "
+            + "from UserAppliance ua left join ua.room r "
+            + "where ua.user.id = :userId and ua.createdAt >= :createdAt "
+            + "and (ua.createdAt > :createdAt or ua.id > :id) "
+            + "order by ua.createdAt asc, ua.id asc")
+    List<ExportApplianceRow> findExportRowsAfter(@Param("userId") Long userId,
+                                                 @Param("createdAt") LocalDateTime createdAt,
+                                                 @Param("id") Long id,
+                                                 Pageable pageable);
+
+    // Move a room's appliances to "no room" (used when the room is deleted)
+    @Modifying
+    @Query("update UserAppliance ua set ua.room = null where ua.room.id = :roomId")
+    int unassignRoom(@Param("roomId") Long roomId);
 }
@@ -8,16 +8,27 @@
 package com.currently.currently_backend.repository;
 
 import com.currently.currently_backend.model.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
 import java.util.Optional;
 
+// Query methods run read-only, on the read pool, when no transaction is open (login and
+// registration look users up outside one); inside a write transaction they join it
 @Repository
+@Transactional(readOnly = true)
 public interface UserRepository extends JpaRepository<User, Long> {
     // Custom query methods automatically implemented by Spring Data JPA
     Optional<User> findByEmail(String email);
     Optional<User> findByUsername(String username);
     boolean existsByEmail(String email);
     boolean existsByUsername(String username);
+
+    // User ids in pages, for background jobs that walk every household
+    @Query("select u.id from User u order by u.id")
+    List<Long> findAllIds(Pageable pageable);
 }
@@ -0,0 +1,70 @@
+/*
+ * File: AggregateConsistencyChecker.java
+ * Description: Background job that recomputes every household's aggregates and
+ *              repairs any that have drifted from the appliance rows.
+ * Author: Liam Connell
+ * Date: 2026-10-17
+ */
+
+package com.currently.currently_backend.service;
+
+import com.currently.currently_backend.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Class: AggregateConsistencyChecker
+ * Purpose: Walk all users in pages and run AggregateService.checkAndRepair for each, one
+ *          transaction per household so a failure only affects that household.
+ *          The interval is currently.aggregates.check-interval-ms (default one hour).
+ */
+@Component
+public class AggregateConsistencyChecker {
+
+    private static final Logger log = LoggerFactory.getLogger(AggregateConsistencyChecker.class);
+
+    private static final int PAGE_SIZE = 500;
+
+    private final UserRepository userRepository;
+    private final AggregateService aggregateService;
+
+    public AggregateConsistencyChecker(UserRepository userRepository, AggregateService aggregateService) {
+        this.userRepository = userRepository;
+        this.aggregateService = aggregateService;
+    }
+
+    // Function: checkAll
+    // Purpose: Compare stored aggregates with recomputed ones and repair any drift.
+    // Outputs: number of households repaired
+    @Scheduled(initialDelayString = "${currently.aggregates.check-interval-ms:3600000}",
+            fixedDelayString = "${currently.aggregates.check-interval-ms:3600000}")
+    public int checkAll() {
+        int checked = 0;
+        int repaired = 0;
+        for (int page = 0; ; page++) {
+            List<Long> userIds = userRepository.findAllIds(PageRequest.of(page, PAGE_SIZE));
+            for (Long userId : userIds) {
+                try {
+                    if (aggregateService.checkAndRepair(userId)) {
+                        repaired++;
+                    }
+                } catch (RuntimeException e) {
+                    log.warn("Aggregate check failed for user {}", userId, e);
+                }
+                checked++;
+            }
+            if (userIds.size() < PAGE_SIZE) {
+                break;
+            }
+        }
+        if (repaired > 0) {
+            log.info("Aggregate check: repaired {} of {} households", repaired, checked);
+        }
+        return repaired;
+    }
+}
@@ -0,0 +1,374 @@
+/*
+ * File: AggregateService.java
+ * Description: Maintains the persisted household and room energy aggregates.
+ * Author: Liam Connell
+ * Date: 2026-10-17
+ *
+ * Notes:
+ * - Write paths call apply() inside their own transaction, so an appliance change
+ *   and its aggregate delta commit or roll back together.
+ * - Aggregates hold kWh per TimeOfUseProfile, not cost, so tariff changes need no
+ *   aggregate writes.
+ * - Deltas can drift (catalogue ratings changed by a reload, rows edited outside the
+ *   API, rounding); checkAndRepair() recomputes a household from scratch and is run
+ *   periodically by AggregateConsistencyChecker.
+ * - Every change is passed on to BenchmarkService so the cohort histograms follow.
+ */
+
+package com.currently.currently_backend.service;
+
+import com.currently.currently_backend.dto.HouseholdApplianceRow;
+import com.currently.currently_backend.model.HouseholdAggregate;
+import com.currently.currently_backend.model.ProfileEnergy;
+import com.currently.currently_backend.model.RoomAggregate;
+import com.currently.currently_backend.model.TimeOfUseProfile;
+import com.currently.currently_backend.model.UserAppliance;
+import com.currently.currently_backend.repository.HouseholdAggregateRepository;
+import com.currently.currently_backend.repository.RoomAggregateRepository;
+import com.currently.currently_backend.repository.UserApplianceRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Class: AggregateService
+ * Purpose: Keep one HouseholdAggregate row per user and one RoomAggregate row per room
+ *          in step with the appliances, by applying the difference each write makes
+ *          instead of recomputing the household.
+ */
+@Service
+public class AggregateService {
+
+    private static final int PROFILES = TimeOfUseProfile.values().length;
+
+    // Allowed difference between stored and recomputed kWh before a row counts as drifted
+    private static final double TOLERANCE = 1e-6;
+
+    private final HouseholdAggregateRepository householdAggregateRepository;
+    private final RoomAggregateRepository roomAggregateRepository;
+    private final UserApplianceRepository userApplianceRepository;
+    private final ApplianceService applianceService;
+    private final BenchmarkService benchmarkService;
+    private final WriteQueue writeQueue;
+
+    public AggregateService(
+            HouseholdAggregateRepository householdAggregateRepository,
+            RoomAggregateRepository roomAggregateRepository,
+            UserApplianceRepository userApplianceRepository,
+            ApplianceService applianceService,
+            BenchmarkService benchmarkService,
+            WriteQueue writeQueue
+    ) {
+        this.householdAggregateRepository = householdAggregateRepository;
+        this.roomAggregateRepository = roomAggregateRepository;
+        this.userApplianceRepository = userApplianceRepository;
+        this.applianceService = applianceService;
+        this.benchmarkService = benchmarkService;
+        this.writeQueue = writeQueue;
+    }
+
+    // Function: contributionOf
+    // Purpose: What one appliance adds to its household and room totals, in its current state.
+    // Inputs: user appliance entity
+    // Outputs: Contribution (room, profile, daily kWh)
+    public Contribution contributionOf(UserAppliance entity) {
+        HouseholdColumns row = new HouseholdColumns(1);
+        row.add(entity.getUsageType(), applianceService.findByName(entity.getApplianceName()),
+                entity.getHoursPerDay(), entity.getUsesPerDay());
+        double kWh = EnergyCalculator.dailyKWh(row.usage(0), row.watts(0), row.hours(0), row.uses(0));
+        return new Contribution(entity.getRoom() != null ? entity.getRoom().getId() : null, row.profile(0), kWh);
+    }
+
+    // Function: apply
+    // Purpose: Move the aggregates from one appliance state to another.
+    // Inputs: user id, the appliance's contribution before the write (null if created)
+    //         and after it (null if deleted)
+    // Outputs: none; must run inside the caller's transaction
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void apply(Long userId, Contribution removed, Contribution added) {
+        double[] delta = new double[PROFILES];
+        int count = 0;
+        if (removed != null) {
+            delta[removed.profile] -= removed.kWh;
+            count--;
+        }
+        if (added != null) {
+            delta[added.profile] += added.kWh;
+            count++;
+        }
+        double kWh = (added != null ? added.kWh : 0.0) - (removed != null ? removed.kWh : 0.0);
+
+        if (addHouseholdDelta(userId, count, kWh, delta) == 0) {
+            // First write for this household: build it from the (already flushed) appliances
+            repair(userId, compute(userId));
+            return;
+        }
+        if (removed != null && removed.roomId != null) {
+            addRoomDelta(userId, removed.roomId, -1, -removed.kWh, profileDelta(removed.profile, -removed.kWh));
+        }
+        if (added != null && added.roomId != null) {
+            addRoomDelta(userId, added.roomId, 1, added.kWh, profileDelta(added.profile, added.kWh));
+        }
+        benchmarkService.householdChanged(userId);
+    }
+
+    // Function: applyAdded
+    // Purpose: apply() for many new appliances at once: one household update and one
+    //          update per room touched, however many appliances were added.
+    // Inputs: user id, contributions of the created appliances
+    // Outputs: none; must run inside the caller's transaction
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void applyAdded(Long userId, List<Contribution> added) {
+        if (added.isEmpty()) {
+            return;
+        }
+        Computed total = new Computed();
+        for (Contribution contribution : added) {
+            total.add(contribution.profile, contribution.kWh);
+            if (contribution.roomId != null) {
+                total.rooms.computeIfAbsent(contribution.roomId, id -> new Computed())
+                        .add(contribution.profile, contribution.kWh);
+            }
+        }
+
+        if (addHouseholdDelta(userId, total.count, total.kWh, total.byProfile) == 0) {
+            // First write for this household: the new appliances are flushed, so the
+            // rebuild already includes them
+            repair(userId, compute(userId));
+            return;
+        }
+        for (Map.Entry<Long, Computed> room : total.rooms.entrySet()) {
+            addRoomDelta(userId, room.getKey(), room.getValue().count, room.getValue().kWh,
+                    room.getValue().byProfile);
+        }
+        benchmarkService.householdChanged(userId);
+    }
+
+    // Function: roomDeleted
+    // Purpose: Drop a deleted room's row; its appliances have been moved to "no room",
+    //          so the household totals are unchanged apart from the data version.
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void roomDeleted(Long userId, Long roomId) {
+        roomAggregateRepository.findById(roomId).ifPresent(roomAggregateRepository::delete);
+        addHouseholdDelta(userId, 0, 0.0, new double[PROFILES]);
+        benchmarkService.householdChanged(userId);
+    }
+
+    // Function: getHouseholdAggregate
+    // Purpose: Current household totals; a single primary-key read once the row exists.
+    // Inputs: user id
+    // Outputs: the user's aggregate row (built on first access for older accounts)
+    @Transactional(readOnly = true)
+    public HouseholdAggregate getHouseholdAggregate(Long userId) {
+        HouseholdAggregate aggregate = householdAggregateRepository.findById(userId).orElse(null);
+        if (aggregate != null) {
+            return aggregate;
+        }
+        // Joined to a caller's write transaction: build it there. Otherwise this is a
+        // read-only connection, so the one-off build is handed to the writer.
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return repair(userId, compute(userId));
+        }
+        return writeQueue.execute(() -> repair(userId, compute(userId)));
+    }
+
+    // Function: checkAndRepair
+    // Purpose: Recompute a household from its appliances and overwrite the stored rows
+    //          if they have drifted. The check runs on a read connection; only a drifted
+    //          household is handed to the writer, which checks again before repairing.
+    // Inputs: user id
+    // Outputs: true if anything was repaired
+    @Transactional(readOnly = true)
+    public boolean checkAndRepair(Long userId) {
+        if (!drifted(userId, compute(userId))) {
+            return false;
+        }
+        return writeQueue.execute(() -> {
+            Computed expected = compute(userId);
+            if (!drifted(userId, expected)) {
+                return false;
+            }
+            repair(userId, expected);
+            return true;
+        });
+    }
+
+    // Helper: whether the stored household or room rows differ from the computed ones
+    private boolean drifted(Long userId, Computed expected) {
+        HouseholdAggregate stored = householdAggregateRepository.findById(userId).orElse(null);
+
+        boolean drifted = stored == null
+                || stored.getApplianceCount() != expected.count
+                || differs(stored.getDailyKWh(), expected.kWh)
+                || differs(stored.getEnergy().toArray(), expected.byProfile);
+
+        // A stored room row with nothing in it matches a room with no appliances
+        Map<Long, RoomAggregate> storedRooms = new HashMap<>();
+        for (RoomAggregate room : roomAggregateRepository.findByUserId(userId)) {
+            storedRooms.put(room.getRoomId(), room);
+            Computed want = expected.rooms.getOrDefault(room.getRoomId(), Computed.EMPTY);
+            drifted |= room.getApplianceCount() != want.count
+                    || differs(room.getDailyKWh(), want.kWh)
+                    || differs(room.getEnergy().toArray(), want.byProfile);
+        }
+        drifted |= !storedRooms.keySet().containsAll(expected.rooms.keySet());
+        return drifted;
+    }
+
+    // Helper: overwrite the household row and its room rows with freshly computed values
+    private HouseholdAggregate repair(Long userId, Computed expected) {
+        HouseholdAggregate household = householdAggregateRepository.findById(userId)
+                .orElseGet(() -> new HouseholdAggregate(userId));
+        household.setApplianceCount(expected.count);
+        household.setDailyKWh(expected.kWh);
+        household.setEnergy(ProfileEnergy.of(expected.byProfile));
+        household.setDataVersion(household.getDataVersion() + 1);
+        household.setUpdatedAt(LocalDateTime.now());
+        HouseholdAggregate saved = householdAggregateRepository.save(household);
+
+        Map<Long, RoomAggregate> storedRooms = new HashMap<>();
+        for (RoomAggregate room : roomAggregateRepository.findByUserId(userId)) {
+            storedRooms.put(room.getRoomId(), room);
+        }
+        for (Map.Entry<Long, Computed> entry : expected.rooms.entrySet()) {
+            RoomAggregate room = storedRooms.remove(entry.getKey());
+            if (room == null) {
+                room = new RoomAggregate(entry.getKey(), userId);
+            }
+            room.setApplianceCount(entry.getValue().count);
+            room.setDailyKWh(entry.getValue().kWh);
+            room.setEnergy(ProfileEnergy.of(entry.getValue().byProfile));
+            roomAggregateRepository.save(room);
+        }
+        // Rows left over belong to rooms that no longer have appliances
+        roomAggregateRepository.deleteAll(storedRooms.values());
+        benchmarkService.householdChanged(userId);
+        return saved;
+    }
+
+    // Helper: recompute a household (and its rooms) from the appliance rows
+    private Computed compute(Long userId) {
+        List<HouseholdApplianceRow> rows = userApplianceRepository.findRowsByUserId(userId);
+        HouseholdColumns household = new HouseholdColumns(rows.size());
+        for (HouseholdApplianceRow row : rows) {
+            household.add(row.getUsageType(), applianceService.findByName(row.getApplianceName()),
+                    row.getHoursPerDay(), row.getUsesPerDay());
+        }
+
+        Computed total = new Computed();
+        for (int i = 0; i < rows.size(); i++) {
+            double kWh = EnergyCalculator.dailyKWh(household.usage(i), household.watts(i),
+                    household.hours(i), household.uses(i));
+            byte profile = household.profile(i);
+            total.add(profile, kWh);
+
+            Long roomId = rows.get(i).getRoomId();
+            if (roomId != null) {
+                total.rooms.computeIfAbsent(roomId, id -> new Computed()).add(profile, kWh);
+            }
+        }
+        return total;
+    }
+
+    private int addHouseholdDelta(Long userId, int count, double kWh, double[] delta) {
+        return householdAggregateRepository.addDelta(userId, count, kWh,
+                delta[TimeOfUseProfile.FLAT.ordinal()],
+                delta[TimeOfUseProfile.MEALTIMES.ordinal()],
+                delta[TimeOfUseProfile.EVENING.ordinal()],
+                delta[TimeOfUseProfile.MORNING_EVENING.ordinal()],
+                delta[TimeOfUseProfile.DAYTIME.ordinal()],
+                delta[TimeOfUseProfile.NIGHT.ordinal()],
+                LocalDateTime.now());
+    }
+
+    private static double[] profileDelta(byte profile, double kWh) {
+        double[] delta = new double[PROFILES];
+        delta[profile] = kWh;
+        return delta;
+    }
+
+    private void addRoomDelta(Long userId, Long roomId, int count, double kWh, double[] delta) {
+        int updated = roomAggregateRepository.addDelta(roomId, count, kWh,
+                delta[TimeOfUseProfile.FLAT.ordinal()],
+                delta[TimeOfUseProfile.MEALTIMES.ordinal()],
+                delta[TimeOfUseProfile.EVENING.ordinal()],
+                delta[TimeOfUseProfile.MORNING_EVENING.ordinal()],
+                delta[TimeOfUseProfile.DAYTIME.ordinal()],
+                delta[TimeOfUseProfile.NIGHT.ordinal()]);
+
+        // A room's first appliance creates its row; a missing row on removal is left to the checker
+        if (updated == 0 && count > 0) {
+            RoomAggregate room = new RoomAggregate(roomId, userId);
+            room.setApplianceCount(count);
+            room.setDailyKWh(kWh);
+            room.setEnergy(ProfileEnergy.of(delta));
+            roomAggregateRepository.save(room);
+        }
+    }
+
+    private static boolean differs(double stored, double expected) {
+        return Math.abs(stored - expected) > TOLERANCE * Math.max(1.0, Math.abs(expected));
+    }
+
+    private static boolean differs(double[] stored, double[] expected) {
+        for (int p = 0; p < expected.length; p++) {
+            if (differs(stored[p], expected[p])) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Class: Contribution
+     * Purpose: One appliance's share of the totals: its room (or null), its
+     *          TimeOfUseProfile code and its daily kWh.
+     */
+    public static final class Contribution {
+
+        private final Long roomId;
+        private final byte profile;
+        private final double kWh;
+
+        public Contribution(Long roomId, byte profile, double kWh) {
+            this.roomId = roomId;
+            this.profile = profile;
+            this.kWh = kWh;
+        }
+
+        public Long getRoomId() {
+            return roomId;
+        }
+
+        public byte getProfile() {
+            return profile;
+        }
+
+        public double getKWh() {
+            return kWh;
+        }
+    }
+
+    // Recomputed totals for a household or one room
+    private static final class Computed {
+
+        private static final Computed EMPTY = new Computed();
+
+        private int count;
+        private double kWh;
+        private final double[] byProfile = new double[PROFILES];
+        private final Map<Long, Computed> rooms = new HashMap<>();
+
+        private void add(byte profile, double dailyKWh) {
+            count++;
+            kWh += dailyKWh;
+            byProfile[profile] += dailyKWh;
+        }
+    }
+}
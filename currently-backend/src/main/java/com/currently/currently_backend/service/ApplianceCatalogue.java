@@ -0,0 +1,234 @@
+/*
+ * File: ApplianceCatalogue.java
+ * Description: Immutable, indexed snapshot of the base appliance catalogue.
+ * Author: Liam Connell
+ * Date: 2026-10-17
+ */
+
+package com.currently.currently_backend.service;
+
+import com.currently.currently_backend.model.Appliance;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+
+/**
+ * Class: ApplianceCatalogue
+ * Purpose: Hold one loaded version of the catalogue together with its lookup indexes:
+ *          - a case-insensitive name index (O(1), allocation-free)
+ *          - secondary indexes by category and by usage type
+ *          - a trigram/prefix search index for typeahead
+ *          Every list handed out is a read-only view over the snapshot, so callers
+ *          can neither change the catalogue nor force a copy of it.
+ *          Rows come from an ApplianceRows store: plain objects for the bundled JSON,
+ *          or ColumnarApplianceStore for large SKU-level catalogues.
+ *          Each snapshot carries a version that increases with every publish, so
+ *          responses and caches derived from the catalogue can key on it.
+ */
+public final class ApplianceCatalogue {
+
+    private final long version;
+    private final ApplianceRows rows;
+    private final List<Appliance> all;
+    private final CaseInsensitiveIndex nameIndex;
+
+    private final List<String> categories;
+    private final CaseInsensitiveIndex categoryIndex;
+    private final List<List<Appliance>> rowsByCategory;
+
+    private final List<String> usageTypes;
+    private final CaseInsensitiveIndex usageTypeIndex;
+    private final List<List<Appliance>> rowsByUsageType;
+
+    private final ApplianceSearchIndex searchIndex;
+
+    // Function: of
+    // Purpose: Build an immutable snapshot from freshly loaded appliances.
+    // Inputs: version number of this snapshot, appliances in catalogue order
+    // Outputs: indexed catalogue
+    public static ApplianceCatalogue of(long version, List<Appliance> appliances) {
+        return new ApplianceCatalogue(version, ApplianceRows.of(appliances));
+    }
+
+    // Function: of
+    // Purpose: Build an immutable snapshot over any row store (e.g. columnar storage).
+    static ApplianceCatalogue of(long version, ApplianceRows rows) {
+        return new ApplianceCatalogue(version, rows);
+    }
+
+    private ApplianceCatalogue(long version, ApplianceRows rows) {
+        this.version = version;
+        this.rows = rows;
+        this.all = new RowList(rows, identity(rows.size()));
+
+        List<String> names = new ArrayList<>(rows.size());
+        List<String> searchTexts = new ArrayList<>(rows.size());
+        for (int row = 0; row < rows.size(); row++) {
+            names.add(rows.name(row));
+            searchTexts.add(rows.searchText(row));
+        }
+        this.nameIndex = CaseInsensitiveIndex.of(names);
+
+        Map<String, List<Integer>> byCategory = group(rows, true);
+        this.categories = List.copyOf(byCategory.keySet());
+        this.categoryIndex = CaseInsensitiveIndex.of(categories);
+        this.rowsByCategory = toRowLists(rows, byCategory);
+
+        Map<String, List<Integer>> byUsageType = group(rows, false);
+        this.usageTypes = List.copyOf(byUsageType.keySet());
+        this.usageTypeIndex = CaseInsensitiveIndex.of(usageTypes);
+        this.rowsByUsageType = toRowLists(rows, byUsageType);
+
+        int[] rowCategories = new int[rows.size()];
+        for (int row = 0; row < rows.size(); row++) {
+            rowCategories[row] = categoryIndex.get(rows.category(row));
+        }
+        this.searchIndex = ApplianceSearchIndex.build(searchTexts, rowCategories);
+    }
+
+    // Function: findByName
+    // Purpose: Case-insensitive lookup of a base appliance by name.
+    // Inputs: name as typed by the user or stored on a UserAppliance
+    // Outputs: matching Appliance, or null if the catalogue has no such name
+    public Appliance findByName(String name) {
+        int row = nameIndex.get(name);
+        return row == CaseInsensitiveIndex.MISSING ? null : rows.get(row);
+    }
+
+    public boolean contains(String name) {
+        return nameIndex.get(name) != CaseInsensitiveIndex.MISSING;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public List<Appliance> getAll() {
+        return all;
+    }
+
+    public int size() {
+        return rows.size();
+    }
+
+    // Function: findByCategory
+    // Purpose: All appliances in a category (case-insensitive), in catalogue order.
+    // Outputs: read-only list, empty if the category is unknown
+    public List<Appliance> findByCategory(String category) {
+        int id = categoryIndex.get(category);
+        return id == CaseInsensitiveIndex.MISSING ? List.of() : rowsByCategory.get(id);
+    }
+
+    // Function: findByUsageType
+    // Purpose: All appliances with a usage type ("continuous" / "perUse"), case-insensitive.
+    // Outputs: read-only list, empty if the usage type is unknown
+    public List<Appliance> findByUsageType(String usageType) {
+        int id = usageTypeIndex.get(usageType);
+        return id == CaseInsensitiveIndex.MISSING ? List.of() : rowsByUsageType.get(id);
+    }
+
+    // Function: search
+    // Purpose: Ranked, typo-tolerant typeahead over appliance names.
+    // Inputs: query text, optional category (null/blank for all), maximum results
+    // Outputs: best matches first; with a blank query, the first entries in catalogue order
+    public List<Appliance> search(String query, String category, int limit) {
+        int categoryId = ApplianceSearchIndex.ANY_CATEGORY;
+        if (category != null && !category.isBlank()) {
+            categoryId = categoryIndex.get(category);
+            if (categoryId == CaseInsensitiveIndex.MISSING) {
+                return List.of();
+            }
+        }
+
+        if (ApplianceSearchIndex.normalize(query).isEmpty()) {
+            List<Appliance> source = categoryId == ApplianceSearchIndex.ANY_CATEGORY
+                    ? all
+                    : rowsByCategory.get(categoryId);
+            return source.subList(0, Math.min(limit, source.size()));
+        }
+
+        return new RowList(rows, searchIndex.search(query, categoryId, limit));
+    }
+
+    public List<String> getCategories() {
+        return categories;
+    }
+
+    public List<String> getUsageTypes() {
+        return usageTypes;
+    }
+
+    // Helper: group row numbers by category or usage type, keeping first-seen order
+    // and treating keys that differ only by case/padding as the same group.
+    private static Map<String, List<Integer>> group(ApplianceRows rows, boolean byCategory) {
+        Map<String, List<Integer>> groups = new LinkedHashMap<>();
+        List<String> seen = new ArrayList<>();
+        for (int row = 0; row < rows.size(); row++) {
+            String key = byCategory ? rows.category(row) : rows.usageType(row);
+            if (key == null || key.isBlank()) {
+                continue;
+            }
+            String canonical = key.trim();
+            for (String existing : seen) {
+                if (existing.equalsIgnoreCase(canonical)) {
+                    canonical = existing;
+                    break;
+                }
+            }
+            if (!groups.containsKey(canonical)) {
+                seen.add(canonical);
+            }
+            groups.computeIfAbsent(canonical, k -> new ArrayList<>()).add(row);
+        }
+        return groups;
+    }
+
+    private static List<List<Appliance>> toRowLists(ApplianceRows rows, Map<String, List<Integer>> groups) {
+        List<List<Appliance>> lists = new ArrayList<>(groups.size());
+        for (List<Integer> members : groups.values()) {
+            int[] ids = new int[members.size()];
+            for (int j = 0; j < ids.length; j++) {
+                ids[j] = members.get(j);
+            }
+            lists.add(new RowList(rows, ids));
+        }
+        return List.copyOf(lists);
+    }
+
+    private static int[] identity(int length) {
+        int[] ids = new int[length];
+        for (int i = 0; i < length; i++) {
+            ids[i] = i;
+        }
+        return ids;
+    }
+
+    /**
+     * Read-only list over a subset of catalogue rows. Sharing the row store keeps
+     * every index a plain int[] instead of a copy of the Appliance references.
+     */
+    private static final class RowList extends AbstractList<Appliance> implements RandomAccess {
+
+        private final ApplianceRows rows;
+        private final int[] ids;
+
+        private RowList(ApplianceRows rows, int[] ids) {
+            this.rows = rows;
+            this.ids = ids;
+        }
+
+        @Override
+        public Appliance get(int index) {
+            return rows.get(ids[index]);
+        }
+
+        @Override
+        public int size() {
+            return ids.length;
+        }
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ * File: ApplianceCatalogueWatcher.java
+ * Description: Watches the external appliance catalogue on disk and republishes it
+ *              through ApplianceService when it changes.
+ * Author: Liam Connell
+ * Date: 2026-10-17
+ *
+ * Notes:
+ * - Enabled with currently.catalogue.watch=true (requires currently.catalogue.location).
+ * - Runs on its own daemon thread, so request threads never wait for a reload.
+ */
+
+package com.currently.currently_backend.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Class: ApplianceCatalogueWatcher
+ * Purpose: Turn file-system change events into catalogue reloads. Editors and deploy
+ *          scripts usually write a file in several steps, so events are coalesced until
+ *          the location has been quiet for a short settle period before reloading.
+ */
+@Component
+@ConditionalOnProperty(name = "currently.catalogue.watch", havingValue = "true")
+public class ApplianceCatalogueWatcher {
+
+    private final ApplianceService applianceService;
+    private final long settleMillis;
+
+    private WatchService watchService;
+    private Thread worker;
+
+    public ApplianceCatalogueWatcher(
+            ApplianceService applianceService,
+            @Value("${currently.catalogue.watch-settle-ms:500}") long settleMillis
+    ) {
+        this.applianceService = applianceService;
+        this.settleMillis = settleMillis;
+    }
+
+    @PostConstruct
+    public void start() throws IOException {
+        Path location = applianceService.getExternalLocation();
+        if (location == null) {
+            throw new IllegalStateException("currently.catalogue.watch requires currently.catalogue.location");
+        }
+
+        // A single file is watched through its parent directory
+        Path directory = Files.isDirectory(location) ? location : location.toAbsolutePath().getParent();
+        Path fileName = Files.isDirectory(location) ? null : location.getFileName();
+
+        watchService = directory.getFileSystem().newWatchService();
+        directory.register(watchService,
+                StandardWatchEventKinds.ENTRY_CREATE,
+                StandardWatchEventKinds.ENTRY_MODIFY,
+                StandardWatchEventKinds.ENTRY_DELETE);
+
+        worker = new Thread(() -> watch(fileName), "catalogue-watcher");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @PreDestroy
+    public void stop() throws IOException {
+        if (watchService != null) {
+            watchService.close();
+        }
+    }
+
+    // Function: watch
+    // Purpose: Block on change events, wait for them to settle, then reload once.
+    // Inputs: file name to react to, or null to react to any catalogue file in the directory
+    private void watch(Path fileName) {
+        try {
+            while (true) {
+                WatchKey key = watchService.take();
+                boolean relevant = drain(key, fileName);
+
+                // Keep absorbing events until nothing arrives for the settle period
+                WatchKey next;
+                while ((next = watchService.poll(settleMillis, TimeUnit.MILLISECONDS)) != null) {
+                    relevant |= drain(next, fileName);
+                }
+
+                if (relevant) {
+                    applianceService.reload();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ClosedWatchServiceException e) {
+            // Application shutting down
+        }
+    }
+
+    private boolean drain(WatchKey key, Path fileName) {
+        boolean relevant = false;
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                relevant = true;
+                continue;
+            }
+            Path changed = (Path) event.context();
+            relevant |= fileName != null
+                    ? changed.equals(fileName)
+                    : ColumnarCatalogueReader.isCatalogueFile(changed);
+        }
+        key.reset();
+        return relevant;
+    }
+}
@@ -0,0 +1,171 @@
+/*
+ * File: ApplianceResponseCache.java
+ * Description: Holds the serialized (and pre-compressed) body of GET /api/appliances
+ *              for the current catalogue version, together with its strong ETags.
+ * Author: Liam Connell
+ * Date: 2026-10-17
+ */
+
+package com.currently.currently_backend.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.List;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Class: ApplianceResponseCache
+ * Purpose: The catalogue only changes when a new version is published, so its JSON is
+ *          serialized and gzip-compressed once per version. Every response (200 and 304,
+ *          plain and gzip) is prebuilt; serving a request only selects one of them.
+ */
+@Component
+public class ApplianceResponseCache {
+
+    private final ApplianceService applianceService;
+    private final ObjectMapper objectMapper;
+
+    private volatile Entry current;
+
+    public ApplianceResponseCache(ApplianceService applianceService, ObjectMapper objectMapper) {
+        this.applianceService = applianceService;
+        this.objectMapper = objectMapper;
+    }
+
+    // Function: respond
+    // Purpose: Pick the prebuilt response for a request's conditional and encoding headers.
+    // Inputs: If-None-Match and Accept-Encoding header values (either may be null)
+    // Outputs: 304 when the client's copy is current, otherwise 200 with the cached bytes
+    public ResponseEntity<byte[]> respond(String ifNoneMatch, String acceptEncoding) {
+        Entry entry = currentEntry();
+        Representation representation = acceptsGzip(acceptEncoding) ? entry.gzip : entry.identity;
+
+        if (ifNoneMatch != null && matches(ifNoneMatch, representation.etag)) {
+            return representation.notModified;
+        }
+        return representation.ok;
+    }
+
+    private Entry currentEntry() {
+        ApplianceCatalogue catalogue = applianceService.getCatalogue();
+        Entry entry = current;
+        if (entry != null && entry.version == catalogue.getVersion()) {
+            return entry;
+        }
+        return rebuild(catalogue);
+    }
+
+    // Only one thread serializes a new version; the others wait and reuse its result
+    private synchronized Entry rebuild(ApplianceCatalogue catalogue) {
+        Entry entry = current;
+        if (entry != null && entry.version == catalogue.getVersion()) {
+            return entry;
+        }
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(catalogue.getAll());
+            String tag = catalogue.getVersion() + "-" + digest(json);
+
+            entry = new Entry(
+                    catalogue.getVersion(),
+                    new Representation(json, "\"" + tag + "\"", null),
+                    new Representation(gzip(json), "\"" + tag + "-gzip\"", "gzip")
+            );
+            current = entry;
+            return entry;
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to serialize appliance catalogue", e);
+        }
+    }
+
+    // Helper: RFC 9110 If-None-Match uses weak comparison, so W/"x" also matches "x"
+    private static boolean matches(String ifNoneMatch, String etag) {
+        return ifNoneMatch.equals(etag)
+                || ifNoneMatch.trim().equals("*")
+                || ifNoneMatch.contains(etag);
+    }
+
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        int at = acceptEncoding.indexOf("gzip");
+        if (at < 0) {
+            return false;
+        }
+        // Honour an explicit refusal such as "gzip;q=0"
+        int end = acceptEncoding.indexOf(',', at);
+        int q = acceptEncoding.indexOf("q=", at);
+        if (q < 0 || (end >= 0 && q > end)) {
+            return true;
+        }
+        try {
+            return Double.parseDouble(acceptEncoding.substring(q + 2, end < 0 ? acceptEncoding.length() : end).trim()) > 0;
+        } catch (NumberFormatException e) {
+            return true;
+        }
+    }
+
+    private static byte[] gzip(byte[] json) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(json.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out) {
+            {
+                def.setLevel(Deflater.BEST_COMPRESSION);
+            }
+        }) {
+            gzip.write(json);
+        }
+        return out.toByteArray();
+    }
+
+    private static String digest(byte[] json) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(json);
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(hash).substring(0, 22);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private record Entry(long version, Representation identity, Representation gzip) {
+    }
+
+    private static final class Representation {
+
+        private final String etag;
+        private final ResponseEntity<byte[]> ok;
+        private final ResponseEntity<byte[]> notModified;
+
+        private Representation(byte[] body, String etag, String contentEncoding) {
+            this.etag = etag;
+
+            HttpHeaders headers = new HttpHeaders();
+            headers.setETag(etag);
+            headers.setVary(List.of(HttpHeaders.ACCEPT_ENCODING));
+            // Always revalidate; the ETag makes that a cheap 304
+            headers.setCacheControl(CacheControl.noCache().cachePublic());
+
+            HttpHeaders okHeaders = new HttpHeaders();
+            okHeaders.putAll(headers);
+            okHeaders.setContentType(MediaType.APPLICATION_JSON);
+            okHeaders.setContentLength(body.length);
+            if (contentEncoding != null) {
+                okHeaders.set(HttpHeaders.CONTENT_ENCODING, contentEncoding);
+            }
+
+            this.ok = new ResponseEntity<>(body, HttpHeaders.readOnlyHttpHeaders(okHeaders), HttpStatus.OK);
+            this.notModified = new ResponseEntity<>(HttpHeaders.readOnlyHttpHeaders(headers), HttpStatus.NOT_MODIFIED);
+        }
+    }
+}
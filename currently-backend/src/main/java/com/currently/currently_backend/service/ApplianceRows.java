@@ -0,0 +1,89 @@
+/*
+ * File: ApplianceRows.java
+ * Description: Row-oriented access to catalogue storage, so the catalogue indexes work
+ *              the same over plain Appliance objects and over columnar storage.
+ * Author: Liam Connell
+ * Date: 2026-10-17
+ */
+
+package com.currently.currently_backend.service;
+
+import com.currently.currently_backend.model.Appliance;
+
+import java.util.List;
+
+/**
+ * Interface: ApplianceRows
+ * Purpose: Backing store of one catalogue snapshot. Row numbers are dense (0..size-1)
+ *          and stable for the lifetime of the snapshot. The key accessors let indexes be
+ *          built without materialising an Appliance per row.
+ */
+interface ApplianceRows {
+
+    int size();
+
+    // The appliance at a row (may be a lightweight view created on demand)
+    Appliance get(int row);
+
+    String name(int row);
+
+    String category(int row);
+
+    String usageType(int row);
+
+    // Text the typeahead index matches against (name plus any SKU details)
+    String searchText(int row);
+
+    // Function: of
+    // Purpose: Wrap appliances loaded as plain objects (the bundled JSON path).
+    static ApplianceRows of(List<Appliance> appliances) {
+        return new ObjectRows(appliances.toArray(new Appliance[0]));
+    }
+
+    /**
+     * Rows held as ordinary Appliance objects. get(row) is a plain array load.
+     */
+    final class ObjectRows implements ApplianceRows {
+
+        private final Appliance[] rows;
+
+        private ObjectRows(Appliance[] rows) {
+            this.rows = rows;
+        }
+
+        @Override
+        public int size() {
+            return rows.length;
+        }
+
+        @Override
+        public Appliance get(int row) {
+            return rows[row];
+        }
+
+        @Override
+        public String name(int row) {
+            return rows[row].getName();
+        }
+
+        @Override
+        public String category(int row) {
+            return rows[row].getCategory();
+        }
+
+        @Override
+        public String usageType(int row) {
+            return rows[row].getUsageType();
+        }
+
+        @Override
+        public String searchText(int row) {
+            Appliance a = rows[row];
+            if (a.getBrand() == null && a.getModel() == null) {
+                return a.getName();
+            }
+            return a.getName() + " " + (a.getBrand() == null ? "" : a.getBrand())
+                    + " " + (a.getModel() == null ? "" : a.getModel());
+        }
+    }
+}
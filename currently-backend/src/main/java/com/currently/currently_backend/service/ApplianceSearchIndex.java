@@ -0,0 +1,381 @@
+/*
+ * File: ApplianceSearchIndex.java
+ * Description: In-memory trigram and word-prefix index over catalogue entries,
+ *              used by the typeahead search endpoint.
+ * Author: Liam Connell
+ * Date: 2026-10-17
+ */
+
+package com.currently.currently_backend.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Class: ApplianceSearchIndex
+ * Purpose: Rank catalogue rows against a typed query. Built once per catalogue snapshot.
+ *          - Trigram postings give fuzzy matching ("kettel" still finds "Electric Kettle").
+ *          - A sorted word table answers "a word starts with what was typed" by binary search.
+ *          Scores combine both, so prefix hits rank above loose fuzzy matches.
+ *          Per-query scratch space comes from a pool owned by the index, keeping lookups
+ *          free of per-row allocation even for catalogues with tens of thousands of
+ *          entries. The pool holds at most one scratch per core (a query is pure CPU
+ *          work, so more could not run at once anyway); further queries wait for one.
+ *          Scratch memory is therefore cores x rows, whatever the number of request
+ *          threads, and goes away with the index when the catalogue is reloaded.
+ */
+final class ApplianceSearchIndex {
+
+    static final int ANY_CATEGORY = -1;
+
+    // Minimum share of trigrams (Dice coefficient) for a match without a prefix hit
+    private static final float MIN_FUZZY_SCORE = 0.3f;
+
+    private static final float EXACT_BONUS = 3.0f;
+    private static final float NAME_PREFIX_BONUS = 1.5f;
+    private static final float WORD_PREFIX_BONUS = 1.0f;
+
+    private final int rowCount;
+    private final String[] normalized;
+    private final int[] trigramCounts;
+    private final int[] categoryIds;
+
+    // Trigram -> rows containing it; keys sorted for binary search
+    private final long[] trigramKeys;
+    private final int[][] postings;
+
+    // Every word of every row, sorted, with the row it came from
+    private final String[] words;
+    private final int[] wordRows;
+
+    private final int maxScratch = Runtime.getRuntime().availableProcessors();
+    private final BlockingQueue<Scratch> scratchPool = new ArrayBlockingQueue<>(maxScratch);
+    private final AtomicInteger scratchCreated = new AtomicInteger();
+
+    // Function: build
+    // Purpose: Index the searchable text of each row.
+    // Inputs: texts (row i -> text), categoryIds (row i -> category id or ANY_CATEGORY)
+    // Outputs: immutable search index
+    static ApplianceSearchIndex build(List<String> texts, int[] categoryIds) {
+        return new ApplianceSearchIndex(texts, categoryIds);
+    }
+
+    private ApplianceSearchIndex(List<String> texts, int[] categoryIds) {
+        this.rowCount = texts.size();
+        this.normalized = new String[rowCount];
+        this.trigramCounts = new int[rowCount];
+        this.categoryIds = categoryIds;
+
+        Map<Long, int[]> building = new HashMap<>();
+        List<String> wordList = new ArrayList<>();
+        List<Integer> wordRowList = new ArrayList<>();
+
+        for (int row = 0; row < rowCount; row++) {
+            String text = normalize(texts.get(row));
+            normalized[row] = text;
+
+            long[] grams = trigrams(text);
+            trigramCounts[row] = grams.length;
+            for (long gram : grams) {
+                int[] list = building.get(gram);
+                if (list == null) {
+                    // slot 0 holds the fill count
+                    list = new int[5];
+                } else if (list[0] + 1 == list.length) {
+                    list = Arrays.copyOf(list, list.length * 2);
+                }
+                list[++list[0]] = row;
+                building.put(gram, list);
+            }
+
+            for (String word : text.split(" ")) {
+                if (!word.isEmpty()) {
+                    wordList.add(word);
+                    wordRowList.add(row);
+                }
+            }
+        }
+
+        this.trigramKeys = new long[building.size()];
+        int k = 0;
+        for (Long key : building.keySet()) {
+            trigramKeys[k++] = key;
+        }
+        Arrays.sort(trigramKeys);
+        this.postings = new int[trigramKeys.length][];
+        for (int i = 0; i < trigramKeys.length; i++) {
+            int[] list = building.get(trigramKeys[i]);
+            postings[i] = Arrays.copyOfRange(list, 1, list[0] + 1);
+        }
+
+        Integer[] order = new Integer[wordList.size()];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> wordList.get(a).compareTo(wordList.get(b)));
+        this.words = new String[order.length];
+        this.wordRows = new int[order.length];
+        for (int i = 0; i < order.length; i++) {
+            words[i] = wordList.get(order[i]);
+            wordRows[i] = wordRowList.get(order[i]);
+        }
+    }
+
+    // Function: search
+    // Purpose: Return the best-matching rows for a query, highest score first.
+    // Inputs: query text, category id filter (or ANY_CATEGORY), maximum results
+    // Outputs: row numbers in rank order (at most limit entries)
+    int[] search(String query, int categoryId, int limit) {
+        String q = normalize(query);
+        if (q.isEmpty() || limit <= 0) {
+            return new int[0];
+        }
+
+        Scratch s = acquireScratch();
+        try {
+            return search(s, q, categoryId, limit);
+        } finally {
+            scratchPool.offer(s);
+        }
+    }
+
+    private int[] search(Scratch s, String q, int categoryId, int limit) {
+        s.reset(limit);
+
+        // Fuzzy part: count shared trigrams per row
+        long[] queryGrams = trigrams(q);
+        for (long gram : queryGrams) {
+            int at = Arrays.binarySearch(trigramKeys, gram);
+            if (at < 0) {
+                continue;
+            }
+            for (int row : postings[at]) {
+                if (s.shared[row]++ == 0) {
+                    s.touched[s.touchedCount++] = row;
+                }
+            }
+        }
+
+        // Prefix part: rows with a word starting with the last word typed
+        String lastWord = q.substring(q.lastIndexOf(' ') + 1);
+        int from = lowerBound(lastWord);
+        for (int i = from; i < words.length && words[i].startsWith(lastWord); i++) {
+            int row = wordRows[i];
+            if (!s.prefixHit[row]) {
+                s.prefixHit[row] = true;
+                if (s.shared[row] == 0) {
+                    s.touched[s.touchedCount++] = row;
+                }
+            }
+        }
+
+        for (int i = 0; i < s.touchedCount; i++) {
+            int row = s.touched[i];
+            if (categoryId != ANY_CATEGORY && categoryIds[row] != categoryId) {
+                continue;
+            }
+
+            float score = 2.0f * s.shared[row] / (queryGrams.length + trigramCounts[row]);
+            if (!s.prefixHit[row] && score < MIN_FUZZY_SCORE) {
+                continue;
+            }
+            if (s.prefixHit[row]) {
+                score += WORD_PREFIX_BONUS;
+            }
+            if (normalized[row].startsWith(q)) {
+                score += normalized[row].length() == q.length() ? EXACT_BONUS : NAME_PREFIX_BONUS;
+            }
+            s.offer(row, score);
+        }
+
+        return s.drainRanked();
+    }
+
+    // Helper: lower-case, keep letters/digits, collapse everything else to single spaces
+    static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        StringBuilder sb = new StringBuilder(text.length());
+        boolean space = true;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                sb.append(Character.toLowerCase(c));
+                space = false;
+            } else if (!space) {
+                sb.append(' ');
+                space = true;
+            }
+        }
+        int len = sb.length();
+        if (len > 0 && sb.charAt(len - 1) == ' ') {
+            sb.setLength(len - 1);
+        }
+        return sb.toString();
+    }
+
+    // Helper: distinct trigrams of " text ", each packed into a long (3 x 16-bit chars)
+    private static long[] trigrams(String text) {
+        String padded = " " + text + " ";
+        long[] grams = new long[Math.max(0, padded.length() - 2)];
+        for (int i = 0; i < grams.length; i++) {
+            grams[i] = ((long) padded.charAt(i) << 32)
+                    | ((long) padded.charAt(i + 1) << 16)
+                    | padded.charAt(i + 2);
+        }
+        Arrays.sort(grams);
+        int distinct = 0;
+        for (int i = 0; i < grams.length; i++) {
+            if (i == 0 || grams[i] != grams[i - 1]) {
+                grams[distinct++] = grams[i];
+            }
+        }
+        return Arrays.copyOf(grams, distinct);
+    }
+
+    // Helper: a pooled scratch, a new one while fewer than maxScratch exist, otherwise
+    // wait for one to be returned
+    private Scratch acquireScratch() {
+        Scratch s = scratchPool.poll();
+        if (s != null) {
+            return s;
+        }
+        if (scratchCreated.getAndUpdate(n -> n < maxScratch ? n + 1 : n) < maxScratch) {
+            return new Scratch(rowCount);
+        }
+        try {
+            return scratchPool.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting to search", e);
+        }
+    }
+
+    private int lowerBound(String prefix) {
+        int lo = 0;
+        int hi = words.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (words[mid].compareTo(prefix) < 0) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    /**
+     * Working memory for one query: shared-trigram counters, prefix flags,
+     * the list of rows touched (so only those are reset) and a bounded min-heap that
+     * keeps the best `limit` rows.
+     */
+    private static final class Scratch {
+
+        private final int[] shared;
+        private final boolean[] prefixHit;
+        private final int[] touched;
+        private int touchedCount;
+
+        private int[] heapRows = new int[16];
+        private float[] heapScores = new float[16];
+        private int heapSize;
+        private int limit;
+
+        private Scratch(int rows) {
+            this.shared = new int[rows];
+            this.prefixHit = new boolean[rows];
+            this.touched = new int[rows];
+        }
+
+        private void reset(int limit) {
+            for (int i = 0; i < touchedCount; i++) {
+                shared[touched[i]] = 0;
+                prefixHit[touched[i]] = false;
+            }
+            touchedCount = 0;
+            heapSize = 0;
+            this.limit = limit;
+            if (heapRows.length < limit) {
+                heapRows = new int[limit];
+                heapScores = new float[limit];
+            }
+        }
+
+        private void offer(int row, float score) {
+            if (heapSize < limit) {
+                heapRows[heapSize] = row;
+                heapScores[heapSize] = score;
+                siftUp(heapSize++);
+            } else if (better(row, score, heapRows[0], heapScores[0])) {
+                heapRows[0] = row;
+                heapScores[0] = score;
+                siftDown(0);
+            }
+        }
+
+        // Pops the min-heap from the back so the best row ends up first
+        private int[] drainRanked() {
+            int[] ranked = new int[heapSize];
+            for (int i = ranked.length - 1; i >= 0; i--) {
+                ranked[i] = heapRows[0];
+                heapSize--;
+                heapRows[0] = heapRows[heapSize];
+                heapScores[0] = heapScores[heapSize];
+                siftDown(0);
+            }
+            return ranked;
+        }
+
+        // Higher score wins; ties go to the earlier catalogue row
+        private static boolean better(int rowA, float scoreA, int rowB, float scoreB) {
+            return scoreA > scoreB || (scoreA == scoreB && rowA < rowB);
+        }
+
+        private void siftUp(int i) {
+            while (i > 0) {
+                int parent = (i - 1) >>> 1;
+                if (!better(heapRows[parent], heapScores[parent], heapRows[i], heapScores[i])) {
+                    break;
+                }
+                swap(i, parent);
+                i = parent;
+            }
+        }
+
+        private void siftDown(int i) {
+            while (true) {
+                int left = 2 * i + 1;
+                if (left >= heapSize) {
+                    return;
+                }
+                int worst = left;
+                int right = left + 1;
+                if (right < heapSize && better(heapRows[left], heapScores[left], heapRows[right], heapScores[right])) {
+                    worst = right;
+                }
+                if (!better(heapRows[i], heapScores[i], heapRows[worst], heapScores[worst])) {
+                    return;
+                }
+                swap(i, worst);
+                i = worst;
+            }
+        }
+
+        private void swap(int a, int b) {
+            int row = heapRows[a];
+            heapRows[a] = heapRows[b];
+            heapRows[b] = row;
+            float score = heapScores[a];
+            heapScores[a] = heapScores[b];
+            heapScores[b] = score;
+        }
+    }
+}
@@ -3,6 +3,15 @@
  * Description: Loads and serves appliance metadata from appliances.json.
  * Author: Liam Connell
  * Date: 2025-11-12
+ *
+ * Notes:
+ * - By default the bundled resources/appliances/appliances.json is used.
+ * - Setting currently.catalogue.location to a JSON file, or to a directory of JSON
+ *   files, loads the catalogue from disk instead; see ApplianceCatalogueWatcher for
+ *   reloading it while the application runs.
+ * - currently.catalogue.storage=columnar loads external files (CSV or JSON, optionally
+ *   gzipped) into ColumnarApplianceStore for large SKU-level catalogues. Lookups and
+ *   search behave the same either way.
  */
 
 package com.currently.currently_backend.service;
@@ -10,42 +19,194 @@ package com.currently.currently_backend.service;
 import com.currently.currently_backend.model.Appliance;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import jakarta.annotation.PostConstruct;
+import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
 
 @Service
 public class ApplianceService {
 
-    private final List<Appliance> appliances = new ArrayList<>();
+    private static final Logger log = LoggerFactory.getLogger(ApplianceService.class);
 
-    @PostConstruct
-    public void loadAppliances() {
-        try {
-            ObjectMapper mapper = new ObjectMapper();
+    private static final TypeReference<List<Appliance>> APPLIANCE_LIST = new TypeReference<>() {};
 
-            // FIXED PATH: resources/appliances/appliances.json
-            InputStream is = getClass().getResourceAsStream("/appliances/appliances.json");
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final AtomicLong versions = new AtomicLong();
 
-            if (is == null) {
-                throw new RuntimeException("appliances.json not found in resources/appliances/");
-            }
+    // Optional external catalogue (file or directory); blank means the bundled resource
+    private final String location;
+
+    // "objects" (default) or "columnar" for external catalogues
+    private final boolean columnar;
+
+    // Replaced as a whole on load; readers always see one complete snapshot
+    private volatile ApplianceCatalogue catalogue = ApplianceCatalogue.of(0, List.of());
+
+    public ApplianceService(
+            @Value("${currently.catalogue.location:}") String location,
+            @Value("${currently.catalogue.storage:objects}") String storage
+    ) {
+        this.location = location;
+        this.columnar = "columnar".equalsIgnoreCase(storage.trim());
+    }
 
-            List<Appliance> loaded = mapper.readValue(is, new TypeReference<List<Appliance>>() {});
-            appliances.clear();
-            appliances.addAll(loaded);
+    @PostConstruct
+    public void loadAppliances() {
+        try {
+            ApplianceRows loaded = getExternalLocation() != null
+                    ? readExternal(getExternalLocation())
+                    : ApplianceRows.of(readBundled());
 
-            System.out.println("Loaded appliances: " + appliances.size());
+            publish(loaded);
 
         } catch (Exception e) {
             throw new RuntimeException("Failed to load appliances.json", e);
         }
     }
 
+    // Function: reload
+    // Purpose: Rebuild the catalogue from the external location and publish it.
+    //          Runs off the request path; on any error the current snapshot stays live.
+    // Inputs: none
+    // Outputs: true if a new version was published
+    public boolean reload() {
+        Path external = getExternalLocation();
+        if (external == null) {
+            return false;
+        }
+        try {
+            publish(readExternal(external));
+            return true;
+        } catch (Exception e) {
+            log.error("Catalogue reload failed, keeping version {}", catalogue.getVersion(), e);
+            return false;
+        }
+    }
+
+    // Read-only view of the whole catalogue
     public List<Appliance> getAllAppliances() {
-        return appliances;
+        return catalogue.getAll();
+    }
+
+    // Current snapshot; callers that need several lookups to agree should hold on to it
+    public ApplianceCatalogue getCatalogue() {
+        return catalogue;
+    }
+
+    public long getCatalogueVersion() {
+        return catalogue.getVersion();
+    }
+
+    // Function: findByName
+    // Purpose: Case-insensitive O(1) lookup used on every per-appliance request path.
+    // Outputs: matching Appliance, or null when the name is not in the catalogue
+    public Appliance findByName(String name) {
+        return catalogue.findByName(name);
+    }
+
+    public List<Appliance> getAppliancesByCategory(String category) {
+        return catalogue.findByCategory(category);
+    }
+
+    public List<Appliance> getAppliancesByUsageType(String usageType) {
+        return catalogue.findByUsageType(usageType);
+    }
+
+    // Function: searchAppliances
+    // Purpose: Typeahead search against the current catalogue snapshot.
+    // Inputs: query text, optional category filter, maximum number of results
+    // Outputs: ranked list of matching appliances
+    public List<Appliance> searchAppliances(String query, String category, int limit) {
+        return catalogue.search(query, category, limit);
+    }
+
+    public Path getExternalLocation() {
+        return location == null || location.isBlank() ? null : Path.of(location.trim());
+    }
+
+    // Helper: build the full snapshot first, then swap the single reference
+    private void publish(ApplianceRows loaded) {
+        validate(loaded);
+        ApplianceCatalogue next = ApplianceCatalogue.of(versions.incrementAndGet(), loaded);
+        catalogue = next;
+
+        log.info("Loaded appliances: {} (catalogue version {})", next.size(), next.getVersion());
+    }
+
+    private List<Appliance> readBundled() throws IOException {
+        // FIXED PATH: resources/appliances/appliances.json
+        InputStream is = getClass().getResourceAsStream("/appliances/appliances.json");
+
+        if (is == null) {
+            throw new RuntimeException("appliances.json not found in resources/appliances/");
+        }
+        try (is) {
+            return mapper.readValue(is, APPLIANCE_LIST);
+        }
+    }
+
+    // Helper: a single file, or every catalogue file in a directory in name order
+    private ApplianceRows readExternal(Path path) throws IOException {
+        List<Path> files = new ArrayList<>();
+        if (Files.isDirectory(path)) {
+            try (DirectoryStream<Path> stream = Files.newDirectoryStream(path,
+                    columnar ? ColumnarCatalogueReader::isCatalogueFile : file -> file.toString().endsWith(".json"))) {
+                stream.forEach(files::add);
+            }
+            files.sort(null);
+        } else {
+            files.add(path);
+        }
+
+        if (columnar) {
+            ColumnarApplianceStore.Builder builder = new ColumnarApplianceStore.Builder();
+            for (Path file : files) {
+                ColumnarCatalogueReader.read(file, builder);
+            }
+            return builder.build();
+        }
+
+        List<Appliance> merged = new ArrayList<>();
+        for (Path file : files) {
+            try (InputStream is = Files.newInputStream(file)) {
+                merged.addAll(mapper.readValue(is, APPLIANCE_LIST));
+            }
+        }
+        return ApplianceRows.of(merged);
+    }
+
+    // Helper: refuse to publish a catalogue that the energy calculations cannot use
+    private void validate(ApplianceRows loaded) {
+        if (loaded.size() == 0) {
+            throw new IllegalArgumentException("Catalogue is empty.");
+        }
+        for (int row = 0; row < loaded.size(); row++) {
+            Appliance appliance = loaded.get(row);
+            if (appliance.getName() == null || appliance.getName().isBlank()) {
+                throw new IllegalArgumentException("Catalogue entry without a name.");
+            }
+            if ("continuous".equalsIgnoreCase(appliance.getUsageType())) {
+                if (appliance.getAverageWatts() == null) {
+                    throw new IllegalArgumentException("averageWatts missing for " + appliance.getName());
+                }
+            } else if ("perUse".equalsIgnoreCase(appliance.getUsageType())) {
+                if (appliance.getAverageWattsPerUse() == null) {
+                    throw new IllegalArgumentException("averageWattsPerUse missing for " + appliance.getName());
+                }
+            } else {
+                throw new IllegalArgumentException("Unknown usageType for " + appliance.getName());
+            }
+        }
     }
 }
@@ -0,0 +1,310 @@
+/*
+ * File: BenchmarkService.java
+ * Description: "Homes like yours" benchmarking: where a household's daily kWh ranks
+ *              among households with the same number of rooms and floors and a similar
+ *              appliance mix.
+ * Author: Liam Connell
+ * Date: 2026-10-17
+ *
+ * Notes:
+ * - One LogHistogram per cohort lives in memory, so a lookup touches no other user's
+ *   data and memory is COHORTS x LogHistogram.BUCKETS counters however many users exist.
+ * - Each household_aggregates row records the cohort and kWh it is counted under, so an
+ *   appliance or room write moves one count from the old bucket to the new one. The
+ *   move is applied to the histograms after the transaction commits.
+ * - rebuild() recounts everything from household_aggregates on startup and then
+ *   periodically (currently.benchmark.rebuild-interval-ms), correcting any drift.
+ * - Each page of the rebuild is read on the writer thread and counted after its commit,
+ *   in the same after-commit order as the moves. A move committed after a household's
+ *   page was counted is applied to the new histograms as well; one committed before is
+ *   already in the page. So no move is lost or counted twice across the swap.
+ * - Only one rebuild runs at a time. Moves are applied to the current rebuild only, so an
+ *   overlapping rebuild (the startup run and a manual one, say) that swapped in last
+ *   would miss moves.
+ */
+
+package com.currently.currently_backend.service;
+
+import com.currently.currently_backend.dto.BenchmarkResponse;
+import com.currently.currently_backend.dto.HouseholdBenchmarkRow;
+import com.currently.currently_backend.model.TimeOfUseProfile;
+import com.currently.currently_backend.repository.HouseholdAggregateRepository;
+import com.currently.currently_backend.util.CurrentUser;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Class: BenchmarkService
+ * Purpose: Keep per-cohort histograms of household daily kWh in step with the
+ *          aggregates and answer percentile lookups from them.
+ *          A cohort is (rooms 0..7+, floors 1..3+, dominant usage profile), where the
+ *          dominant profile is the TimeOfUseProfile with the most daily kWh: it tells a
+ *          home run on always-on loads from one dominated by cooking, evening use,
+ *          bathroom water heating, laundry or night heating.
+ */
+@Service
+public class BenchmarkService {
+
+    private static final Logger log = LoggerFactory.getLogger(BenchmarkService.class);
+
+    private static final int ROOM_BUCKETS = 8;
+    private static final int FLOOR_BUCKETS = 3;
+    private static final int PROFILES = TimeOfUseProfile.values().length;
+    static final int COHORTS = ROOM_BUCKETS * FLOOR_BUCKETS * PROFILES;
+
+    // Below this many households the comparison widens (same rooms and floors, then everyone)
+    private static final int MIN_COHORT_SIZE = 10;
+
+    private final HouseholdAggregateRepository householdAggregateRepository;
+    private final WriteQueue writeQueue;
+
+    // Households read per queued write during a rebuild
+    private final int pageSize;
+
+    // Replaced as a whole by rebuild(); individual histograms are updated in place
+    private volatile LogHistogram[] histograms = newHistograms();
+
+    // The rebuild in progress, if any; guarded by moveLock together with the swap
+    private final Object moveLock = new Object();
+    private Rebuild rebuilding;
+
+    // Held for the whole of a rebuild, so rebuilds run one after another
+    private final Object rebuildLock = new Object();
+
+    public BenchmarkService(
+            HouseholdAggregateRepository householdAggregateRepository,
+            WriteQueue writeQueue,
+            @Value("${currently.benchmark.page-size:500}") int pageSize
+    ) {
+        this.householdAggregateRepository = householdAggregateRepository;
+        this.writeQueue = writeQueue;
+        this.pageSize = Math.max(1, pageSize);
+    }
+
+    // Function: householdChanged
+    // Purpose: Move a household to its current cohort and kWh after its aggregate or
+    //          rooms changed.
+    // Inputs: user id
+    // Outputs: none; must run inside the caller's transaction
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void householdChanged(Long userId) {
+        HouseholdBenchmarkRow row = householdAggregateRepository.findBenchmarkRow(userId).orElse(null);
+        if (row == null) {
+            return;
+        }
+        Integer cohort = cohortOf(row);
+        Double kWh = cohort != null ? row.getDailyKWh() : null;
+        if (Objects.equals(cohort, row.getCohortKey()) && Objects.equals(kWh, row.getBenchmarkKWh())) {
+            return;
+        }
+        householdAggregateRepository.setBenchmark(userId, cohort, kWh);
+
+        Integer oldCohort = row.getCohortKey();
+        Double oldKWh = row.getBenchmarkKWh();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                move(userId, oldCohort, oldKWh, cohort, kWh);
+            }
+        });
+    }
+
+    // Function: rebuild
+    // Purpose: Recount every household into fresh histograms and swap them in, fixing
+    //          stored cohort columns that are out of date (one queued write per page).
+    //          Moves committed meanwhile are applied to the fresh histograms too.
+    // Outputs: number of households counted (0 if the rebuild failed and was dropped)
+    @Scheduled(initialDelayString = "${currently.benchmark.startup-delay-ms:0}",
+            fixedDelayString = "${currently.benchmark.rebuild-interval-ms:21600000}")
+    public int rebuild() {
+        synchronized (rebuildLock) {
+            return rebuildAlone();
+        }
+    }
+
+    // Helper: one rebuild, with no other rebuild running
+    private int rebuildAlone() {
+        Rebuild rebuild = new Rebuild();
+        synchronized (moveLock) {
+            rebuilding = rebuild;
+        }
+        try {
+            int read;
+            do {
+                read = writeQueue.execute(() -> countPage(rebuild));
+            } while (read == pageSize);
+        } catch (RuntimeException e) {
+            synchronized (moveLock) {
+                rebuilding = null;
+            }
+            log.error("Benchmark rebuild failed after {} households; keeping the current histograms",
+                    rebuild.counted, e);
+            return 0;
+        }
+        synchronized (moveLock) {
+            histograms = rebuild.fresh;
+            rebuilding = null;
+        }
+        log.info("Benchmark histograms rebuilt: {} households", rebuild.counted);
+        return rebuild.counted;
+    }
+
+    // Helper: on the writer thread, read the next page of households and fix their stored
+    // cohort columns; the page is counted once the write commits (in after-commit order
+    // with the moves of the writes around it)
+    private int countPage(Rebuild rebuild) {
+        List<HouseholdBenchmarkRow> rows = householdAggregateRepository.findBenchmarkRowsAfter(
+                rebuild.scannedThrough, PageRequest.of(0, pageSize));
+        for (HouseholdBenchmarkRow row : rows) {
+            Integer cohort = cohortOf(row);
+            Double kWh = cohort != null ? row.getDailyKWh() : null;
+            if (!Objects.equals(cohort, row.getCohortKey()) || !Objects.equals(kWh, row.getBenchmarkKWh())) {
+                householdAggregateRepository.setBenchmark(row.getUserId(), cohort, kWh);
+            }
+        }
+        if (!rows.isEmpty()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    synchronized (moveLock) {
+                        for (HouseholdBenchmarkRow row : rows) {
+                            Integer cohort = cohortOf(row);
+                            if (cohort != null) {
+                                rebuild.fresh[cohort].add(row.getDailyKWh());
+                                rebuild.counted++;
+                            }
+                        }
+                        rebuild.scannedThrough = rows.get(rows.size() - 1).getUserId();
+                    }
+                }
+            });
+        }
+        return rows.size();
+    }
+
+    // Function: getMyBenchmark
+    // Purpose: Rank the current user's household against similar homes.
+    // Inputs: none (current user)
+    // Outputs: BenchmarkResponse
+    @Transactional(readOnly = true)
+    public BenchmarkResponse getMyBenchmark() {
+        Long userId = CurrentUser.id();
+        HouseholdBenchmarkRow row = householdAggregateRepository.findBenchmarkRow(userId).orElse(null);
+
+        BenchmarkResponse response = new BenchmarkResponse();
+        Integer cohort = row != null ? cohortOf(row) : null;
+        if (cohort == null) {
+            // Nothing to compare until the household has some consumption
+            response.setComparedWith("none");
+            return response;
+        }
+
+        int rooms = cohort / (FLOOR_BUCKETS * PROFILES);
+        int floors = cohort / PROFILES % FLOOR_BUCKETS;
+        int profile = cohort % PROFILES;
+        response.setRooms(rooms == ROOM_BUCKETS - 1 ? rooms + "+" : String.valueOf(rooms));
+        response.setFloors(floors == FLOOR_BUCKETS - 1 ? (floors + 1) + "+" : String.valueOf(floors + 1));
+        response.setUsageProfile(TimeOfUseProfile.fromCode((byte) profile).name());
+
+        // Widen the comparison while the cohort is too small to say much
+        LogHistogram[] current = histograms;
+        LogHistogram compared = current[cohort];
+        response.setComparedWith("cohort");
+        if (compared.count() < MIN_COHORT_SIZE) {
+            compared = new LogHistogram();
+            int first = cohort - profile;
+            for (int p = 0; p < PROFILES; p++) {
+                current[first + p].mergeInto(compared);
+            }
+            response.setComparedWith("rooms and floors");
+        }
+        if (compared.count() < MIN_COHORT_SIZE) {
+            compared = new LogHistogram();
+            for (LogHistogram histogram : current) {
+                histogram.mergeInto(compared);
+            }
+            response.setComparedWith("all households");
+        }
+
+        response.setHouseholds(compared.count());
+        response.setMonthlyKWh(row.getDailyKWh() * EnergyCalculator.DAYS_PER_MONTH);
+        response.setPercentile(compared.percentileOf(row.getDailyKWh()));
+        response.setP25MonthlyKWh(compared.quantile(25) * EnergyCalculator.DAYS_PER_MONTH);
+        response.setMedianMonthlyKWh(compared.quantile(50) * EnergyCalculator.DAYS_PER_MONTH);
+        response.setP75MonthlyKWh(compared.quantile(75) * EnergyCalculator.DAYS_PER_MONTH);
+        return response;
+    }
+
+    // The live histogram of a cohort
+    LogHistogram histogram(int cohort) {
+        return histograms[cohort];
+    }
+
+    // Helper: cohort key of a household, or null if it has nothing to count
+    static Integer cohortOf(HouseholdBenchmarkRow row) {
+        if (row.getApplianceCount() <= 0 || row.getDailyKWh() <= 0) {
+            return null;
+        }
+        int rooms = (int) Math.min(row.getRoomCount(), ROOM_BUCKETS - 1);
+        int floors = (int) Math.max(0, Math.min(row.getFloorCount(), FLOOR_BUCKETS) - 1);
+
+        double[] energy = row.getEnergy();
+        int dominant = 0;
+        for (int p = 1; p < PROFILES; p++) {
+            if (energy[p] > energy[dominant]) {
+                dominant = p;
+            }
+        }
+        return (rooms * FLOOR_BUCKETS + floors) * PROFILES + dominant;
+    }
+
+    // Helper: apply a committed move to the live histograms and, if a rebuild has already
+    // counted this household, to the rebuild's histograms too
+    private void move(Long userId, Integer oldCohort, Double oldKWh, Integer cohort, Double kWh) {
+        synchronized (moveLock) {
+            move(histograms, oldCohort, oldKWh, cohort, kWh);
+            if (rebuilding != null && userId <= rebuilding.scannedThrough) {
+                move(rebuilding.fresh, oldCohort, oldKWh, cohort, kWh);
+            }
+        }
+    }
+
+    private static void move(LogHistogram[] target, Integer oldCohort, Double oldKWh, Integer cohort, Double kWh) {
+        if (oldCohort != null && oldKWh != null && oldCohort >= 0 && oldCohort < COHORTS) {
+            target[oldCohort].remove(oldKWh);
+        }
+        if (cohort != null) {
+            target[cohort].add(kWh);
+        }
+    }
+
+    /**
+     * A rebuild in progress: its histograms and how far through the households it is.
+     * Only changed under moveLock.
+     */
+    private static final class Rebuild {
+
+        private final LogHistogram[] fresh = newHistograms();
+        private long scannedThrough;
+        private int counted;
+    }
+
+    private static LogHistogram[] newHistograms() {
+        LogHistogram[] histograms = new LogHistogram[COHORTS];
+        for (int i = 0; i < COHORTS; i++) {
+            histograms[i] = new LogHistogram();
+        }
+        return histograms;
+    }
+}
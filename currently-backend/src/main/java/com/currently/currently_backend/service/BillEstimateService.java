@@ -0,0 +1,155 @@
+/*
+ * File: BillEstimateService.java
+ * Description: Monthly bill ranges for the current user's household.
+ * Author: Liam Connell
+ * Date: 2026-10-17
+ */
+
+package com.currently.currently_backend.service;
+
+import com.currently.currently_backend.dto.BillEstimateResponse;
+import com.currently.currently_backend.dto.BillRange;
+import com.currently.currently_backend.dto.HouseholdApplianceRow;
+import com.currently.currently_backend.dto.RoomBillEstimate;
+import com.currently.currently_backend.dto.RoomResponse;
+import com.currently.currently_backend.repository.RoomRepository;
+import com.currently.currently_backend.repository.UserApplianceRepository;
+import com.currently.currently_backend.util.CurrentUser;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Class: BillEstimateService
+ * Purpose: Load the household, price it once with the EnergyCalculator and hand the
+ *          per-appliance kWh and cost to BillEstimator for sampling.
+ */
+@Service
+public class BillEstimateService {
+
+    private static final int MIN_SAMPLES = 1000;
+    private static final int MAX_SAMPLES = 100000;
+    private static final int NO_ROOM = 0;
+
+    private final UserApplianceRepository userApplianceRepository;
+    private final RoomRepository roomRepository;
+    private final ApplianceService applianceService;
+    private final TariffService tariffService;
+    private final EnergyCalculator energyCalculator;
+    private final BillEstimator billEstimator;
+    private final int defaultSamples;
+
+    public BillEstimateService(
+            UserApplianceRepository userApplianceRepository,
+            RoomRepository roomRepository,
+            ApplianceService applianceService,
+            TariffService tariffService,
+            EnergyCalculator energyCalculator,
+            BillEstimator billEstimator,
+            @Value("${currently.estimate.samples:20000}") int defaultSamples
+    ) {
+        this.userApplianceRepository = userApplianceRepository;
+        this.roomRepository = roomRepository;
+        this.applianceService = applianceService;
+        this.tariffService = tariffService;
+        this.energyCalculator = energyCalculator;
+        this.billEstimator = billEstimator;
+        this.defaultSamples = defaultSamples;
+    }
+
+    // Function: estimateMyBill
+    // Purpose: P10/P50/P90 monthly kWh and bill for the household and each room.
+    // Inputs: number of samples (null = configured default), seed (null = fixed, so
+    //         repeated requests for an unchanged household give the same answer)
+    // Outputs: BillEstimateResponse
+    @Transactional(readOnly = true)
+    public BillEstimateResponse estimateMyBill(Integer samples, Long seed) {
+        int sampleCount = samples != null ? samples : defaultSamples;
+        if (sampleCount < MIN_SAMPLES || sampleCount > MAX_SAMPLES) {
+            throw new IllegalArgumentException("samples must be between " + MIN_SAMPLES + " and " + MAX_SAMPLES + ".");
+        }
+
+        Long userId = CurrentUser.id();
+        List<HouseholdApplianceRow> rows = userApplianceRepository.findRowsByUserId(userId);
+        List<RoomResponse> rooms = roomRepository.findResponsesByUserId(userId);
+        CompiledTariff tariff = tariffService.getTariffForUser(userId);
+
+        // Room index 0 collects appliances without a room
+        Map<Long, Integer> roomIndexes = new HashMap<>();
+        for (int i = 0; i < rooms.size(); i++) {
+            roomIndexes.put(rooms.get(i).getId(), i + 1);
+        }
+
+        // Only rooms with appliances are sampled; sampledIndex[room] is the room's
+        // series in the estimate, or -1 for a room with nothing to estimate
+        int[] sampledIndex = new int[rooms.size() + 1];
+        Arrays.fill(sampledIndex, -1);
+        int sampledRooms = 0;
+
+        HouseholdColumns columns = new HouseholdColumns(rows.size());
+        int[] roomOf = new int[rows.size()];
+        for (int i = 0; i < rows.size(); i++) {
+            HouseholdApplianceRow row = rows.get(i);
+            columns.add(row.getUsageType(), applianceService.findByName(row.getApplianceName()),
+                    row.getHoursPerDay(), row.getUsesPerDay());
+            Integer roomIndex = row.getRoomId() != null ? roomIndexes.get(row.getRoomId()) : null;
+            int room = roomIndex != null ? roomIndex : NO_ROOM;
+            if (sampledIndex[room] < 0) {
+                sampledIndex[room] = sampledRooms++;
+            }
+            roomOf[i] = sampledIndex[room];
+        }
+
+        double[] kWh = new double[rows.size()];
+        double[] cost = new double[rows.size()];
+        EnergyTotals totals = new EnergyTotals();
+        energyCalculator.calculate(columns, tariff, kWh, cost, totals);
+
+        BillEstimator.Samples sampled = billEstimator.estimate(kWh, cost, rows.size(), roomOf, sampledRooms,
+                sampleCount, seed != null ? seed : userId);
+
+        double standing = totals.getStandingChargePerDay();
+        BillEstimateResponse response = new BillEstimateResponse();
+        response.setSamples(sampleCount);
+        response.setPointMonthlyCost(totals.getMonthlyCost());
+        response.setMonthlyKWh(monthly(sampled.kWh(10), sampled.kWh(50), sampled.kWh(90), 0.0));
+        response.setMonthlyCost(monthly(sampled.cost(10), sampled.cost(50), sampled.cost(90), standing));
+
+        // Rooms with no appliances have nothing to estimate
+        List<RoomBillEstimate> roomEstimates = new ArrayList<>();
+        for (int index = 0; index < sampledIndex.length; index++) {
+            int series = sampledIndex[index];
+            if (series < 0) {
+                continue;
+            }
+            RoomBillEstimate estimate = new RoomBillEstimate();
+            if (index == NO_ROOM) {
+                estimate.setRoomName("Unassigned");
+            } else {
+                estimate.setRoomId(rooms.get(index - 1).getId());
+                estimate.setRoomName(rooms.get(index - 1).getName());
+            }
+            estimate.setMonthlyKWh(monthly(sampled.roomKWh(series, 10), sampled.roomKWh(series, 50),
+                    sampled.roomKWh(series, 90), 0.0));
+            estimate.setMonthlyCost(monthly(sampled.roomCost(series, 10), sampled.roomCost(series, 50),
+                    sampled.roomCost(series, 90), 0.0));
+            roomEstimates.add(estimate);
+        }
+        response.setRooms(roomEstimates);
+        return response;
+    }
+
+    // Helper: daily percentiles (plus a fixed daily amount) to a monthly range
+    private static BillRange monthly(double p10, double p50, double p90, double fixedPerDay) {
+        return new BillRange(
+                (p10 + fixedPerDay) * EnergyCalculator.DAYS_PER_MONTH,
+                (p50 + fixedPerDay) * EnergyCalculator.DAYS_PER_MONTH,
+                (p90 + fixedPerDay) * EnergyCalculator.DAYS_PER_MONTH);
+    }
+}
@@ -0,0 +1,174 @@
+/*
+ * File: BillEstimator.java
+ * Description: Monte Carlo estimate of a household's monthly bill, treating appliance
+ *              wattage and usage as uncertain.
+ * Author: Liam Connell
+ * Date: 2026-10-17
+ */
+
+package com.currently.currently_backend.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+
+/**
+ * Class: BillEstimator
+ * Purpose: Turn the single daily kWh per appliance into P10/P50/P90 ranges.
+ *          Each appliance's kWh is multiplied by two independent lognormal factors with
+ *          median 1: one for the catalogue wattage (averageWatts is a typical figure, not
+ *          the user's model) and one for the user's hours/uses guess. Their product is
+ *          lognormal with sigma = sqrt(wattageSigma^2 + usageSigma^2), so one Gaussian
+ *          draw per appliance per sample is enough.
+ *          Samples are split into chunks that run in parallel, each with its own
+ *          SplittableRandom split from a seeded root (so results are repeatable) and
+ *          writing only its own slice of preallocated arrays. The sampling loop itself
+ *          allocates nothing.
+ *          Room series keep at most currently.estimate.max-room-values values between
+ *          them: with many rooms each room's percentiles come from the first
+ *          max-room-values / rooms samples only, so memory per request is bounded
+ *          however many rooms a household has.
+ */
+@Component
+public class BillEstimator {
+
+    // Samples per parallel chunk; below this a chunk is not worth a task
+    private static final int CHUNK = 2048;
+
+    private final double sigma;
+    private final int maxRoomValues;
+
+    public BillEstimator(
+            @Value("${currently.estimate.wattage-sigma:0.25}") double wattageSigma,
+            @Value("${currently.estimate.usage-sigma:0.35}") double usageSigma,
+            @Value("${currently.estimate.max-room-values:1000000}") int maxRoomValues
+    ) {
+        this.sigma = Math.sqrt(wattageSigma * wattageSigma + usageSigma * usageSigma);
+        this.maxRoomValues = Math.max(1, maxRoomValues);
+    }
+
+    // Function: estimate
+    // Purpose: Sample daily kWh and energy cost for the household and each room.
+    // Inputs: daily kWh and cost per row (from EnergyCalculator), room index per row,
+    //         number of rooms (each used by some row), number of samples, seed
+    // Outputs: sorted samples, from which percentiles are read
+    public Samples estimate(double[] dailyKWh, double[] dailyCost, int rows, int[] roomOf, int roomCount,
+                            int sampleCount, long seed) {
+        int roomSamples = Math.max(1, Math.min(sampleCount, maxRoomValues / Math.max(1, roomCount)));
+        Samples samples = new Samples(sampleCount, roomCount, roomSamples);
+
+        int chunks = (sampleCount + CHUNK - 1) / CHUNK;
+        SplittableRandom root = new SplittableRandom(seed);
+        SplittableRandom[] randoms = new SplittableRandom[chunks];
+        for (int c = 0; c < chunks; c++) {
+            randoms[c] = root.split();
+        }
+
+        IntStream.range(0, chunks).parallel().forEach(c -> {
+            int from = c * CHUNK;
+            int to = Math.min(sampleCount, from + CHUNK);
+            sample(randoms[c], from, to, dailyKWh, dailyCost, rows, roomOf, samples);
+        });
+
+        // Sorting each series once makes every percentile an index lookup
+        Arrays.sort(samples.kWh);
+        Arrays.sort(samples.cost);
+        for (int room = 0; room < roomCount; room++) {
+            int base = room * roomSamples;
+            Arrays.sort(samples.roomKWh, base, base + roomSamples);
+            Arrays.sort(samples.roomCost, base, base + roomSamples);
+        }
+        return samples;
+    }
+
+    // Helper: the hot loop; primitives and preallocated arrays only
+    private void sample(SplittableRandom random, int from, int to,
+                        double[] dailyKWh, double[] dailyCost, int rows, int[] roomOf, Samples out) {
+        int n = out.roomSamples;
+        for (int s = from; s < to; s++) {
+            double kWh = 0.0;
+            double cost = 0.0;
+            if (s < n) {
+                for (int row = 0; row < rows; row++) {
+                    double factor = Math.exp(sigma * random.nextGaussian());
+                    double rowKWh = dailyKWh[row] * factor;
+                    double rowCost = dailyCost[row] * factor;
+                    kWh += rowKWh;
+                    cost += rowCost;
+                    int slot = roomOf[row] * n + s;
+                    out.roomKWh[slot] += rowKWh;
+                    out.roomCost[slot] += rowCost;
+                }
+            } else {
+                // Past the samples kept for rooms: household totals only
+                for (int row = 0; row < rows; row++) {
+                    double factor = Math.exp(sigma * random.nextGaussian());
+                    kWh += dailyKWh[row] * factor;
+                    cost += dailyCost[row] * factor;
+                }
+            }
+            out.kWh[s] = kWh;
+            out.cost[s] = cost;
+        }
+    }
+
+    /**
+     * Class: Samples
+     * Purpose: Daily kWh and energy cost per sample for the household and, room-major,
+     *          for each room (the first roomSamples samples only). Sorted after sampling.
+     */
+    public static final class Samples {
+
+        private final int count;
+        private final int roomSamples;
+        private final double[] kWh;
+        private final double[] cost;
+        private final double[] roomKWh;
+        private final double[] roomCost;
+
+        private Samples(int count, int roomCount, int roomSamples) {
+            this.count = count;
+            this.roomSamples = roomSamples;
+            this.kWh = new double[count];
+            this.cost = new double[count];
+            this.roomKWh = new double[roomSamples * roomCount];
+            this.roomCost = new double[roomSamples * roomCount];
+        }
+
+        public int getCount() {
+            return count;
+        }
+
+        // Samples kept per room
+        public int getRoomSamples() {
+            return roomSamples;
+        }
+
+        // Percentile (0-100) of household daily kWh
+        public double kWh(double percentile) {
+            return kWh[index(percentile, count)];
+        }
+
+        // Percentile (0-100) of household daily energy cost (no standing charge)
+        public double cost(double percentile) {
+            return cost[index(percentile, count)];
+        }
+
+        public double roomKWh(int room, double percentile) {
+            return roomKWh[room * roomSamples + index(percentile, roomSamples)];
+        }
+
+        public double roomCost(int room, double percentile) {
+            return roomCost[room * roomSamples + index(percentile, roomSamples)];
+        }
+
+        // Nearest-rank percentile among n sorted values
+        private static int index(double percentile, int n) {
+            int rank = (int) Math.ceil(percentile / 100.0 * n);
+            return Math.min(n - 1, Math.max(0, rank - 1));
+        }
+    }
+}
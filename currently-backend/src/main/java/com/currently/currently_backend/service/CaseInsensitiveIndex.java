@@ -0,0 +1,139 @@
+/*
+ * File: CaseInsensitiveIndex.java
+ * Description: Immutable open-addressing hash table mapping case-insensitive,
+ *              whitespace-trimmed string keys to int ids.
+ * Author: Liam Connell
+ * Date: 2026-10-17
+ */
+
+package com.currently.currently_backend.service;
+
+import java.util.List;
+
+/**
+ * Class: CaseInsensitiveIndex
+ * Purpose: Resolve a key such as " fridge " or "FRIDGE" to the id it was registered
+ *          with, using the same folding rules as String.equalsIgnoreCase.
+ *          Keys are hashed over their trimmed character range, so a lookup never
+ *          creates a lower-cased or trimmed copy of the caller's string.
+ */
+final class CaseInsensitiveIndex {
+
+    static final int MISSING = -1;
+
+    private final String[] keys;
+    private final int[] ids;
+    private final int mask;
+    private final int size;
+
+    // Function: of
+    // Purpose: Build an index where keys.get(i) maps to id i. Later duplicates
+    //          (case-insensitive) are ignored so the first registration wins.
+    // Inputs: keys to index, null entries are skipped
+    // Outputs: immutable index
+    static CaseInsensitiveIndex of(List<String> keys) {
+        return new CaseInsensitiveIndex(keys);
+    }
+
+    private CaseInsensitiveIndex(List<String> source) {
+        // Keep the load factor at or below 0.5 so probe sequences stay short
+        int capacity = Integer.highestOneBit(Math.max(2, source.size()) * 2 - 1) << 1;
+        this.keys = new String[capacity];
+        this.ids = new int[capacity];
+        this.mask = capacity - 1;
+
+        int count = 0;
+        for (int id = 0; id < source.size(); id++) {
+            String key = source.get(id);
+            if (key == null) {
+                continue;
+            }
+            int start = firstNonBlank(key);
+            int end = lastNonBlank(key, start);
+            if (start == end) {
+                continue;
+            }
+
+            int slot = hash(key, start, end) & mask;
+            boolean duplicate = false;
+            while (keys[slot] != null) {
+                if (matches(keys[slot], key, start, end)) {
+                    duplicate = true;
+                    break;
+                }
+                slot = (slot + 1) & mask;
+            }
+            if (!duplicate) {
+                keys[slot] = key.substring(start, end);
+                ids[slot] = id;
+                count++;
+            }
+        }
+        this.size = count;
+    }
+
+    // Function: get
+    // Purpose: Look up the id registered for a key without allocating.
+    // Inputs: key (may be null or padded with whitespace)
+    // Outputs: the id, or MISSING when the key is unknown
+    int get(String key) {
+        if (key == null) {
+            return MISSING;
+        }
+        int start = firstNonBlank(key);
+        int end = lastNonBlank(key, start);
+        if (start == end) {
+            return MISSING;
+        }
+
+        int slot = hash(key, start, end) & mask;
+        String candidate;
+        while ((candidate = keys[slot]) != null) {
+            if (matches(candidate, key, start, end)) {
+                return ids[slot];
+            }
+            slot = (slot + 1) & mask;
+        }
+        return MISSING;
+    }
+
+    int size() {
+        return size;
+    }
+
+    // Table slots, for checking the load factor
+    int capacity() {
+        return keys.length;
+    }
+
+    private static boolean matches(String stored, String key, int start, int end) {
+        return stored.length() == end - start
+                && stored.regionMatches(true, 0, key, start, end - start);
+    }
+
+    // Fold each char the same way String.regionMatches(ignoreCase) compares them,
+    // then spread the bits so nearby names do not cluster in the table.
+    private static int hash(String key, int start, int end) {
+        int h = 0;
+        for (int i = start; i < end; i++) {
+            h = 31 * h + Character.toLowerCase(Character.toUpperCase(key.charAt(i)));
+        }
+        return h ^ (h >>> 16);
+    }
+
+    private static int firstNonBlank(String key) {
+        int i = 0;
+        while (i < key.length() && Character.isWhitespace(key.charAt(i))) {
+            i++;
+        }
+        return i;
+    }
+
+    private static int lastNonBlank(String key, int start) {
+        int end = key.length();
+        while (end > start && Character.isWhitespace(key.charAt(end - 1))) {
+            end--;
+        }
+        return end;
+    }
+}
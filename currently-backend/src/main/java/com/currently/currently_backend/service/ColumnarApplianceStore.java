@@ -0,0 +1,239 @@
+/*
+ * File: ColumnarApplianceStore.java
+ * Description: Compact column-per-field storage for large (SKU-level) appliance
+ *              catalogues, exposed to the rest of the app as read-only Appliance views.
+ * Author: Liam Connell
+ * Date: 2026-10-17
+ */
+
+package com.currently.currently_backend.service;
+
+import com.currently.currently_backend.model.Appliance;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Class: ColumnarApplianceStore
+ * Purpose: Keep a catalogue of tens of thousands of models in a handful of arrays:
+ *          - numeric fields as int[] (NO_VALUE marks a missing value)
+ *          - repeated strings (category, usage type, brand, energy label) as int codes
+ *            into a per-column dictionary, so each distinct value is stored once
+ *          - names and models (unique per row) as String[]
+ *          get(row) returns a small flyweight view reading straight from the columns,
+ *          so the heap holds no Appliance object per row and old catalogue versions
+ *          are released as a few large arrays instead of many small objects.
+ */
+final class ColumnarApplianceStore implements ApplianceRows {
+
+    static final int NO_VALUE = Integer.MIN_VALUE;
+
+    private final int size;
+    private final String[] names;
+    private final String[] models;
+
+    private final int[] categoryCodes;
+    private final int[] usageTypeCodes;
+    private final int[] brandCodes;
+    private final int[] energyLabelCodes;
+    private final String[] categories;
+    private final String[] usageTypes;
+    private final String[] brands;
+    private final String[] energyLabels;
+
+    private final int[] averageWatts;
+    private final int[] defaultHoursPerDay;
+    private final int[] averageWattsPerUse;
+    private final int[] defaultUsesPerDay;
+
+    private ColumnarApplianceStore(Builder b) {
+        this.size = b.size;
+        this.names = Arrays.copyOf(b.names, size);
+        this.models = Arrays.copyOf(b.models, size);
+        this.categoryCodes = Arrays.copyOf(b.categoryCodes, size);
+        this.usageTypeCodes = Arrays.copyOf(b.usageTypeCodes, size);
+        this.brandCodes = Arrays.copyOf(b.brandCodes, size);
+        this.energyLabelCodes = Arrays.copyOf(b.energyLabelCodes, size);
+        this.categories = b.categories.values();
+        this.usageTypes = b.usageTypes.values();
+        this.brands = b.brands.values();
+        this.energyLabels = b.energyLabels.values();
+        this.averageWatts = Arrays.copyOf(b.averageWatts, size);
+        this.defaultHoursPerDay = Arrays.copyOf(b.defaultHoursPerDay, size);
+        this.averageWattsPerUse = Arrays.copyOf(b.averageWattsPerUse, size);
+        this.defaultUsesPerDay = Arrays.copyOf(b.defaultUsesPerDay, size);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public Appliance get(int row) {
+        if (row < 0 || row >= size) {
+            throw new IndexOutOfBoundsException(row);
+        }
+        return new View(this, row);
+    }
+
+    @Override
+    public String name(int row) {
+        return names[row];
+    }
+
+    @Override
+    public String category(int row) {
+        return decode(categories, categoryCodes[row]);
+    }
+
+    @Override
+    public String usageType(int row) {
+        return decode(usageTypes, usageTypeCodes[row]);
+    }
+
+    @Override
+    public String searchText(int row) {
+        String brand = decode(brands, brandCodes[row]);
+        String model = models[row];
+        if (brand == null && model == null) {
+            return names[row];
+        }
+        return names[row] + " " + (brand == null ? "" : brand) + " " + (model == null ? "" : model);
+    }
+
+    private static String decode(String[] dictionary, int code) {
+        return code < 0 ? null : dictionary[code];
+    }
+
+    private static Integer boxed(int value) {
+        return value == NO_VALUE ? null : value;
+    }
+
+    /**
+     * Read-only Appliance backed by one row of the store. Only the store reference and
+     * row number live on the heap; every getter reads the columns directly.
+     */
+    private static final class View extends Appliance {
+
+        private final ColumnarApplianceStore store;
+        private final int row;
+
+        private View(ColumnarApplianceStore store, int row) {
+            this.store = store;
+            this.row = row;
+        }
+
+        @Override public String getName() { return store.names[row]; }
+        @Override public String getCategory() { return store.category(row); }
+        @Override public String getUsageType() { return store.usageType(row); }
+        @Override public Integer getAverageWatts() { return boxed(store.averageWatts[row]); }
+        @Override public Integer getDefaultHoursPerDay() { return boxed(store.defaultHoursPerDay[row]); }
+        @Override public Integer getAverageWattsPerUse() { return boxed(store.averageWattsPerUse[row]); }
+        @Override public Integer getDefaultUsesPerDay() { return boxed(store.defaultUsesPerDay[row]); }
+        @Override public String getBrand() { return decode(store.brands, store.brandCodes[row]); }
+        @Override public String getModel() { return store.models[row]; }
+        @Override public String getEnergyLabel() { return decode(store.energyLabels, store.energyLabelCodes[row]); }
+    }
+
+    /**
+     * Class: Builder
+     * Purpose: Append rows while a catalogue file is streamed in; arrays grow by half
+     *          their size and are trimmed to the exact row count on build().
+     */
+    static final class Builder {
+
+        private int size;
+        private String[] names = new String[1024];
+        private String[] models = new String[1024];
+        private int[] categoryCodes = new int[1024];
+        private int[] usageTypeCodes = new int[1024];
+        private int[] brandCodes = new int[1024];
+        private int[] energyLabelCodes = new int[1024];
+        private int[] averageWatts = new int[1024];
+        private int[] defaultHoursPerDay = new int[1024];
+        private int[] averageWattsPerUse = new int[1024];
+        private int[] defaultUsesPerDay = new int[1024];
+
+        private final Dictionary categories = new Dictionary();
+        private final Dictionary usageTypes = new Dictionary();
+        private final Dictionary brands = new Dictionary();
+        private final Dictionary energyLabels = new Dictionary();
+
+        // Function: add
+        // Purpose: Append one catalogue row. Pass NO_VALUE for missing numbers and
+        //          null for missing strings.
+        Builder add(String name, String category, String usageType,
+                    int averageWatts, int defaultHoursPerDay,
+                    int averageWattsPerUse, int defaultUsesPerDay,
+                    String brand, String model, String energyLabel) {
+            if (size == names.length) {
+                grow();
+            }
+            this.names[size] = name;
+            this.models[size] = model;
+            this.categoryCodes[size] = categories.code(category);
+            this.usageTypeCodes[size] = usageTypes.code(usageType);
+            this.brandCodes[size] = brands.code(brand);
+            this.energyLabelCodes[size] = energyLabels.code(energyLabel);
+            this.averageWatts[size] = averageWatts;
+            this.defaultHoursPerDay[size] = defaultHoursPerDay;
+            this.averageWattsPerUse[size] = averageWattsPerUse;
+            this.defaultUsesPerDay[size] = defaultUsesPerDay;
+            size++;
+            return this;
+        }
+
+        int size() {
+            return size;
+        }
+
+        ColumnarApplianceStore build() {
+            return new ColumnarApplianceStore(this);
+        }
+
+        private void grow() {
+            int capacity = names.length + (names.length >> 1);
+            names = Arrays.copyOf(names, capacity);
+            models = Arrays.copyOf(models, capacity);
+            categoryCodes = Arrays.copyOf(categoryCodes, capacity);
+            usageTypeCodes = Arrays.copyOf(usageTypeCodes, capacity);
+            brandCodes = Arrays.copyOf(brandCodes, capacity);
+            energyLabelCodes = Arrays.copyOf(energyLabelCodes, capacity);
+            averageWatts = Arrays.copyOf(averageWatts, capacity);
+            defaultHoursPerDay = Arrays.copyOf(defaultHoursPerDay, capacity);
+            averageWattsPerUse = Arrays.copyOf(averageWattsPerUse, capacity);
+            defaultUsesPerDay = Arrays.copyOf(defaultUsesPerDay, capacity);
+        }
+    }
+
+    /**
+     * String dictionary for one column: each distinct value gets a dense code and is
+     * stored once, whatever instance the parser produced for it.
+     */
+    private static final class Dictionary {
+
+        private final Map<String, Integer> codes = new HashMap<>();
+        private final List<String> values = new ArrayList<>();
+
+        private int code(String value) {
+            if (value == null || value.isEmpty()) {
+                return -1;
+            }
+            Integer code = codes.get(value);
+            if (code == null) {
+                code = values.size();
+                codes.put(value, code);
+                values.add(value);
+            }
+            return code;
+        }
+
+        private String[] values() {
+            return values.toArray(new String[0]);
+        }
+    }
+}
@@ -0,0 +1,222 @@
+/*
+ * File: ColumnarCatalogueReader.java
+ * Description: Streams a (optionally gzip-compressed) CSV or JSON catalogue file
+ *              straight into a ColumnarApplianceStore.
+ * Author: Liam Connell
+ * Date: 2026-10-17
+ *
+ * Notes:
+ * - CSV needs a header row; recognised columns (any order, case-insensitive):
+ *   name, category, usageType, averageWatts, defaultHoursPerDay, averageWattsPerUse,
+ *   defaultUsesPerDay, brand, model, energyLabel. Unknown columns are ignored.
+ * - JSON uses the same field names as appliances.json.
+ * - Gzip is detected from the stream's magic bytes, not the file name.
+ */
+
+package com.currently.currently_backend.service;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Class: ColumnarCatalogueReader
+ * Purpose: Parse catalogue files field by field into column builders. No intermediate
+ *          Appliance objects or per-file row lists are created, so a 50k-row file costs
+ *          little more than the final arrays.
+ */
+final class ColumnarCatalogueReader {
+
+    private static final JsonFactory JSON = new JsonFactory();
+
+    private ColumnarCatalogueReader() {
+    }
+
+    static boolean isCatalogueFile(Path file) {
+        String name = file.getFileName().toString().toLowerCase(Locale.ROOT);
+        return name.endsWith(".json") || name.endsWith(".csv")
+                || name.endsWith(".json.gz") || name.endsWith(".csv.gz");
+    }
+
+    // Function: read
+    // Purpose: Append every row of a catalogue file to the builder.
+    // Inputs: file path (.csv/.json, optionally .gz), builder to append to
+    static void read(Path file, ColumnarApplianceStore.Builder builder) throws IOException {
+        String name = file.getFileName().toString().toLowerCase(Locale.ROOT);
+        boolean csv = name.endsWith(".csv") || name.endsWith(".csv.gz");
+
+        try (InputStream in = decompressIfNeeded(Files.newInputStream(file))) {
+            if (csv) {
+                readCsv(in, builder);
+            } else {
+                readJson(in, builder);
+            }
+        }
+    }
+
+    private static InputStream decompressIfNeeded(InputStream raw) throws IOException {
+        BufferedInputStream in = new BufferedInputStream(raw, 64 * 1024);
+        in.mark(2);
+        int b1 = in.read();
+        int b2 = in.read();
+        in.reset();
+        if (b1 == 0x1f && b2 == 0x8b) {
+            return new GZIPInputStream(in, 64 * 1024);
+        }
+        return in;
+    }
+
+    // Helper: token-level JSON parsing of [ {..}, {..} ]
+    private static void readJson(InputStream in, ColumnarApplianceStore.Builder builder) throws IOException {
+        try (JsonParser parser = JSON.createParser(in)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new IOException("Catalogue JSON must be an array of appliances.");
+            }
+            Row row = new Row();
+            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                row.clear();
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    String field = parser.currentName();
+                    JsonToken value = parser.nextToken();
+                    if (value == JsonToken.START_OBJECT || value == JsonToken.START_ARRAY) {
+                        parser.skipChildren();
+                    } else if (value != JsonToken.VALUE_NULL) {
+                        row.set(field, parser.getText());
+                    }
+                }
+                row.appendTo(builder);
+            }
+        }
+    }
+
+    private static void readCsv(InputStream in, ColumnarApplianceStore.Builder builder) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8), 64 * 1024);
+        String headerLine = reader.readLine();
+        if (headerLine == null) {
+            return;
+        }
+        if (!headerLine.isEmpty() && headerLine.charAt(0) == '\uFEFF') {
+            headerLine = headerLine.substring(1);
+        }
+        List<String> header = splitCsv(headerLine, new ArrayList<>());
+
+        Row row = new Row();
+        List<String> fields = new ArrayList<>(header.size());
+        String line;
+        int lineNumber = 1;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            fields.clear();
+            splitCsv(line, fields);
+            row.clear();
+            for (int i = 0; i < header.size() && i < fields.size(); i++) {
+                if (!fields.get(i).isEmpty()) {
+                    row.set(header.get(i), fields.get(i));
+                }
+            }
+            try {
+                row.appendTo(builder);
+            } catch (IllegalArgumentException e) {
+                throw new IOException("Line " + lineNumber + ": " + e.getMessage(), e);
+            }
+        }
+    }
+
+    // Helper: split one CSV line, honouring "quoted, fields" and "" escapes
+    private static List<String> splitCsv(String line, List<String> out) {
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                out.add(field.toString().trim());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        out.add(field.toString().trim());
+        return out;
+    }
+
+    /**
+     * Field values of the row being parsed, reused across rows.
+     */
+    private static final class Row {
+
+        private String name;
+        private String category;
+        private String usageType;
+        private String brand;
+        private String model;
+        private String energyLabel;
+        private int averageWatts;
+        private int defaultHoursPerDay;
+        private int averageWattsPerUse;
+        private int defaultUsesPerDay;
+
+        private void clear() {
+            name = category = usageType = brand = model = energyLabel = null;
+            averageWatts = defaultHoursPerDay = averageWattsPerUse = defaultUsesPerDay = ColumnarApplianceStore.NO_VALUE;
+        }
+
+        private void set(String field, String value) {
+            switch (field.toLowerCase(Locale.ROOT)) {
+                case "name" -> name = value;
+                case "category" -> category = value;
+                case "usagetype" -> usageType = value;
+                case "brand" -> brand = value;
+                case "model" -> model = value;
+                case "energylabel" -> energyLabel = value;
+                case "averagewatts" -> averageWatts = parseInt(field, value);
+                case "defaulthoursperday" -> defaultHoursPerDay = parseInt(field, value);
+                case "averagewattsperuse" -> averageWattsPerUse = parseInt(field, value);
+                case "defaultusesperday" -> defaultUsesPerDay = parseInt(field, value);
+                default -> {
+                    // Extra columns are allowed and ignored
+                }
+            }
+        }
+
+        private void appendTo(ColumnarApplianceStore.Builder builder) {
+            builder.add(name, category, usageType,
+                    averageWatts, defaultHoursPerDay, averageWattsPerUse, defaultUsesPerDay,
+                    brand, model, energyLabel);
+        }
+
+        private static int parseInt(String field, String value) {
+            try {
+                return (int) Math.round(Double.parseDouble(value));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException(field + " is not a number: " + value);
+            }
+        }
+    }
+}
@@ -0,0 +1,142 @@
+/*
+ * File: CompiledTariff.java
+ * Description: Immutable week-long price table compiled from a tariff plan.
+ * Author: Liam Connell
+ * Date: 2026-10-17
+ */
+
+package com.currently.currently_backend.service;
+
+import com.currently.currently_backend.model.TariffBand;
+import com.currently.currently_backend.model.TimeOfUseProfile;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Class: CompiledTariff
+ * Purpose: Turn a list of price bands into a flat 7 x 48 (day x half hour) price array,
+ *          plus the average price each TimeOfUseProfile pays over the week. Pricing an
+ *          appliance is then one multiply by its profile's effective price.
+ *          Instances are immutable and shared between every user on the same tariff.
+ */
+public final class CompiledTariff {
+
+    public static final int DAYS = 7;
+    public static final int SLOTS_PER_DAY = TimeOfUseProfile.SLOTS_PER_DAY;
+    public static final int MINUTES_PER_SLOT = 30;
+
+    private final double[] prices;
+    private final double standingChargePerDay;
+    private final double[] effectivePrices;
+    private final double cheapestPrice;
+    private final int hash;
+
+    private CompiledTariff(double[] prices, double standingChargePerDay) {
+        this.prices = prices;
+        this.standingChargePerDay = standingChargePerDay;
+
+        TimeOfUseProfile[] profiles = TimeOfUseProfile.values();
+        this.effectivePrices = new double[profiles.length];
+        for (TimeOfUseProfile profile : profiles) {
+            double weekly = 0.0;
+            for (int day = 0; day < DAYS; day++) {
+                for (int slot = 0; slot < SLOTS_PER_DAY; slot++) {
+                    weekly += profile.weight(slot) * prices[day * SLOTS_PER_DAY + slot];
+                }
+            }
+            effectivePrices[profile.ordinal()] = weekly / DAYS;
+        }
+
+        double cheapest = Double.MAX_VALUE;
+        for (double price : prices) {
+            cheapest = Math.min(cheapest, price);
+        }
+        this.cheapestPrice = cheapest;
+        this.hash = 31 * Arrays.hashCode(prices) + Double.hashCode(standingChargePerDay);
+    }
+
+    // Function: flat
+    // Purpose: Single-rate tariff with no standing charge (the default for users without a plan).
+    public static CompiledTariff flat(double pricePerKWh) {
+        double[] prices = new double[DAYS * SLOTS_PER_DAY];
+        Arrays.fill(prices, pricePerKWh);
+        return new CompiledTariff(prices, 0.0);
+    }
+
+    // Function: compile
+    // Purpose: Build the price table from bands applied in order (later bands win).
+    // Inputs: standing charge per day, bands, price for half hours no band covers
+    // Outputs: compiled tariff
+    public static CompiledTariff compile(double standingChargePerDay, List<TariffBand> bands,
+                                         double fallbackPricePerKWh) {
+        double[] prices = new double[DAYS * SLOTS_PER_DAY];
+        Arrays.fill(prices, fallbackPricePerKWh);
+
+        for (TariffBand band : bands) {
+            int start = band.getStartMinute() / MINUTES_PER_SLOT;
+            int end = band.getEndMinute() / MINUTES_PER_SLOT;
+            // Equal start and end means the whole day
+            int length = Math.floorMod(end - start - 1, SLOTS_PER_DAY) + 1;
+
+            for (int day = 0; day < DAYS; day++) {
+                if ((band.getDaysMask() & (1 << day)) == 0) {
+                    continue;
+                }
+                for (int i = 0; i < length; i++) {
+                    int slot = start + i;
+                    // Slots past midnight belong to the following day
+                    int targetDay = (day + slot / SLOTS_PER_DAY) % DAYS;
+                    prices[targetDay * SLOTS_PER_DAY + slot % SLOTS_PER_DAY] = band.getPricePerKWh();
+                }
+            }
+        }
+        return new CompiledTariff(prices, standingChargePerDay);
+    }
+
+    // Price per kWh on a day (0 = Monday) in a half-hour slot (0 = 00:00-00:30)
+    public double price(int day, int slot) {
+        return prices[day * SLOTS_PER_DAY + slot];
+    }
+
+    // Average price per kWh paid by energy used with the given profile over a week
+    public double effectivePrice(byte profileCode) {
+        return effectivePrices[profileCode];
+    }
+
+    // Daily energy cost (no standing charge) of kWh already split by profile code
+    public double dailyEnergyCost(double[] kWhByProfile) {
+        double cost = 0.0;
+        for (int p = 0; p < kWhByProfile.length; p++) {
+            cost += kWhByProfile[p] * effectivePrices[p];
+        }
+        return cost;
+    }
+
+    public double getStandingChargePerDay() {
+        return standingChargePerDay;
+    }
+
+    public double getCheapestPrice() {
+        return cheapestPrice;
+    }
+
+    // Equal content means equal tariff, so identical plans can share one instance
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof CompiledTariff other)) {
+            return false;
+        }
+        return hash == other.hash
+                && Double.compare(standingChargePerDay, other.standingChargePerDay) == 0
+                && Arrays.equals(prices, other.prices);
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+}
@@ -0,0 +1,60 @@
+/*
+ * File: DailySnapshot.java
+ * Description: One user's estimated totals on one day, as kept in the history store.
+ * Author: Liam Connell
+ * Date: 2026-10-17
+ */
+
+package com.currently.currently_backend.service;
+
+import java.time.LocalDate;
+
+/**
+ * Class: DailySnapshot
+ * Purpose: Household daily kWh and cost plus daily kWh per room (parallel arrays,
+ *          rooms with no consumption left out). Values read back from a HistoryStore
+ *          are rounded to the store's precision (1 Wh, 0.0001 currency units).
+ */
+public final class DailySnapshot {
+
+    private final Long userId;
+    private final LocalDate date;
+    private final double dailyKWh;
+    private final double dailyCost;
+    private final long[] roomIds;
+    private final double[] roomKWh;
+
+    public DailySnapshot(Long userId, LocalDate date, double dailyKWh, double dailyCost,
+                         long[] roomIds, double[] roomKWh) {
+        this.userId = userId;
+        this.date = date;
+        this.dailyKWh = dailyKWh;
+        this.dailyCost = dailyCost;
+        this.roomIds = roomIds;
+        this.roomKWh = roomKWh;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public double getDailyKWh() {
+        return dailyKWh;
+    }
+
+    public double getDailyCost() {
+        return dailyCost;
+    }
+
+    public long[] getRoomIds() {
+        return roomIds;
+    }
+
+    public double[] getRoomKWh() {
+        return roomKWh;
+    }
+}
@@ -0,0 +1,234 @@
+/*
+ * File: DashboardService.java
+ * Description: Builds the household dashboard (totals grouped by room, floor,
+ *              category and usage type) for the current user.
+ * Author: Liam Connell
+ * Date: 2026-10-17
+ */
+
+package com.currently.currently_backend.service;
+
+import com.currently.currently_backend.dto.DashboardGroup;
+import com.currently.currently_backend.dto.DashboardResponse;
+import com.currently.currently_backend.dto.HouseholdApplianceRow;
+import com.currently.currently_backend.dto.HouseholdTotalsResponse;
+import com.currently.currently_backend.dto.RoomResponse;
+import com.currently.currently_backend.model.Appliance;
+import com.currently.currently_backend.model.HouseholdAggregate;
+import com.currently.currently_backend.repository.RoomRepository;
+import com.currently.currently_backend.repository.UserApplianceRepository;
+import com.currently.currently_backend.util.CurrentUser;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Class: DashboardService
+ * Purpose: Answer the dashboard with a fixed number of statements whatever the size of
+ *          the household: one projection query for the appliances and one for the
+ *          rooms. Rows go through the EnergyCalculator in a single pass and are then
+ *          summed into each grouping by index, with no per-row entity loading.
+ *          Plain household totals come from the persisted aggregate instead (getMyTotals).
+ */
+@Service
+public class DashboardService {
+
+    private static final String UNASSIGNED = "Unassigned";
+    private static final String OTHER_CATEGORY = "Other";
+    private static final int DASHBOARD_RECOMMENDATIONS = 3;
+
+    private final UserApplianceRepository userApplianceRepository;
+    private final RoomRepository roomRepository;
+    private final ApplianceService applianceService;
+    private final TariffService tariffService;
+    private final EnergyCalculator energyCalculator;
+    private final AggregateService aggregateService;
+    private final RecommendationService recommendationService;
+
+    public DashboardService(
+            UserApplianceRepository userApplianceRepository,
+            RoomRepository roomRepository,
+            ApplianceService applianceService,
+            TariffService tariffService,
+            EnergyCalculator energyCalculator,
+            AggregateService aggregateService,
+            RecommendationService recommendationService
+    ) {
+        this.userApplianceRepository = userApplianceRepository;
+        this.roomRepository = roomRepository;
+        this.applianceService = applianceService;
+        this.tariffService = tariffService;
+        this.energyCalculator = energyCalculator;
+        this.aggregateService = aggregateService;
+        this.recommendationService = recommendationService;
+    }
+
+    // Function: getMyDashboard
+    // Purpose: Household totals, the same totals grouped four ways and the top
+    //          savings recommendations.
+    // Inputs: none (current user)
+    // Outputs: DashboardResponse
+    @Transactional(readOnly = true)
+    public DashboardResponse getMyDashboard() {
+        Long userId = CurrentUser.id();
+        List<HouseholdApplianceRow> rows = userApplianceRepository.findRowsByUserId(userId);
+        List<RoomResponse> rooms = roomRepository.findResponsesByUserId(userId);
+
+        // Every room (and its floor) is listed, even with no appliances yet
+        Groups byRoom = new Groups();
+        Groups byFloor = new Groups();
+        Map<Long, Integer> roomGroups = new HashMap<>();
+        Map<Long, String> floorOfRoom = new HashMap<>();
+        for (RoomResponse room : rooms) {
+            // Keyed by id: two rooms may share a name on different floors
+            roomGroups.put(room.getId(), byRoom.newGroup(room.getName()));
+            floorOfRoom.put(room.getId(), room.getFloorLabel());
+            byFloor.indexOf(room.getFloorLabel());
+        }
+        Groups byCategory = new Groups();
+        Groups byUsageType = new Groups();
+
+        // One calculator pass over the whole household
+        HouseholdColumns household = new HouseholdColumns(rows.size());
+        String[] categories = new String[rows.size()];
+        for (int i = 0; i < rows.size(); i++) {
+            HouseholdApplianceRow row = rows.get(i);
+            Appliance base = applianceService.findByName(row.getApplianceName());
+            household.add(row.getUsageType(), base, row.getHoursPerDay(), row.getUsesPerDay());
+            categories[i] = base != null && base.getCategory() != null ? base.getCategory() : OTHER_CATEGORY;
+        }
+        double[] dailyKWh = new double[rows.size()];
+        double[] dailyCost = new double[rows.size()];
+        EnergyTotals totals = new EnergyTotals();
+        energyCalculator.calculate(household, tariffService.getTariffForUser(userId),
+                dailyKWh, dailyCost, totals);
+
+        for (int i = 0; i < rows.size(); i++) {
+            HouseholdApplianceRow row = rows.get(i);
+            Long roomId = row.getRoomId();
+            Integer roomGroup = roomId != null ? roomGroups.get(roomId) : null;
+
+            byRoom.add(roomGroup != null ? roomGroup : byRoom.indexOf(UNASSIGNED), dailyKWh[i], dailyCost[i]);
+            byFloor.add(byFloor.indexOf(roomGroup != null ? floorOfRoom.get(roomId) : UNASSIGNED),
+                    dailyKWh[i], dailyCost[i]);
+            byCategory.add(byCategory.indexOf(categories[i]), dailyKWh[i], dailyCost[i]);
+            byUsageType.add(byUsageType.indexOf(row.getUsageType()), dailyKWh[i], dailyCost[i]);
+        }
+
+        DashboardResponse response = new DashboardResponse();
+        response.setApplianceCount(rows.size());
+        response.setRoomCount(rooms.size());
+        response.setDailyKWh(totals.getDailyKWh());
+        response.setDailyCost(totals.getDailyCost());
+        response.setMonthlyKWh(totals.getMonthlyKWh());
+        response.setMonthlyCost(totals.getMonthlyCost());
+        response.setAnnualKWh(totals.getAnnualKWh());
+        response.setAnnualCost(totals.getAnnualCost());
+        response.setStandingChargePerDay(totals.getStandingChargePerDay());
+
+        List<DashboardGroup> roomList = byRoom.toList(totals.getDailyKWh());
+        for (RoomResponse room : rooms) {
+            DashboardGroup group = roomList.get(roomGroups.get(room.getId()));
+            group.setRoomId(room.getId());
+            group.setFloorLabel(room.getFloorLabel());
+        }
+        response.setByRoom(roomList);
+        response.setByFloor(byFloor.toList(totals.getDailyKWh()));
+        response.setByCategory(byCategory.toList(totals.getDailyKWh()));
+        response.setByUsageType(byUsageType.toList(totals.getDailyKWh()));
+        response.setRecommendations(recommendationService.getRecommendations(userId, DASHBOARD_RECOMMENDATIONS));
+        return response;
+    }
+
+    // Function: getMyTotals
+    // Purpose: Household totals from the aggregate row (one primary-key read), priced
+    //          with the user's cached compiled tariff.
+    // Inputs: none (current user)
+    // Outputs: HouseholdTotalsResponse
+    @Transactional(readOnly = true)
+    public HouseholdTotalsResponse getMyTotals() {
+        Long userId = CurrentUser.id();
+        HouseholdAggregate aggregate = aggregateService.getHouseholdAggregate(userId);
+        CompiledTariff tariff = tariffService.getTariffForUser(userId);
+
+        double dailyKWh = aggregate.getDailyKWh();
+        double dailyCost = tariff.dailyEnergyCost(aggregate.getEnergy().toArray()) + tariff.getStandingChargePerDay();
+
+        HouseholdTotalsResponse response = new HouseholdTotalsResponse();
+        response.setApplianceCount(aggregate.getApplianceCount());
+        response.setDailyKWh(dailyKWh);
+        response.setDailyCost(dailyCost);
+        response.setMonthlyKWh(dailyKWh * EnergyCalculator.DAYS_PER_MONTH);
+        response.setMonthlyCost(dailyCost * EnergyCalculator.DAYS_PER_MONTH);
+        response.setAnnualKWh(dailyKWh * EnergyCalculator.DAYS_PER_YEAR);
+        response.setAnnualCost(dailyCost * EnergyCalculator.DAYS_PER_YEAR);
+        response.setStandingChargePerDay(tariff.getStandingChargePerDay());
+        response.setDataVersion(aggregate.getDataVersion());
+        return response;
+    }
+
+    /**
+     * Running totals for one grouping. Keys get dense indexes in order of first
+     * appearance and the sums live in parallel arrays.
+     */
+    private static final class Groups {
+
+        private final Map<String, Integer> indexes = new HashMap<>();
+        private final List<String> keys = new ArrayList<>();
+        private int[] counts = new int[8];
+        private double[] kWh = new double[8];
+        private double[] cost = new double[8];
+
+        // Index of the group for a key, created on first use
+        private int indexOf(String key) {
+            String k = key != null && !key.isBlank() ? key : UNASSIGNED;
+            Integer index = indexes.get(k);
+            if (index == null) {
+                index = newGroup(k);
+                indexes.put(k, index);
+            }
+            return index;
+        }
+
+        // A group that is only reached by its index, never by key lookup
+        private int newGroup(String key) {
+            int index = keys.size();
+            keys.add(key);
+            if (index == counts.length) {
+                counts = Arrays.copyOf(counts, index * 2);
+                kWh = Arrays.copyOf(kWh, index * 2);
+                cost = Arrays.copyOf(cost, index * 2);
+            }
+            return index;
+        }
+
+        private void add(int index, double dailyKWh, double dailyCost) {
+            counts[index]++;
+            kWh[index] += dailyKWh;
+            cost[index] += dailyCost;
+        }
+
+        private List<DashboardGroup> toList(double householdKWh) {
+            List<DashboardGroup> list = new ArrayList<>(keys.size());
+            for (int i = 0; i < keys.size(); i++) {
+                DashboardGroup group = new DashboardGroup();
+                group.setKey(keys.get(i));
+                group.setApplianceCount(counts[i]);
+                group.setDailyKWh(kWh[i]);
+                group.setDailyCost(cost[i]);
+                group.setMonthlyKWh(kWh[i] * EnergyCalculator.DAYS_PER_MONTH);
+                group.setMonthlyCost(cost[i] * EnergyCalculator.DAYS_PER_MONTH);
+                group.setAnnualKWh(kWh[i] * EnergyCalculator.DAYS_PER_YEAR);
+                group.setAnnualCost(cost[i] * EnergyCalculator.DAYS_PER_YEAR);
+                group.setShare(householdKWh > 0 ? kWh[i] / householdKWh : 0.0);
+                list.add(group);
+            }
+            return list;
+        }
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * File: DatabaseHistoryStore.java
+ * Description: HistoryStore keeping one encoded block per user per month in the database.
+ * Author: Liam Connell
+ * Date: 2026-10-17
+ */
+
+package com.currently.currently_backend.service;
+
+import com.currently.currently_backend.model.HistoryBlock;
+import com.currently.currently_backend.model.HistoryBlockId;
+import com.currently.currently_backend.repository.HistoryBlockRepository;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Class: DatabaseHistoryStore
+ * Purpose: Default HistoryStore (currently.history.store=database). Appending re-encodes
+ *          the current month's block, which holds at most 31 days; earlier months are
+ *          never rewritten. A range read is one query per user however many days it spans.
+ */
+@Component
+@ConditionalOnProperty(name = "currently.history.store", havingValue = "database", matchIfMissing = true)
+public class DatabaseHistoryStore implements HistoryStore {
+
+    private final HistoryBlockRepository historyBlockRepository;
+    private final WriteQueue writeQueue;
+
+    public DatabaseHistoryStore(HistoryBlockRepository historyBlockRepository, WriteQueue writeQueue) {
+        this.historyBlockRepository = historyBlockRepository;
+        this.writeQueue = writeQueue;
+    }
+
+    // One queued write per call; the snapshot job calls it once per page of households
+    @Override
+    public void appendAll(List<DailySnapshot> snapshots) {
+        writeQueue.run(() -> write(snapshots));
+    }
+
+    private void write(List<DailySnapshot> snapshots) {
+        // Group by block, then load every affected block with one query
+        Map<HistoryBlockId, List<DailySnapshot>> byBlock = new LinkedHashMap<>();
+        for (DailySnapshot snapshot : snapshots) {
+            HistoryBlockId id = new HistoryBlockId(snapshot.getUserId(), HistoryBlockCodec.monthKey(snapshot.getDate()));
+            byBlock.computeIfAbsent(id, key -> new ArrayList<>()).add(snapshot);
+        }
+        Map<HistoryBlockId, HistoryBlock> existing = new LinkedHashMap<>();
+        for (HistoryBlock block : historyBlockRepository.findAllById(byBlock.keySet())) {
+            existing.put(block.getId(), block);
+        }
+
+        List<HistoryBlock> changed = new ArrayList<>(byBlock.size());
+        for (Map.Entry<HistoryBlockId, List<DailySnapshot>> entry : byBlock.entrySet()) {
+            HistoryBlockId id = entry.getKey();
+            HistoryBlock block = existing.get(id);
+            List<DailySnapshot> days = block != null
+                    ? HistoryBlockCodec.decode(block.getData(), id.getUserId(), HistoryBlockCodec.monthOf(id.getMonth()))
+                    : List.of();
+            byte[] data = HistoryBlockCodec.encode(HistoryBlockCodec.merge(days, entry.getValue()));
+            if (block == null) {
+                block = new HistoryBlock(id, data);
+            } else {
+                block.setData(data);
+            }
+            changed.add(block);
+        }
+        historyBlockRepository.saveAll(changed);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<DailySnapshot> read(Long userId, LocalDate from, LocalDate to) {
+        List<DailySnapshot> result = new ArrayList<>();
+        for (HistoryBlock block : historyBlockRepository.findRange(userId,
+                HistoryBlockCodec.monthKey(from), HistoryBlockCodec.monthKey(to))) {
+            for (DailySnapshot snapshot : HistoryBlockCodec.decode(block.getData(), userId,
+                    HistoryBlockCodec.monthOf(block.getId().getMonth()))) {
+                if (!snapshot.getDate().isBefore(from) && !snapshot.getDate().isAfter(to)) {
+                    result.add(snapshot);
+                }
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,60 @@
+/*
+ * File: EnergyTotals.java
+ * Description: Mutable result holder for EnergyCalculator runs.
+ * Author: Liam Connell
+ * Date: 2026-10-17
+ */
+
+package com.currently.currently_backend.service;
+
+/**
+ * Class: EnergyTotals
+ * Purpose: Household totals written by EnergyCalculator. Callers keep and reuse one
+ *          instance so a calculation does not allocate a result object.
+ */
+public final class EnergyTotals {
+
+    double dailyKWh;
+    double dailyEnergyCost;
+    double standingChargePerDay;
+
+    public void reset() {
+        dailyKWh = 0.0;
+        dailyEnergyCost = 0.0;
+        standingChargePerDay = 0.0;
+    }
+
+    public double getDailyKWh() {
+        return dailyKWh;
+    }
+
+    // Cost of the energy used, excluding the standing charge
+    public double getDailyEnergyCost() {
+        return dailyEnergyCost;
+    }
+
+    public double getStandingChargePerDay() {
+        return standingChargePerDay;
+    }
+
+    // Full daily bill: energy plus standing charge
+    public double getDailyCost() {
+        return dailyEnergyCost + standingChargePerDay;
+    }
+
+    public double getMonthlyKWh() {
+        return dailyKWh * EnergyCalculator.DAYS_PER_MONTH;
+    }
+
+    public double getMonthlyCost() {
+        return getDailyCost() * EnergyCalculator.DAYS_PER_MONTH;
+    }
+
+    public double getAnnualKWh() {
+        return dailyKWh * EnergyCalculator.DAYS_PER_YEAR;
+    }
+
+    public double getAnnualCost() {
+        return getDailyCost() * EnergyCalculator.DAYS_PER_YEAR;
+    }
+}
@@ -0,0 +1,530 @@
+/*
+ * File: ExportService.java
+ * Description: Streams a full export of the current user's household as JSON or CSV.
+ * Author: Liam Connell
+ * Date: 2026-10-17
+ */
+
+package com.currently.currently_backend.service;
+
+import com.currently.currently_backend.dto.ExportApplianceRow;
+import com.currently.currently_backend.dto.ExportRoomRow;
+import com.currently.currently_backend.model.User;
+import com.currently.currently_backend.repository.RoomRepository;
+import com.currently.currently_backend.repository.UserApplianceRepository;
+import com.currently.currently_backend.repository.UserRepository;
+import com.currently.currently_backend.util.CurrentUser;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Class: ExportService
+ * Purpose: Export rooms, appliances with their derived kWh and cost, household totals
+ *          and recorded history, for users and for data-portability requests.
+ *          The user, tariff and catalogue are resolved on the request thread. The body
+ *          then reads rooms and appliances as DTO projections in keyset chunks, each in
+ *          its own short read-only transaction, pricing each appliance as it passes and
+ *          writing it straight to the response. No read snapshot is held while the
+ *          client downloads, so a slow export does not hold back WAL checkpoints.
+ *          Only the room names are kept (to label history), so memory does not grow
+ *          with the number of appliances. At most currently.export.max-concurrent
+ *          exports run at once; further requests are refused until one finishes. A slot
+ *          is taken on the request thread and given back when the body finishes, or when
+ *          the request's async processing ends without it (timeout, client gone), so an
+ *          export whose body never runs does not keep its slot.
+ *          JSON: {"exportedAt", "user", "rooms", "appliances", "totals", "history"}.
+ *          CSV: one section per part, each a "# name" line, a header row and its rows,
+ *          separated by blank lines. History rows are long format: one household row
+ *          per day (roomId empty) followed by one row per room.
+ */
+@Service
+public class ExportService {
+
+    public static final String FORMAT_JSON = "json";
+    public static final String FORMAT_CSV = "csv";
+
+    private static final int MAX_HISTORY_DAYS = 3660;
+
+    // Key of the async interceptor that gives an export's slot back
+    static final String SLOT_INTERCEPTOR = ExportService.class.getName() + ".slot";
+
+    // Keyset start: before every stored appliance
+    private static final LocalDateTime FIRST_CREATED_AT = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    private final UserRepository userRepository;
+    private final RoomRepository roomRepository;
+    private final UserApplianceRepository userApplianceRepository;
+    private final ApplianceService applianceService;
+    private final TariffService tariffService;
+    private final EnergyCalculator energyCalculator;
+    private final HistoryStore historyStore;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate readOnlyTransaction;
+    private final Semaphore exportSlots;
+
+    // Rows read per read-only transaction
+    private final int chunkSize;
+
+    public ExportService(
+            UserRepository userRepository,
+            RoomRepository roomRepository,
+            UserApplianceRepository userApplianceRepository,
+            ApplianceService applianceService,
+            TariffService tariffService,
+            EnergyCalculator energyCalculator,
+            HistoryStore historyStore,
+            ObjectMapper objectMapper,
+            PlatformTransactionManager transactionManager,
+            @Value("${currently.export.max-concurrent:4}") int maxConcurrentExports,
+            @Value("${currently.export.chunk-size:500}") int chunkSize
+    ) {
+        this.userRepository = userRepository;
+        this.roomRepository = roomRepository;
+        this.userApplianceRepository = userApplianceRepository;
+        this.applianceService = applianceService;
+        this.tariffService = tariffService;
+        this.energyCalculator = energyCalculator;
+        this.historyStore = historyStore;
+        this.objectMapper = objectMapper;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.exportSlots = new Semaphore(Math.max(1, maxConcurrentExports));
+        this.chunkSize = Math.max(1, chunkSize);
+    }
+
+    // Function: streamMyExport
+    // Purpose: Everything recorded for the current user, in the requested format.
+    // Inputs: "json" or "csv"; history range (default: the last 3660 days up to today)
+    // Outputs: response body that writes the export when the response is sent
+    public StreamingResponseBody streamMyExport(String format, LocalDate from, LocalDate to) {
+        String normalised = format == null ? FORMAT_JSON : format.trim().toLowerCase(Locale.ROOT);
+        if (!FORMAT_JSON.equals(normalised) && !FORMAT_CSV.equals(normalised)) {
+            throw new IllegalArgumentException("format must be json or csv.");
+        }
+        LocalDate end = to != null ? to : LocalDate.now();
+        LocalDate start = from != null ? from : end.minusDays(MAX_HISTORY_DAYS - 1);
+        if (start.isAfter(end)) {
+            throw new IllegalArgumentException("from must not be after to.");
+        }
+        if (ChronoUnit.DAYS.between(start, end) >= MAX_HISTORY_DAYS) {
+            throw new IllegalArgumentException("At most " + MAX_HISTORY_DAYS + " days of history per export.");
+        }
+
+        if (!exportSlots.tryAcquire()) {
+            throw new IllegalStateException("Too many exports in progress; try again shortly.");
+        }
+        Runnable releaseSlot = releaseOnce();
+        Export export;
+        try {
+            Long userId = CurrentUser.id();
+            // The only request that needs more of the user than the token carries
+            User user = userRepository.findById(userId)
+                    .orElseThrow(() -> new IllegalStateException("Authenticated user not found"));
+            export = new Export(userId, user.getUsername(), user.getEmail(),
+                    tariffService.getTariffForUser(userId), applianceService.getCatalogue(), start, end);
+        } catch (RuntimeException e) {
+            releaseSlot.run();
+            throw e;
+        }
+        releaseWhenRequestCompletes(releaseSlot);
+
+        // The slot is held until the body has been written (or has failed)
+        return outputStream -> {
+            try {
+                if (FORMAT_CSV.equals(normalised)) {
+                    export.run(new CsvFormat(outputStream));
+                } else {
+                    export.run(new JsonFormat(outputStream));
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("Export for user " + export.userId + " failed", e);
+            } finally {
+                releaseSlot.run();
+            }
+        };
+    }
+
+    // Helper: give the slot back the first time this runs; later calls do nothing
+    private Runnable releaseOnce() {
+        AtomicBoolean released = new AtomicBoolean();
+        return () -> {
+            if (released.compareAndSet(false, true)) {
+                exportSlots.release();
+            }
+        };
+    }
+
+    // Helper: also give the slot back when the request's async processing completes,
+    // which happens after a timeout or error even if the body never ran
+    private static void releaseWhenRequestCompletes(Runnable releaseSlot) {
+        if (RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes) {
+            WebAsyncUtils.getAsyncManager(attributes.getRequest()).registerCallableInterceptor(SLOT_INTERCEPTOR,
+                    new CallableProcessingInterceptor() {
+                        @Override
+                        public <T> void afterCompletion(NativeWebRequest request, Callable<T> task) {
+                            releaseSlot.run();
+                        }
+                    });
+        }
+    }
+
+    /**
+     * One export: what was resolved on the request thread, and the walk over the data.
+     */
+    private final class Export {
+
+        private final Long userId;
+        private final String username;
+        private final String email;
+        private final CompiledTariff tariff;
+        private final ApplianceCatalogue catalogue;
+        private final LocalDate from;
+        private final LocalDate to;
+
+        private Export(Long userId, String username, String email, CompiledTariff tariff,
+                       ApplianceCatalogue catalogue, LocalDate from, LocalDate to) {
+            this.userId = userId;
+            this.username = username;
+            this.email = email;
+            this.tariff = tariff;
+            this.catalogue = catalogue;
+            this.from = from;
+            this.to = to;
+        }
+
+        private void run(Format format) throws IOException {
+            format.start(this);
+
+            Map<Long, String> roomNames = new HashMap<>();
+            format.startRooms();
+            List<ExportRoomRow> rooms = readOnlyTransaction.execute(status ->
+                    roomRepository.findExportRowsAfter(userId, "", "", 0L, PageRequest.of(0, chunkSize)));
+            while (!rooms.isEmpty()) {
+                for (ExportRoomRow room : rooms) {
+                    roomNames.put(room.getId(), room.getName());
+                    format.room(room, tariff.dailyEnergyCost(room.getEnergy()));
+                }
+                if (rooms.size() < chunkSize) {
+                    break;
+                }
+                ExportRoomRow last = rooms.get(rooms.size() - 1);
+                rooms = readOnlyTransaction.execute(status -> roomRepository.findExportRowsAfter(userId,
+                        last.getFloorLabel(), last.getName(), last.getId(), PageRequest.of(0, chunkSize)));
+            }
+            format.endRooms();
+
+            // One reusable row, so each appliance goes through the same calculator as
+            // every other endpoint without collecting the household first
+            HouseholdColumns row = new HouseholdColumns(1);
+            double[] kWh = new double[1];
+            double[] cost = new double[1];
+            EnergyTotals rowTotals = new EnergyTotals();
+            EnergyTotals totals = new EnergyTotals();
+            totals.standingChargePerDay = tariff.getStandingChargePerDay();
+            int count = 0;
+
+            format.startAppliances();
+            List<ExportApplianceRow> appliances = readOnlyTransaction.execute(status ->
+                    userApplianceRepository.findExportRowsAfter(userId, FIRST_CREATED_AT, 0L,
+                            PageRequest.of(0, chunkSize)));
+            while (!appliances.isEmpty()) {
+                for (ExportApplianceRow appliance : appliances) {
+                    row.clear();
+                    row.add(appliance.getUsageType(), catalogue.findByName(appliance.getApplianceName()),
+                            appliance.getHoursPerDay(), appliance.getUsesPerDay());
+                    energyCalculator.calculate(row, tariff, kWh, cost, rowTotals);
+                    totals.dailyKWh += kWh[0];
+                    totals.dailyEnergyCost += cost[0];
+                    count++;
+                    format.appliance(appliance, kWh[0], cost[0]);
+                }
+                if (appliances.size() < chunkSize) {
+                    break;
+                }
+                ExportApplianceRow last = appliances.get(appliances.size() - 1);
+                appliances = readOnlyTransaction.execute(status -> userApplianceRepository.findExportRowsAfter(
+                        userId, last.getCreatedAt(), last.getId(), PageRequest.of(0, chunkSize)));
+            }
+            format.endAppliances(count, totals);
+
+            format.history(this, roomNames);
+            format.end();
+        }
+    }
+
+    /**
+     * The parts of an export, written in order.
+     */
+    private interface Format {
+
+        void start(Export export) throws IOException;
+
+        void startRooms() throws IOException;
+
+        // dailyCost excludes the standing charge
+        void room(ExportRoomRow room, double dailyCost) throws IOException;
+
+        void endRooms() throws IOException;
+
+        void startAppliances() throws IOException;
+
+        void appliance(ExportApplianceRow appliance, double dailyKWh, double dailyCost) throws IOException;
+
+        void endAppliances(int count, EnergyTotals totals) throws IOException;
+
+        void history(Export export, Map<Long, String> roomNames) throws IOException;
+
+        void end() throws IOException;
+    }
+
+    private final class JsonFormat implements Format {
+
+        private final JsonGenerator out;
+
+        private JsonFormat(OutputStream outputStream) throws IOException {
+            this.out = objectMapper.getFactory().createGenerator(outputStream);
+        }
+
+        @Override
+        public void start(Export export) throws IOException {
+            out.writeStartObject();
+            out.writeStringField("exportedAt", LocalDateTime.now().toString());
+            out.writeObjectFieldStart("user");
+            out.writeNumberField("id", export.userId);
+            out.writeStringField("username", export.username);
+            out.writeStringField("email", export.email);
+            out.writeEndObject();
+        }
+
+        @Override
+        public void startRooms() throws IOException {
+            out.writeArrayFieldStart("rooms");
+        }
+
+        @Override
+        public void room(ExportRoomRow room, double dailyCost) throws IOException {
+            out.writeStartObject();
+            out.writeNumberField("id", room.getId());
+            out.writeStringField("name", room.getName());
+            out.writeStringField("floorLabel", room.getFloorLabel());
+            out.writeStringField("type", room.getType());
+            out.writeNumberField("applianceCount", room.getApplianceCount());
+            writeEnergy(room.getDailyKWh(), dailyCost);
+            out.writeEndObject();
+        }
+
+        @Override
+        public void endRooms() throws IOException {
+            out.writeEndArray();
+        }
+
+        @Override
+        public void startAppliances() throws IOException {
+            out.writeArrayFieldStart("appliances");
+        }
+
+        @Override
+        public void appliance(ExportApplianceRow appliance, double dailyKWh, double dailyCost) throws IOException {
+            out.writeStartObject();
+            out.writeNumberField("id", appliance.getId());
+            out.writeStringField("applianceName", appliance.getApplianceName());
+            out.writeStringField("customName", appliance.getCustomName());
+            out.writeStringField("usageType", appliance.getUsageType());
+            writeNumberOrNull("hoursPerDay", appliance.getHoursPerDay());
+            writeNumberOrNull("usesPerDay", appliance.getUsesPerDay());
+            out.writeStringField("createdAt", String.valueOf(appliance.getCreatedAt()));
+            if (appliance.getRoomId() != null) {
+                out.writeNumberField("roomId", appliance.getRoomId());
+            } else {
+                out.writeNullField("roomId");
+            }
+            out.writeStringField("roomName", appliance.getRoomName());
+            writeEnergy(dailyKWh, dailyCost);
+            out.writeEndObject();
+        }
+
+        @Override
+        public void endAppliances(int count, EnergyTotals totals) throws IOException {
+            out.writeEndArray();
+            out.writeObjectFieldStart("totals");
+            out.writeNumberField("applianceCount", count);
+            out.writeNumberField("standingChargePerDay", totals.getStandingChargePerDay());
+            writeEnergy(totals.getDailyKWh(), totals.getDailyCost());
+            out.writeEndObject();
+        }
+
+        @Override
+        public void history(Export export, Map<Long, String> roomNames) throws IOException {
+            out.writeObjectFieldStart("history");
+            out.writeStringField("from", export.from.toString());
+            out.writeStringField("to", export.to.toString());
+            out.writeArrayFieldStart("days");
+            historyStore.writeJson(export.userId, export.from, export.to, roomNames, out);
+            out.writeEndArray();
+            out.writeEndObject();
+        }
+
+        @Override
+        public void end() throws IOException {
+            out.writeEndObject();
+            out.close();
+        }
+
+        private void writeEnergy(double dailyKWh, double dailyCost) throws IOException {
+            out.writeNumberField("dailyKWh", dailyKWh);
+            out.writeNumberField("dailyCost", dailyCost);
+            out.writeNumberField("monthlyKWh", dailyKWh * EnergyCalculator.DAYS_PER_MONTH);
+            out.writeNumberField("monthlyCost", dailyCost * EnergyCalculator.DAYS_PER_MONTH);
+        }
+
+        private void writeNumberOrNull(String field, Double value) throws IOException {
+            if (value != null) {
+                out.writeNumberField(field, value);
+            } else {
+                out.writeNullField(field);
+            }
+        }
+    }
+
+    private final class CsvFormat implements Format {
+
+        private final Writer out;
+
+        private CsvFormat(OutputStream outputStream) {
+            this.out = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8), 64 * 1024);
+        }
+
+        @Override
+        public void start(Export export) throws IOException {
+            out.write("# user\n");
+            row("id", "username", "email", "exportedAt");
+            row(export.userId, export.username, export.email, LocalDateTime.now());
+        }
+
+        @Override
+        public void startRooms() throws IOException {
+            out.write("\n# rooms\n");
+            row("id", "name", "floorLabel", "type", "applianceCount",
+                    "dailyKWh", "dailyCost", "monthlyKWh", "monthlyCost");
+        }
+
+        @Override
+        public void room(ExportRoomRow room, double dailyCost) throws IOException {
+            row(room.getId(), room.getName(), room.getFloorLabel(), room.getType(), room.getApplianceCount(),
+                    room.getDailyKWh(), dailyCost,
+                    room.getDailyKWh() * EnergyCalculator.DAYS_PER_MONTH, dailyCost * EnergyCalculator.DAYS_PER_MONTH);
+        }
+
+        @Override
+        public void endRooms() {
+        }
+
+        @Override
+        public void startAppliances() throws IOException {
+            out.write("\n# appliances\n");
+            row("id", "applianceName", "customName", "usageType", "hoursPerDay", "usesPerDay", "createdAt",
+                    "roomId", "roomName", "dailyKWh", "dailyCost", "monthlyKWh", "monthlyCost");
+        }
+
+        @Override
+        public void appliance(ExportApplianceRow appliance, double dailyKWh, double dailyCost) throws IOException {
+            row(appliance.getId(), appliance.getApplianceName(), appliance.getCustomName(), appliance.getUsageType(),
+                    appliance.getHoursPerDay(), appliance.getUsesPerDay(), appliance.getCreatedAt(),
+                    appliance.getRoomId(), appliance.getRoomName(), dailyKWh, dailyCost,
+                    dailyKWh * EnergyCalculator.DAYS_PER_MONTH, dailyCost * EnergyCalculator.DAYS_PER_MONTH);
+        }
+
+        @Override
+        public void endAppliances(int count, EnergyTotals totals) throws IOException {
+            out.write("\n# totals\n");
+            row("applianceCount", "standingChargePerDay", "dailyKWh", "dailyCost", "monthlyKWh", "monthlyCost");
+            row(count, totals.getStandingChargePerDay(), totals.getDailyKWh(), totals.getDailyCost(),
+                    totals.getMonthlyKWh(), totals.getMonthlyCost());
+        }
+
+        @Override
+        public void history(Export export, Map<Long, String> roomNames) throws IOException {
+            out.write("\n# history\n");
+            row("date", "roomId", "roomName", "dailyKWh", "dailyCost");
+            // A month at a time, so only one month of snapshots is held
+            LocalDate monthStart = export.from;
+            while (!monthStart.isAfter(export.to)) {
+                LocalDate monthEnd = monthStart.withDayOfMonth(monthStart.lengthOfMonth());
+                if (monthEnd.isAfter(export.to)) {
+                    monthEnd = export.to;
+                }
+                for (DailySnapshot day : historyStore.read(export.userId, monthStart, monthEnd)) {
+                    row(day.getDate(), null, null, day.getDailyKWh(), day.getDailyCost());
+                    long[] roomIds = day.getRoomIds();
+                    double[] roomKWh = day.getRoomKWh();
+                    for (int r = 0; r < roomIds.length; r++) {
+                        row(day.getDate(), roomIds[r], roomNames.get(roomIds[r]), roomKWh[r], null);
+                    }
+                }
+                monthStart = monthEnd.plusDays(1);
+            }
+        }
+
+        @Override
+        public void end() throws IOException {
+            out.close();
+        }
+
+        private void row(Object... values) throws IOException {
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) {
+                    out.write(',');
+                }
+                if (values[i] != null) {
+                    writeField(values[i].toString());
+                }
+            }
+            out.write('\n');
+        }
+
+        // Helper: quote fields containing a delimiter, quote or line break
+        private void writeField(String value) throws IOException {
+            boolean quote = false;
+            for (int i = 0; i < value.length() && !quote; i++) {
+                char c = value.charAt(i);
+                quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+            }
+            if (!quote) {
+                out.write(value);
+                return;
+            }
+            out.write('"');
+            out.write(value.replace("\"", "\"\""));
+            out.write('"');
+        }
+    }
+}
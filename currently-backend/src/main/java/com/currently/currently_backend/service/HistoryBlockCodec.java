@@ -0,0 +1,272 @@
+/*
+ * File: HistoryBlockCodec.java
+ * Description: Binary encoding of one user's daily snapshots for one calendar month.
+ * Author: Liam Connell
+ * Date: 2026-10-17
+ */
+
+package com.currently.currently_backend.service;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.TreeSet;
+
+/**
+ * Class: HistoryBlockCodec
+ * Purpose: Pack up to 31 daily snapshots into a few dozen bytes.
+ *          Layout (all integers are unsigned LEB128 varints, deltas zigzag-encoded):
+ *            format byte
+ *            day mask          bit d-1 set when day-of-month d is present
+ *            total Wh series
+ *            cost series       in 0.0001 currency units
+ *            room count, then per room (ids ascending): id delta, Wh series
+ *          A series stores only the days where the value changes, as
+ *          (change count, then per change: day-index delta, value delta). Estimates
+ *          usually stay the same for weeks, so a month is typically a handful of bytes
+ *          per series.
+ */
+public final class HistoryBlockCodec {
+
+    private static final byte FORMAT = 1;
+    private static final double WH_PER_KWH = 1000.0;
+    private static final double COST_UNITS = 10000.0;
+
+    private HistoryBlockCodec() {
+    }
+
+    // Function: encode
+    // Purpose: Encode one month of snapshots.
+    // Inputs: snapshots of one user, all in the same month, sorted by date, one per day
+    // Outputs: encoded block
+    public static byte[] encode(List<DailySnapshot> snapshots) {
+        int n = snapshots.size();
+        int dayMask = 0;
+        long[] wh = new long[n];
+        long[] cost = new long[n];
+        TreeSet<Long> roomSet = new TreeSet<>();
+        for (int i = 0; i < n; i++) {
+            DailySnapshot snapshot = snapshots.get(i);
+            dayMask |= 1 << (snapshot.getDate().getDayOfMonth() - 1);
+            wh[i] = Math.round(snapshot.getDailyKWh() * WH_PER_KWH);
+            cost[i] = Math.round(snapshot.getDailyCost() * COST_UNITS);
+            for (long roomId : snapshot.getRoomIds()) {
+                roomSet.add(roomId);
+            }
+        }
+
+        Sink out = new Sink(16 + n * 4);
+        out.writeByte(FORMAT);
+        out.writeVarint(Integer.toUnsignedLong(dayMask));
+        writeSeries(out, wh);
+        writeSeries(out, cost);
+
+        out.writeVarint(roomSet.size());
+        long previousId = 0;
+        long[] roomWh = new long[n];
+        for (long roomId : roomSet) {
+            out.writeVarint(roomId - previousId);
+            previousId = roomId;
+            for (int i = 0; i < n; i++) {
+                roomWh[i] = Math.round(valueOf(snapshots.get(i), roomId) * WH_PER_KWH);
+            }
+            writeSeries(out, roomWh);
+        }
+        return out.toByteArray();
+    }
+
+    // Function: decode
+    // Purpose: Decode a block back into snapshots.
+    // Inputs: encoded block, its user and month
+    // Outputs: snapshots sorted by date
+    public static List<DailySnapshot> decode(byte[] data, Long userId, YearMonth month) {
+        Source in = new Source(data);
+        if (in.readByte() != FORMAT) {
+            throw new IllegalStateException("Unknown history block format for user " + userId + ", " + month);
+        }
+        int dayMask = (int) in.readVarint();
+        int n = Integer.bitCount(dayMask);
+        long[] wh = readSeries(in, n);
+        long[] cost = readSeries(in, n);
+
+        int rooms = (int) in.readVarint();
+        long[] roomIds = new long[rooms];
+        long[][] roomWh = new long[rooms][];
+        long previousId = 0;
+        for (int r = 0; r < rooms; r++) {
+            previousId += in.readVarint();
+            roomIds[r] = previousId;
+            roomWh[r] = readSeries(in, n);
+        }
+
+        List<DailySnapshot> snapshots = new ArrayList<>(n);
+        int i = 0;
+        for (int day = 1; day <= 31; day++) {
+            if ((dayMask & (1 << (day - 1))) == 0) {
+                continue;
+            }
+            // Rooms without consumption that day are left out
+            int present = 0;
+            for (int r = 0; r < rooms; r++) {
+                if (roomWh[r][i] != 0) {
+                    present++;
+                }
+            }
+            long[] ids = new long[present];
+            double[] kWh = new double[present];
+            int k = 0;
+            for (int r = 0; r < rooms; r++) {
+                if (roomWh[r][i] != 0) {
+                    ids[k] = roomIds[r];
+                    kWh[k++] = roomWh[r][i] / WH_PER_KWH;
+                }
+            }
+            snapshots.add(new DailySnapshot(userId, month.atDay(day),
+                    wh[i] / WH_PER_KWH, cost[i] / COST_UNITS, ids, kWh));
+            i++;
+        }
+        return snapshots;
+    }
+
+    // Function: merge
+    // Purpose: Insert snapshots into a month's list, replacing any for the same day.
+    // Inputs: existing snapshots (sorted), new snapshots for the same user and month
+    // Outputs: merged list sorted by date
+    public static List<DailySnapshot> merge(List<DailySnapshot> existing, List<DailySnapshot> added) {
+        DailySnapshot[] byDay = new DailySnapshot[32];
+        for (DailySnapshot snapshot : existing) {
+            byDay[snapshot.getDate().getDayOfMonth()] = snapshot;
+        }
+        for (DailySnapshot snapshot : added) {
+            byDay[snapshot.getDate().getDayOfMonth()] = snapshot;
+        }
+        List<DailySnapshot> merged = new ArrayList<>(existing.size() + added.size());
+        for (DailySnapshot snapshot : byDay) {
+            if (snapshot != null) {
+                merged.add(snapshot);
+            }
+        }
+        return merged;
+    }
+
+    public static int monthKey(LocalDate date) {
+        return date.getYear() * 100 + date.getMonthValue();
+    }
+
+    public static YearMonth monthOf(int monthKey) {
+        return YearMonth.of(monthKey / 100, monthKey % 100);
+    }
+
+    private static double valueOf(DailySnapshot snapshot, long roomId) {
+        long[] ids = snapshot.getRoomIds();
+        for (int r = 0; r < ids.length; r++) {
+            if (ids[r] == roomId) {
+                return snapshot.getRoomKWh()[r];
+            }
+        }
+        return 0.0;
+    }
+
+    // Helper: write only the points where the value changes
+    private static void writeSeries(Sink out, long[] values) {
+        int changes = 0;
+        for (int i = 0; i < values.length; i++) {
+            if (i == 0 || values[i] != values[i - 1]) {
+                changes++;
+            }
+        }
+        out.writeVarint(changes);
+        int previousIndex = 0;
+        long previousValue = 0;
+        for (int i = 0; i < values.length; i++) {
+            if (i == 0 || values[i] != values[i - 1]) {
+                out.writeVarint(i - previousIndex);
+                out.writeVarint(zigzag(values[i] - previousValue));
+                previousIndex = i;
+                previousValue = values[i];
+            }
+        }
+    }
+
+    private static long[] readSeries(Source in, int n) {
+        long[] values = new long[n];
+        int changes = (int) in.readVarint();
+        int index = 0;
+        long value = 0;
+        for (int c = 0; c < changes; c++) {
+            int next = index + (int) in.readVarint();
+            // The previous value holds until the next change
+            Arrays.fill(values, index, next, value);
+            index = next;
+            value += unzigzag(in.readVarint());
+        }
+        Arrays.fill(values, index, n, value);
+        return values;
+    }
+
+    private static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unzigzag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    // Growable byte buffer
+    private static final class Sink {
+
+        private byte[] bytes;
+        private int length;
+
+        private Sink(int capacity) {
+            this.bytes = new byte[capacity];
+        }
+
+        private void writeByte(int b) {
+            if (length == bytes.length) {
+                bytes = Arrays.copyOf(bytes, bytes.length * 2);
+            }
+            bytes[length++] = (byte) b;
+        }
+
+        private void writeVarint(long value) {
+            while ((value & ~0x7FL) != 0) {
+                writeByte((int) ((value & 0x7F) | 0x80));
+                value >>>= 7;
+            }
+            writeByte((int) value);
+        }
+
+        private byte[] toByteArray() {
+            return Arrays.copyOf(bytes, length);
+        }
+    }
+
+    private static final class Source {
+
+        private final byte[] bytes;
+        private int position;
+
+        private Source(byte[] bytes) {
+            this.bytes = bytes;
+        }
+
+        private byte readByte() {
+            return bytes[position++];
+        }
+
+        private long readVarint() {
+            long value = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = bytes[position++];
+                value |= (long) (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0);
+            return value;
+        }
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * File: HistoryJson.java
+ * Description: Writes history days in the /api/users/me/history JSON shape.
+ * Author: Liam Connell
+ * Date: 2026-10-17
+ */
+
+package com.currently.currently_backend.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.Map;
+
+/**
+ * Class: HistoryJson
+ * Purpose: The one definition of the /api/users/me/history response, used by
+ *          HistoryService and every HistoryStore:
+ *          {"from", "to", "days": [{"date", "dailyKWh", "dailyCost",
+ *           ["period": "month", "daysCovered"], "rooms": [{"roomId", "roomName", "dailyKWh"}]}]}
+ *          Days are oldest first and days without a snapshot are absent. Monthly
+ *          rollups report the average day of the month and are the only entries with
+ *          "period" and "daysCovered"; roomName is null for rooms deleted since.
+ */
+final class HistoryJson {
+
+    private HistoryJson() {
+    }
+
+    static void startResponse(JsonGenerator out, LocalDate from, LocalDate to) throws IOException {
+        out.writeStartObject();
+        out.writeStringField("from", from.toString());
+        out.writeStringField("to", to.toString());
+        out.writeArrayFieldStart("days");
+    }
+
+    static void endResponse(JsonGenerator out) throws IOException {
+        out.writeEndArray();
+        out.writeEndObject();
+    }
+
+    static void startDay(JsonGenerator out, LocalDate date, int daysCovered, double dailyKWh, double dailyCost)
+            throws IOException {
+        out.writeStartObject();
+        out.writeStringField("date", date.toString());
+        out.writeNumberField("dailyKWh", dailyKWh);
+        out.writeNumberField("dailyCost", dailyCost);
+        startRooms(out, daysCovered);
+    }
+
+    // float32 values (mapped segments) are written as floats so they print as stored
+    static void startDay(JsonGenerator out, LocalDate date, int daysCovered, float dailyKWh, float dailyCost)
+            throws IOException {
+        out.writeStartObject();
+        out.writeStringField("date", date.toString());
+        out.writeNumberField("dailyKWh", dailyKWh);
+        out.writeNumberField("dailyCost", dailyCost);
+        startRooms(out, daysCovered);
+    }
+
+    // Rooms deleted since the snapshot have no name
+    static void room(JsonGenerator out, long roomId, Map<Long, String> roomNames, double dailyKWh)
+            throws IOException {
+        out.writeStartObject();
+        out.writeNumberField("roomId", roomId);
+        out.writeStringField("roomName", roomNames.get(roomId));
+        out.writeNumberField("dailyKWh", dailyKWh);
+        out.writeEndObject();
+    }
+
+    static void room(JsonGenerator out, long roomId, Map<Long, String> roomNames, float dailyKWh)
+            throws IOException {
+        out.writeStartObject();
+        out.writeNumberField("roomId", roomId);
+        out.writeStringField("roomName", roomNames.get(roomId));
+        out.writeNumberField("dailyKWh", dailyKWh);
+        out.writeEndObject();
+    }
+
+    private static void startRooms(JsonGenerator out, int daysCovered) throws IOException {
+        if (daysCovered > 1) {
+            out.writeStringField("period", "month");
+            out.writeNumberField("daysCovered", daysCovered);
+        }
+        out.writeArrayFieldStart("rooms");
+    }
+
+    static void endDay(JsonGenerator out) throws IOException {
+        out.writeEndArray();
+        out.writeEndObject();
+    }
+}
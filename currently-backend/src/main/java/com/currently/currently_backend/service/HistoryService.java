@@ -0,0 +1,74 @@
+/*
+ * File: HistoryService.java
+ * Description: Streams the current user's recorded daily estimates.
+ * Author: Liam Connell
+ * Date: 2026-10-17
+ */
+
+package com.currently.currently_backend.service;
+
+import com.currently.currently_backend.dto.RoomResponse;
+import com.currently.currently_backend.repository.RoomRepository;
+import com.currently.currently_backend.util.CurrentUser;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Class: HistoryService
+ * Purpose: Validate the range and resolve the user and room names on the request
+ *          thread, then let the HistoryStore write the days straight into the response
+ *          (shape in HistoryJson).
+ */
+@Service
+public class HistoryService {
+
+    private static final int DEFAULT_DAYS = 90;
+    private static final int MAX_DAYS = 3660;
+
+    private final RoomRepository roomRepository;
+    private final HistoryStore historyStore;
+    private final ObjectMapper objectMapper;
+
+    public HistoryService(RoomRepository roomRepository,
+                          HistoryStore historyStore, ObjectMapper objectMapper) {
+        this.roomRepository = roomRepository;
+        this.historyStore = historyStore;
+        this.objectMapper = objectMapper;
+    }
+
+    // Function: streamMyHistory
+    // Purpose: Recorded daily estimates between two days, inclusive.
+    // Inputs: from (default: 90 days before to), to (default: today)
+    // Outputs: response body that writes the JSON when the response is sent
+    public StreamingResponseBody streamMyHistory(LocalDate from, LocalDate to) {
+        LocalDate end = to != null ? to : LocalDate.now();
+        LocalDate start = from != null ? from : end.minusDays(DEFAULT_DAYS - 1);
+        if (start.isAfter(end)) {
+            throw new IllegalArgumentException("from must not be after to.");
+        }
+        if (ChronoUnit.DAYS.between(start, end) >= MAX_DAYS) {
+            throw new IllegalArgumentException("At most " + MAX_DAYS + " days per request.");
+        }
+
+        Long userId = CurrentUser.id();
+        Map<Long, String> roomNames = new HashMap<>();
+        for (RoomResponse room : roomRepository.findResponsesByUserId(userId)) {
+            roomNames.put(room.getId(), room.getName());
+        }
+
+        return outputStream -> {
+            try (JsonGenerator out = objectMapper.getFactory().createGenerator(outputStream)) {
+                HistoryJson.startResponse(out, start, end);
+                historyStore.writeJson(userId, start, end, roomNames, out);
+                HistoryJson.endResponse(out);
+            }
+        };
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * File: HistorySnapshotJob.java
+ * Description: Background job that records every household's estimated totals once a day.
+ * Author: Liam Connell
+ * Date: 2026-10-17
+ */
+
+package com.currently.currently_backend.service;
+
+import com.currently.currently_backend.model.HouseholdAggregate;
+import com.currently.currently_backend.model.RoomAggregate;
+import com.currently.currently_backend.repository.HouseholdAggregateRepository;
+import com.currently.currently_backend.repository.RoomAggregateRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Class: HistorySnapshotJob
+ * Purpose: Walk the household and room aggregates in pages (two queries per page), price
+ *          them with each user's cached tariff and append one DailySnapshot per user to
+ *          the HistoryStore. Runs on currently.history.snapshot-cron (default 00:05 daily);
+ *          re-running on the same day replaces that day's snapshots.
+ */
+@Component
+public class HistorySnapshotJob {
+
+    private static final Logger log = LoggerFactory.getLogger(HistorySnapshotJob.class);
+
+    private static final int PAGE_SIZE = 500;
+
+    private final HouseholdAggregateRepository householdAggregateRepository;
+    private final RoomAggregateRepository roomAggregateRepository;
+    private final TariffService tariffService;
+    private final HistoryStore historyStore;
+
+    public HistorySnapshotJob(
+            HouseholdAggregateRepository householdAggregateRepository,
+            RoomAggregateRepository roomAggregateRepository,
+            TariffService tariffService,
+            HistoryStore historyStore
+    ) {
+        this.householdAggregateRepository = householdAggregateRepository;
+        this.roomAggregateRepository = roomAggregateRepository;
+        this.tariffService = tariffService;
+        this.historyStore = historyStore;
+    }
+
+    @Scheduled(cron = "${currently.history.snapshot-cron:0 5 0 * * *}")
+    public void snapshotToday() {
+        snapshot(LocalDate.now());
+    }
+
+    // Function: snapshot
+    // Purpose: Record every household's current estimate under the given day.
+    // Inputs: day to record
+    // Outputs: number of households recorded
+    public int snapshot(LocalDate day) {
+        int recorded = 0;
+        for (int page = 0; ; page++) {
+            List<HouseholdAggregate> households =
+                    householdAggregateRepository.findPage(PageRequest.of(page, PAGE_SIZE));
+            if (!households.isEmpty()) {
+                try {
+                    historyStore.appendAll(toSnapshots(households, day));
+                    recorded += households.size();
+                } catch (RuntimeException e) {
+                    log.error("History snapshot for {} failed for page {}", day, page, e);
+                }
+            }
+            if (households.size() < PAGE_SIZE) {
+                break;
+            }
+        }
+        log.info("History snapshot for {}: {} households", day, recorded);
+        return recorded;
+    }
+
+    private List<DailySnapshot> toSnapshots(List<HouseholdAggregate> households, LocalDate day) {
+        List<Long> userIds = new ArrayList<>(households.size());
+        for (HouseholdAggregate household : households) {
+            userIds.add(household.getUserId());
+        }
+        Map<Long, List<RoomAggregate>> roomsByUser = new HashMap<>();
+        for (RoomAggregate room : roomAggregateRepository.findByUserIdIn(userIds)) {
+            roomsByUser.computeIfAbsent(room.getUserId(), id -> new ArrayList<>()).add(room);
+        }
+
+        List<DailySnapshot> snapshots = new ArrayList<>(households.size());
+        for (HouseholdAggregate household : households) {
+            CompiledTariff tariff = tariffService.getTariffForUser(household.getUserId());
+            double cost = tariff.dailyEnergyCost(household.getEnergy().toArray()) + tariff.getStandingChargePerDay();
+
+            List<RoomAggregate> rooms = roomsByUser.getOrDefault(household.getUserId(), List.of());
+            long[] roomIds = new long[rooms.size()];
+            double[] roomKWh = new double[rooms.size()];
+            for (int r = 0; r < rooms.size(); r++) {
+                roomIds[r] = rooms.get(r).getRoomId();
+                roomKWh[r] = rooms.get(r).getDailyKWh();
+            }
+            snapshots.add(new DailySnapshot(household.getUserId(), day, household.getDailyKWh(), cost,
+                    roomIds, roomKWh));
+        }
+        return snapshots;
+    }
+}
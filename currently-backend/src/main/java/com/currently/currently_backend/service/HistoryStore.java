@@ -0,0 +1,46 @@
+/*
+ * File: HistoryStore.java
+ * Description: Storage for users' daily estimate snapshots.
+ * Author: Liam Connell
+ * Date: 2026-10-17
+ */
+
+package com.currently.currently_backend.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Interface: HistoryStore
+ * Purpose: Append-only time series of DailySnapshots per user. Appending a snapshot for a
+ *          day that is already stored replaces it, so the daily job can be re-run.
+ */
+public interface HistoryStore {
+
+    // Function: appendAll
+    // Purpose: Store a batch of snapshots (any users, any days).
+    void appendAll(List<DailySnapshot> snapshots);
+
+    // Function: read
+    // Purpose: A user's snapshots between two days, inclusive, oldest first.
+    List<DailySnapshot> read(Long userId, LocalDate from, LocalDate to);
+
+    // Function: writeJson
+    // Purpose: Write a user's days between two dates as JSON objects into an open array.
+    //          Stores that can serialize straight from their storage override this.
+    // Inputs: user id, range (inclusive), names of the user's current rooms, generator
+    default void writeJson(Long userId, LocalDate from, LocalDate to, Map<Long, String> roomNames,
+                           JsonGenerator out) throws IOException {
+        for (DailySnapshot snapshot : read(userId, from, to)) {
+            HistoryJson.startDay(out, snapshot.getDate(), 1, snapshot.getDailyKWh(), snapshot.getDailyCost());
+            for (int r = 0; r < snapshot.getRoomIds().length; r++) {
+                HistoryJson.room(out, snapshot.getRoomIds()[r], roomNames, snapshot.getRoomKWh()[r]);
+            }
+            HistoryJson.endDay(out);
+        }
+    }
+}
@@ -0,0 +1,191 @@
+/*
+ * File: HouseholdColumns.java
+ * Description: A household's appliances laid out as primitive columns for the
+ *              EnergyCalculator.
+ * Author: Liam Connell
+ * Date: 2026-10-17
+ */
+
+package com.currently.currently_backend.service;
+
+import com.currently.currently_backend.model.Appliance;
+import com.currently.currently_backend.model.TimeOfUseProfile;
+import com.currently.currently_backend.model.UsageType;
+
+import java.util.Arrays;
+
+/**
+ * Class: HouseholdColumns
+ * Purpose: Hold one row per appliance as parallel arrays:
+ *          - usage: UsageType code
+ *          - profile: TimeOfUseProfile code (when in the day the energy is used)
+ *          - watts: W for continuous appliances, Wh per use for per-use appliances
+ *          - hours / uses: the user's hours per day or uses per day
+ *          Instances are reusable (clear() keeps the arrays), so batch jobs can run
+ *          many households through one instance without allocating per household.
+ */
+public final class HouseholdColumns {
+
+    private int size;
+    private byte[] usage;
+    private byte[] profile;
+    private double[] watts;
+    private double[] hours;
+    private double[] uses;
+
+    public HouseholdColumns() {
+        this(16);
+    }
+
+    public HouseholdColumns(int capacity) {
+        int initial = Math.max(1, capacity);
+        this.usage = new byte[initial];
+        this.profile = new byte[initial];
+        this.watts = new double[initial];
+        this.hours = new double[initial];
+        this.uses = new double[initial];
+    }
+
+    // Function: add
+    // Purpose: Append one appliance row.
+    // Inputs: usage code, time-of-use profile code, rated watts (or Wh per use),
+    //         hours per day, uses per day
+    // Outputs: the row number
+    public int add(byte usageCode, byte profileCode, double ratedWatts, double hoursPerDay, double usesPerDay) {
+        if (size == usage.length) {
+            grow();
+        }
+        usage[size] = usageCode;
+        profile[size] = profileCode;
+        watts[size] = ratedWatts;
+        hours[size] = hoursPerDay;
+        uses[size] = usesPerDay;
+        return size++;
+    }
+
+    // Function: add
+    // Purpose: Append a row for a user appliance, taking the rating from its catalogue entry.
+    // Inputs: usage type string of the user appliance, base catalogue appliance (may be null),
+    //         hours/uses per day (null treated as 0)
+    // Outputs: the row number
+    public int add(String usageType, Appliance base, Double hoursPerDay, Double usesPerDay) {
+        int row = add(UsageType.UNKNOWN_CODE, TimeOfUseProfile.FLAT.getCode(), 0.0, 0.0, 0.0);
+        set(row, usageType, base, hoursPerDay, usesPerDay);
+        return row;
+    }
+
+    // Function: set
+    // Purpose: Overwrite a row as if it had been added with these values (used to try
+    //          out a different appliance or usage on a copy of a household).
+    // Inputs: row number, then as add(String, Appliance, Double, Double)
+    public void set(int row, String usageType, Appliance base, Double hoursPerDay, Double usesPerDay) {
+        byte code = UsageType.codeOf(usageType);
+        double dailyHours = hoursPerDay != null ? hoursPerDay : 0.0;
+        usage[row] = code;
+        profile[row] = TimeOfUseProfile.forAppliance(base != null ? base.getCategory() : null, code, dailyHours).getCode();
+        watts[row] = ratedWatts(code, base);
+        hours[row] = dailyHours;
+        uses[row] = usesPerDay != null ? usesPerDay : 0.0;
+    }
+
+    // Helper: the catalogue figure that applies to a usage type
+    static double ratedWatts(byte usageCode, Appliance base) {
+        if (base == null) {
+            return 0.0;
+        }
+        Integer rating = usageCode == UsageType.PER_USE.getCode()
+                ? base.getAverageWattsPerUse()
+                : usageCode == UsageType.CONTINUOUS.getCode() ? base.getAverageWatts() : null;
+        return rating != null ? rating : 0.0;
+    }
+
+    // Independent copy with the same rows (capacity trimmed to size)
+    public HouseholdColumns copy() {
+        HouseholdColumns copy = new HouseholdColumns(size);
+        System.arraycopy(usage, 0, copy.usage, 0, size);
+        System.arraycopy(profile, 0, copy.profile, 0, size);
+        System.arraycopy(watts, 0, copy.watts, 0, size);
+        System.arraycopy(hours, 0, copy.hours, 0, size);
+        System.arraycopy(uses, 0, copy.uses, 0, size);
+        copy.size = size;
+        return copy;
+    }
+
+    public void clear() {
+        size = 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public byte usage(int row) {
+        return usage[row];
+    }
+
+    public byte profile(int row) {
+        return profile[row];
+    }
+
+    public double watts(int row) {
+        return watts[row];
+    }
+
+    public double hours(int row) {
+        return hours[row];
+    }
+
+    public double uses(int row) {
+        return uses[row];
+    }
+
+    public void setUsage(int row, byte usageCode) {
+        usage[row] = usageCode;
+    }
+
+    public void setProfile(int row, byte profileCode) {
+        profile[row] = profileCode;
+    }
+
+    public void setWatts(int row, double ratedWatts) {
+        watts[row] = ratedWatts;
+    }
+
+    public void setHours(int row, double hoursPerDay) {
+        hours[row] = hoursPerDay;
+    }
+
+    public void setUses(int row, double usesPerDay) {
+        uses[row] = usesPerDay;
+    }
+
+    // Raw column access for tight loops in the calculator
+    byte[] usageColumn() {
+        return usage;
+    }
+
+    byte[] profileColumn() {
+        return profile;
+    }
+
+    double[] wattsColumn() {
+        return watts;
+    }
+
+    double[] hoursColumn() {
+        return hours;
+    }
+
+    double[] usesColumn() {
+        return uses;
+    }
+
+    private void grow() {
+        int capacity = usage.length * 2;
+        usage = Arrays.copyOf(usage, capacity);
+        profile = Arrays.copyOf(profile, capacity);
+        watts = Arrays.copyOf(watts, capacity);
+        hours = Arrays.copyOf(hours, capacity);
+        uses = Arrays.copyOf(uses, capacity);
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * File: LoadProfile.java
+ * Description: Hourly load curve produced by the LoadProfileSimulator, with its
+ *              summary figures.
+ * Author: Liam Connell
+ * Date: 2026-10-17
+ */
+
+package com.currently.currently_backend.service;
+
+/**
+ * Class: LoadProfile
+ * Purpose: Hold an hourly curve (kW averaged over each hour, so each value is also the
+ *          kWh used in that hour) and the figures derived from it in one pass:
+ *          total kWh, peak kW and the hour it occurs, load factor and night-time kWh.
+ */
+public final class LoadProfile {
+
+    // Night rate hours on Irish day/night meters: 23:00 - 08:00
+    static final int NIGHT_START_HOUR = 23;
+    static final int NIGHT_END_HOUR = 8;
+
+    private final double[] hourlyKW;
+    private final int hours;
+    private final double totalKWh;
+    private final double peakKW;
+    private final int peakHour;
+    private final double nightKWh;
+
+    // Function: LoadProfile
+    // Purpose: Summarise a curve whose index 0 is midnight of the first simulated day.
+    // Inputs: hourly kW values (kept, not copied)
+    LoadProfile(double[] hourlyKW) {
+        double total = 0.0;
+        double night = 0.0;
+        double peak = 0.0;
+        int peakAt = 0;
+        for (int hour = 0; hour < hourlyKW.length; hour++) {
+            double kw = hourlyKW[hour];
+            total += kw;
+            if (isNight(hour % 24)) {
+                night += kw;
+            }
+            if (kw > peak) {
+                peak = kw;
+                peakAt = hour;
+            }
+        }
+        this.hourlyKW = hourlyKW;
+        this.hours = hourlyKW.length;
+        this.totalKWh = total;
+        this.peakKW = peak;
+        this.peakHour = peakAt;
+        this.nightKWh = night;
+    }
+
+    private LoadProfile(LoadProfile full) {
+        this.hourlyKW = null;
+        this.hours = full.hours;
+        this.totalKWh = full.totalKWh;
+        this.peakKW = full.peakKW;
+        this.peakHour = full.peakHour;
+        this.nightKWh = full.nightKWh;
+    }
+
+    static boolean isNight(int hourOfDay) {
+        return hourOfDay >= NIGHT_START_HOUR || hourOfDay < NIGHT_END_HOUR;
+    }
+
+    // Same figures without the curve, for breakdowns where only the summary is returned
+    LoadProfile withoutCurve() {
+        return hourlyKW == null ? this : new LoadProfile(this);
+    }
+
+    // Hourly kW values, or null if the curve was dropped
+    public double[] getHourlyKW() {
+        return hourlyKW;
+    }
+
+    public int getHours() {
+        return hours;
+    }
+
+    public double getTotalKWh() {
+        return totalKWh;
+    }
+
+    public double getPeakKW() {
+        return peakKW;
+    }
+
+    // Index into the curve (hour of day for a day profile, hour of year for a year profile)
+    public int getPeakHour() {
+        return peakHour;
+    }
+
+    public double getNightKWh() {
+        return nightKWh;
+    }
+
+    public double getAverageKW() {
+        return hours > 0 ? totalKWh / hours : 0.0;
+    }
+
+    // Average load divided by peak load; 1.0 is a perfectly flat curve
+    public double getLoadFactor() {
+        return peakKW > 0 ? getAverageKW() / peakKW : 0.0;
+    }
+}
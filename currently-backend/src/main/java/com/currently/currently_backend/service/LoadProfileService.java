@@ -0,0 +1,155 @@
+/*
+ * File: LoadProfileService.java
+ * Description: Builds hourly load profiles (typical day or full year) for the
+ *              current user's household.
+ * Author: Liam Connell
+ * Date: 2026-10-17
+ */
+
+package com.currently.currently_backend.service;
+
+import com.currently.currently_backend.dto.LoadProfileResponse;
+import com.currently.currently_backend.dto.RoomLoadProfileResponse;
+import com.currently.currently_backend.dto.UserApplianceResponse;
+import com.currently.currently_backend.repository.UserApplianceRepository;
+import com.currently.currently_backend.util.CurrentUser;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Class: LoadProfileService
+ * Purpose: Load the user's appliances, run them through the EnergyCalculator for daily
+ *          kWh, and hand the result to the LoadProfileSimulator with a room index per
+ *          appliance. Appliances without a room are grouped as "Unassigned".
+ */
+@Service
+public class LoadProfileService {
+
+    private static final int UNASSIGNED = 0;
+
+    private static final int MIN_YEAR = 1970;
+    private static final int MAX_YEAR = 2100;
+
+    private final UserApplianceRepository userApplianceRepository;
+    private final ApplianceService applianceService;
+    private final TariffService tariffService;
+    private final EnergyCalculator energyCalculator;
+    private final LoadProfileSimulator simulator;
+    private final boolean parallel;
+
+    public LoadProfileService(
+            UserApplianceRepository userApplianceRepository,
+            ApplianceService applianceService,
+            TariffService tariffService,
+            EnergyCalculator energyCalculator,
+            LoadProfileSimulator simulator,
+            @Value("${currently.simulation.parallel:true}") boolean parallel
+    ) {
+        this.userApplianceRepository = userApplianceRepository;
+        this.applianceService = applianceService;
+        this.tariffService = tariffService;
+        this.energyCalculator = energyCalculator;
+        this.simulator = simulator;
+        this.parallel = parallel;
+    }
+
+    // Function: getMyLoadProfile
+    // Purpose: Simulate the current user's household.
+    // Inputs: period ("day" or "year"), calendar year for "year" (defaults to this year)
+    // Outputs: household curve with peak, load factor and per-room breakdown
+    @Transactional(readOnly = true)
+    public LoadProfileResponse getMyLoadProfile(String period, Integer year) {
+        boolean wholeYear;
+        if (period == null || period.equalsIgnoreCase("day")) {
+            wholeYear = false;
+        } else if (period.equalsIgnoreCase("year")) {
+            wholeYear = true;
+        } else {
+            throw new IllegalArgumentException("period must be 'day' or 'year'.");
+        }
+        if (year != null && (year < MIN_YEAR || year > MAX_YEAR)) {
+            throw new IllegalArgumentException("year must be between " + MIN_YEAR + " and " + MAX_YEAR + ".");
+        }
+
+        Long userId = CurrentUser.id();
+        List<UserApplianceResponse> appliances = userApplianceRepository.findResponsesByUserId(userId);
+
+        // Room index 0 is "Unassigned"; rooms get 1.. in order of first appearance
+        List<Long> roomIds = new ArrayList<>();
+        List<String> roomNames = new ArrayList<>();
+        roomIds.add(null);
+        roomNames.add("Unassigned");
+        Map<Long, Integer> roomIndexes = new HashMap<>();
+        int[] roomOf = new int[appliances.size()];
+        int[] applianceCounts = new int[appliances.size() + 1];
+
+        HouseholdColumns household = new HouseholdColumns(appliances.size());
+        for (int i = 0; i < appliances.size(); i++) {
+            UserApplianceResponse appliance = appliances.get(i);
+            household.add(appliance.getUsageType(), applianceService.findByName(appliance.getApplianceName()),
+                    appliance.getHoursPerDay(), appliance.getUsesPerDay());
+
+            int index = UNASSIGNED;
+            if (appliance.getRoomId() != null) {
+                index = roomIndexes.computeIfAbsent(appliance.getRoomId(), id -> {
+                    roomIds.add(id);
+                    roomNames.add(appliance.getRoomName());
+                    return roomIds.size() - 1;
+                });
+            }
+            roomOf[i] = index;
+            applianceCounts[index]++;
+        }
+
+        double[] dailyKWh = new double[appliances.size()];
+        energyCalculator.calculate(household, tariffService.getTariffForUser(userId),
+                dailyKWh, null, new EnergyTotals());
+
+        int simulatedYear = year != null ? year : LocalDate.now().getYear();
+        LoadProfileSimulator.Simulation simulation = wholeYear
+                ? simulator.simulateYear(household, dailyKWh, roomOf, roomIds.size(),
+                        LocalDate.of(simulatedYear, 1, 1).getDayOfWeek(), parallel)
+                : simulator.simulateDay(household, dailyKWh, roomOf, roomIds.size());
+
+        LoadProfile total = simulation.getHousehold();
+        LoadProfileResponse response = new LoadProfileResponse();
+        response.setPeriod(wholeYear ? "year" : "day");
+        response.setYear(wholeYear ? simulatedYear : null);
+        response.setHourlyKW(total.getHourlyKW());
+        response.setTotalKWh(total.getTotalKWh());
+        response.setPeakKW(total.getPeakKW());
+        response.setPeakHour(total.getPeakHour());
+        response.setAverageKW(total.getAverageKW());
+        response.setLoadFactor(total.getLoadFactor());
+        response.setNightKWh(total.getNightKWh());
+
+        List<RoomLoadProfileResponse> roomResponses = new ArrayList<>();
+        for (int index = 0; index < roomIds.size(); index++) {
+            if (applianceCounts[index] == 0) {
+                continue;
+            }
+            LoadProfile profile = simulation.getRoom(index);
+
+            RoomLoadProfileResponse r = new RoomLoadProfileResponse();
+            r.setRoomId(roomIds.get(index));
+            r.setRoomName(roomNames.get(index));
+            r.setApplianceCount(applianceCounts[index]);
+            r.setTotalKWh(profile.getTotalKWh());
+            r.setPeakKW(profile.getPeakKW());
+            r.setPeakHour(profile.getPeakHour());
+            r.setLoadFactor(profile.getLoadFactor());
+            r.setNightKWh(profile.getNightKWh());
+            r.setHourlyKW(profile.getHourlyKW());
+            roomResponses.add(r);
+        }
+        response.setRooms(roomResponses);
+        return response;
+    }
+}
@@ -0,0 +1,236 @@
+/*
+ * File: LoadProfileSimulator.java
+ * Description: Turns a household's appliances into hourly load curves for a typical
+ *              day and for a full 8760-hour year.
+ * Author: Liam Connell
+ * Date: 2026-10-17
+ */
+
+package com.currently.currently_backend.service;
+
+import com.currently.currently_backend.model.TimeOfUseProfile;
+import org.springframework.stereotype.Component;
+
+import java.time.DayOfWeek;
+import java.util.stream.IntStream;
+
+/**
+ * Class: LoadProfileSimulator
+ * Purpose: Spread each appliance's daily kWh over the hours of the day using its
+ *          TimeOfUseProfile, then (for a year) scale each day by a seasonal curve and a
+ *          weekday/weekend factor per profile. A year holds 52 weeks and a day, so the
+ *          day factors are rescaled per starting weekday to make a simulated year sum to
+ *          exactly 365 x the daily kWh, the annual figure EnergyCalculator reports.
+ *          Appliances are first summed into kWh per (room, profile), so the curve work
+ *          depends on the number of rooms and profiles, not on the number of appliances.
+ *          All curves are plain double[]; in parallel mode the 365 days of a year (and
+ *          the rooms of the breakdown) are filled on the common ForkJoin pool, each task
+ *          writing its own slice so no locking is needed.
+ */
+@Component
+public class LoadProfileSimulator {
+
+    public static final int HOURS_PER_DAY = 24;
+    public static final int DAYS_PER_YEAR = 365;
+    public static final int HOURS_PER_YEAR = DAYS_PER_YEAR * HOURS_PER_DAY;
+
+    private static final int PROFILES = TimeOfUseProfile.values().length;
+
+    // Share of a profile's daily energy used in each hour of the day
+    private static final double[][] SHAPE = new double[PROFILES][HOURS_PER_DAY];
+
+    // Multiplier per profile per day of year (0 = 1 January); averages 1 over the year
+    private static final double[][] SEASON = new double[PROFILES][DAYS_PER_YEAR];
+
+    // Multiplier per profile per weekday (0 = Monday); averages 1 over the week
+    private static final double[][] WEEK = new double[PROFILES][7];
+
+    // Per profile per weekday of 1 January: 365 / sum of SEASON x WEEK over that year
+    private static final double[][] YEAR_SCALE = new double[PROFILES][7];
+
+    static {
+        for (TimeOfUseProfile profile : TimeOfUseProfile.values()) {
+            int p = profile.ordinal();
+            for (int hour = 0; hour < HOURS_PER_DAY; hour++) {
+                SHAPE[p][hour] = profile.weight(2 * hour) + profile.weight(2 * hour + 1);
+            }
+
+            // Winter peak in mid January; the cosine sums to zero over 365 whole days
+            double amplitude = seasonalAmplitude(profile);
+            for (int day = 0; day < DAYS_PER_YEAR; day++) {
+                SEASON[p][day] = 1.0 + amplitude * Math.cos(2 * Math.PI * (day - 15) / DAYS_PER_YEAR);
+            }
+
+            double weekend = weekendFactor(profile);
+            double weekday = (7.0 - 2.0 * weekend) / 5.0;
+            for (int dow = 0; dow < 7; dow++) {
+                WEEK[p][dow] = dow >= 5 ? weekend : weekday;
+            }
+
+            for (int firstDow = 0; firstDow < 7; firstDow++) {
+                double sum = 0.0;
+                for (int day = 0; day < DAYS_PER_YEAR; day++) {
+                    sum += SEASON[p][day] * WEEK[p][(firstDow + day) % 7];
+                }
+                YEAR_SCALE[p][firstDow] = DAYS_PER_YEAR / sum;
+            }
+        }
+    }
+
+    // Helper: how much more is used in winter than on average (lighting, heating, drying)
+    private static double seasonalAmplitude(TimeOfUseProfile profile) {
+        switch (profile) {
+            case EVENING:
+                return 0.25;
+            case MORNING_EVENING:
+                return 0.15;
+            case DAYTIME:
+                return 0.10;
+            case NIGHT:
+                return 0.60;
+            case MEALTIMES:
+                return 0.05;
+            default:
+                return 0.0;
+        }
+    }
+
+    // Helper: use on Saturday/Sunday relative to the weekly average
+    private static double weekendFactor(TimeOfUseProfile profile) {
+        switch (profile) {
+            case DAYTIME:
+                return 1.30;
+            case MEALTIMES:
+                return 1.15;
+            case EVENING:
+                return 1.10;
+            default:
+                return 1.0;
+        }
+    }
+
+    // Function: simulateDay
+    // Purpose: Typical-day curves for the household and each room.
+    // Inputs: household columns, daily kWh per row (from EnergyCalculator),
+    //         room index per row (0..roomCount-1), number of rooms
+    // Outputs: 24-hour curves
+    public Simulation simulateDay(HouseholdColumns household, double[] dailyKWh, int[] roomOf, int roomCount) {
+        double[] byRoomProfile = sumByRoomAndProfile(household, dailyKWh, roomOf, roomCount);
+
+        LoadProfile[] rooms = new LoadProfile[roomCount];
+        for (int room = 0; room < roomCount; room++) {
+            double[] curve = new double[HOURS_PER_DAY];
+            fillDay(byRoomProfile, room * PROFILES, curve);
+            rooms[room] = new LoadProfile(curve);
+        }
+
+        double[] total = new double[HOURS_PER_DAY];
+        fillDay(householdRow(byRoomProfile, roomCount), 0, total);
+        return new Simulation(new LoadProfile(total), rooms);
+    }
+
+    // Function: simulateYear
+    // Purpose: 8760-hour curves with seasonal and weekday variation.
+    // Inputs: as simulateDay, plus the weekday of 1 January and whether to use all cores
+    // Outputs: household curve with the full year; rooms carry figures only (no curve)
+    public Simulation simulateYear(HouseholdColumns household, double[] dailyKWh, int[] roomOf, int roomCount,
+                                   DayOfWeek firstDay, boolean parallel) {
+        double[] byRoomProfile = sumByRoomAndProfile(household, dailyKWh, roomOf, roomCount);
+        int firstDow = firstDay.getValue() - 1;
+
+        double[] householdKWh = householdRow(byRoomProfile, roomCount);
+        double[] total = new double[HOURS_PER_YEAR];
+        IntStream days = IntStream.range(0, DAYS_PER_YEAR);
+        (parallel ? days.parallel() : days).forEach(day -> fillYearDay(householdKWh, 0, firstDow, day, total));
+
+        LoadProfile[] rooms = new LoadProfile[roomCount];
+        IntStream roomIndexes = IntStream.range(0, roomCount);
+        (parallel ? roomIndexes.parallel() : roomIndexes).forEach(room -> {
+            double[] curve = new double[HOURS_PER_YEAR];
+            for (int day = 0; day < DAYS_PER_YEAR; day++) {
+                fillYearDay(byRoomProfile, room * PROFILES, firstDow, day, curve);
+            }
+            rooms[room] = new LoadProfile(curve).withoutCurve();
+        });
+
+        return new Simulation(new LoadProfile(total), rooms);
+    }
+
+    // Helper: kWh per day for each (room, profile), laid out room-major
+    private static double[] sumByRoomAndProfile(HouseholdColumns household, double[] dailyKWh,
+                                                int[] roomOf, int roomCount) {
+        double[] sums = new double[Math.max(1, roomCount) * PROFILES];
+        for (int row = 0; row < household.size(); row++) {
+            sums[roomOf[row] * PROFILES + household.profile(row)] += dailyKWh[row];
+        }
+        return sums;
+    }
+
+    private static double[] householdRow(double[] byRoomProfile, int roomCount) {
+        double[] sums = new double[PROFILES];
+        for (int room = 0; room < roomCount; room++) {
+            for (int p = 0; p < PROFILES; p++) {
+                sums[p] += byRoomProfile[room * PROFILES + p];
+            }
+        }
+        return sums;
+    }
+
+    private static void fillDay(double[] kWhByProfile, int offset, double[] out) {
+        for (int p = 0; p < PROFILES; p++) {
+            double kWh = kWhByProfile[offset + p];
+            if (kWh == 0.0) {
+                continue;
+            }
+            double[] shape = SHAPE[p];
+            for (int hour = 0; hour < HOURS_PER_DAY; hour++) {
+                out[hour] += kWh * shape[hour];
+            }
+        }
+    }
+
+    // Helper: writes only out[day*24 .. day*24+23], so days can be filled concurrently
+    private static void fillYearDay(double[] kWhByProfile, int offset, int firstDow, int day, double[] out) {
+        int dow = (firstDow + day) % 7;
+        int base = day * HOURS_PER_DAY;
+        for (int p = 0; p < PROFILES; p++) {
+            double kWh = kWhByProfile[offset + p];
+            if (kWh == 0.0) {
+                continue;
+            }
+            double scaled = kWh * SEASON[p][day] * WEEK[p][dow] * YEAR_SCALE[p][firstDow];
+            double[] shape = SHAPE[p];
+            for (int hour = 0; hour < HOURS_PER_DAY; hour++) {
+                out[base + hour] += scaled * shape[hour];
+            }
+        }
+    }
+
+    /**
+     * Class: Simulation
+     * Purpose: Household curve plus one LoadProfile per room, indexed like the
+     *          room indexes passed in.
+     */
+    public static final class Simulation {
+
+        private final LoadProfile household;
+        private final LoadProfile[] rooms;
+
+        private Simulation(LoadProfile household, LoadProfile[] rooms) {
+            this.household = household;
+            this.rooms = rooms;
+        }
+
+        public LoadProfile getHousehold() {
+            return household;
+        }
+
+        public LoadProfile getRoom(int roomIndex) {
+            return rooms[roomIndex];
+        }
+
+        public int getRoomCount() {
+            return rooms.length;
+        }
+    }
+}
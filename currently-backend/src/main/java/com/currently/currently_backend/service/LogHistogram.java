@@ -0,0 +1,123 @@
+/*
+ * File: LogHistogram.java
+ * Description: Fixed-size, mergeable histogram over log-spaced buckets.
+ * Author: Liam Connell
+ * Date: 2026-10-17
+ */
+
+package com.currently.currently_backend.service;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Class: LogHistogram
+ * Purpose: Count values (daily kWh) in BUCKETS log-spaced buckets between MIN and MAX,
+ *          each about 5% wide. Memory is fixed whatever the number of values, two
+ *          histograms merge by adding counts, and unlike t-digest or KLL a value can be
+ *          removed again, which incremental updates need when a household changes.
+ *          Counts are atomic so writers and readers need no lock.
+ */
+public final class LogHistogram {
+
+    public static final int BUCKETS = 192;
+
+    private static final double MIN = 0.1;
+    private static final double MAX = 1000.0;
+
+    // Bucket 0 holds everything below MIN; the last bucket everything from MAX up
+    private static final double LOG_MIN = Math.log(MIN);
+    private static final double BUCKETS_PER_LOG = (BUCKETS - 2) / (Math.log(MAX) - LOG_MIN);
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+
+    public void add(double value) {
+        counts.incrementAndGet(bucketOf(value));
+    }
+
+    public void remove(double value) {
+        counts.decrementAndGet(bucketOf(value));
+    }
+
+    // Function: mergeInto
+    // Purpose: Add this histogram's counts to another one.
+    public void mergeInto(LogHistogram target) {
+        for (int b = 0; b < BUCKETS; b++) {
+            long count = counts.get(b);
+            if (count != 0) {
+                target.counts.addAndGet(b, count);
+            }
+        }
+    }
+
+    public long count() {
+        long total = 0;
+        for (int b = 0; b < BUCKETS; b++) {
+            total += counts.get(b);
+        }
+        return total;
+    }
+
+    // Values counted in one bucket
+    long count(int bucket) {
+        return counts.get(bucket);
+    }
+
+    // Function: percentileOf
+    // Purpose: Share of counted values below the given one, 0-100; values in the same
+    //          bucket count as half below. Constant time (one pass over BUCKETS).
+    public double percentileOf(double value) {
+        int bucket = bucketOf(value);
+        long below = 0;
+        long total = 0;
+        long same = 0;
+        for (int b = 0; b < BUCKETS; b++) {
+            long count = counts.get(b);
+            total += count;
+            if (b < bucket) {
+                below += count;
+            } else if (b == bucket) {
+                same = count;
+            }
+        }
+        return total == 0 ? 0.0 : 100.0 * (below + same / 2.0) / total;
+    }
+
+    // Function: quantile
+    // Purpose: Approximate value at a percentile (0-100): the geometric middle of the
+    //          bucket holding it. 0 when empty.
+    public double quantile(double percentile) {
+        long total = count();
+        if (total == 0) {
+            return 0.0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100.0 * total));
+        long seen = 0;
+        for (int b = 0; b < BUCKETS; b++) {
+            seen += counts.get(b);
+            if (seen >= rank) {
+                return middleOf(b);
+            }
+        }
+        return middleOf(BUCKETS - 1);
+    }
+
+    static int bucketOf(double value) {
+        if (!(value >= MIN)) {
+            return 0;
+        }
+        if (value >= MAX) {
+            return BUCKETS - 1;
+        }
+        return 1 + Math.min(BUCKETS - 3, (int) ((Math.log(value) - LOG_MIN) * BUCKETS_PER_LOG));
+    }
+
+    static double middleOf(int bucket) {
+        if (bucket == 0) {
+            return MIN / 2;
+        }
+        if (bucket == BUCKETS - 1) {
+            return MAX;
+        }
+        return Math.exp(LOG_MIN + (bucket - 0.5) / BUCKETS_PER_LOG);
+    }
+}
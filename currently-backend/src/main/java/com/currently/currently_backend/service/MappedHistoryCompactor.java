@@ -0,0 +1,96 @@
+/*
+ * File: MappedHistoryCompactor.java
+ * Description: Background job that downsamples old mapped history segments into
+ *              monthly rollups.
+ * Author: Liam Connell
+ * Date: 2026-10-17
+ */
+
+package com.currently.currently_backend.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Class: MappedHistoryCompactor
+ * Purpose: Daily history is kept for currently.history.retain-days; a year whose last day
+ *          is older than that is folded into one record per month (average day, days
+ *          covered) and its segment file deleted. Runs on currently.history.compact-cron.
+ */
+@Component
+@ConditionalOnProperty(name = "currently.history.store", havingValue = "mapped")
+public class MappedHistoryCompactor {
+
+    private static final Logger log = LoggerFactory.getLogger(MappedHistoryCompactor.class);
+
+    private static final Pattern SEGMENT = Pattern.compile("u(\\d+)-(\\d{4})\\.seg");
+
+    private final MappedHistoryStore store;
+    private final int retainDays;
+
+    public MappedHistoryCompactor(
+            MappedHistoryStore store,
+            @Value("${currently.history.retain-days:400}") int retainDays
+    ) {
+        this.store = store;
+        this.retainDays = retainDays;
+    }
+
+    // Function: compactAll
+    // Purpose: Roll up every segment for a year that ended before the retention window.
+    // Outputs: number of segments compacted
+    @Scheduled(cron = "${currently.history.compact-cron:0 30 1 * * *}")
+    public int compactAll() {
+        int cutoffYear = LocalDate.now().minusDays(retainDays).getYear();
+        List<long[]> due = new ArrayList<>();
+        if (Files.isDirectory(store.getDirectory())) {
+            try (DirectoryStream<Path> shards = Files.newDirectoryStream(store.getDirectory(), Files::isDirectory)) {
+                for (Path shard : shards) {
+                    try (DirectoryStream<Path> files = Files.newDirectoryStream(shard, "u*-*.seg")) {
+                        for (Path file : files) {
+                            Matcher matcher = SEGMENT.matcher(file.getFileName().toString());
+                            if (matcher.matches() && Integer.parseInt(matcher.group(2)) < cutoffYear) {
+                                due.add(new long[] {Long.parseLong(matcher.group(1)), Integer.parseInt(matcher.group(2))});
+                            }
+                        }
+                    }
+                }
+            } catch (IOException e) {
+                log.error("History compaction could not list segments", e);
+                return 0;
+            }
+        }
+
+        // Oldest year first, so each user's rollup records stay in month order
+        due.sort(Comparator.<long[]>comparingLong(entry -> entry[0]).thenComparingLong(entry -> entry[1]));
+        int compacted = 0;
+        for (long[] entry : due) {
+            try {
+                if (store.compact(entry[0], (int) entry[1])) {
+                    compacted++;
+                }
+            } catch (IOException | RuntimeException e) {
+                log.error("History compaction failed for user {}, {}", entry[0], entry[1], e);
+            }
+        }
+        if (compacted > 0) {
+            log.info("History compaction: rolled up {} segments", compacted);
+        }
+        return compacted;
+    }
+}
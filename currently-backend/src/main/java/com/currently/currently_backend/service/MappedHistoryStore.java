@@ -0,0 +1,444 @@
+/*
+ * File: MappedHistoryStore.java
+ * Description: HistoryStore keeping fixed-width per-user yearly segments in
+ *              memory-mapped files.
+ * Author: Liam Connell
+ * Date: 2026-10-17
+ *
+ * Notes:
+ * - Selected with currently.history.store=mapped; files live under
+ *   currently.history.directory, sharded by user id into 1000 subdirectories.
+ * - Segment file u<userId>-<year>.seg:
+ *     header  magic, version, year, room count, MAX_ROOMS room ids, presence bitmap
+ *     slots   366 x (daily kWh, daily cost, MAX_ROOMS room kWh) as float32
+ *   A day's slot is at a fixed offset, so a range read is a walk over one buffer.
+ *   Rooms beyond MAX_ROOMS in one year still count in the household total but get no
+ *   column of their own.
+ * - Rollup file u<userId>.rollup: one fixed-width record per month, written by
+ *   MappedHistoryCompactor when a year's segment is downsampled and removed.
+ * - A slot and the room columns are written under the segment's monitor, and readers
+ *   copy a slot out under the same monitor, so a read never sees half a day. The
+ *   monitor is held for one slot at a time, never while writing the response.
+ */
+
+package com.currently.currently_backend.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Class: MappedHistoryStore
+ * Purpose: Serve history reads straight from mapped segment buffers. writeJson reads
+ *          floats from the buffer and hands them to the JsonGenerator without building
+ *          snapshots or DTOs. Recently used mappings are kept open in a small LRU.
+ */
+@Component
+@ConditionalOnProperty(name = "currently.history.store", havingValue = "mapped")
+public class MappedHistoryStore implements HistoryStore {
+
+    static final int MAX_ROOMS = 12;
+
+    private static final int MAGIC = 0x43484953;
+    private static final int VERSION = 1;
+
+    // Segment header layout
+    private static final int YEAR_OFFSET = 8;
+    private static final int ROOM_COUNT_OFFSET = 12;
+    private static final int ROOM_IDS_OFFSET = 16;
+    private static final int PRESENT_OFFSET = ROOM_IDS_OFFSET + MAX_ROOMS * 8;
+    private static final int HEADER_BYTES = PRESENT_OFFSET + 6 * Long.BYTES;
+
+    // Slot layout: kWh, cost, then one kWh per room column
+    private static final int SLOT_BYTES = (2 + MAX_ROOMS) * Float.BYTES;
+    private static final int DAYS_PER_SEGMENT = 366;
+    private static final int SEGMENT_BYTES = HEADER_BYTES + DAYS_PER_SEGMENT * SLOT_BYTES;
+
+    // Rollup record: yyyymm, days, average kWh, average cost, room ids, average room kWh
+    static final int ROLLUP_BYTES = 16 + MAX_ROOMS * Long.BYTES + MAX_ROOMS * Float.BYTES;
+
+    private static final int MAX_OPEN_SEGMENTS = 1024;
+
+    private final Path directory;
+
+    // Guarded by itself
+    private final Map<String, MappedByteBuffer> openSegments =
+            new LinkedHashMap<>(64, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, MappedByteBuffer> eldest) {
+                    return size() > MAX_OPEN_SEGMENTS;
+                }
+            };
+
+    public MappedHistoryStore(@Value("${currently.history.directory:history}") String directory) {
+        this.directory = Paths.get(directory);
+    }
+
+    @Override
+    public void appendAll(List<DailySnapshot> snapshots) {
+        Set<MappedByteBuffer> touched = Collections.newSetFromMap(new IdentityHashMap<>());
+        try {
+            for (DailySnapshot snapshot : snapshots) {
+                MappedByteBuffer segment = segment(snapshot.getUserId(), snapshot.getDate().getYear(), true);
+                write(segment, snapshot);
+                touched.add(segment);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write history segment", e);
+        }
+        for (MappedByteBuffer segment : touched) {
+            segment.force();
+        }
+    }
+
+    @Override
+    public List<DailySnapshot> read(Long userId, LocalDate from, LocalDate to) {
+        List<DailySnapshot> snapshots = new ArrayList<>();
+        try {
+            visit(userId, from, to, new Visitor() {
+                private LocalDate date;
+                private double kWh;
+                private double cost;
+                private final List<Long> roomIds = new ArrayList<>();
+                private final List<Double> roomKWh = new ArrayList<>();
+
+                @Override
+                public void day(LocalDate date, int days, float kWh, float cost) {
+                    this.date = date;
+                    this.kWh = kWh;
+                    this.cost = cost;
+                    roomIds.clear();
+                    roomKWh.clear();
+                }
+
+                @Override
+                public void room(long roomId, float kWh) {
+                    roomIds.add(roomId);
+                    roomKWh.add((double) kWh);
+                }
+
+                @Override
+                public void end() {
+                    long[] ids = new long[roomIds.size()];
+                    double[] values = new double[roomIds.size()];
+                    for (int r = 0; r < ids.length; r++) {
+                        ids[r] = roomIds.get(r);
+                        values[r] = roomKWh.get(r);
+                    }
+                    snapshots.add(new DailySnapshot(userId, date, kWh, cost, ids, values));
+                }
+            });
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read history for user " + userId, e);
+        }
+        return snapshots;
+    }
+
+    @Override
+    public void writeJson(Long userId, LocalDate from, LocalDate to, Map<Long, String> roomNames,
+                          JsonGenerator out) throws IOException {
+        visit(userId, from, to, new Visitor() {
+            @Override
+            public void day(LocalDate date, int days, float kWh, float cost) throws IOException {
+                HistoryJson.startDay(out, date, days, kWh, cost);
+            }
+
+            @Override
+            public void room(long roomId, float kWh) throws IOException {
+                HistoryJson.room(out, roomId, roomNames, kWh);
+            }
+
+            @Override
+            public void end() throws IOException {
+                HistoryJson.endDay(out);
+            }
+        });
+    }
+
+    // Function: compact
+    // Purpose: Downsample one year's segment into monthly rollup records and delete it.
+    // Inputs: user id, year
+    // Outputs: true if a segment was compacted
+    public boolean compact(Long userId, int year) throws IOException {
+        MappedByteBuffer segment = segment(userId, year, false);
+        if (segment == null) {
+            return false;
+        }
+        Path rollupPath = rollupPath(userId);
+        Files.createDirectories(rollupPath.getParent());
+        try (FileChannel rollup = FileChannel.open(rollupPath, StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            // Months already rolled up (a previous run stopped before deleting the segment)
+            Set<Integer> existing = new HashSet<>();
+            ByteBuffer record = ByteBuffer.allocate(ROLLUP_BYTES);
+            for (long position = 0; position + ROLLUP_BYTES <= rollup.size(); position += ROLLUP_BYTES) {
+                record.clear();
+                rollup.read(record, position);
+                existing.add(record.getInt(0));
+            }
+
+            for (int month = 1; month <= 12; month++) {
+                YearMonth yearMonth = YearMonth.of(year, month);
+                int monthKey = HistoryBlockCodec.monthKey(yearMonth.atDay(1));
+                if (existing.contains(monthKey)) {
+                    continue;
+                }
+                int days = 0;
+                double kWh = 0;
+                double cost = 0;
+                double[] roomKWh = new double[MAX_ROOMS];
+                long[] roomIds = new long[MAX_ROOMS];
+                int roomCount;
+                // A late snapshot for an old day can still be written while compacting
+                synchronized (segment) {
+                    roomCount = segment.getInt(ROOM_COUNT_OFFSET);
+                    for (int col = 0; col < roomCount; col++) {
+                        roomIds[col] = segment.getLong(ROOM_IDS_OFFSET + col * 8);
+                    }
+                    for (int day = yearMonth.atDay(1).getDayOfYear(); day <= yearMonth.atEndOfMonth().getDayOfYear(); day++) {
+                        int slot = day - 1;
+                        if (!isPresent(segment, slot)) {
+                            continue;
+                        }
+                        int base = HEADER_BYTES + slot * SLOT_BYTES;
+                        days++;
+                        kWh += segment.getFloat(base);
+                        cost += segment.getFloat(base + 4);
+                        for (int col = 0; col < roomCount; col++) {
+                            roomKWh[col] += segment.getFloat(base + 8 + col * 4);
+                        }
+                    }
+                }
+                if (days == 0) {
+                    continue;
+                }
+                record.clear();
+                record.putInt(monthKey).putInt(days).putFloat((float) (kWh / days)).putFloat((float) (cost / days));
+                for (int col = 0; col < MAX_ROOMS; col++) {
+                    record.putLong(col < roomCount ? roomIds[col] : 0L);
+                }
+                for (int col = 0; col < MAX_ROOMS; col++) {
+                    record.putFloat((float) (roomKWh[col] / days));
+                }
+                record.flip();
+                rollup.write(record, rollup.size());
+            }
+            rollup.force(true);
+        }
+
+        synchronized (openSegments) {
+            openSegments.remove(key(userId, year));
+        }
+        Files.deleteIfExists(segmentPath(userId, year));
+        return true;
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    // Helper: walk a range, daily slots from segments and monthly records for years
+    //         that have been compacted
+    private void visit(Long userId, LocalDate from, LocalDate to, Visitor visitor) throws IOException {
+        MappedByteBuffer rollups = null;
+        long[] roomIds = new long[MAX_ROOMS];
+        float[] roomKWh = new float[MAX_ROOMS];
+        for (int year = from.getYear(); year <= to.getYear(); year++) {
+            LocalDate start = year == from.getYear() ? from : LocalDate.of(year, 1, 1);
+            LocalDate end = year == to.getYear() ? to : LocalDate.of(year, 12, 31);
+
+            MappedByteBuffer segment = segment(userId, year, false);
+            if (segment != null) {
+                for (int day = start.getDayOfYear(); day <= end.getDayOfYear(); day++) {
+                    int slot = day - 1;
+                    int base = HEADER_BYTES + slot * SLOT_BYTES;
+                    float kWh;
+                    float cost;
+                    int rooms = 0;
+                    synchronized (segment) {
+                        if (!isPresent(segment, slot)) {
+                            continue;
+                        }
+                        kWh = segment.getFloat(base);
+                        cost = segment.getFloat(base + 4);
+                        int roomCount = segment.getInt(ROOM_COUNT_OFFSET);
+                        for (int col = 0; col < roomCount; col++) {
+                            float value = segment.getFloat(base + 8 + col * 4);
+                            if (value != 0f) {
+                                roomIds[rooms] = segment.getLong(ROOM_IDS_OFFSET + col * 8);
+                                roomKWh[rooms++] = value;
+                            }
+                        }
+                    }
+                    visitor.day(LocalDate.ofYearDay(year, day), 1, kWh, cost);
+                    for (int r = 0; r < rooms; r++) {
+                        visitor.room(roomIds[r], roomKWh[r]);
+                    }
+                    visitor.end();
+                }
+                continue;
+            }
+
+            if (rollups == null) {
+                rollups = mapRollups(userId);
+                if (rollups == null) {
+                    continue;
+                }
+            }
+            int firstMonth = HistoryBlockCodec.monthKey(start);
+            int lastMonth = HistoryBlockCodec.monthKey(end);
+            for (int position = 0; position + ROLLUP_BYTES <= rollups.limit(); position += ROLLUP_BYTES) {
+                int monthKey = rollups.getInt(position);
+                if (monthKey < firstMonth || monthKey > lastMonth) {
+                    continue;
+                }
+                visitor.day(HistoryBlockCodec.monthOf(monthKey).atDay(1), rollups.getInt(position + 4),
+                        rollups.getFloat(position + 8), rollups.getFloat(position + 12));
+                int values = position + 16 + MAX_ROOMS * 8;
+                for (int col = 0; col < MAX_ROOMS; col++) {
+                    float value = rollups.getFloat(values + col * 4);
+                    if (value != 0f) {
+                        visitor.room(rollups.getLong(position + 16 + col * 8), value);
+                    }
+                }
+                visitor.end();
+            }
+        }
+    }
+
+    // Helper: store one snapshot in its day's slot, replacing what was there
+    private static void write(MappedByteBuffer segment, DailySnapshot snapshot) {
+        int slot = snapshot.getDate().getDayOfYear() - 1;
+        int base = HEADER_BYTES + slot * SLOT_BYTES;
+        synchronized (segment) {
+            segment.putFloat(base, (float) snapshot.getDailyKWh());
+            segment.putFloat(base + 4, (float) snapshot.getDailyCost());
+            for (int col = 0; col < MAX_ROOMS; col++) {
+                segment.putFloat(base + 8 + col * 4, 0f);
+            }
+            long[] roomIds = snapshot.getRoomIds();
+            for (int r = 0; r < roomIds.length; r++) {
+                int col = columnOf(segment, roomIds[r]);
+                if (col >= 0) {
+                    segment.putFloat(base + 8 + col * 4, (float) snapshot.getRoomKWh()[r]);
+                }
+            }
+            int word = PRESENT_OFFSET + (slot / 64) * Long.BYTES;
+            segment.putLong(word, segment.getLong(word) | (1L << (slot % 64)));
+        }
+    }
+
+    // Helper: the room's column in this segment, assigned on first use; -1 when full
+    private static int columnOf(MappedByteBuffer segment, long roomId) {
+        int roomCount = segment.getInt(ROOM_COUNT_OFFSET);
+        for (int col = 0; col < roomCount; col++) {
+            if (segment.getLong(ROOM_IDS_OFFSET + col * 8) == roomId) {
+                return col;
+            }
+        }
+        if (roomCount == MAX_ROOMS) {
+            return -1;
+        }
+        segment.putLong(ROOM_IDS_OFFSET + roomCount * 8, roomId);
+        segment.putInt(ROOM_COUNT_OFFSET, roomCount + 1);
+        return roomCount;
+    }
+
+    private static boolean isPresent(MappedByteBuffer segment, int slot) {
+        return (segment.getLong(PRESENT_OFFSET + (slot / 64) * Long.BYTES) & (1L << (slot % 64))) != 0;
+    }
+
+    // Helper: mapped segment for a user and year, or null if it does not exist and
+    //         create is false
+    private MappedByteBuffer segment(Long userId, int year, boolean create) throws IOException {
+        String key = key(userId, year);
+        synchronized (openSegments) {
+            MappedByteBuffer segment = openSegments.get(key);
+            if (segment != null) {
+                return segment;
+            }
+            Path path = segmentPath(userId, year);
+            if (!create && !Files.exists(path)) {
+                return null;
+            }
+            Files.createDirectories(path.getParent());
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                    StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                // Mapping extends the file; untouched pages stay sparse on disk
+                segment = channel.map(FileChannel.MapMode.READ_WRITE, 0, SEGMENT_BYTES);
+            }
+            if (fresh(segment)) {
+                segment.putInt(0, MAGIC);
+                segment.putInt(4, VERSION);
+                segment.putInt(YEAR_OFFSET, year);
+            } else if (segment.getInt(0) != MAGIC || segment.getInt(YEAR_OFFSET) != year) {
+                throw new IllegalStateException("Not a history segment for " + year + ": " + path);
+            }
+            openSegments.put(key, segment);
+            return segment;
+        }
+    }
+
+    private static boolean fresh(MappedByteBuffer segment) {
+        return segment.getInt(0) == 0;
+    }
+
+    // Helper: read-only mapping of a user's rollup file, or null if there is none
+    private MappedByteBuffer mapRollups(Long userId) throws IOException {
+        Path path = rollupPath(userId);
+        if (!Files.exists(path)) {
+            return null;
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size() - channel.size() % ROLLUP_BYTES;
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+        }
+    }
+
+    Path segmentPath(Long userId, int year) {
+        return shard(userId).resolve("u" + userId + "-" + year + ".seg");
+    }
+
+    private Path rollupPath(Long userId) {
+        return shard(userId).resolve("u" + userId + ".rollup");
+    }
+
+    private Path shard(Long userId) {
+        return directory.resolve(String.format("%03d", userId % 1000));
+    }
+
+    private static String key(Long userId, int year) {
+        return userId + "-" + year;
+    }
+
+    // Receives one day (or rollup month) at a time; values come straight from the buffer
+    private interface Visitor {
+
+        void day(LocalDate date, int days, float kWh, float cost) throws IOException;
+
+        void room(long roomId, float kWh) throws IOException;
+
+        void end() throws IOException;
+    }
+}
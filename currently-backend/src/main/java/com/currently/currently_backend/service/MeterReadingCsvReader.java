@@ -0,0 +1,297 @@
+/*
+ * File: MeterReadingCsvReader.java
+ * Description: Streams a smart-meter or bill CSV export row by row.
+ * Author: Liam Connell
+ * Date: 2026-10-17
+ *
+ * Notes:
+ * - A header row is required. Column names are matched case-insensitively, ignoring
+ *   spaces and punctuation, so "Start Time", "start_time" and "startTime" are the same.
+ *   Recognised columns: start (start, starttime, from, intervalstart, timestamp,
+ *   datetime, date), end (end, endtime, to, intervalend), kWh (kwh, consumption,
+ *   consumptionkwh, usage, usagekwh, energy, energykwh, value) and cost (cost, amount,
+ *   total, costeur, amounteur). Unknown columns are ignored.
+ * - A kWh column and a start or end column are needed. With only one of start/end the
+ *   period is the default interval (30 minutes for half-hourly exports).
+ * - Timestamps: yyyy-MM-dd, dd/MM/yyyy or dd-MM-yyyy, optionally followed by
+ *   HH:mm[:ss] (a 'T' separator and a trailing offset are accepted; the wall-clock time
+ *   is kept). A date-only end is inclusive, as on a bill.
+ * - The delimiter is ',' unless the header has ';' and no ','. ';' files are usually
+ *   written with a decimal comma ("0,125"), so there a ',' in a number is the decimal
+ *   separator and any '.' before it groups thousands; "0.125" is still read as is.
+ * - Rows that cannot be read (footers, blank values, negative kWh) are counted and skipped.
+ */
+
+package com.currently.currently_backend.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Class: MeterReadingCsvReader
+ * Purpose: Parse a CSV export one line at a time and hand each reading to a sink as
+ *          primitives. Nothing is kept per row, so memory use does not depend on the
+ *          size of the file.
+ */
+final class MeterReadingCsvReader {
+
+    private static final int NO_COLUMN = -1;
+    private static final long SECONDS_PER_DAY = 86400L;
+
+    private static final DateTimeFormatter[] DATE_TIMES = {
+            DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm[:ss]", Locale.ROOT),
+            DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm[:ss]", Locale.ROOT),
+            DateTimeFormatter.ofPattern("dd-MM-yyyy HH:mm[:ss]", Locale.ROOT)
+    };
+    private static final DateTimeFormatter[] DATES = {
+            DateTimeFormatter.ofPattern("yyyy-MM-dd", Locale.ROOT),
+            DateTimeFormatter.ofPattern("dd/MM/yyyy", Locale.ROOT),
+            DateTimeFormatter.ofPattern("dd-MM-yyyy", Locale.ROOT)
+    };
+
+    /**
+     * Interface: Sink
+     * Purpose: Receives each reading; cost is NaN when the row has none.
+     */
+    interface Sink {
+        void reading(long periodStart, int minutes, double kWh, double cost);
+    }
+
+    private MeterReadingCsvReader() {
+    }
+
+    // Function: read
+    // Purpose: Stream every readable row of a CSV export to the sink.
+    // Inputs: CSV stream (not closed here), period length for rows with only a start or
+    //         end, sink
+    // Outputs: number of rows skipped as unreadable
+    static long read(InputStream in, int defaultMinutes, Sink sink) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8), 64 * 1024);
+        String headerLine = reader.readLine();
+        if (headerLine == null) {
+            throw new IllegalArgumentException("The file is empty.");
+        }
+        if (!headerLine.isEmpty() && headerLine.charAt(0) == '\uFEFF') {
+            headerLine = headerLine.substring(1);
+        }
+        char delimiter = headerLine.indexOf(';') >= 0 && headerLine.indexOf(',') < 0 ? ';' : ',';
+        boolean decimalComma = delimiter == ';';
+
+        List<String> fields = new ArrayList<>();
+        splitCsv(headerLine, delimiter, fields);
+        int startColumn = NO_COLUMN;
+        int endColumn = NO_COLUMN;
+        int kWhColumn = NO_COLUMN;
+        int costColumn = NO_COLUMN;
+        for (int i = 0; i < fields.size(); i++) {
+            switch (normalise(fields.get(i))) {
+                case "start", "starttime", "from", "intervalstart", "timestamp", "datetime", "date" ->
+                        startColumn = firstOf(startColumn, i);
+                case "end", "endtime", "to", "intervalend" -> endColumn = firstOf(endColumn, i);
+                case "kwh", "consumption", "consumptionkwh", "usage", "usagekwh", "energy", "energykwh", "value" ->
+                        kWhColumn = firstOf(kWhColumn, i);
+                case "cost", "amount", "total", "costeur", "amounteur" -> costColumn = firstOf(costColumn, i);
+                default -> {
+                    // Extra columns are allowed and ignored
+                }
+            }
+        }
+        if (kWhColumn == NO_COLUMN || (startColumn == NO_COLUMN && endColumn == NO_COLUMN)) {
+            throw new IllegalArgumentException("The CSV header needs a kWh column and a start or end column.");
+        }
+
+        Timestamps timestamps = new Timestamps();
+        long defaultSeconds = defaultMinutes * 60L;
+        long skipped = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (line.isBlank()) {
+                continue;
+            }
+            fields.clear();
+            splitCsv(line, delimiter, fields);
+
+            long start = timestamps.parse(field(fields, startColumn), false);
+            long end = timestamps.parse(field(fields, endColumn), true);
+            double kWh = parseNumber(field(fields, kWhColumn), decimalComma);
+            double cost = parseNumber(field(fields, costColumn), decimalComma);
+            if (start == Timestamps.INVALID && end == Timestamps.INVALID) {
+                skipped++;
+                continue;
+            }
+            if (start == Timestamps.INVALID) {
+                start = end - defaultSeconds;
+            } else if (end == Timestamps.INVALID) {
+                end = start + defaultSeconds;
+            }
+            long minutes = (end - start) / 60;
+            if (Double.isNaN(kWh) || kWh < 0 || minutes <= 0 || minutes > Integer.MAX_VALUE) {
+                skipped++;
+                continue;
+            }
+            sink.reading(start, (int) minutes, kWh, cost);
+        }
+        return skipped;
+    }
+
+    private static int firstOf(int current, int column) {
+        return current == NO_COLUMN ? column : current;
+    }
+
+    private static String normalise(String header) {
+        StringBuilder key = new StringBuilder(header.length());
+        for (int i = 0; i < header.length(); i++) {
+            char c = header.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                key.append(Character.toLowerCase(c));
+            }
+        }
+        return key.toString();
+    }
+
+    private static String field(List<String> fields, int column) {
+        return column == NO_COLUMN || column >= fields.size() ? "" : fields.get(column);
+    }
+
+    // Helper: a plain number, ignoring currency symbols and units; NaN when blank or not a
+    // number. With decimalComma "1.234,5" is 1234.5.
+    static double parseNumber(String value, boolean decimalComma) {
+        if (value.isEmpty()) {
+            return Double.NaN;
+        }
+        int from = 0;
+        int to = value.length();
+        while (from < to && !isNumberChar(value.charAt(from), decimalComma)) {
+            from++;
+        }
+        while (to > from && !isNumberChar(value.charAt(to - 1), decimalComma)) {
+            to--;
+        }
+        if (from == to) {
+            return Double.NaN;
+        }
+        String number = value.substring(from, to);
+        if (decimalComma && number.indexOf(',') >= 0) {
+            number = number.replace(".", "").replace(',', '.');
+        }
+        try {
+            return Double.parseDouble(number);
+        } catch (NumberFormatException e) {
+            return Double.NaN;
+        }
+    }
+
+    private static boolean isNumberChar(char c, boolean decimalComma) {
+        return (c >= '0' && c <= '9') || c == '.' || c == '-' || (decimalComma && c == ',');
+    }
+
+    // Helper: split one CSV line, honouring "quoted, fields" and "" escapes
+    private static void splitCsv(String line, char delimiter, List<String> out) {
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == delimiter) {
+                out.add(field.toString().trim());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        out.add(field.toString().trim());
+    }
+
+    /**
+     * Timestamp parsing for one file. Exports use a single format throughout, so the
+     * formatter that last worked is tried first.
+     */
+    private static final class Timestamps {
+
+        private static final long INVALID = Long.MIN_VALUE;
+
+        private int lastDateTime;
+        private int lastDate;
+
+        // Local wall-clock epoch seconds; a date-only end moves to the next midnight
+        private long parse(String value, boolean isEnd) {
+            if (value.length() < 8) {
+                return INVALID;
+            }
+            if (value.length() <= 10) {
+                LocalDate date = parseDate(value);
+                if (date == null) {
+                    return INVALID;
+                }
+                long seconds = date.toEpochDay() * SECONDS_PER_DAY;
+                return isEnd ? seconds + SECONDS_PER_DAY : seconds;
+            }
+            LocalDateTime dateTime = parseDateTime(trimOffset(value.replace('T', ' ')));
+            return dateTime == null ? INVALID : dateTime.toEpochSecond(ZoneOffset.UTC);
+        }
+
+        private LocalDate parseDate(String value) {
+            for (int n = 0; n < DATES.length; n++) {
+                int f = (lastDate + n) % DATES.length;
+                try {
+                    LocalDate date = LocalDate.parse(value, DATES[f]);
+                    lastDate = f;
+                    return date;
+                } catch (DateTimeParseException e) {
+                    // try the next format
+                }
+            }
+            return null;
+        }
+
+        private LocalDateTime parseDateTime(String value) {
+            for (int n = 0; n < DATE_TIMES.length; n++) {
+                int f = (lastDateTime + n) % DATE_TIMES.length;
+                try {
+                    LocalDateTime dateTime = LocalDateTime.parse(value, DATE_TIMES[f]);
+                    lastDateTime = f;
+                    return dateTime;
+                } catch (DateTimeParseException e) {
+                    // try the next format
+                }
+            }
+            return null;
+        }
+
+        // "2026-01-01 00:30:00+01:00" / "...Z" -> "2026-01-01 00:30:00"
+        private static String trimOffset(String value) {
+            int end = value.length();
+            if (value.charAt(end - 1) == 'Z') {
+                return value.substring(0, end - 1).trim();
+            }
+            int colon = value.indexOf(':');
+            int sign = Math.max(value.lastIndexOf('+'), value.lastIndexOf('-'));
+            // A '-' inside the date part is not an offset
+            if (colon >= 0 && sign > colon) {
+                return value.substring(0, sign).trim();
+            }
+            return value;
+        }
+    }
+}
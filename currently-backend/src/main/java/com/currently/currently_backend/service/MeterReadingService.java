@@ -0,0 +1,252 @@
+/*
+ * File: MeterReadingService.java
+ * Description: Imports smart-meter and bill CSV exports and calibrates the household
+ *              estimate against them.
+ * Author: Liam Connell
+ * Date: 2026-10-17
+ */
+
+package com.currently.currently_backend.service;
+
+import com.currently.currently_backend.dto.CalibrationResponse;
+import com.currently.currently_backend.dto.ReadingImportResponse;
+import com.currently.currently_backend.model.HouseholdAggregate;
+import com.currently.currently_backend.model.HouseholdCalibration;
+import com.currently.currently_backend.model.MeterReading;
+import com.currently.currently_backend.repository.HouseholdAggregateRepository;
+import com.currently.currently_backend.repository.HouseholdCalibrationRepository;
+import com.currently.currently_backend.util.CurrentUser;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Class: MeterReadingService
+ * Purpose: Stream an upload through MeterReadingCsvReader into fixed-size primitive
+ *          buffers, writing each full buffer with one JDBC batch (an upsert, so
+ *          re-uploading an overlapping export is safe). Memory use is the buffer size
+ *          whatever the file size. Each batch is a separate WriteQueue write, so the
+ *          writer connection is never held while the upload is still being received;
+ *          an upload that breaks off keeps the batches already written, and sending it
+ *          again overwrites them.
+ *          Afterwards the household's measured daily kWh over the latest window of
+ *          readings is stored; the calibration factor is measured / estimated.
+ */
+@Service
+public class MeterReadingService {
+
+    private static final Logger log = LoggerFactory.getLogger(MeterReadingService.class);
+
+    private static final int MAX_INTERVAL_MINUTES = 31 * 24 * 60;
+    private static final long SECONDS_PER_DAY = 86400L;
+    private static final double MINUTES_PER_DAY = 1440.0;
+
+    private static final String UPSERT = "insert into meter_readings "
+            + "(user_id, source, period_start, minutes, kwh, cost) values (?, ?, ?, ?, ?, ?) "
+            + "on conflict (user_id, source, period_start) do update set "
+            + "minutes = excluded.minutes, kwh = excluded.kwh, cost = excluded.cost";
+
+    private final HouseholdAggregateRepository householdAggregateRepository;
+    private final HouseholdCalibrationRepository householdCalibrationRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final WriteQueue writeQueue;
+    private final int batchSize;
+    private final int calibrationDays;
+
+    public MeterReadingService(
+            HouseholdAggregateRepository householdAggregateRepository,
+            HouseholdCalibrationRepository householdCalibrationRepository,
+            JdbcTemplate jdbcTemplate,
+            WriteQueue writeQueue,
+            @Value("${currently.readings.batch-size:1000}") int batchSize,
+            @Value("${currently.readings.calibration-days:365}") int calibrationDays
+    ) {
+        this.householdAggregateRepository = householdAggregateRepository;
+        this.householdCalibrationRepository = householdCalibrationRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.writeQueue = writeQueue;
+        this.batchSize = Math.max(1, batchSize);
+        this.calibrationDays = calibrationDays;
+    }
+
+    // Function: importMyReadings
+    // Purpose: Store every reading of a CSV export and recalibrate the household.
+    // Inputs: CSV stream, "meter" or "bill", period length for rows with only a start or end
+    // Outputs: rows imported and skipped, and the new calibration
+    public ReadingImportResponse importMyReadings(InputStream csv, String source, int intervalMinutes) {
+        if (!MeterReading.SOURCE_METER.equals(source) && !MeterReading.SOURCE_BILL.equals(source)) {
+            throw new IllegalArgumentException("source must be meter or bill.");
+        }
+        if (intervalMinutes < 1 || intervalMinutes > MAX_INTERVAL_MINUTES) {
+            throw new IllegalArgumentException("intervalMinutes must be between 1 and " + MAX_INTERVAL_MINUTES + ".");
+        }
+        Long userId = CurrentUser.id();
+
+        Batch batch = new Batch(userId, source);
+        long skipped;
+        try {
+            skipped = MeterReadingCsvReader.read(csv, intervalMinutes, batch);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read the uploaded file", e);
+        }
+        batch.flush();
+        if (batch.imported == 0) {
+            throw new IllegalArgumentException(skipped > 0
+                    ? "None of the " + skipped + " rows could be read; check the date and number formats."
+                    : "The file has no readings.");
+        }
+
+        HouseholdCalibration calibration = writeQueue.execute(() -> calibrate(userId));
+        log.debug("Imported {} {} readings for user {} ({} skipped)", batch.imported, source, userId, skipped);
+
+        ReadingImportResponse response = new ReadingImportResponse();
+        response.setImported(batch.imported);
+        response.setSkipped(skipped);
+        response.setCalibration(toResponse(calibration, estimatedDailyKWh(userId)));
+        return response;
+    }
+
+    // Function: getMyCalibration
+    // Purpose: Measured vs estimated daily kWh for the current user.
+    // Outputs: calibration, or null fields when nothing has been imported yet
+    @Transactional(readOnly = true)
+    public CalibrationResponse getMyCalibration() {
+        Long userId = CurrentUser.id();
+        HouseholdCalibration calibration = householdCalibrationRepository.findById(userId).orElse(null);
+        return toResponse(calibration, estimatedDailyKWh(userId));
+    }
+
+    // Helper: measured daily kWh over the latest window, from meter readings when there
+    // are any, otherwise from bills
+    private HouseholdCalibration calibrate(Long userId) {
+        for (String source : new String[]{MeterReading.SOURCE_METER, MeterReading.SOURCE_BILL}) {
+            Long last = jdbcTemplate.queryForObject(
+                    "select max(period_start + minutes * 60) from meter_readings where user_id = ? and source = ?",
+                    Long.class, userId, source);
+            if (last == null) {
+                continue;
+            }
+            long windowStart = last - calibrationDays * SECONDS_PER_DAY;
+            Totals totals = jdbcTemplate.queryForObject(
+                    "select count(*), sum(kwh), sum(minutes), min(period_start) from meter_readings "
+                            + "where user_id = ? and source = ? and period_start >= ?",
+                    (rs, rowNum) -> new Totals(rs.getLong(1), rs.getDouble(2), rs.getLong(3), rs.getLong(4)),
+                    userId, source, windowStart);
+            if (totals == null || totals.count() == 0 || totals.minutes() == 0) {
+                continue;
+            }
+            HouseholdCalibration calibration = householdCalibrationRepository.findById(userId)
+                    .orElseGet(() -> new HouseholdCalibration(userId));
+            double days = totals.minutes() / MINUTES_PER_DAY;
+            calibration.setSource(source);
+            calibration.setReadingCount(totals.count());
+            calibration.setPeriodStart(totals.firstStart());
+            calibration.setPeriodEnd(last);
+            calibration.setMeasuredDays(days);
+            calibration.setMeasuredDailyKWh(totals.kWh() / days);
+            calibration.setUpdatedAt(LocalDateTime.now());
+            return householdCalibrationRepository.save(calibration);
+        }
+        return householdCalibrationRepository.findById(userId).orElse(null);
+    }
+
+    private double estimatedDailyKWh(Long userId) {
+        return householdAggregateRepository.findById(userId)
+                .map(HouseholdAggregate::getDailyKWh)
+                .orElse(0.0);
+    }
+
+    private static CalibrationResponse toResponse(HouseholdCalibration calibration, double estimatedDailyKWh) {
+        CalibrationResponse response = new CalibrationResponse();
+        response.setEstimatedDailyKWh(estimatedDailyKWh);
+        if (calibration == null) {
+            return response;
+        }
+        response.setSource(calibration.getSource());
+        response.setReadings(calibration.getReadingCount());
+        response.setFrom(LocalDateTime.ofEpochSecond(calibration.getPeriodStart(), 0, ZoneOffset.UTC));
+        response.setTo(LocalDateTime.ofEpochSecond(calibration.getPeriodEnd(), 0, ZoneOffset.UTC));
+        response.setMeasuredDays(calibration.getMeasuredDays());
+        response.setMeasuredDailyKWh(calibration.getMeasuredDailyKWh());
+        if (estimatedDailyKWh > 0) {
+            response.setCalibrationFactor(calibration.getMeasuredDailyKWh() / estimatedDailyKWh);
+        }
+        return response;
+    }
+
+    private record Totals(long count, double kWh, long minutes, long firstStart) {
+    }
+
+    /**
+     * Fixed-size column buffers for one upload, written out whenever they fill up.
+     */
+    private final class Batch implements MeterReadingCsvReader.Sink, BatchPreparedStatementSetter {
+
+        private final Long userId;
+        private final String source;
+        private final long[] periodStart = new long[batchSize];
+        private final int[] minutes = new int[batchSize];
+        private final double[] kWh = new double[batchSize];
+        private final double[] cost = new double[batchSize];
+        private int size;
+        private long imported;
+
+        private Batch(Long userId, String source) {
+            this.userId = userId;
+            this.source = source;
+        }
+
+        @Override
+        public void reading(long start, int periodMinutes, double readingKWh, double readingCost) {
+            periodStart[size] = start;
+            minutes[size] = periodMinutes;
+            kWh[size] = readingKWh;
+            cost[size] = readingCost;
+            if (++size == batchSize) {
+                flush();
+            }
+        }
+
+        private void flush() {
+            if (size == 0) {
+                return;
+            }
+            // The buffers are only reused once the write has committed
+            writeQueue.run(() -> jdbcTemplate.batchUpdate(UPSERT, this));
+            imported += size;
+            size = 0;
+        }
+
+        @Override
+        public void setValues(PreparedStatement ps, int i) throws SQLException {
+            ps.setLong(1, userId);
+            ps.setString(2, source);
+            ps.setLong(3, periodStart[i]);
+            ps.setInt(4, minutes[i]);
+            ps.setDouble(5, kWh[i]);
+            if (Double.isNaN(cost[i])) {
+                ps.setNull(6, Types.DOUBLE);
+            } else {
+                ps.setDouble(6, cost[i]);
+            }
+        }
+
+        @Override
+        public int getBatchSize() {
+            return size;
+        }
+    }
+}
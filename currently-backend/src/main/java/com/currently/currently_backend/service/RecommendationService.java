@@ -0,0 +1,305 @@
+/*
+ * File: RecommendationService.java
+ * Description: Ranks savings actions (efficient swaps, shorter use, off-peak shifting)
+ *              for the current user's household.
+ * Author: Liam Connell
+ * Date: 2026-10-17
+ *
+ * Notes:
+ * - Only the best K candidates are kept, in a min-heap of size K, so ranking costs
+ *   O(candidates * log K) rather than sorting every candidate.
+ * - Results are cached per user and reused while the household data version (from
+ *   the aggregate row), the catalogue version and the compiled tariff are unchanged.
+ */
+
+package com.currently.currently_backend.service;
+
+import com.currently.currently_backend.dto.HouseholdApplianceRow;
+import com.currently.currently_backend.dto.RecommendationResponse;
+import com.currently.currently_backend.model.Appliance;
+import com.currently.currently_backend.model.UsageType;
+import com.currently.currently_backend.repository.UserApplianceRepository;
+import com.currently.currently_backend.util.CurrentUser;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Class: RecommendationService
+ * Purpose: Score candidate actions for every appliance in a household and keep the top K.
+ *          Candidate rules:
+ *          - SWAP: a catalogue appliance of the same category, usage type and kind (last
+ *            word of the name, e.g. "Incandescent Lamp" -> "LED Lamp") with a lower rating,
+ *            run for the same hours/uses.
+ *          - REDUCE_USAGE: one hour less per day (continuous, under 20 h) or one use less.
+ *          - SHIFT_OFF_PEAK: for deferrable appliances (configured categories or names),
+ *            pay the cheapest tariff price instead of the profile's effective price.
+ */
+@Service
+public class RecommendationService {
+
+    // Largest K served; the cache always holds this many so any smaller K is a prefix
+    public static final int MAX_RECOMMENDATIONS = 20;
+
+    // Savings below this (per month) are not worth suggesting
+    private static final double MIN_MONTHLY_SAVING = 0.01;
+
+    // Upper bound on cached users; the map is simply cleared when full
+    private static final int MAX_CACHED_USERS = 100_000;
+
+    private static final byte CONTINUOUS = UsageType.CONTINUOUS.getCode();
+    private static final byte PER_USE = UsageType.PER_USE.getCode();
+
+    private final UserApplianceRepository userApplianceRepository;
+    private final ApplianceService applianceService;
+    private final TariffService tariffService;
+    private final AggregateService aggregateService;
+    private final Set<String> shiftable = new HashSet<>();
+
+    private final Map<Long, Cached> cache = new ConcurrentHashMap<>();
+
+    public RecommendationService(
+            UserApplianceRepository userApplianceRepository,
+            ApplianceService applianceService,
+            TariffService tariffService,
+            AggregateService aggregateService,
+            @Value("${currently.recommendations.shiftable:Utility,Dishwasher}") List<String> shiftable
+    ) {
+        this.userApplianceRepository = userApplianceRepository;
+        this.applianceService = applianceService;
+        this.tariffService = tariffService;
+        this.aggregateService = aggregateService;
+        for (String entry : shiftable) {
+            if (!entry.isBlank()) {
+                this.shiftable.add(entry.trim().toLowerCase(Locale.ROOT));
+            }
+        }
+    }
+
+    // Function: getMyRecommendations
+    // Purpose: Top recommendations for the current user's household.
+    // Inputs: number of recommendations (1..MAX_RECOMMENDATIONS)
+    // Outputs: recommendations, largest monthly saving first
+    @Transactional(readOnly = true)
+    public List<RecommendationResponse> getMyRecommendations(int limit) {
+        if (limit < 1 || limit > MAX_RECOMMENDATIONS) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_RECOMMENDATIONS + ".");
+        }
+        return getRecommendations(CurrentUser.id(), limit);
+    }
+
+    // Function: getRecommendations
+    // Purpose: Top recommendations for a household, from the cache when nothing changed.
+    // Inputs: user id, number of recommendations
+    // Outputs: recommendations, largest monthly saving first (shared; do not modify)
+    @Transactional(readOnly = true)
+    public List<RecommendationResponse> getRecommendations(Long userId, int limit) {
+        long dataVersion = aggregateService.getHouseholdAggregate(userId).getDataVersion();
+        long catalogueVersion = applianceService.getCatalogueVersion();
+        CompiledTariff tariff = tariffService.getTariffForUser(userId);
+
+        Cached cached = cache.get(userId);
+        if (cached == null || !cached.matches(dataVersion, catalogueVersion, tariff)) {
+            cached = new Cached(dataVersion, catalogueVersion, tariff, rank(userId, tariff));
+            if (cache.size() >= MAX_CACHED_USERS) {
+                cache.clear();
+            }
+            cache.put(userId, cached);
+        }
+        List<RecommendationResponse> all = cached.recommendations;
+        return all.subList(0, Math.min(limit, all.size()));
+    }
+
+    // Helper: score every candidate and keep the best MAX_RECOMMENDATIONS
+    private List<RecommendationResponse> rank(Long userId, CompiledTariff tariff) {
+        List<HouseholdApplianceRow> rows = userApplianceRepository.findRowsByUserId(userId);
+        HouseholdColumns household = new HouseholdColumns(rows.size());
+        Appliance[] bases = new Appliance[rows.size()];
+        for (int i = 0; i < rows.size(); i++) {
+            HouseholdApplianceRow row = rows.get(i);
+            bases[i] = applianceService.findByName(row.getApplianceName());
+            household.add(row.getUsageType(), bases[i], row.getHoursPerDay(), row.getUsesPerDay());
+        }
+
+        TopK top = new TopK(MAX_RECOMMENDATIONS);
+        double cheapest = tariff.getCheapestPrice();
+        for (int i = 0; i < rows.size(); i++) {
+            Appliance base = bases[i];
+            byte usage = household.usage(i);
+            double hours = household.hours(i);
+            double uses = household.uses(i);
+            double kWh = EnergyCalculator.dailyKWh(usage, household.watts(i), hours, uses);
+            if (base == null || kWh <= 0) {
+                continue;
+            }
+            double price = tariff.effectivePrice(household.profile(i));
+
+            // SWAP: same kind of appliance with a lower rating
+            String kind = kindOf(base.getName());
+            for (Appliance candidate : applianceService.getAppliancesByCategory(base.getCategory())) {
+                if (candidate.getName().equalsIgnoreCase(base.getName())
+                        || !base.getUsageType().equalsIgnoreCase(candidate.getUsageType())
+                        || !kind.equals(kindOf(candidate.getName()))) {
+                    continue;
+                }
+                double saved = kWh - EnergyCalculator.dailyKWh(usage,
+                        HouseholdColumns.ratedWatts(usage, candidate), hours, uses);
+                if (saved > 0) {
+                    top.offer(Kind.SWAP, i, candidate, saved, saved * price);
+                }
+            }
+
+            // REDUCE_USAGE: one hour or one use less
+            double fraction = 0;
+            if (usage == CONTINUOUS && hours >= 1 && hours < 20) {
+                fraction = 1.0 / hours;
+            } else if (usage == PER_USE && uses >= 2) {
+                fraction = 1.0 / uses;
+            }
+            if (fraction > 0) {
+                top.offer(Kind.REDUCE_USAGE, i, null, kWh * fraction, kWh * fraction * price);
+            }
+
+            // SHIFT_OFF_PEAK: same energy at the cheapest price
+            if (price > cheapest && isShiftable(base)) {
+                top.offer(Kind.SHIFT_OFF_PEAK, i, null, 0.0, kWh * (price - cheapest));
+            }
+        }
+
+        List<RecommendationResponse> result = new ArrayList<>(top.size());
+        for (Candidate candidate : top.drainDescending()) {
+            result.add(toResponse(candidate, rows.get(candidate.row), household));
+        }
+        return Collections.unmodifiableList(result);
+    }
+
+    private boolean isShiftable(Appliance base) {
+        return base.getCategory() != null && shiftable.contains(base.getCategory().toLowerCase(Locale.ROOT))
+                || shiftable.contains(base.getName().toLowerCase(Locale.ROOT));
+    }
+
+    private static RecommendationResponse toResponse(Candidate candidate, HouseholdApplianceRow row,
+                                                     HouseholdColumns household) {
+        RecommendationResponse response = new RecommendationResponse();
+        response.setType(candidate.kind.name());
+        response.setUserApplianceId(row.getId());
+        response.setApplianceName(row.getApplianceName());
+        switch (candidate.kind) {
+            case SWAP:
+                response.setSuggestedApplianceName(candidate.suggested.getName());
+                response.setMessage("Replace your " + row.getApplianceName() + " with a "
+                        + candidate.suggested.getName() + ".");
+                break;
+            case REDUCE_USAGE:
+                response.setMessage(household.usage(candidate.row) == CONTINUOUS
+                        ? "Run your " + row.getApplianceName() + " one hour less per day."
+                        : "Use your " + row.getApplianceName() + " once less per day.");
+                break;
+            default:
+                response.setMessage("Run your " + row.getApplianceName() + " in your cheapest tariff period.");
+                break;
+        }
+        response.setMonthlyKWhSaving(candidate.kWhSaved * EnergyCalculator.DAYS_PER_MONTH);
+        response.setMonthlySaving(candidate.costSaved * EnergyCalculator.DAYS_PER_MONTH);
+        response.setAnnualSaving(candidate.costSaved * EnergyCalculator.DAYS_PER_YEAR);
+        return response;
+    }
+
+    // Last word of the name, lower-cased: "Incandescent Lamp" and "LED Lamp" are both "lamp"
+    private static String kindOf(String name) {
+        String trimmed = name.trim();
+        return trimmed.substring(trimmed.lastIndexOf(' ') + 1).toLowerCase(Locale.ROOT);
+    }
+
+    enum Kind { SWAP, REDUCE_USAGE, SHIFT_OFF_PEAK }
+
+    // A scored action on one household row
+    static final class Candidate {
+
+        final Kind kind;
+        final int row;
+        final Appliance suggested;
+        final double kWhSaved;
+        final double costSaved;
+
+        // Offer order, so equal savings keep the order they were found in
+        private final long sequence;
+
+        private Candidate(Kind kind, int row, Appliance suggested, double kWhSaved, double costSaved,
+                          long sequence) {
+            this.kind = kind;
+            this.row = row;
+            this.suggested = suggested;
+            this.kWhSaved = kWhSaved;
+            this.costSaved = costSaved;
+            this.sequence = sequence;
+        }
+    }
+
+    /**
+     * Bounded min-heap of the best candidates by daily cost saved. A candidate that
+     * cannot beat the current K-th best is rejected without being allocated. Between
+     * equal savings the one offered first ranks higher, so rankings are stable.
+     */
+    static final class TopK {
+
+        private final int k;
+        private final PriorityQueue<Candidate> heap;
+        private long offered;
+
+        TopK(int k) {
+            this.k = k;
+            this.heap = new PriorityQueue<>(k + 1, (a, b) -> a.costSaved != b.costSaved
+                    ? Double.compare(a.costSaved, b.costSaved)
+                    : Long.compare(b.sequence, a.sequence));
+        }
+
+        void offer(Kind kind, int row, Appliance suggested, double kWhSaved, double costSaved) {
+            if (costSaved * EnergyCalculator.DAYS_PER_MONTH < MIN_MONTHLY_SAVING) {
+                return;
+            }
+            long sequence = offered++;
+            if (heap.size() == k) {
+                // A later candidate has to save strictly more to displace the K-th best
+                if (costSaved <= heap.peek().costSaved) {
+                    return;
+                }
+                heap.poll();
+            }
+            heap.offer(new Candidate(kind, row, suggested, kWhSaved, costSaved, sequence));
+        }
+
+        int size() {
+            return heap.size();
+        }
+
+        // Empties the heap, best first
+        List<Candidate> drainDescending() {
+            Candidate[] sorted = new Candidate[heap.size()];
+            for (int i = sorted.length - 1; i >= 0; i--) {
+                sorted[i] = heap.poll();
+            }
+            return List.of(sorted);
+        }
+    }
+
+    private record Cached(long dataVersion, long catalogueVersion, CompiledTariff tariff,
+                          List<RecommendationResponse> recommendations) {
+
+        private boolean matches(long dataVersion, long catalogueVersion, CompiledTariff tariff) {
+            return this.dataVersion == dataVersion
+                    && this.catalogueVersion == catalogueVersion
+                    && this.tariff.equals(tariff);
+        }
+    }
+}
@@ -5,59 +5,123 @@ import com.currently.currently_backend.dto.RoomResponse;
 import com.currently.currently_backend.model.Room;
 import com.currently.currently_backend.model.User;
 import com.currently.currently_backend.repository.RoomRepository;
+import com.currently.currently_backend.repository.UserApplianceRepository;
 import com.currently.currently_backend.repository.UserRepository;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
+import com.currently.currently_backend.util.CurrentUser;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Service
 public class RoomService {
 
     private final RoomRepository roomRepository;
     private final UserRepository userRepository;
-
-    public RoomService(RoomRepository roomRepository, UserRepository userRepository) {
+    private final UserApplianceRepository userApplianceRepository;
+    private final AggregateService aggregateService;
+    private final BenchmarkService benchmarkService;
+    private final WriteQueue writeQueue;
+    private final int maxBulkItems;
+
+    public RoomService(
+            RoomRepository roomRepository,
+            UserRepository userRepository,
+            UserApplianceRepository userApplianceRepository,
+            AggregateService aggregateService,
+            BenchmarkService benchmarkService,
+            WriteQueue writeQueue,
+            @Value("${currently.bulk.max-items:500}") int maxBulkItems
+    ) {
         this.roomRepository = roomRepository;
         this.userRepository = userRepository;
+        this.userApplianceRepository = userApplianceRepository;
+        this.aggregateService = aggregateService;
+        this.benchmarkService = benchmarkService;
+        this.writeQueue = writeQueue;
+        this.maxBulkItems = maxBulkItems;
     }
 
-    private User getCurrentUser() {
-        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
-        String emailOrUsername = auth.getName();
-        return userRepository.findByEmail(emailOrUsername)
-                .orElseThrow(() -> new IllegalStateException("Authenticated user not found"));
-    }
-
+    // One statement for all of the user's rooms, however many there are
+    @Transactional(readOnly = true)
     public List<RoomResponse> getRoomsForCurrentUser() {
-        User user = getCurrentUser();
-        List<Room> rooms = roomRepository.findByUserOrderByFloorLabelAscNameAsc(user);
-        return rooms.stream().map(this::toResponse).collect(Collectors.toList());
+        Long userId = CurrentUser.id();
+        return roomRepository.findResponsesByUserId(userId);
     }
 
+    // Room and floor counts place the household in its benchmark cohort.
+    // Writes go through the WriteQueue and commit together with other users' writes.
     public RoomResponse createRoom(RoomRequest request) {
-        User user = getCurrentUser();
+        checkNameAndFloor(request, "");
+        Long userId = CurrentUser.id();
+        return writeQueue.execute(() -> createRoom(userId, request));
+    }
 
+    // Many rooms in one request and one transaction; all are checked before any is written
+    public List<RoomResponse> createRooms(List<RoomRequest> requests) {
+        if (requests == null || requests.isEmpty()) {
+            throw new IllegalArgumentException("At least one room is required.");
+        }
+        if (requests.size() > maxBulkItems) {
+            throw new IllegalArgumentException("At most " + maxBulkItems + " rooms can be added at once.");
+        }
+        for (int i = 0; i < requests.size(); i++) {
+            checkNameAndFloor(requests.get(i), "Room " + (i + 1) + ": ");
+        }
+
+        Long userId = CurrentUser.id();
+        return writeQueue.execute(() -> createRooms(userId, requests));
+    }
+
+    public RoomResponse updateRoom(Long id, RoomRequest request) {
+        Long userId = CurrentUser.id();
+        checkOwned(userId, id, "You are not allowed to modify this room.");
+        return writeQueue.execute(() -> updateRoom(userId, id, request));
+    }
+
+    // Appliances in the room are kept and moved to "no room"
+    public void deleteRoom(Long id) {
+        Long userId = CurrentUser.id();
+        checkOwned(userId, id, "You are not allowed to delete this room.");
+        writeQueue.run(() -> deleteRoom(userId, id));
+    }
+
+    private RoomResponse createRoom(Long userId, RoomRequest request) {
         Room room = new Room(
-                user,
+                userRepository.getReferenceById(userId),
                 request.getName(),
                 request.getFloorLabel(),
                 request.getType()
         );
 
         Room saved = roomRepository.save(room);
+        benchmarkService.householdChanged(userId);
         return toResponse(saved);
     }
 
-    public RoomResponse updateRoom(Long id, RoomRequest request) {
-        User user = getCurrentUser();
+    // Ids are assigned on save, so the inserts go out as JDBC batches when the group flushes
+    private List<RoomResponse> createRooms(Long userId, List<RoomRequest> requests) {
+        User user = userRepository.getReferenceById(userId);
+        List<Room> rooms = new ArrayList<>(requests.size());
+        for (RoomRequest request : requests) {
+            rooms.add(new Room(user, request.getName(), request.getFloorLabel(), request.getType()));
+        }
+
+        List<RoomResponse> responses = new ArrayList<>(requests.size());
+        for (Room saved : roomRepository.saveAll(rooms)) {
+            responses.add(toResponse(saved));
+        }
+        benchmarkService.householdChanged(userId);
+        return responses;
+    }
 
+    private RoomResponse updateRoom(Long userId, Long id, RoomRequest request) {
         Room room = roomRepository.findById(id)
                 .orElseThrow(() -> new IllegalArgumentException("Room not found"));
 
-        if (!room.getUser().getId().equals(user.getId())) {
+        if (!room.getUser().getId().equals(userId)) {
             throw new IllegalStateException("You are not allowed to modify this room.");
         }
 
@@ -72,20 +136,44 @@ public class RoomService {
         }
 
         Room updated = roomRepository.save(room);
+        benchmarkService.householdChanged(userId);
         return toResponse(updated);
     }
 
-    public void deleteRoom(Long id) {
-        User user = getCurrentUser();
-
+    private void deleteRoom(Long userId, Long id) {
         Room room = roomRepository.findById(id)
                 .orElseThrow(() -> new IllegalArgumentException("Room not found"));
 
-        if (!room.getUser().getId().equals(user.getId())) {
+        if (!room.getUser().getId().equals(userId)) {
             throw new IllegalStateException("You are not allowed to delete this room.");
         }
 
+        userApplianceRepository.unassignRoom(room.getId());
         roomRepository.delete(room);
+        aggregateService.roomDeleted(userId, room.getId());
+    }
+
+    // Helper: requests that are going to fail are turned away before they are queued, on a
+    // read connection, instead of failing inside a group commit (where the writer has to
+    // roll back and re-run the rest of the group). The writes repeat the ownership check
+    // in case the room changed in between.
+    private void checkOwned(Long userId, Long id, String notOwnedMessage) {
+        Room room = roomRepository.findById(id)
+                .orElseThrow(() -> new IllegalArgumentException("Room not found"));
+        if (!room.getUser().getId().equals(userId)) {
+            throw new IllegalStateException(notOwnedMessage);
+        }
+    }
+
+    // Helper: the columns a new room cannot be stored without
+    private static void checkNameAndFloor(RoomRequest request, String prefix) {
+        if (isBlank(request.getName()) || isBlank(request.getFloorLabel())) {
+            throw new IllegalArgumentException(prefix + "name and floorLabel are required.");
+        }
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
     }
 
     private RoomResponse toResponse(Room room) {
@@ -0,0 +1,385 @@
+/*
+ * File: ScenarioService.java
+ * Description: Evaluates what-if scenarios (swap, change usage, move, remove) against
+ *              an in-memory copy of the current user's household.
+ * Author: Liam Connell
+ * Date: 2026-10-17
+ *
+ * Notes:
+ * - Nothing is written to the database; the household is read once and every
+ *   scenario works on its own copy of the columns.
+ * - Scenarios run on a dedicated ForkJoinPool sized by currently.scenarios.parallelism
+ *   (0 = one thread per core), so large batches do not compete with the common pool.
+ */
+
+package com.currently.currently_backend.service;
+
+import com.currently.currently_backend.dto.HouseholdApplianceRow;
+import com.currently.currently_backend.dto.RoomResponse;
+import com.currently.currently_backend.dto.ScenarioChange;
+import com.currently.currently_backend.dto.ScenarioRequest;
+import com.currently.currently_backend.dto.ScenarioResponse;
+import com.currently.currently_backend.dto.ScenarioResult;
+import com.currently.currently_backend.dto.ScenarioRoomDelta;
+import com.currently.currently_backend.model.Appliance;
+import com.currently.currently_backend.model.UsageType;
+import com.currently.currently_backend.repository.RoomRepository;
+import com.currently.currently_backend.repository.UserApplianceRepository;
+import com.currently.currently_backend.util.CurrentUser;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Class: ScenarioService
+ * Purpose: Answer "what if I replace X / run Y two hours less" without touching real
+ *          UserAppliance rows. All changes are validated and resolved to row numbers on
+ *          the request thread first; the parallel tasks then only copy the columns,
+ *          apply their changes and run the EnergyCalculator, so they cannot fail half way.
+ */
+@Service
+public class ScenarioService {
+
+    private static final int MAX_SCENARIOS = 100;
+    private static final int MAX_CHANGES = 50;
+    private static final int NO_ROOM = 0;
+
+    private final UserApplianceRepository userApplianceRepository;
+    private final RoomRepository roomRepository;
+    private final ApplianceService applianceService;
+    private final TariffService tariffService;
+    private final EnergyCalculator energyCalculator;
+    private final ForkJoinPool pool;
+
+    public ScenarioService(
+            UserApplianceRepository userApplianceRepository,
+            RoomRepository roomRepository,
+            ApplianceService applianceService,
+            TariffService tariffService,
+            EnergyCalculator energyCalculator,
+            @Value("${currently.scenarios.parallelism:0}") int parallelism
+    ) {
+        this.userApplianceRepository = userApplianceRepository;
+        this.roomRepository = roomRepository;
+        this.applianceService = applianceService;
+        this.tariffService = tariffService;
+        this.energyCalculator = energyCalculator;
+        this.pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdown();
+    }
+
+    // Function: evaluateMyScenarios
+    // Purpose: Price each scenario against the current household.
+    // Inputs: scenarios (each a list of changes applied together)
+    // Outputs: baseline totals and one result per scenario, in request order
+    @Transactional(readOnly = true)
+    public ScenarioResponse evaluateMyScenarios(List<ScenarioRequest> scenarios) {
+        if (scenarios == null || scenarios.isEmpty()) {
+            throw new IllegalArgumentException("At least one scenario is required.");
+        }
+        if (scenarios.size() > MAX_SCENARIOS) {
+            throw new IllegalArgumentException("At most " + MAX_SCENARIOS + " scenarios per request.");
+        }
+
+        Long userId = CurrentUser.id();
+        Household base = loadHousehold(userId);
+        CompiledTariff tariff = tariffService.getTariffForUser(userId);
+
+        // Resolve everything that can fail before any task starts
+        List<List<Op>> resolved = new ArrayList<>(scenarios.size());
+        for (ScenarioRequest scenario : scenarios) {
+            resolved.add(resolve(scenario, base));
+        }
+
+        Evaluation baseline = evaluate(base.columns, base.roomOf, base.roomCount(), tariff);
+
+        List<ForkJoinTask<ScenarioResult>> tasks = new ArrayList<>(scenarios.size());
+        for (int i = 0; i < scenarios.size(); i++) {
+            String name = scenarios.get(i).getName() != null ? scenarios.get(i).getName() : "Scenario " + (i + 1);
+            List<Op> ops = resolved.get(i);
+            tasks.add(pool.submit(() -> runScenario(name, ops, base, baseline, tariff)));
+        }
+
+        List<ScenarioResult> results = new ArrayList<>(tasks.size());
+        for (ForkJoinTask<ScenarioResult> task : tasks) {
+            results.add(task.join());
+        }
+
+        ScenarioResponse response = new ScenarioResponse();
+        response.setDailyKWh(baseline.totals.getDailyKWh());
+        response.setDailyCost(baseline.totals.getDailyCost());
+        response.setMonthlyCost(baseline.totals.getMonthlyCost());
+        response.setAnnualCost(baseline.totals.getAnnualCost());
+        response.setScenarios(results);
+        return response;
+    }
+
+    // Helper: read the household once (two projection queries) into columns
+    private Household loadHousehold(Long userId) {
+        List<HouseholdApplianceRow> rows = userApplianceRepository.findRowsByUserId(userId);
+        List<RoomResponse> rooms = roomRepository.findResponsesByUserId(userId);
+
+        Household household = new Household(rows.size());
+        household.rooms.add(null);
+        for (RoomResponse room : rooms) {
+            household.roomIndexes.put(room.getId(), household.rooms.size());
+            household.rooms.add(room);
+        }
+
+        for (int i = 0; i < rows.size(); i++) {
+            HouseholdApplianceRow row = rows.get(i);
+            Appliance appliance = applianceService.findByName(row.getApplianceName());
+            household.columns.add(row.getUsageType(), appliance, row.getHoursPerDay(), row.getUsesPerDay());
+            household.bases[i] = appliance;
+            household.usageTypes[i] = row.getUsageType();
+            household.rowOf.put(row.getId(), i);
+            Integer roomIndex = row.getRoomId() != null ? household.roomIndexes.get(row.getRoomId()) : null;
+            household.roomOf[i] = roomIndex != null ? roomIndex : NO_ROOM;
+        }
+        return household;
+    }
+
+    // Helper: validate a scenario's changes and turn them into row-level operations
+    private List<Op> resolve(ScenarioRequest scenario, Household household) {
+        List<ScenarioChange> changes = scenario.getChanges();
+        if (changes == null || changes.isEmpty()) {
+            throw new IllegalArgumentException("Each scenario needs at least one change.");
+        }
+        if (changes.size() > MAX_CHANGES) {
+            throw new IllegalArgumentException("At most " + MAX_CHANGES + " changes per scenario.");
+        }
+
+        List<Op> ops = new ArrayList<>(changes.size());
+        for (ScenarioChange change : changes) {
+            Integer row = change.getApplianceId() != null ? household.rowOf.get(change.getApplianceId()) : null;
+            if (row == null) {
+                throw new IllegalArgumentException("Appliance not found in your household: " + change.getApplianceId());
+            }
+            String type = change.getType() != null ? change.getType().trim().toLowerCase(Locale.ROOT) : "";
+
+            Op op = new Op(row);
+            switch (type) {
+                case "swap":
+                    op.kind = Kind.SWAP;
+                    op.base = applianceService.findByName(change.getApplianceName());
+                    if (op.base == null) {
+                        throw new IllegalArgumentException("Appliance not found in catalogue: " + change.getApplianceName());
+                    }
+                    op.hours = nonNegative(change.getHoursPerDay(), "hoursPerDay");
+                    op.uses = nonNegative(change.getUsesPerDay(), "usesPerDay");
+                    break;
+                case "usage":
+                    op.kind = Kind.USAGE;
+                    op.hours = nonNegative(change.getHoursPerDay(), "hoursPerDay");
+                    op.uses = nonNegative(change.getUsesPerDay(), "usesPerDay");
+                    op.hoursDelta = change.getHoursDelta();
+                    op.usesDelta = change.getUsesDelta();
+                    if (op.hours == null && op.uses == null && op.hoursDelta == null && op.usesDelta == null) {
+                        throw new IllegalArgumentException("A usage change needs hoursPerDay, usesPerDay, hoursDelta or usesDelta.");
+                    }
+                    break;
+                case "move":
+                    op.kind = Kind.MOVE;
+                    if (change.getRoomId() == null) {
+                        op.roomIndex = NO_ROOM;
+                    } else {
+                        Integer roomIndex = household.roomIndexes.get(change.getRoomId());
+                        if (roomIndex == null) {
+                            throw new IllegalArgumentException("Room not found: " + change.getRoomId());
+                        }
+                        op.roomIndex = roomIndex;
+                    }
+                    break;
+                case "remove":
+                    op.kind = Kind.REMOVE;
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown change type: " + change.getType()
+                            + " (expected swap, usage, move or remove).");
+            }
+            ops.add(op);
+        }
+        return ops;
+    }
+
+    // Function: runScenario
+    // Purpose: Apply one scenario to private copies of the household and compare it
+    //          with the baseline. Runs on the scenario pool.
+    private ScenarioResult runScenario(String name, List<Op> ops, Household base,
+                                       Evaluation baseline, CompiledTariff tariff) {
+        HouseholdColumns columns = base.columns.copy();
+        int[] roomOf = base.roomOf.clone();
+        Appliance[] bases = base.bases.clone();
+        String[] usageTypes = base.usageTypes.clone();
+        boolean[] removed = new boolean[columns.size()];
+
+        for (Op op : ops) {
+            int row = op.row;
+            if (removed[row]) {
+                continue;
+            }
+            switch (op.kind) {
+                case SWAP: {
+                    boolean sameUsage = op.base.getUsageType().equalsIgnoreCase(usageTypes[row]);
+                    Double hours = op.hours != null ? op.hours
+                            : sameUsage ? columns.hours(row) : toDouble(op.base.getDefaultHoursPerDay());
+                    Double uses = op.uses != null ? op.uses
+                            : sameUsage ? columns.uses(row) : toDouble(op.base.getDefaultUsesPerDay());
+                    bases[row] = op.base;
+                    usageTypes[row] = op.base.getUsageType();
+                    columns.set(row, usageTypes[row], bases[row], clampHours(hours), uses);
+                    break;
+                }
+                case USAGE: {
+                    double hours = op.hours != null ? op.hours : columns.hours(row);
+                    double uses = op.uses != null ? op.uses : columns.uses(row);
+                    if (op.hoursDelta != null) {
+                        hours += op.hoursDelta;
+                    }
+                    if (op.usesDelta != null) {
+                        uses += op.usesDelta;
+                    }
+                    columns.set(row, usageTypes[row], bases[row], clampHours(hours), Math.max(0.0, uses));
+                    break;
+                }
+                case MOVE:
+                    roomOf[row] = op.roomIndex;
+                    break;
+                case REMOVE:
+                    // Unknown usage contributes nothing to kWh or cost
+                    columns.setUsage(row, UsageType.UNKNOWN_CODE);
+                    removed[row] = true;
+                    break;
+            }
+        }
+
+        Evaluation scenario = evaluate(columns, roomOf, base.roomCount(), tariff);
+
+        ScenarioResult result = new ScenarioResult();
+        result.setName(name);
+        result.setDailyKWh(scenario.totals.getDailyKWh());
+        result.setDailyCost(scenario.totals.getDailyCost());
+        result.setMonthlyCost(scenario.totals.getMonthlyCost());
+        result.setAnnualCost(scenario.totals.getAnnualCost());
+        result.setDailyKWhDelta(scenario.totals.getDailyKWh() - baseline.totals.getDailyKWh());
+        result.setDailyCostDelta(scenario.totals.getDailyCost() - baseline.totals.getDailyCost());
+        result.setMonthlyCostDelta(scenario.totals.getMonthlyCost() - baseline.totals.getMonthlyCost());
+        result.setAnnualKWhDelta(scenario.totals.getAnnualKWh() - baseline.totals.getAnnualKWh());
+        result.setAnnualCostDelta(scenario.totals.getAnnualCost() - baseline.totals.getAnnualCost());
+
+        List<ScenarioRoomDelta> rooms = new ArrayList<>();
+        for (int index = 0; index < base.roomCount(); index++) {
+            double kWhDelta = scenario.roomKWh[index] - baseline.roomKWh[index];
+            double costDelta = scenario.roomCost[index] - baseline.roomCost[index];
+            if (kWhDelta == 0.0 && costDelta == 0.0) {
+                continue;
+            }
+            RoomResponse room = base.rooms.get(index);
+            ScenarioRoomDelta delta = new ScenarioRoomDelta();
+            delta.setRoomId(room != null ? room.getId() : null);
+            delta.setRoomName(room != null ? room.getName() : "Unassigned");
+            delta.setDailyKWhDelta(kWhDelta);
+            delta.setDailyCostDelta(costDelta);
+            rooms.add(delta);
+        }
+        result.setRooms(rooms);
+        return result;
+    }
+
+    // Helper: one calculator pass plus per-room sums
+    private Evaluation evaluate(HouseholdColumns columns, int[] roomOf, int roomCount, CompiledTariff tariff) {
+        Evaluation evaluation = new Evaluation(columns.size(), roomCount);
+        energyCalculator.calculate(columns, tariff, evaluation.kWh, evaluation.cost, evaluation.totals);
+        for (int row = 0; row < columns.size(); row++) {
+            evaluation.roomKWh[roomOf[row]] += evaluation.kWh[row];
+            evaluation.roomCost[roomOf[row]] += evaluation.cost[row];
+        }
+        return evaluation;
+    }
+
+    private static Double nonNegative(Double value, String field) {
+        if (value != null && value < 0) {
+            throw new IllegalArgumentException(field + " must be >= 0.");
+        }
+        return value;
+    }
+
+    private static double clampHours(Double hours) {
+        return hours == null ? 0.0 : Math.max(0.0, Math.min(24.0, hours));
+    }
+
+    private static Double toDouble(Integer value) {
+        return value != null ? value.doubleValue() : null;
+    }
+
+    private enum Kind { SWAP, USAGE, MOVE, REMOVE }
+
+    // A validated change, addressed by row number
+    private static final class Op {
+
+        private final int row;
+        private Kind kind;
+        private Appliance base;
+        private Double hours;
+        private Double uses;
+        private Double hoursDelta;
+        private Double usesDelta;
+        private int roomIndex;
+
+        private Op(int row) {
+            this.row = row;
+        }
+    }
+
+    // The household as loaded; shared read-only by all scenario tasks
+    private static final class Household {
+
+        private final HouseholdColumns columns;
+        private final Appliance[] bases;
+        private final String[] usageTypes;
+        private final int[] roomOf;
+        private final Map<Long, Integer> rowOf = new HashMap<>();
+        private final List<RoomResponse> rooms = new ArrayList<>();
+        private final Map<Long, Integer> roomIndexes = new HashMap<>();
+
+        private Household(int size) {
+            this.columns = new HouseholdColumns(size);
+            this.bases = new Appliance[size];
+            this.usageTypes = new String[size];
+            this.roomOf = new int[size];
+        }
+
+        private int roomCount() {
+            return rooms.size();
+        }
+    }
+
+    private static final class Evaluation {
+
+        private final double[] kWh;
+        private final double[] cost;
+        private final double[] roomKWh;
+        private final double[] roomCost;
+        private final EnergyTotals totals = new EnergyTotals();
+
+        private Evaluation(int rows, int rooms) {
+            this.kWh = new double[rows];
+            this.cost = new double[rows];
+            this.roomKWh = new double[rooms];
+            this.roomCost = new double[rooms];
+        }
+    }
+}
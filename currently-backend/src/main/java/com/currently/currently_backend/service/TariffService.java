@@ -0,0 +1,275 @@
+/*
+ * File: TariffService.java
+ * Description: Stores users' tariff plans and serves compiled, cached price tables
+ *              for cost calculations.
+ * Author: Liam Connell
+ * Date: 2026-10-17
+ */
+
+package com.currently.currently_backend.service;
+
+import com.currently.currently_backend.dto.TariffBandDto;
+import com.currently.currently_backend.dto.TariffPlanDto;
+import com.currently.currently_backend.model.TariffBand;
+import com.currently.currently_backend.model.TariffPlan;
+import com.currently.currently_backend.repository.TariffPlanRepository;
+import com.currently.currently_backend.repository.UserRepository;
+import com.currently.currently_backend.util.CurrentUser;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Class: TariffService
+ * Purpose: CRUD for the current user's tariff plan, and the lookup every cost calculation
+ *          goes through. Compiled tariffs are cached per user and interned by content, so
+ *          users on the same supplier plan share one price table and the request path
+ *          never re-reads or recompiles a plan.
+ *          Writes update the cache after they commit, on the writer thread and so in
+ *          commit order. A cache miss only stores what it read if no plan was written
+ *          while it was reading, so a slow reader cannot put back a replaced plan.
+ */
+@Service
+public class TariffService {
+
+    // Upper bound on cached user -> tariff entries; the map is simply cleared when full
+    private static final int MAX_CACHED_USERS = 100_000;
+    // Upper bound on distinct interned price tables, cleared the same way; a cleared
+    // table stays shared by the users already holding it
+    private static final int MAX_INTERNED_TARIFFS = 10_000;
+
+    private static final String[] DAY_NAMES = {"MON", "TUE", "WED", "THU", "FRI", "SAT", "SUN"};
+
+    private final TariffPlanRepository tariffPlanRepository;
+    private final UserRepository userRepository;
+    private final WriteQueue writeQueue;
+    private final CompiledTariff defaultTariff;
+    private final double defaultPricePerKWh;
+
+    private final Map<Long, CompiledTariff> tariffsByUser = new ConcurrentHashMap<>();
+    private final Map<CompiledTariff, CompiledTariff> interned = new ConcurrentHashMap<>();
+    // Counts committed plan writes, for telling a cache miss its read may be stale
+    private final AtomicLong planWrites = new AtomicLong();
+
+    public TariffService(
+            TariffPlanRepository tariffPlanRepository,
+            UserRepository userRepository,
+            WriteQueue writeQueue,
+            @Value("${currently.tariff.default-price-per-kwh:0.30}") double defaultPricePerKWh
+    ) {
+        this.tariffPlanRepository = tariffPlanRepository;
+        this.userRepository = userRepository;
+        this.writeQueue = writeQueue;
+        this.defaultPricePerKWh = defaultPricePerKWh;
+        this.defaultTariff = CompiledTariff.flat(defaultPricePerKWh);
+    }
+
+    // Function: getTariffForUser
+    // Purpose: Compiled tariff used to price a user's consumption.
+    // Inputs: user id
+    // Outputs: the user's compiled plan, or the default flat tariff
+    public CompiledTariff getTariffForUser(Long userId) {
+        CompiledTariff cached = tariffsByUser.get(userId);
+        if (cached != null) {
+            return cached;
+        }
+
+        long writesBefore = planWrites.get();
+        CompiledTariff tariff = tariffPlanRepository.findByUserId(userId)
+                .map(this::compile)
+                .orElse(defaultTariff);
+
+        if (tariffsByUser.size() >= MAX_CACHED_USERS) {
+            tariffsByUser.clear();
+        }
+        // A write counts itself before it updates the cache, so either this sees the
+        // count move and leaves the entry to the write, or the write overwrites this
+        CompiledTariff current = tariffsByUser.compute(userId, (id, cachedNow) ->
+                cachedNow != null || planWrites.get() != writesBefore ? cachedNow : tariff);
+        return current != null ? current : tariff;
+    }
+
+    public CompiledTariff getDefaultTariff() {
+        return defaultTariff;
+    }
+
+    // Function: getMyPlan
+    // Purpose: Return the current user's plan, or a description of the default flat rate.
+    @Transactional(readOnly = true)
+    public TariffPlanDto getMyPlan() {
+        Long userId = CurrentUser.id();
+        return tariffPlanRepository.findByUserId(userId)
+                .map(this::toDto)
+                .orElseGet(this::defaultPlanDto);
+    }
+
+    // Function: updateMyPlan
+    // Purpose: Validate and store the current user's plan, replacing any existing one.
+    //          Validation and compilation happen here; only the store is queued.
+    // Inputs: plan DTO
+    // Outputs: stored plan
+    public TariffPlanDto updateMyPlan(TariffPlanDto request) {
+        Long userId = CurrentUser.id();
+
+        if (request.getBands() == null || request.getBands().isEmpty()) {
+            throw new IllegalArgumentException("A tariff plan needs at least one price band.");
+        }
+        double standingCharge = request.getStandingChargePerDay() != null ? request.getStandingChargePerDay() : 0.0;
+        if (standingCharge < 0) {
+            throw new IllegalArgumentException("standingChargePerDay must be >= 0.");
+        }
+
+        List<TariffBand> bands = new ArrayList<>();
+        for (TariffBandDto dto : request.getBands()) {
+            bands.add(toBand(dto));
+        }
+        // Half hours the bands leave out are charged at the default rate
+        CompiledTariff compiled = CompiledTariff.compile(standingCharge, bands, defaultPricePerKWh);
+
+        String name = request.getName() != null && !request.getName().isBlank() ? request.getName() : "My tariff";
+        return writeQueue.execute(() -> {
+            TariffPlan plan = tariffPlanRepository.findByUserId(userId).orElseGet(TariffPlan::new);
+            plan.setUser(userRepository.getReferenceById(userId));
+            plan.setName(name);
+            plan.setStandingChargePerDay(standingCharge);
+            plan.replaceBands(bands);
+            TariffPlanDto saved = toDto(tariffPlanRepository.save(plan));
+            afterCommit(() -> tariffsByUser.put(userId, intern(compiled)));
+            return saved;
+        });
+    }
+
+    // Function: deleteMyPlan
+    // Purpose: Remove the current user's plan so the default flat rate applies again.
+    public void deleteMyPlan() {
+        Long userId = CurrentUser.id();
+        writeQueue.run(() -> {
+            tariffPlanRepository.findByUserId(userId).ifPresent(tariffPlanRepository::delete);
+            afterCommit(() -> tariffsByUser.remove(userId));
+        });
+    }
+
+    // Helper: change the cache once the write's transaction has committed, never for a
+    // write that rolls back
+    private void afterCommit(Runnable cacheUpdate) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                planWrites.incrementAndGet();
+                cacheUpdate.run();
+            }
+        });
+    }
+
+    private CompiledTariff compile(TariffPlan plan) {
+        return intern(CompiledTariff.compile(plan.getStandingChargePerDay(), plan.getBands(), defaultPricePerKWh));
+    }
+
+    private CompiledTariff intern(CompiledTariff tariff) {
+        if (interned.size() >= MAX_INTERNED_TARIFFS) {
+            interned.clear();
+        }
+        CompiledTariff existing = interned.putIfAbsent(tariff, tariff);
+        return existing != null ? existing : tariff;
+    }
+
+    private TariffBand toBand(TariffBandDto dto) {
+        if (dto.getPricePerKWh() == null || dto.getPricePerKWh() < 0) {
+            throw new IllegalArgumentException("pricePerKWh must be provided and >= 0 for every band.");
+        }
+        int daysMask = 0;
+        if (dto.getDays() == null || dto.getDays().isEmpty()) {
+            daysMask = TariffBand.ALL_DAYS;
+        } else {
+            for (String day : dto.getDays()) {
+                daysMask |= 1 << dayIndex(day);
+            }
+        }
+        return new TariffBand(
+                dto.getName() != null ? dto.getName() : "band",
+                daysMask,
+                parseMinute(dto.getStart(), "start"),
+                parseMinute(dto.getEnd(), "end"),
+                dto.getPricePerKWh()
+        );
+    }
+
+    // Helper: "HH:mm" -> minutes since midnight; "24:00" is accepted as an end time
+    private static int parseMinute(String time, String field) {
+        if (time == null || !time.matches("\\d{1,2}:\\d{2}")) {
+            throw new IllegalArgumentException(field + " must be a time like 08:00.");
+        }
+        String[] parts = time.split(":");
+        int minute = Integer.parseInt(parts[0]) * 60 + Integer.parseInt(parts[1]);
+        if (minute > 24 * 60 || minute % CompiledTariff.MINUTES_PER_SLOT != 0) {
+            throw new IllegalArgumentException(field + " must be on the hour or half hour.");
+        }
+        return minute % (24 * 60);
+    }
+
+    private static int dayIndex(String day) {
+        if (day != null && day.length() >= 3) {
+            String prefix = day.substring(0, 3).toUpperCase(Locale.ROOT);
+            for (int i = 0; i < DAY_NAMES.length; i++) {
+                if (DAY_NAMES[i].equals(prefix)) {
+                    return i;
+                }
+            }
+        }
+        throw new IllegalArgumentException("Unknown day: " + day);
+    }
+
+    private TariffPlanDto toDto(TariffPlan plan) {
+        TariffPlanDto dto = new TariffPlanDto();
+        dto.setName(plan.getName());
+        dto.setStandingChargePerDay(plan.getStandingChargePerDay());
+        List<TariffBandDto> bands = new ArrayList<>();
+        for (TariffBand band : plan.getBands()) {
+            TariffBandDto b = new TariffBandDto();
+            b.setName(band.getName());
+            b.setPricePerKWh(band.getPricePerKWh());
+            b.setStart(formatMinute(band.getStartMinute()));
+            b.setEnd(formatMinute(band.getEndMinute()));
+            if (band.getDaysMask() != TariffBand.ALL_DAYS) {
+                List<String> days = new ArrayList<>();
+                for (int i = 0; i < DAY_NAMES.length; i++) {
+                    if ((band.getDaysMask() & (1 << i)) != 0) {
+                        days.add(DAY_NAMES[i]);
+                    }
+                }
+                b.setDays(days);
+            }
+            bands.add(b);
+        }
+        dto.setBands(bands);
+        return dto;
+    }
+
+    private TariffPlanDto defaultPlanDto() {
+        TariffBandDto allDay = new TariffBandDto();
+        allDay.setName("standard");
+        allDay.setStart("00:00");
+        allDay.setEnd("00:00");
+        allDay.setPricePerKWh(defaultPricePerKWh);
+
+        TariffPlanDto dto = new TariffPlanDto();
+        dto.setName("Default flat rate");
+        dto.setStandingChargePerDay(0.0);
+        dto.setBands(List.of(allDay));
+        dto.setDefaultPlan(true);
+        return dto;
+    }
+
+    private static String formatMinute(int minute) {
+        return String.format("%02d:%02d", minute / 60, minute % 60);
+    }
+}
@@ -18,15 +18,19 @@ import com.currently.currently_backend.model.User;
 import com.currently.currently_backend.model.UserAppliance;
 import com.currently.currently_backend.repository.UserApplianceRepository;
 import com.currently.currently_backend.repository.UserRepository;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
+import com.currently.currently_backend.util.CurrentUser;
 import java.time.LocalDateTime;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
-import java.util.Optional;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * Class: UserApplianceService
@@ -38,53 +42,66 @@ import java.util.stream.Collectors;
 public class UserApplianceService {
 
 
-    // Example tariff: €0.30 per kWh (you can move this to config later)
-    private static final double PRICE_PER_KWH = 0.30;
-
     private final UserRepository userRepository;
     private final UserApplianceRepository userApplianceRepository;
     private final ApplianceService applianceService;
     private final RoomRepository roomRepository;
+    private final EnergyCalculator energyCalculator;
+    private final TariffService tariffService;
+    private final AggregateService aggregateService;
+    private final WriteQueue writeQueue;
+    private final int maxBulkItems;
 
 
     public UserApplianceService(
             UserRepository userRepository,
             UserApplianceRepository userApplianceRepository,
             ApplianceService applianceService,
-            RoomRepository roomRepository
+            RoomRepository roomRepository,
+            EnergyCalculator energyCalculator,
+            TariffService tariffService,
+            AggregateService aggregateService,
+            WriteQueue writeQueue,
+            @Value("${currently.bulk.max-items:500}") int maxBulkItems
     ) {
         this.userRepository = userRepository;
         this.userApplianceRepository = userApplianceRepository;
         this.applianceService = applianceService;
         this.roomRepository = roomRepository;
+        this.energyCalculator = energyCalculator;
+        this.tariffService = tariffService;
+        this.aggregateService = aggregateService;
+        this.writeQueue = writeQueue;
+        this.maxBulkItems = maxBulkItems;
     }
 
 
-    // Function: getCurrentUser
-    // Purpose: Retrieve the currently authenticated user using Spring Security's context.
-    // Inputs: none
-    // Outputs: User entity from the database
-    private User getCurrentUser() {
-        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
-        // In your setup, auth.getName() should correspond to the user's email or username.
-        String emailOrUsername = auth.getName();
-
-        // Adjust this if your login uses username instead of email.
-        return userRepository.findByEmail(emailOrUsername)
-                .orElseThrow(() -> new IllegalStateException("Authenticated user not found"));
-    }
-
     // Function: getUserAppliances
     // Purpose: Return all UserAppliance entries for the current user with derived metrics.
     // Inputs: none
     // Outputs: List of UserApplianceResponse DTOs
+    @Transactional(readOnly = true)
     public List<UserApplianceResponse> getUserAppliances() {
-        User user = getCurrentUser();
-        List<UserAppliance> entities = userApplianceRepository.findByUserOrderByCreatedAtAsc(user);
-
-        return entities.stream()
-                .map(this::mapToResponseWithDerivedValues)
-                .collect(Collectors.toList());
+        Long userId = CurrentUser.id();
+        // One statement for every appliance with its room name; no entities are loaded
+        List<UserApplianceResponse> responses = userApplianceRepository.findResponsesByUserId(userId);
+
+        // One pass of the calculator over the whole household
+        HouseholdColumns household = new HouseholdColumns(responses.size());
+        for (UserApplianceResponse response : responses) {
+            household.add(response.getUsageType(), findBaseApplianceOrThrow(response.getApplianceName()),
+                    response.getHoursPerDay(), response.getUsesPerDay());
+        }
+        double[] dailyKWh = new double[responses.size()];
+        double[] dailyCost = new double[responses.size()];
+        energyCalculator.calculate(household, tariffService.getTariffForUser(userId),
+                dailyKWh, dailyCost, new EnergyTotals());
+
+        for (int i = 0; i < responses.size(); i++) {
+            responses.get(i).setDailyKWh(dailyKWh[i]);
+            responses.get(i).setEstimatedDailyCost(dailyCost[i]);
+        }
+        return responses;
     }
 
     // Function: createUserAppliance
@@ -92,18 +109,18 @@ public class UserApplianceService {
     // Inputs: UserApplianceRequest DTO
     // Outputs: UserApplianceResponse DTO with derived metrics
     public UserApplianceResponse createUserAppliance(UserApplianceRequest request) {
-        User user = getCurrentUser();
-
-        Appliance baseAppliance = findBaseApplianceOrThrow(request.getApplianceName());
+        Long userId = CurrentUser.id();
+        validateNewAppliance(request);
+        checkRoomsOwned(userId, request.getRoomId() != null ? Set.of(request.getRoomId()) : Set.of());
+        return writeQueue.execute(() -> createUserAppliance(userId, request));
+    }
 
-        if (!baseAppliance.getUsageType().equalsIgnoreCase(request.getUsageType())) {
-            throw new IllegalArgumentException("Usage type does not match base appliance configuration.");
-        }
-
-        validateUsageFields(request);
+    // Runs on the WriteQueue, inside a group commit
+    private UserApplianceResponse createUserAppliance(Long userId, UserApplianceRequest request) {
+        validateNewAppliance(request);
 
         UserAppliance entity = new UserAppliance();
-        entity.setUser(user);
+        entity.setUser(userRepository.getReferenceById(userId));
         entity.setApplianceName(request.getApplianceName());
         entity.setCustomName(request.getCustomName());
         entity.setUsageType(request.getUsageType());
@@ -116,7 +133,7 @@ public class UserApplianceService {
             room = roomRepository.findById(request.getRoomId())
                     .orElseThrow(() -> new IllegalArgumentException("Room not found"));
 
-            if (!room.getUser().getId().equals(user.getId())) {
+            if (!room.getUser().getId().equals(userId)) {
                 throw new IllegalStateException("Cannot assign appliance to another user's room.");
             }
         }
@@ -125,26 +142,113 @@ public class UserApplianceService {
         entity.setCreatedAt(LocalDateTime.now());
 
         UserAppliance saved = userApplianceRepository.save(entity);
+        aggregateService.apply(userId, null, aggregateService.contributionOf(saved));
         return mapToResponseWithDerivedValues(saved);
 
     }
 
 
+    // Function: createUserAppliances
+    // Purpose: Create many appliances for the current user in one request (e.g. when
+    //          setting up a house). Every entry is checked against the catalogue before
+    //          anything is written; then all of them are inserted in one transaction,
+    //          as JDBC batches, or none are.
+    // Inputs: list of UserApplianceRequest DTOs (at most currently.bulk.max-items)
+    // Outputs: the created appliances with derived metrics, in request order
+    public List<UserApplianceResponse> createUserAppliances(List<UserApplianceRequest> requests) {
+        if (requests == null || requests.isEmpty()) {
+            throw new IllegalArgumentException("At least one appliance is required.");
+        }
+        if (requests.size() > maxBulkItems) {
+            throw new IllegalArgumentException("At most " + maxBulkItems + " appliances can be added at once.");
+        }
+        for (int i = 0; i < requests.size(); i++) {
+            try {
+                validateNewAppliance(requests.get(i));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Appliance " + (i + 1) + ": " + e.getMessage());
+            }
+        }
+
+        Long userId = CurrentUser.id();
+        checkRoomsOwned(userId, roomIdsOf(requests));
+        return writeQueue.execute(() -> createUserAppliances(userId, requests));
+    }
+
+    // Runs on the WriteQueue, inside a group commit
+    private List<UserApplianceResponse> createUserAppliances(Long userId, List<UserApplianceRequest> requests) {
+        // All referenced rooms in one query
+        Set<Long> roomIds = roomIdsOf(requests);
+        Map<Long, Room> rooms = new HashMap<>();
+        for (Room room : roomRepository.findAllById(roomIds)) {
+            if (!room.getUser().getId().equals(userId)) {
+                throw new IllegalStateException("Cannot assign appliance to another user's room.");
+            }
+            rooms.put(room.getId(), room);
+        }
+        if (rooms.size() != roomIds.size()) {
+            throw new IllegalArgumentException("Room not found");
+        }
+
+        User user = userRepository.getReferenceById(userId);
+        LocalDateTime now = LocalDateTime.now();
+        List<UserAppliance> entities = new ArrayList<>(requests.size());
+        for (UserApplianceRequest request : requests) {
+            UserAppliance entity = new UserAppliance(user, request.getApplianceName(), request.getCustomName(),
+                    request.getUsageType(), request.getHoursPerDay(), request.getUsesPerDay());
+            entity.setRoom(request.getRoomId() != null ? rooms.get(request.getRoomId()) : null);
+            entity.setCreatedAt(now);
+            entities.add(entity);
+        }
+        // Ids are assigned here; the inserts go out as batches when the group flushes
+        List<UserAppliance> saved = userApplianceRepository.saveAll(entities);
+
+        List<AggregateService.Contribution> contributions = new ArrayList<>(saved.size());
+        HouseholdColumns household = new HouseholdColumns(saved.size());
+        for (UserAppliance entity : saved) {
+            contributions.add(aggregateService.contributionOf(entity));
+            appendToColumns(household, entity);
+        }
+        aggregateService.applyAdded(userId, contributions);
+
+        double[] dailyKWh = new double[saved.size()];
+        double[] dailyCost = new double[saved.size()];
+        energyCalculator.calculate(household, tariffService.getTariffForUser(userId),
+                dailyKWh, dailyCost, new EnergyTotals());
+        List<UserApplianceResponse> responses = new ArrayList<>(saved.size());
+        for (int i = 0; i < saved.size(); i++) {
+            responses.add(mapToResponse(saved.get(i), dailyKWh[i], dailyCost[i]));
+        }
+        return responses;
+    }
+
     // Function: updateUserAppliance
     // Purpose: Update an existing UserAppliance's usage values and custom name.
     // Inputs: id (Long), request DTO
     // Outputs: Updated UserApplianceResponse
     public UserApplianceResponse updateUserAppliance(Long id, UserApplianceRequest request) {
-        User user = getCurrentUser();
+        Long userId = CurrentUser.id();
+        UserAppliance current = findOwnedOrThrow(userId, id, "You are not allowed to modify this appliance.");
+        validateUsage(current.getUsageType(),
+                request.getHoursPerDay() != null ? request.getHoursPerDay() : current.getHoursPerDay(),
+                request.getUsesPerDay() != null ? request.getUsesPerDay() : current.getUsesPerDay());
+        checkRoomsOwned(userId, request.getRoomId() != null ? Set.of(request.getRoomId()) : Set.of());
+        return writeQueue.execute(() -> updateUserAppliance(userId, id, request));
+    }
 
+    // Runs on the WriteQueue, inside a group commit
+    private UserApplianceResponse updateUserAppliance(Long userId, Long id, UserApplianceRequest request) {
         UserAppliance entity = userApplianceRepository.findById(id)
                 .orElseThrow(() -> new IllegalArgumentException("User appliance not found."));
 
         // Ensure the appliance belongs to the current user
-        if (!entity.getUser().getId().equals(user.getId())) {
+        if (!entity.getUser().getId().equals(userId)) {
             throw new IllegalStateException("You are not allowed to modify this appliance.");
         }
 
+        // Totals are moved by the difference between the old and new state
+        AggregateService.Contribution before = aggregateService.contributionOf(entity);
+
         // Usage type and appliance name are immutable here to keep things simple.
         // You can relax this later if needed.
         if (request.getCustomName() != null) {
@@ -164,7 +268,7 @@ public class UserApplianceService {
             Room room = roomRepository.findById(request.getRoomId())
                     .orElseThrow(() -> new IllegalArgumentException("Room not found"));
 
-            if (!room.getUser().getId().equals(user.getId())) {
+            if (!room.getUser().getId().equals(userId)) {
                 throw new IllegalStateException("Cannot assign appliance to another user's room.");
             }
 
@@ -180,6 +284,7 @@ public class UserApplianceService {
         entity.setUpdatedAt(LocalDateTime.now());
 
         UserAppliance updated = userApplianceRepository.save(entity);
+        aggregateService.apply(userId, before, aggregateService.contributionOf(updated));
         return mapToResponseWithDerivedValues(updated);
 
     }
@@ -189,44 +294,96 @@ public class UserApplianceService {
     // Inputs: id (Long)
     // Outputs: void (throws if not found or not owned)
     public void deleteUserAppliance(Long id) {
-        User user = getCurrentUser();
+        Long userId = CurrentUser.id();
+        findOwnedOrThrow(userId, id, "You are not allowed to delete this appliance.");
+        writeQueue.run(() -> deleteUserAppliance(userId, id));
+    }
 
+    // Runs on the WriteQueue, inside a group commit
+    private void deleteUserAppliance(Long userId, Long id) {
         UserAppliance entity = userApplianceRepository.findById(id)
                 .orElseThrow(() -> new IllegalArgumentException("User appliance not found."));
 
-        if (!entity.getUser().getId().equals(user.getId())) {
+        if (!entity.getUser().getId().equals(userId)) {
             throw new IllegalStateException("You are not allowed to delete this appliance.");
         }
 
+        AggregateService.Contribution before = aggregateService.contributionOf(entity);
         userApplianceRepository.delete(entity);
+        aggregateService.apply(userId, before, null);
+    }
+
+    // Helper: the user's appliance, read before a write is queued. Requests that are
+    // going to fail do so here, on a read connection, rather than inside a group commit
+    // (where a failing write makes the writer roll back and re-run the rest of the group);
+    // the write repeats the check in case the row changed in between.
+    private UserAppliance findOwnedOrThrow(Long userId, Long id, String notOwnedMessage) {
+        UserAppliance entity = userApplianceRepository.findById(id)
+                .orElseThrow(() -> new IllegalArgumentException("User appliance not found."));
+        if (!entity.getUser().getId().equals(userId)) {
+            throw new IllegalStateException(notOwnedMessage);
+        }
+        return entity;
+    }
+
+    // Helper: as findOwnedOrThrow, for the rooms appliances are being assigned to
+    private void checkRoomsOwned(Long userId, Set<Long> roomIds) {
+        if (roomIds.isEmpty()) {
+            return;
+        }
+        int found = 0;
+        for (Room room : roomRepository.findAllById(roomIds)) {
+            if (!room.getUser().getId().equals(userId)) {
+                throw new IllegalStateException("Cannot assign appliance to another user's room.");
+            }
+            found++;
+        }
+        if (found != roomIds.size()) {
+            throw new IllegalArgumentException("Room not found");
+        }
     }
 
-    // Helper: find base appliance from catalogue
+    private static Set<Long> roomIdsOf(List<UserApplianceRequest> requests) {
+        Set<Long> roomIds = new HashSet<>();
+        for (UserApplianceRequest request : requests) {
+            if (request.getRoomId() != null) {
+                roomIds.add(request.getRoomId());
+            }
+        }
+        return roomIds;
+    }
+
+    // Helper: find base appliance from catalogue (indexed, case-insensitive)
     private Appliance findBaseApplianceOrThrow(String applianceName) {
-        // IMPORTANT:
-        // This assumes ApplianceService exposes a method like:
-        //   List<Appliance> getAllAppliances()
-        // If your method name is different, either:
-        //   - rename it, or
-        //   - add a wrapper method in ApplianceService with this signature.
-        List<Appliance> catalogue = applianceService.getAllAppliances();
-
-        Optional<Appliance> match = catalogue.stream()
-                .filter(a -> a.getName().equalsIgnoreCase(applianceName))
-                .findFirst();
-
-        return match.orElseThrow(() ->
-                new IllegalArgumentException("Appliance not found in catalogue: " + applianceName));
+        Appliance match = applianceService.findByName(applianceName);
+        if (match == null) {
+            throw new IllegalArgumentException("Appliance not found in catalogue: " + applianceName);
+        }
+        return match;
+    }
+
+    // Helper: checks for a new appliance that need no database access
+    private void validateNewAppliance(UserApplianceRequest request) {
+        Appliance baseAppliance = findBaseApplianceOrThrow(request.getApplianceName());
+        if (!baseAppliance.getUsageType().equalsIgnoreCase(request.getUsageType())) {
+            throw new IllegalArgumentException("Usage type does not match base appliance configuration.");
+        }
+
+        validateUsageFields(request);
     }
 
     // Helper: validate usage fields for a request
     private void validateUsageFields(UserApplianceRequest request) {
-        if ("continuous".equalsIgnoreCase(request.getUsageType())) {
-            if (request.getHoursPerDay() == null || request.getHoursPerDay() <= 0) {
+        validateUsage(request.getUsageType(), request.getHoursPerDay(), request.getUsesPerDay());
+    }
+
+    private void validateUsage(String usageType, Double hoursPerDay, Double usesPerDay) {
+        if ("continuous".equalsIgnoreCase(usageType)) {
+            if (hoursPerDay == null || hoursPerDay <= 0) {
                 throw new IllegalArgumentException("hoursPerDay must be provided and > 0 for continuous appliances.");
             }
-        } else if ("perUse".equalsIgnoreCase(request.getUsageType())) {
-            if (request.getUsesPerDay() == null || request.getUsesPerDay() <= 0) {
+        } else if ("perUse".equalsIgnoreCase(usageType)) {
+            if (usesPerDay == null || usesPerDay <= 0) {
                 throw new IllegalArgumentException("usesPerDay must be provided and > 0 for per-use appliances.");
             }
         }
@@ -246,6 +403,16 @@ public class UserApplianceService {
     }
 
     private UserApplianceResponse mapToResponseWithDerivedValues(UserAppliance entity) {
+        HouseholdColumns single = new HouseholdColumns(1);
+        appendToColumns(single, entity);
+        double[] dailyKWh = new double[1];
+        double[] dailyCost = new double[1];
+        energyCalculator.calculate(single, tariffService.getTariffForUser(entity.getUser().getId()),
+                dailyKWh, dailyCost, new EnergyTotals());
+        return mapToResponse(entity, dailyKWh[0], dailyCost[0]);
+    }
+
+    private UserApplianceResponse mapToResponse(UserAppliance entity, double dailyKWh, double dailyCost) {
         UserApplianceResponse response = new UserApplianceResponse();
         response.setId(entity.getId());
         response.setApplianceName(entity.getApplianceName());
@@ -254,11 +421,8 @@ public class UserApplianceService {
         response.setHoursPerDay(entity.getHoursPerDay());
         response.setUsesPerDay(entity.getUsesPerDay());
 
-        Appliance baseAppliance = findBaseApplianceOrThrow(entity.getApplianceName());
-
-        double dailyKWh = calculateDailyKWh(entity, baseAppliance);
         response.setDailyKWh(dailyKWh);
-        response.setEstimatedDailyCost(dailyKWh * PRICE_PER_KWH);
+        response.setEstimatedDailyCost(dailyCost);
 
         // ROOM MAPPING
         Room room = entity.getRoom();
@@ -272,22 +436,9 @@ public class UserApplianceService {
 
 
 
-    // Helper: core energy calculation logic
-    private double calculateDailyKWh(UserAppliance entity, Appliance baseAppliance) {
-        // For continuous devices: (averageWatts * hoursPerDay) / 1000
-        if ("continuous".equalsIgnoreCase(entity.getUsageType())) {
-            double watts = baseAppliance.getAverageWatts();
-            double hours = entity.getHoursPerDay() != null ? entity.getHoursPerDay() : 0.0;
-            return (watts * hours) / 1000.0;
-        }
-
-        // For per-use devices: (averageWattsPerUse * usesPerDay) / 1000
-        if ("perUse".equalsIgnoreCase(entity.getUsageType())) {
-            double wattsPerUse = baseAppliance.getAverageWattsPerUse();
-            double uses = entity.getUsesPerDay() != null ? entity.getUsesPerDay() : 0.0;
-            return (wattsPerUse * uses) / 1000.0;
-        }
-
-        return 0.0;
+    // Helper: add a user appliance to the calculator's columns, rated from the catalogue
+    private void appendToColumns(HouseholdColumns household, UserAppliance entity) {
+        Appliance baseAppliance = findBaseApplianceOrThrow(entity.getApplianceName());
+        household.add(entity.getUsageType(), baseAppliance, entity.getHoursPerDay(), entity.getUsesPerDay());
     }
 }
@@ -29,17 +29,20 @@ public class UserService implements UserDetailsService {
     private final PasswordEncoder passwordEncoder;
     private final AuthenticationManager authenticationManager;
     private final JwtUtil jwtUtil;
+    private final WriteQueue writeQueue;
 
     @Autowired
 
     public UserService(UserRepository userRepository,
                        PasswordEncoder passwordEncoder,
                        @Lazy AuthenticationManager authenticationManager,
-                       JwtUtil jwtUtil) {
+                       JwtUtil jwtUtil,
+                       WriteQueue writeQueue) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
         this.authenticationManager = authenticationManager;
         this.jwtUtil = jwtUtil;
+        this.writeQueue = writeQueue;
     }
 
 
@@ -50,7 +53,8 @@ public class UserService implements UserDetailsService {
                 .orElseThrow(() -> new UsernameNotFoundException("User not found with email: " + email));
     }
 
-    // Registers a new user
+    // Registers a new user; the checks and the (slow) password hash run before the
+    // insert is queued, so the writer only does the insert
     public String registerUser(User user) {
         if (userRepository.existsByEmail(user.getEmail())) {
             return "Error: Email already in use.";
@@ -60,9 +64,9 @@ public class UserService implements UserDetailsService {
         }
 
         user.setPassword(passwordEncoder.encode(user.getPassword()));
-        userRepository.save(user);
+        writeQueue.execute(() -> userRepository.save(user));
 
-        return jwtUtil.generateToken(user.getEmail());
+        return jwtUtil.generateToken(user.getEmail(), user.getId());
     }
 
     // Authenticates credentials and returns a JWT
@@ -73,7 +77,9 @@ public class UserService implements UserDetailsService {
             );
 
             if (auth.isAuthenticated()) {
-                return jwtUtil.generateToken(email);
+                // The principal is the User loaded by loadUserByUsername
+                User user = (User) auth.getPrincipal();
+                return jwtUtil.generateToken(user.getEmail(), user.getId());
             } else {
                 return "Error: Invalid credentials.";
             }
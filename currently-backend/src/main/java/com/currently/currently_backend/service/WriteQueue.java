@@ -0,0 +1,292 @@
+/*
+ * File: WriteQueue.java
+ * Description: Single-writer queue that applies household writes in group commits.
+ * Author: Liam Connell
+ * Date: 2026-10-17
+ *
+ * Notes:
+ * - SQLite has one write lock for the whole database. Request threads that each open
+ *   their own write transaction queue on that lock (SQLITE_BUSY and retries), so writes
+ *   are handed to one writer thread instead, which never competes with itself.
+ * - The writer takes the first waiting write, keeps collecting for up to
+ *   currently.writes.window-ms or currently.writes.max-batch writes, and runs them all
+ *   in one transaction. Under load each commit (the expensive part: the journal sync)
+ *   carries many writes, so throughput rises with concurrency instead of collapsing.
+ * - Writes run on the writer thread: they must not read the SecurityContext, so callers
+ *   resolve the current user first and capture its id.
+ * - A write that fails makes the writer roll back and re-run the rest of its group, so
+ *   callers check what they can (existence, ownership, input) before queueing; a write
+ *   should only fail on a race with another request.
+ * - Statements are not always sent by the write that queued them: Hibernate holds
+ *   inserts until the next flush (ids are assigned in memory), and a query in a later
+ *   write flushes them. A statement or flush failure is therefore never pinned on the
+ *   write that happened to be running; the group is committed write by write instead.
+ */
+
+package com.currently.currently_backend.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.PersistenceException;
+import org.hibernate.HibernateException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.sqlite.SQLiteErrorCode;
+import org.sqlite.SQLiteException;
+
+import java.sql.SQLException;
+import java.sql.SQLTransientException;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Class: WriteQueue
+ * Purpose: Accept write operations from any thread and complete each one's future once
+ *          the group transaction it ran in has committed. Writes run in submission order,
+ *          so a group behaves exactly like the same writes committed one after another.
+ *          A write that throws fails on its own: the group is rolled back and the other
+ *          writes are committed without it. A failure at commit time that cannot be
+ *          pinned on one write is isolated by committing each write of the group alone.
+ *          A failure of the database itself (no connection, database locked or gone)
+ *          is nobody's write: the whole group fails with it at once, with no retries.
+ */
+@Component
+public class WriteQueue {
+
+    // SQLite result codes that mean the database, not the statement, failed
+    private static final Set<SQLiteErrorCode> DATABASE_FAILURES = EnumSet.of(
+            SQLiteErrorCode.SQLITE_BUSY, SQLiteErrorCode.SQLITE_LOCKED, SQLiteErrorCode.SQLITE_IOERR,
+            SQLiteErrorCode.SQLITE_FULL, SQLiteErrorCode.SQLITE_CANTOPEN);
+
+    private final TransactionTemplate transactionTemplate;
+    private final BlockingQueue<Write<?>> queue;
+    private final int maxBatch;
+    private final long windowNanos;
+
+    private Thread writer;
+
+    public WriteQueue(
+            PlatformTransactionManager transactionManager,
+            @Value("${currently.writes.max-batch:64}") int maxBatch,
+            @Value("${currently.writes.window-ms:2}") long windowMillis,
+            @Value("${currently.writes.queue-capacity:10000}") int capacity
+    ) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.queue = new LinkedBlockingQueue<>(Math.max(1, capacity));
+        this.maxBatch = Math.max(1, maxBatch);
+        this.windowNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, windowMillis));
+    }
+
+    @PostConstruct
+    public void start() {
+        writer = new Thread(this::drain, "write-queue");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        writer.interrupt();
+        writer.join(TimeUnit.SECONDS.toMillis(10));
+        List<Write<?>> abandoned = new ArrayList<>();
+        queue.drainTo(abandoned);
+        for (Write<?> write : abandoned) {
+            write.future.completeExceptionally(new IllegalStateException("Application is shutting down"));
+        }
+    }
+
+    // Function: submit
+    // Purpose: Queue a write for the next group commit.
+    // Inputs: the write; it runs inside the group's transaction on the writer thread
+    // Outputs: future completed with the write's result after commit, or with its exception
+    public <T> CompletableFuture<T> submit(Supplier<T> work) {
+        Write<T> write = new Write<>(work);
+        if (Thread.currentThread() == writer) {
+            // Already inside a group (a write that writes): join its transaction
+            write.future.complete(work.get());
+        } else if (!queue.offer(write)) {
+            throw new IllegalStateException("Too many pending writes; try again shortly.");
+        }
+        return write.future;
+    }
+
+    // Function: execute
+    // Purpose: Queue a write and wait until it has been committed.
+    // Inputs: the write
+    // Outputs: its result; a write's own exception is rethrown unchanged
+    public <T> T execute(Supplier<T> work) {
+        try {
+            return submit(work).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    // Function: run
+    // Purpose: execute() for writes with no result.
+    public void run(Runnable work) {
+        execute(() -> {
+            work.run();
+            return null;
+        });
+    }
+
+    // Writer thread: collect a group, commit it, repeat
+    private void drain() {
+        List<Write<?>> group = new ArrayList<>(maxBatch);
+        try {
+            while (true) {
+                group.add(queue.take());
+                long deadline = System.nanoTime() + windowNanos;
+                while (group.size() < maxBatch) {
+                    // Whatever queued up during the last commit is taken without waiting
+                    Write<?> next = queue.poll(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    group.add(next);
+                }
+                commit(group);
+                group.clear();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            for (Write<?> write : group) {
+                write.future.completeExceptionally(new IllegalStateException("Application is shutting down"));
+            }
+        }
+    }
+
+    // Helper: run a group in one transaction; failing writes are dropped from it and the
+    // rest retried, so one bad request never fails the others
+    private void commit(List<Write<?>> group) {
+        List<Write<?>> pending = new ArrayList<>(group);
+        while (!pending.isEmpty()) {
+            Write<?>[] failed = new Write<?>[1];
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    for (Write<?> write : pending) {
+                        failed[0] = write;
+                        write.run();
+                    }
+                    failed[0] = null;
+                });
+                for (Write<?> write : pending) {
+                    write.complete();
+                }
+                return;
+            } catch (RuntimeException | Error e) {
+                if (isInfrastructureFailure(e)) {
+                    // Retrying write by write would only wait out the same failure again
+                    for (Write<?> write : pending) {
+                        write.future.completeExceptionally(e);
+                    }
+                    return;
+                }
+                if (failed[0] != null && !isStatementFailure(e)) {
+                    // Thrown by that write's own code; in submission order, so the writes
+                    // before it cannot have caused it in a way serial commits would not
+                    failed[0].future.completeExceptionally(e);
+                    pending.remove(failed[0]);
+                } else if (pending.size() == 1) {
+                    pending.get(0).future.completeExceptionally(e);
+                    return;
+                } else {
+                    // Failed while flushing or committing (possibly flushing an earlier
+                    // write's statements): find the culprit by committing each write alone
+                    for (Write<?> write : pending) {
+                        commit(List.of(write));
+                    }
+                    return;
+                }
+            }
+        }
+    }
+
+    // Helper: failures of the connection or the database rather than of a write's own
+    // statements: no connection within the pool timeout, SQLITE_BUSY, I/O errors
+    static boolean isInfrastructureFailure(Throwable e) {
+        for (Throwable t = e; t != null; t = t.getCause()) {
+            if (t instanceof CannotCreateTransactionException
+                    || t instanceof DataAccessResourceFailureException
+                    || t instanceof TransientDataAccessException
+                    || t instanceof SQLTransientException) {
+                return true;
+            }
+            // Raw driver errors, e.g. from JdbcTemplate, which has no SQLite error codes
+            if (t instanceof SQLiteException sqlite && DATABASE_FAILURES.contains(primaryCode(sqlite))) {
+                return true;
+            }
+            if (t.getCause() == t) {
+                break;
+            }
+        }
+        return false;
+    }
+
+    // Helper: failures of a SQL statement (constraints, flushes), which may belong to an
+    // earlier write whose statements were still pending, rather than of a write's own code
+    static boolean isStatementFailure(Throwable e) {
+        for (Throwable t = e; t != null; t = t.getCause()) {
+            if (t instanceof DataAccessException
+                    || t instanceof PersistenceException
+                    || t instanceof HibernateException
+                    || t instanceof SQLException) {
+                return true;
+            }
+            if (t.getCause() == t) {
+                break;
+            }
+        }
+        return false;
+    }
+
+    // Extended codes (SQLITE_BUSY_SNAPSHOT, SQLITE_IOERR_WRITE, ...) keep the primary
+    // code in their low byte
+    private static SQLiteErrorCode primaryCode(SQLiteException e) {
+        return SQLiteErrorCode.getErrorCode(e.getResultCode().code & 0xff);
+    }
+
+    /**
+     * One queued write, its result once run and the caller's future.
+     */
+    private static final class Write<T> {
+
+        private final Supplier<T> work;
+        private final CompletableFuture<T> future = new CompletableFuture<>();
+        private T result;
+
+        private Write(Supplier<T> work) {
+            this.work = work;
+        }
+
+        private void run() {
+            result = work.get();
+        }
+
+        // Only after commit, so a caller never sees a write that could still roll back
+        private void complete() {
+            future.complete(result);
+        }
+    }
+}
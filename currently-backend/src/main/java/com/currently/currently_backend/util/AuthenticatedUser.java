@@ -0,0 +1,24 @@
+/*
+ * File: AuthenticatedUser.java
+ * Description: Principal placed in the SecurityContext for a request with a valid JWT.
+ * Author: Liam Connell
+ * Date: 2026-10-17
+ */
+
+package com.currently.currently_backend.util;
+
+import java.security.Principal;
+
+/**
+ * Record: AuthenticatedUser
+ * Purpose: The user id and email carried by the token ("uid" and subject claims), so
+ *          services know who is calling without reading the users table. getName() is
+ *          the email, as Authentication.getName() returned before.
+ */
+public record AuthenticatedUser(Long id, String email) implements Principal {
+
+    @Override
+    public String getName() {
+        return email;
+    }
+}
@@ -0,0 +1,41 @@
+/*
+ * File: CurrentUser.java
+ * Description: Access to the authenticated user of the current request.
+ * Author: Liam Connell
+ * Date: 2026-10-17
+ */
+
+package com.currently.currently_backend.util;
+
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+/**
+ * Class: CurrentUser
+ * Purpose: Shared replacement for the per-service getCurrentUser() lookups. The id comes
+ *          from the AuthenticatedUser principal set by JwtAuthenticationFilter; services
+ *          that need a User entity to link a row to use userRepository.getReferenceById,
+ *          which does not query the users table either.
+ */
+public final class CurrentUser {
+
+    private CurrentUser() {
+    }
+
+    // Function: get
+    // Purpose: The authenticated user of the current request.
+    // Outputs: principal with id and email; IllegalStateException when not authenticated
+    public static AuthenticatedUser get() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth == null || !(auth.getPrincipal() instanceof AuthenticatedUser user)) {
+            throw new IllegalStateException("Authenticated user not found");
+        }
+        return user;
+    }
+
+    // Function: id
+    // Purpose: Id of the authenticated user of the current request.
+    public static Long id() {
+        return get().id();
+    }
+}
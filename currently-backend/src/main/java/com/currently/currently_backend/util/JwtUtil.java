@@ -8,59 +8,179 @@
 package com.currently.currently_backend.util;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.Date;
-import java.util.function.Function;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
 
+/**
+ * Class: JwtUtil
+ * Purpose: Issue tokens and verify bearer tokens. A token is parsed and its signature
+ *          checked once, with one shared parser. Verified tokens are remembered by a
+ *          SHA-256 digest until they expire, so a client repeating its token skips the
+ *          parse and HMAC entirely. The cache holds at most currently.jwt.cache-size
+ *          entries; only verified tokens are stored, so invalid tokens cannot fill it.
+ *          Hits, misses, evictions, size and hit ratio are published as
+ *          currently.jwt.cache.* metrics.
+ *          Tokens carry the user's id in a "uid" claim next to the email subject, so a
+ *          verified token yields the whole AuthenticatedUser principal.
+ */
 @Component
 public class JwtUtil {
 
     // Generate a secure random key once per application
     private static final Key SECRET_KEY = Keys.secretKeyFor(SignatureAlgorithm.HS256);
 
-    // Generate token using username
-    public String generateToken(String username) {
+    private static final String USER_ID_CLAIM = "uid";
+
+    // Parsers are immutable and thread-safe, so one is built for the application
+    private static final JwtParser PARSER = Jwts.parserBuilder().setSigningKey(SECRET_KEY).build();
+
+    // When the cache is full it is cut back to this share of its bound, so the sweep
+    // runs once per many misses rather than on each one
+    private static final double EVICT_TO = 0.9;
+
+    private final int maxEntries;
+    private final Map<TokenKey, Verified> verified = new ConcurrentHashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public JwtUtil(MeterRegistry meterRegistry, @Value("${currently.jwt.cache-size:10000}") int maxEntries) {
+        this.maxEntries = Math.max(0, maxEntries);
+
+        FunctionCounter.builder("currently.jwt.cache.gets", hits, LongAdder::sum)
+                .tag("result", "hit")
+                .description("Bearer tokens accepted from the verified-token cache")
+                .register(meterRegistry);
+        FunctionCounter.builder("currently.jwt.cache.gets", misses, LongAdder::sum)
+                .tag("result", "miss")
+                .description("Bearer tokens parsed and signature-checked")
+                .register(meterRegistry);
+        FunctionCounter.builder("currently.jwt.cache.evictions", evictions, LongAdder::sum)
+                .description("Verified tokens dropped to keep the cache within its bound")
+                .register(meterRegistry);
+        Gauge.builder("currently.jwt.cache.size", verified, Map::size)
+                .register(meterRegistry);
+        Gauge.builder("currently.jwt.cache.hit.ratio", this, JwtUtil::hitRatio)
+                .register(meterRegistry);
+    }
+
+    // Generate token for a user's email and id
+    public String generateToken(String email, Long userId) {
+        return generateToken(email, userId, System.currentTimeMillis() + 1000 * 60 * 60); // 1 hour expiry
+    }
+
+    // Helper: token expiring at the given time (JWT expiry has one-second precision);
+    // a null user id leaves the "uid" claim out
+    String generateToken(String email, Long userId, long expiresAtMillis) {
         return Jwts.builder()
-                .setSubject(username)
+                .setSubject(email)
+                .claim(USER_ID_CLAIM, userId)
                 .setIssuedAt(new Date(System.currentTimeMillis()))
-                .setExpiration(new Date(System.currentTimeMillis() + 1000 * 60 * 60)) // 1 hour expiry
+                .setExpiration(new Date(expiresAtMillis))
                 .signWith(SECRET_KEY, SignatureAlgorithm.HS256)
                 .compact();
     }
 
-    // Extract username from token
-    public String extractUsername(String token) {
-        return extractClaim(token, Claims::getSubject);
-    }
+    // Function: verify
+    // Purpose: Verify a token (signature and expiry) and return the user it was issued to.
+    // Inputs: compact JWT from the Authorization header
+    // Outputs: the user, or null when the token is malformed, forged, expired or has no
+    //          "uid" claim (the key is new per run, so every valid token carries one)
+    public AuthenticatedUser verify(String token) {
+        long now = System.currentTimeMillis();
+        TokenKey key = TokenKey.of(token);
+
+        Verified cached = verified.get(key);
+        if (cached != null) {
+            if (cached.expiresAt > now) {
+                hits.increment();
+                return cached.user;
+            }
+            verified.remove(key, cached);
+        }
 
-    // Generic method to extract specific claim
-    public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = extractAllClaims(token);
-        return claimsResolver.apply(claims);
+        misses.increment();
+        Claims claims;
+        try {
+            claims = PARSER.parseClaimsJws(token).getBody();
+        } catch (JwtException | IllegalArgumentException e) {
+            return null;
+        }
+        Number userId = claims.get(USER_ID_CLAIM, Number.class);
+        if (claims.getSubject() == null || userId == null) {
+            return null;
+        }
+        AuthenticatedUser user = new AuthenticatedUser(userId.longValue(), claims.getSubject());
+        Date expiration = claims.getExpiration();
+        if (expiration != null && maxEntries > 0) {
+            if (verified.size() >= maxEntries) {
+                evict(now);
+            }
+            verified.put(key, new Verified(user, expiration.getTime()));
+        }
+        return user;
     }
 
-    // Validate token (check username and expiry)
-    public boolean validateToken(String token, String username) {
-        return username.equals(extractUsername(token)) && !isTokenExpired(token);
+    // Helper: drop expired tokens, then arbitrary ones until the cache is below its bound
+    private void evict(long now) {
+        int target = (int) (maxEntries * EVICT_TO);
+        Iterator<Verified> values = verified.values().iterator();
+        while (values.hasNext()) {
+            if (values.next().expiresAt <= now) {
+                values.remove();
+                evictions.increment();
+            }
+        }
+        Iterator<TokenKey> keys = verified.keySet().iterator();
+        while (verified.size() > target && keys.hasNext()) {
+            keys.next();
+            keys.remove();
+            evictions.increment();
+        }
     }
 
-    private boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+    private double hitRatio() {
+        long hitCount = hits.sum();
+        long total = hitCount + misses.sum();
+        return total == 0 ? 0.0 : (double) hitCount / total;
     }
 
-    private Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
+    private record Verified(AuthenticatedUser user, long expiresAt) {
     }
 
-    private Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(SECRET_KEY)
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+    /**
+     * The first 128 bits of a token's SHA-256 digest. Keeping the digest rather than the
+     * token means the cache never holds usable credentials.
+     */
+    private record TokenKey(long high, long low) {
+
+        private static TokenKey of(String token) {
+            try {
+                ByteBuffer hash = ByteBuffer.wrap(MessageDigest.getInstance("SHA-256")
+                        .digest(token.getBytes(StandardCharsets.US_ASCII)));
+                return new TokenKey(hash.getLong(), hash.getLong());
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException(e);
+            }
+        }
     }
 }
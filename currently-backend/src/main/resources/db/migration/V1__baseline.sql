@@ -0,0 +1,125 @@
+-- File: V1__baseline.sql
+-- Description: The schema as Hibernate's ddl-auto=update left it before migrations were
+--              introduced. Every statement is "if not exists", so this also runs cleanly
+--              against a database created by an earlier version of the app (Flyway
+--              baselines such databases at version 0, see application.properties).
+
+create table if not exists users (
+    id integer,
+    email varchar(255),
+    name varchar(255),
+    password varchar(255),
+    username varchar(255),
+    primary key (id)
+);
+
+create table if not exists rooms (
+    id integer,
+    floor_label varchar(255) not null,
+    name varchar(255) not null,
+    type varchar(255),
+    user_id bigint not null,
+    primary key (id)
+);
+
+create table if not exists user_appliances (
+    id integer,
+    appliance_name varchar(255) not null,
+    created_at timestamp not null,
+    custom_name varchar(255),
+    hours_per_day float,
+    updated_at timestamp not null,
+    usage_type varchar(255) not null,
+    uses_per_day float,
+    room_id bigint,
+    user_id bigint not null,
+    primary key (id)
+);
+
+create table if not exists tariff_plans (
+    id integer,
+    name varchar(255) not null,
+    standing_charge_per_day float not null,
+    updated_at timestamp not null,
+    user_id bigint not null unique,
+    primary key (id)
+);
+
+create table if not exists tariff_bands (
+    id integer,
+    days_mask integer not null,
+    end_minute integer not null,
+    name varchar(255) not null,
+    position integer not null,
+    price_per_kwh float not null,
+    start_minute integer not null,
+    plan_id bigint not null,
+    primary key (id)
+);
+
+create table if not exists household_aggregates (
+    user_id bigint not null,
+    appliance_count integer not null,
+    benchmark_kwh float,
+    cohort_key integer,
+    daily_kwh float not null,
+    data_version bigint not null,
+    daytime_kwh float not null,
+    evening_kwh float not null,
+    flat_kwh float not null,
+    mealtimes_kwh float not null,
+    morning_evening_kwh float not null,
+    night_kwh float not null,
+    updated_at timestamp not null,
+    primary key (user_id)
+);
+
+create table if not exists room_aggregates (
+    room_id bigint not null,
+    appliance_count integer not null,
+    daily_kwh float not null,
+    daytime_kwh float not null,
+    evening_kwh float not null,
+    flat_kwh float not null,
+    mealtimes_kwh float not null,
+    morning_evening_kwh float not null,
+    night_kwh float not null,
+    user_id bigint not null,
+    primary key (room_id)
+);
+
+create index if not exists idx_room_aggregates_user on room_aggregates (user_id);
+
+create table if not exists history_blocks (
+    month integer not null,
+    user_id bigint not null,
+    data blob not null,
+    primary key (month, user_id)
+);
+
+create table if not exists meter_readings (
+    id integer,
+    cost float,
+    kwh float not null,
+    minutes integer not null,
+    period_start bigint not null,
+    source varchar(8) not null,
+    user_id bigint not null,
+    primary key (id)
+);
+
+-- Conflict key of the reading upsert in MeterReadingService
+create unique index if not exists ux_meter_readings_user_source_start
+    on meter_readings (user_id, source, period_start);
+
+create table if not exists household_calibrations (
+    user_id bigint not null,
+    measured_daily_kwh float not null,
+    measured_days float not null,
+    period_end bigint not null,
+    period_start bigint not null,
+    reading_count bigint not null,
+    source varchar(8) not null,
+    updated_at timestamp not null,
+    primary key (user_id)
+);
@@ -0,0 +1,27 @@
+-- File: V2__access_path_indexes.sql
+-- Description: Indexes for the lookups the repositories run on every request. Each one
+--              leads with the column the query filters on and continues with its sort
+--              key, so SQLite reads the rows in order instead of sorting them.
+--              SchemaIndexTests checks these plans with EXPLAIN QUERY PLAN.
+
+-- UserRepository.findByEmail / findByUsername (every authenticated request, login,
+-- registration checks)
+create unique index if not exists ux_users_email on users (email);
+create unique index if not exists ux_users_username on users (username);
+
+-- UserApplianceRepository list/export queries: where user_id = ? order by created_at
+create index if not exists idx_user_appliances_user_created on user_appliances (user_id, created_at);
+
+-- UserApplianceRepository.unassignRoom when a room is deleted
+create index if not exists idx_user_appliances_room on user_appliances (room_id);
+
+-- RoomRepository list/export queries: where user_id = ? order by floor_label, name;
+-- also the benchmark room and floor counts
+create index if not exists idx_rooms_user_floor_name on rooms (user_id, floor_label, name);
+
+-- TariffPlan.bands, loaded with the plan and ordered by position
+create index if not exists idx_tariff_bands_plan_position on tariff_bands (plan_id, position);
+
+-- HistoryBlockRepository.findRange: where user_id = ? and month between ? and ?
+-- (the primary key leads with month, so it cannot serve one user's range)
+create index if not exists idx_history_blocks_user_month on history_blocks (user_id, month);
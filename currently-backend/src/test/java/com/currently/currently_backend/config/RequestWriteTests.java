@@ -0,0 +1,155 @@
+/*
+ * File: RequestWriteTests.java
+ * Description: Checks that a request which reads and then queues a write completes
+ *              without waiting on the single writer connection.
+ * Author: Liam Connell
+ * Date: 2026-10-17
+ */
+
+package com.currently.currently_backend.config;
+
+import com.currently.currently_backend.repository.RoomRepository;
+import com.currently.currently_backend.service.WriteQueue;
+import com.currently.currently_backend.util.CurrentUser;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.Duration;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTimeout;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+
+/**
+ * Class: RequestWriteTests
+ * Purpose: Drive the full MVC stack (filters and interceptors included) through requests
+ *          that read on the request thread before handing a write to the WriteQueue.
+ *          If the request thread kept its connection for the whole request, as
+ *          open-session-in-view would, the writer would wait on it until the write pool's
+ *          connection timeout; each request must finish well inside that timeout.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class RequestWriteTests {
+
+    private static final Duration WITHIN_WRITER_TIMEOUT = Duration.ofSeconds(3);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${spring.jpa.open-in-view}")
+    private boolean openInView;
+
+    private String token;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        String email = "request-write-" + System.nanoTime() + "@example.com";
+        MvcResult registered = mockMvc.perform(post("/api/auth/register")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"username\":\"" + email + "\",\"email\":\"" + email
+                                + "\",\"password\":\"pw123456\"}"))
+                .andReturn();
+        assertEquals(200, registered.getResponse().getStatus());
+        String body = registered.getResponse().getContentAsString();
+        token = body.substring(body.indexOf("Token: ") + "Token: ".length()).trim();
+    }
+
+    @Test
+    void openSessionInViewIsOff() {
+        assertFalse(openInView);
+    }
+
+    // Room ownership and appliance lookups are read first, then the write is queued
+    @Test
+    void readThenQueuedWriteCompletes() {
+        assertTimeout(WITHIN_WRITER_TIMEOUT, () -> {
+            JsonNode room = send(post("/api/users/me/rooms")
+                    .content("{\"name\":\"Kitchen\",\"floorLabel\":\"Ground\",\"type\":\"kitchen\"}"));
+            JsonNode appliance = send(post("/api/users/me/appliances")
+                    .content("{\"applianceName\":\"Fridge\",\"usageType\":\"continuous\",\"hoursPerDay\":24,"
+                            + "\"roomId\":" + room.get("id").asLong() + "}"));
+            JsonNode updated = send(put("/api/users/me/appliances/" + appliance.get("id").asLong())
+                    .content("{\"hoursPerDay\":12}"));
+            assertEquals(12.0, updated.get("hoursPerDay").asDouble());
+        });
+    }
+
+    // A repository query outside any transaction runs on the writer connection; the
+    // request must give it back before its own write is queued
+    @Test
+    void writerConnectionReadThenQueuedWriteCompletes() {
+        assertTimeout(WITHIN_WRITER_TIMEOUT, () -> {
+            JsonNode written = send(post("/test/read-then-write"));
+            assertEquals(0, written.get("rooms").asInt());
+            assertEquals(1, written.get("written").asInt());
+        });
+    }
+
+    // Helper: send an authenticated JSON request and return the parsed 200 response
+    private JsonNode send(MockHttpServletRequestBuilder request) throws Exception {
+        MvcResult result = mockMvc.perform(request
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andReturn();
+        assertEquals(200, result.getResponse().getStatus(), result.getResponse().getContentAsString());
+        return objectMapper.readTree(result.getResponse().getContentAsString());
+    }
+
+    @TestConfiguration
+    static class ReadThenWrite {
+
+        @Bean
+        ReadThenWriteController readThenWriteController(RoomRepository roomRepository, WriteQueue writeQueue,
+                                                        JdbcTemplate jdbcTemplate) {
+            return new ReadThenWriteController(roomRepository, writeQueue, jdbcTemplate);
+        }
+    }
+
+    /**
+     * A request that reads on the request thread with no transaction, then queues a write.
+     */
+    @RestController
+    static class ReadThenWriteController {
+
+        private final RoomRepository roomRepository;
+        private final WriteQueue writeQueue;
+        private final JdbcTemplate jdbcTemplate;
+
+        ReadThenWriteController(RoomRepository roomRepository, WriteQueue writeQueue, JdbcTemplate jdbcTemplate) {
+            this.roomRepository = roomRepository;
+            this.writeQueue = writeQueue;
+            this.jdbcTemplate = jdbcTemplate;
+        }
+
+        @PostMapping("/test/read-then-write")
+        Map<String, Integer> readThenWrite() {
+            Long userId = CurrentUser.id();
+            int rooms = roomRepository.findResponsesByUserId(userId).size();
+            int written = writeQueue.execute(() -> jdbcTemplate.update(
+                    "update users set name = name where id = ?", userId));
+            return Map.of("rooms", rooms, "written", written);
+        }
+    }
+}
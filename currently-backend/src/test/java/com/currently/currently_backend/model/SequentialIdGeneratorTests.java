@@ -0,0 +1,126 @@
+/*
+ * File: SequentialIdGeneratorTests.java
+ * Description: Checks that SequentialIdGenerator continues from the table's highest id
+ *              and never hands out the same id twice.
+ * Author: Liam Connell
+ * Date: 2026-10-17
+ */
+
+package com.currently.currently_backend.model;
+
+import com.currently.currently_backend.dto.RoomRequest;
+import com.currently.currently_backend.repository.UserRepository;
+import com.currently.currently_backend.service.RoomService;
+import com.currently.currently_backend.service.WriteQueue;
+import com.currently.currently_backend.util.AuthenticatedUser;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Class: SequentialIdGeneratorTests
+ * Purpose: Insert rooms through RoomService in a context of their own, so the room
+ *          generator has not been seeded yet when the test starts. A row placed above
+ *          every stored id beforehand must be where the counter continues from.
+ */
+@SpringBootTest(properties = "currently.test.context=sequential-ids")
+class SequentialIdGeneratorTests {
+
+    private static final int THREADS = 8;
+    private static final int ROOMS_PER_THREAD = 25;
+
+    @Autowired
+    private RoomService roomService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private WriteQueue writeQueue;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    // One method: the seed is read once per generator, so the order of the steps matters
+    @Test
+    void seedsFromMaxIdAndNeverRepeatsAnId() throws Exception {
+        String email = "ids-" + System.nanoTime() + "@example.com";
+        User user = writeQueue.execute(() -> userRepository.save(new User(email, "Ids", email, "unused")));
+        AuthenticatedUser principal = new AuthenticatedUser(user.getId(), email);
+
+        // A row inserted behind the generator's back, above every id handed out so far
+        long planted = writeQueue.execute(() -> {
+            long id = jdbcTemplate.queryForObject("select coalesce(max(id), 0) from rooms", Long.class) + 1000;
+            jdbcTemplate.update("insert into rooms (id, floor_label, name, user_id) values (?, 'Ground', 'Planted', ?)",
+                    id, user.getId());
+            return id;
+        });
+
+        authenticate(principal);
+        assertEquals(planted + 1, roomService.createRoom(room("First")).getId());
+
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<List<Long>>> results = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                results.add(pool.submit(() -> {
+                    authenticate(principal);
+                    List<Long> ids = new ArrayList<>();
+                    for (int i = 0; i < ROOMS_PER_THREAD; i++) {
+                        ids.add(roomService.createRoom(room("Room " + i)).getId());
+                    }
+                    SecurityContextHolder.clearContext();
+                    return ids;
+                }));
+            }
+
+            Set<Long> ids = new HashSet<>();
+            for (Future<List<Long>> result : results) {
+                for (Long id : result.get()) {
+                    assertTrue(ids.add(id), "id " + id + " handed out twice");
+                }
+            }
+            assertEquals(THREADS * ROOMS_PER_THREAD, ids.size());
+            assertEquals(planted + 2, ids.stream().mapToLong(Long::longValue).min().getAsLong());
+            assertEquals(planted + 1 + THREADS * ROOMS_PER_THREAD,
+                    ids.stream().mapToLong(Long::longValue).max().getAsLong());
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertEquals(THREADS * ROOMS_PER_THREAD + 2, jdbcTemplate.queryForObject(
+                "select count(distinct id) from rooms where user_id = ?", Integer.class, user.getId()));
+    }
+
+    private static void authenticate(AuthenticatedUser principal) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, List.of()));
+    }
+
+    private static RoomRequest room(String name) {
+        RoomRequest request = new RoomRequest();
+        request.setName(name);
+        request.setFloorLabel("Ground");
+        return request;
+    }
+}
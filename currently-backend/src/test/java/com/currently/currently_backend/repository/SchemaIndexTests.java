@@ -0,0 +1,152 @@
+/*
+ * File: SchemaIndexTests.java
+ * Description: Checks with EXPLAIN QUERY PLAN that the repository access paths are served
+ *              by the indexes from the Flyway migrations.
+ * Author: Liam Connell
+ * Date: 2026-10-17
+ */
+
+package com.currently.currently_backend.repository;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Class: SchemaIndexTests
+ * Purpose: Run EXPLAIN QUERY PLAN over the SQL of each lookup the repositories and
+ *          services issue per request, against the migrated schema. A plan that scans a
+ *          table, or sorts rows the index should have returned in order, fails the
+ *          build; so does a plan that does not use the index the migration added for it.
+ *          The SQL mirrors the JPQL of the named repository method (same filters, joins
+ *          and sort keys); only the plan is read, so no rows are needed.
+ */
+@SpringBootTest
+class SchemaIndexTests {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // UserRepository.findByEmail, on every authenticated request
+    @Test
+    void userByEmailUsesIndex() {
+        assertIndexed("select id, email, name, password, username from users where email = ?",
+                "ux_users_email", "a@example.com");
+    }
+
+    // UserRepository.findByUsername / existsByUsername
+    @Test
+    void userByUsernameUsesIndex() {
+        assertIndexed("select id from users where username = ?", "ux_users_username", "a");
+    }
+
+    // UserApplianceRepository.findResponsesByUserId / findRowsByUserId
+    @Test
+    void applianceListUsesIndexInOrder() {
+        assertIndexed("select ua.id, ua.appliance_name, ua.custom_name, ua.usage_type, ua.hours_per_day, "
+                        + "ua.uses_per_day, ua.created_at, r.id, r.name "
+                        + "from user_appliances ua left join rooms r on r.id = ua.room_id "
+                        + "where ua.user_id = ? order by ua.created_at asc",
+                "idx_user_appliances_user_created", 1L);
+    }
+
+    // UserApplianceRepository.findExportRowsAfter: seeks past the previous chunk, no sort
+    @Test
+    void applianceExportChunkUsesIndexInOrder() {
+        assertIndexed("select ua.id, ua.appliance_name, ua.custom_name, ua.usage_type, ua.hours_per_day, "
+                        + "ua.uses_per_day, ua.created_at, r.id, r.name "
+                        + "from user_appliances ua left join rooms r on r.id = ua.room_id "
+                        + "where ua.user_id = ? and ua.created_at >= ? and (ua.created_at > ? or ua.id > ?) "
+                        + "order by ua.created_at asc, ua.id asc limit 500",
+                "idx_user_appliances_user_created", 1L, 0L, 0L, 0L);
+    }
+
+    // UserApplianceRepository.unassignRoom
+    @Test
+    void unassignRoomUsesIndex() {
+        assertIndexed("update user_appliances set room_id = null where room_id = ?",
+                "idx_user_appliances_room", 1L);
+    }
+
+    // RoomRepository.findResponsesByUserId
+    @Test
+    void roomListUsesIndexInOrder() {
+        assertIndexed("select r.id, r.name, r.floor_label, r.type from rooms r "
+                        + "where r.user_id = ? order by r.floor_label asc, r.name asc",
+                "idx_rooms_user_floor_name", 1L);
+    }
+
+    // RoomRepository.findExportRowsAfter: seeks past the previous chunk, no sort
+    @Test
+    void roomExportUsesIndexInOrder() {
+        assertIndexed("select r.id, r.name, r.floor_label, r.type, coalesce(a.appliance_count, 0), "
+                        + "coalesce(a.daily_kwh, 0.0) "
+                        + "from rooms r left join room_aggregates a on a.room_id = r.id "
+                        + "where r.user_id = ? and r.floor_label >= ? "
+                        + "and (r.floor_label > ? or r.name > ? or (r.name = ? and r.id > ?)) "
+                        + "order by r.floor_label asc, r.name asc, r.id asc limit 500",
+                "idx_rooms_user_floor_name", 1L, "", "", "", "", 0L);
+    }
+
+    // HouseholdAggregateRepository.findBenchmarkRow room and floor counts
+    @Test
+    void benchmarkRoomCountsUseIndex() {
+        assertIndexed("select count(r.id) from rooms r where r.user_id = ?", "idx_rooms_user_floor_name", 1L);
+        assertIndexed("select count(distinct r.floor_label) from rooms r where r.user_id = ?",
+                "idx_rooms_user_floor_name", 1L);
+    }
+
+    // RoomAggregateRepository.findByUserId / deleteByUserIdInBulk
+    @Test
+    void roomAggregatesByUserUseIndex() {
+        assertIndexed("select room_id, daily_kwh from room_aggregates where user_id = ?",
+                "idx_room_aggregates_user", 1L);
+        assertIndexed("delete from room_aggregates where user_id = ?", "idx_room_aggregates_user", 1L);
+    }
+
+    // TariffPlanRepository.findByUserId, then the plan's bands ordered by position
+    @Test
+    void tariffLookupUsesIndexes() {
+        assertIndexed("select id, name from tariff_plans where user_id = ?", "sqlite_autoindex_tariff_plans_1", 1L);
+        assertIndexed("select id, name, position from tariff_bands where plan_id = ? order by position asc",
+                "idx_tariff_bands_plan_position", 1L);
+    }
+
+    // HistoryBlockRepository.findRange
+    @Test
+    void historyRangeUsesIndexInOrder() {
+        assertIndexed("select month, user_id, data from history_blocks "
+                        + "where user_id = ? and month between ? and ? order by month",
+                "idx_history_blocks_user_month", 1L, 202601, 202612);
+    }
+
+    // MeterReadingService calibration window
+    @Test
+    void calibrationQueriesUseIndex() {
+        assertIndexed("select max(period_start + minutes * 60) from meter_readings where user_id = ? and source = ?",
+                "ux_meter_readings_user_source_start", 1L, "meter");
+        assertIndexed("select count(*), sum(kwh), sum(minutes), min(period_start) from meter_readings "
+                        + "where user_id = ? and source = ? and period_start >= ?",
+                "ux_meter_readings_user_source_start", 1L, "meter", 0L);
+    }
+
+    // Helper: fails unless every table in the plan is searched by key, no rows are sorted
+    // into a temporary b-tree, and the expected index is among those used
+    private void assertIndexed(String sql, String index, Object... args) {
+        List<String> plan = jdbcTemplate.query("explain query plan " + sql,
+                (rs, rowNum) -> rs.getString("detail"), args);
+        String shown = sql + "\n  plan: " + plan;
+        for (String step : plan) {
+            assertFalse(step.startsWith("SCAN "), "Full scan in " + shown);
+            assertFalse(step.contains("TEMP B-TREE FOR ORDER BY"), "Sort without an index in " + shown);
+        }
+        assertTrue(plan.stream().anyMatch(step -> step.startsWith("SEARCH ") && step.contains(" " + index + " ")),
+                "Index " + index + " not used in " + shown);
+    }
+}
@@ -0,0 +1,189 @@
+/*
+ * File: AggregateServiceTests.java
+ * Description: Checks that the aggregates maintained by deltas match a full recompute,
+ *              and that checkAndRepair restores a corrupted aggregate.
+ * Author: Liam Connell
+ * Date: 2026-10-17
+ */
+
+package com.currently.currently_backend.service;
+
+import com.currently.currently_backend.dto.RoomRequest;
+import com.currently.currently_backend.dto.RoomResponse;
+import com.currently.currently_backend.dto.UserApplianceRequest;
+import com.currently.currently_backend.dto.UserApplianceResponse;
+import com.currently.currently_backend.model.HouseholdAggregate;
+import com.currently.currently_backend.model.RoomAggregate;
+import com.currently.currently_backend.model.User;
+import com.currently.currently_backend.repository.RoomAggregateRepository;
+import com.currently.currently_backend.repository.UserRepository;
+import com.currently.currently_backend.util.AuthenticatedUser;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Class: AggregateServiceTests
+ * Purpose: Drive a household through the room and appliance services (every write path
+ *          that applies a delta) and after each step compare the stored household and
+ *          room rows with totals summed from the appliance list, which prices each
+ *          appliance from scratch. checkAndRepair must find nothing to repair.
+ */
+@SpringBootTest
+class AggregateServiceTests {
+
+    private static final double TOLERANCE = 1e-6;
+
+    @Autowired
+    private AggregateService aggregateService;
+
+    @Autowired
+    private RoomService roomService;
+
+    @Autowired
+    private UserApplianceService userApplianceService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RoomAggregateRepository roomAggregateRepository;
+
+    @Autowired
+    private WriteQueue writeQueue;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Long userId;
+
+    @BeforeEach
+    void setUp() {
+        String email = "aggregates-" + System.nanoTime() + "@example.com";
+        User user = writeQueue.execute(() -> userRepository.save(new User(email, "Aggregates", email, "unused")));
+        userId = user.getId();
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(new AuthenticatedUser(userId, email), null, List.of()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void deltasMatchARecompute() {
+        RoomResponse kitchen = roomService.createRoom(room("Kitchen"));
+        RoomResponse bedroom = roomService.createRoom(room("Bedroom"));
+        assertMatchesRecompute();
+
+        UserApplianceResponse fridge = userApplianceService.createUserAppliance(
+                appliance("Fridge", "continuous", 24.0, null, kitchen.getId()));
+        UserApplianceResponse kettle = userApplianceService.createUserAppliance(
+                appliance("Electric Kettle", "perUse", null, 4.0, kitchen.getId()));
+        assertMatchesRecompute();
+
+        // Bulk insert: one delta per room for the whole batch
+        List<UserApplianceResponse> added = userApplianceService.createUserAppliances(List.of(
+                appliance("LED Lamp", "continuous", 5.0, null, bedroom.getId()),
+                appliance("Electric Blanket", "continuous", 2.5, null, bedroom.getId()),
+                appliance("WiFi Router", "continuous", 24.0, null, null)));
+        assertMatchesRecompute();
+
+        userApplianceService.updateUserAppliance(fridge.getId(), appliance(null, null, 12.0, null, null));
+        userApplianceService.updateUserAppliance(kettle.getId(), appliance(null, null, null, 7.0, bedroom.getId()));
+        assertMatchesRecompute();
+
+        userApplianceService.deleteUserAppliance(added.get(0).getId());
+        assertMatchesRecompute();
+
+        // The room's appliances move to "no room": the household total is unchanged
+        double before = aggregateService.getHouseholdAggregate(userId).getDailyKWh();
+        roomService.deleteRoom(bedroom.getId());
+        assertMatchesRecompute();
+        assertEquals(before, aggregateService.getHouseholdAggregate(userId).getDailyKWh(), TOLERANCE);
+    }
+
+    @Test
+    void checkAndRepairFixesACorruptedAggregate() {
+        RoomResponse kitchen = roomService.createRoom(room("Kitchen"));
+        userApplianceService.createUserAppliance(appliance("Fridge", "continuous", 24.0, null, kitchen.getId()));
+        userApplianceService.createUserAppliance(appliance("Microwave", "perUse", null, 2.0, null));
+        assertMatchesRecompute();
+
+        writeQueue.run(() -> {
+            jdbcTemplate.update("update household_aggregates set appliance_count = 99, daily_kwh = daily_kwh + 5 "
+                    + "where user_id = ?", userId);
+            jdbcTemplate.update("update room_aggregates set daily_kwh = 0 where room_id = ?", kitchen.getId());
+        });
+
+        assertTrue(aggregateService.checkAndRepair(userId));
+        assertMatchesRecompute();
+    }
+
+    // Helper: stored rows against totals summed from freshly priced appliances, and the
+    // service's own drift check
+    private void assertMatchesRecompute() {
+        List<UserApplianceResponse> appliances = userApplianceService.getUserAppliances();
+        double kWh = 0;
+        Map<Long, double[]> rooms = new HashMap<>();
+        for (UserApplianceResponse appliance : appliances) {
+            kWh += appliance.getDailyKWh();
+            if (appliance.getRoomId() != null) {
+                double[] room = rooms.computeIfAbsent(appliance.getRoomId(), id -> new double[2]);
+                room[0]++;
+                room[1] += appliance.getDailyKWh();
+            }
+        }
+
+        HouseholdAggregate household = aggregateService.getHouseholdAggregate(userId);
+        assertEquals(appliances.size(), household.getApplianceCount());
+        assertEquals(kWh, household.getDailyKWh(), TOLERANCE);
+        double byProfile = 0;
+        for (double value : household.getEnergy().toArray()) {
+            byProfile += value;
+        }
+        assertEquals(kWh, byProfile, TOLERANCE);
+
+        for (RoomAggregate room : roomAggregateRepository.findByUserId(userId)) {
+            double[] expected = rooms.getOrDefault(room.getRoomId(), new double[2]);
+            assertEquals((int) expected[0], room.getApplianceCount(), "room " + room.getRoomId());
+            assertEquals(expected[1], room.getDailyKWh(), TOLERANCE, "room " + room.getRoomId());
+            rooms.remove(room.getRoomId());
+        }
+        assertEquals(Map.of(), rooms, "rooms without an aggregate row");
+
+        assertFalse(aggregateService.checkAndRepair(userId));
+    }
+
+    private static RoomRequest room(String name) {
+        RoomRequest request = new RoomRequest();
+        request.setName(name);
+        request.setFloorLabel("Ground");
+        return request;
+    }
+
+    private static UserApplianceRequest appliance(String name, String usageType, Double hours, Double uses,
+                                                  Long roomId) {
+        UserApplianceRequest request = new UserApplianceRequest();
+        request.setApplianceName(name);
+        request.setUsageType(usageType);
+        request.setHoursPerDay(hours);
+        request.setUsesPerDay(uses);
+        request.setRoomId(roomId);
+        return request;
+    }
+}
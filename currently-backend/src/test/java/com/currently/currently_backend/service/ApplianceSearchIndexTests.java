@@ -0,0 +1,131 @@
+/*
+ * File: ApplianceSearchIndexTests.java
+ * Description: Checks ApplianceSearchIndex ranking, short queries, text folding, the
+ *              result limit and its scratch pool under concurrent searches.
+ * Author: Liam Connell
+ * Date: 2026-10-17
+ */
+
+package com.currently.currently_backend.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Class: ApplianceSearchIndexTests
+ * Purpose: Search a small fixed catalogue and compare the returned row numbers. Rows
+ *          are indexed in the order below; categories are 0 (kitchen) and 1 (other).
+ */
+class ApplianceSearchIndexTests {
+
+    private static final List<String> TEXTS = List.of(
+            "Electric Kettle",    // 0
+            "Kettle",             // 1
+            "Electric Oven",      // 2
+            "Microwave",          // 3
+            "Electric Blanket",   // 4
+            "Kettle Descaler",    // 5
+            "Electric Shower");   // 6
+    private static final int[] CATEGORIES = {0, 0, 0, 0, 1, 1, 1};
+
+    private final ApplianceSearchIndex index = ApplianceSearchIndex.build(TEXTS, CATEGORIES);
+
+    // Exact name, then name prefix, then a later word starting with the query
+    @Test
+    void ranksExactThenNamePrefixThenWordPrefix() {
+        assertArrayEquals(new int[]{1, 5, 0}, index.search("kettle", ApplianceSearchIndex.ANY_CATEGORY, 10));
+    }
+
+    @Test
+    void findsMisspelledNames() {
+        int[] rows = index.search("kettel", ApplianceSearchIndex.ANY_CATEGORY, 10);
+        assertTrue(rows.length > 0);
+        assertTrue(rows[0] == 0 || rows[0] == 1, "a kettle first");
+        assertEquals(0, index.search("zzzzzz", ApplianceSearchIndex.ANY_CATEGORY, 10).length);
+    }
+
+    // One or two characters have too few trigrams to match fuzzily, so only word
+    // prefixes count. Among those the shorter name scores higher, and names of equal
+    // length (rows 0 and 6) keep catalogue order
+    @Test
+    void shortQueriesMatchWordPrefixes() {
+        assertArrayEquals(new int[]{3}, index.search("m", ApplianceSearchIndex.ANY_CATEGORY, 10));
+        assertArrayEquals(new int[]{2, 0, 6, 4}, index.search("el", ApplianceSearchIndex.ANY_CATEGORY, 10));
+        assertArrayEquals(new int[]{6}, index.search("sh", ApplianceSearchIndex.ANY_CATEGORY, 10));
+        assertEquals(0, index.search("q", ApplianceSearchIndex.ANY_CATEGORY, 10).length);
+        assertEquals(0, index.search("", ApplianceSearchIndex.ANY_CATEGORY, 10).length);
+        assertEquals(0, index.search(" - ", ApplianceSearchIndex.ANY_CATEGORY, 10).length);
+    }
+
+    @Test
+    void foldsCaseAndPunctuation() {
+        assertEquals("electric kettle 2", ApplianceSearchIndex.normalize("  ELECTRIC--Kettle (2)!"));
+        int[] expected = index.search("electric kettle", ApplianceSearchIndex.ANY_CATEGORY, 10);
+        assertArrayEquals(expected, index.search("ELECTRIC, kettle", ApplianceSearchIndex.ANY_CATEGORY, 10));
+        assertArrayEquals(expected, index.search("electric...Kettle  ", ApplianceSearchIndex.ANY_CATEGORY, 10));
+        assertEquals(0, expected[0]);
+    }
+
+    // The limit keeps the best rows, in the same order as an unlimited search
+    @Test
+    void limitKeepsTheBestRows() {
+        int[] all = index.search("electric", ApplianceSearchIndex.ANY_CATEGORY, 10);
+        assertEquals(4, all.length);
+        for (int limit = 1; limit <= all.length; limit++) {
+            int[] top = index.search("electric", ApplianceSearchIndex.ANY_CATEGORY, limit);
+            assertArrayEquals(Arrays.copyOf(all, limit), top, "limit " + limit);
+        }
+        assertEquals(0, index.search("electric", ApplianceSearchIndex.ANY_CATEGORY, 0).length);
+    }
+
+    @Test
+    void filtersByCategory() {
+        assertArrayEquals(new int[]{2, 0}, index.search("electric", 0, 10));
+        assertArrayEquals(new int[]{6, 4}, index.search("electric", 1, 10));
+    }
+
+    // Many more threads than pooled scratches: each search must still start from a
+    // clean scratch and return what it returns when run alone
+    @Test
+    void concurrentSearchesShareTheScratchPool() throws Exception {
+        String[] queries = {"kettle", "el", "kettel", "microwave", "shower", "electric b"};
+        List<int[]> expected = new ArrayList<>();
+        for (String query : queries) {
+            expected.add(index.search(query, ApplianceSearchIndex.ANY_CATEGORY, 10));
+        }
+
+        int threads = Runtime.getRuntime().availableProcessors() * 4;
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            List<Callable<Void>> tasks = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                int offset = t;
+                tasks.add(() -> {
+                    for (int i = 0; i < 500; i++) {
+                        int q = (offset + i) % queries.length;
+                        assertArrayEquals(expected.get(q),
+                                index.search(queries[q], ApplianceSearchIndex.ANY_CATEGORY, 10), queries[q]);
+                    }
+                    return null;
+                });
+            }
+            for (Future<Void> result : pool.invokeAll(tasks, 30, TimeUnit.SECONDS)) {
+                result.get();
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+}
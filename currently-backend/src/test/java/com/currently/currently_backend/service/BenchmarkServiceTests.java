@@ -0,0 +1,157 @@
+/*
+ * File: BenchmarkServiceTests.java
+ * Description: Checks that a benchmark rebuild running alongside household writes
+ *              neither loses nor double-counts a household.
+ * Author: Liam Connell
+ * Date: 2026-10-17
+ */
+
+package com.currently.currently_backend.service;
+
+import com.currently.currently_backend.dto.RoomRequest;
+import com.currently.currently_backend.dto.UserApplianceRequest;
+import com.currently.currently_backend.dto.UserApplianceResponse;
+import com.currently.currently_backend.model.User;
+import com.currently.currently_backend.repository.UserRepository;
+import com.currently.currently_backend.util.AuthenticatedUser;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Class: BenchmarkServiceTests
+ * Purpose: Rebuild in two-household pages on another thread while households gain,
+ *          change and lose appliances and rooms, so moves commit between pages. Once
+ *          both stop, the live histograms must equal a quiet recount and hold one count
+ *          per household with a cohort.
+ */
+@SpringBootTest(properties = "currently.benchmark.page-size=2")
+class BenchmarkServiceTests {
+
+    private static final int HOUSEHOLDS = 8;
+
+    @Autowired
+    private BenchmarkService benchmarkService;
+
+    @Autowired
+    private RoomService roomService;
+
+    @Autowired
+    private UserApplianceService userApplianceService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private WriteQueue writeQueue;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void rebuildWithMovesInBetweenLosesNothing() throws Exception {
+        List<AuthenticatedUser> users = new ArrayList<>();
+        List<List<Long>> appliances = new ArrayList<>();
+        for (int i = 0; i < HOUSEHOLDS; i++) {
+            String email = "benchmark-" + i + "-" + System.nanoTime() + "@example.com";
+            User user = writeQueue.execute(() -> userRepository.save(new User(email, "Benchmark", email, "unused")));
+            users.add(new AuthenticatedUser(user.getId(), email));
+            appliances.add(new ArrayList<>());
+        }
+
+        AtomicBoolean writing = new AtomicBoolean(true);
+        CompletableFuture<Integer> rebuilds = CompletableFuture.supplyAsync(() -> {
+            int rebuilt = 0;
+            while (writing.get()) {
+                benchmarkService.rebuild();
+                rebuilt++;
+            }
+            return rebuilt;
+        });
+
+        for (int round = 0; round < 6; round++) {
+            for (int i = 0; i < HOUSEHOLDS; i++) {
+                actAs(users.get(i));
+                List<Long> owned = appliances.get(i);
+                switch ((round + i) % 4) {
+                    case 0 -> owned.add(add("Fridge", "continuous", 24.0, null));
+                    case 1 -> owned.add(add("Electric Kettle", "perUse", null, 2.0 + round));
+                    case 2 -> roomService.createRoom(room("Room " + round, round % 3 == 0 ? "First" : "Ground"));
+                    default -> {
+                        if (!owned.isEmpty()) {
+                            userApplianceService.deleteUserAppliance(owned.remove(0));
+                        }
+                    }
+                }
+            }
+        }
+        writing.set(false);
+        assertTrue(rebuilds.get(60, TimeUnit.SECONDS) > 0);
+
+        long[][] live = snapshot();
+        benchmarkService.rebuild();
+        long[][] recounted = snapshot();
+
+        long total = 0;
+        for (int cohort = 0; cohort < BenchmarkService.COHORTS; cohort++) {
+            for (int b = 0; b < LogHistogram.BUCKETS; b++) {
+                assertEquals(recounted[cohort][b], live[cohort][b], "cohort " + cohort + " bucket " + b);
+                total += live[cohort][b];
+            }
+        }
+        Long households = jdbcTemplate.queryForObject(
+                "select count(*) from household_aggregates where cohort_key is not null", Long.class);
+        assertEquals(households, total);
+    }
+
+    private long[][] snapshot() {
+        long[][] counts = new long[BenchmarkService.COHORTS][LogHistogram.BUCKETS];
+        for (int cohort = 0; cohort < counts.length; cohort++) {
+            LogHistogram histogram = benchmarkService.histogram(cohort);
+            for (int b = 0; b < LogHistogram.BUCKETS; b++) {
+                counts[cohort][b] = histogram.count(b);
+            }
+        }
+        return counts;
+    }
+
+    private Long add(String name, String usageType, Double hours, Double uses) {
+        UserApplianceRequest request = new UserApplianceRequest();
+        request.setApplianceName(name);
+        request.setUsageType(usageType);
+        request.setHoursPerDay(hours);
+        request.setUsesPerDay(uses);
+        UserApplianceResponse response = userApplianceService.createUserAppliance(request);
+        return response.getId();
+    }
+
+    private static RoomRequest room(String name, String floor) {
+        RoomRequest request = new RoomRequest();
+        request.setName(name);
+        request.setFloorLabel(floor);
+        return request;
+    }
+
+    private static void actAs(AuthenticatedUser user) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(user, null, List.of()));
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * File: BillEstimatorTests.java
+ * Description: Checks BillEstimator's repeatability, percentile order and room sample cap.
+ * Author: Liam Connell
+ * Date: 2026-10-17
+ */
+
+package com.currently.currently_backend.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Class: BillEstimatorTests
+ * Purpose: Estimate a four-appliance, two-room household. Sample counts span several
+ *          parallel chunks so the per-chunk random streams are exercised.
+ */
+class BillEstimatorTests {
+
+    private static final double[] KWH = {3.6, 0.44, 0.4, 2.0};
+    private static final double[] COST = {1.08, 0.132, 0.12, 0.6};
+    private static final int[] ROOM_OF = {0, 0, 1, 1};
+    private static final double[] PERCENTILES = {0, 10, 50, 90, 100};
+
+    @Test
+    void sameSeedGivesTheSamePercentiles() {
+        BillEstimator estimator = new BillEstimator(0.25, 0.35, 1_000_000);
+        BillEstimator.Samples first = estimator.estimate(KWH, COST, KWH.length, ROOM_OF, 2, 10_000, 42L);
+        BillEstimator.Samples second = estimator.estimate(KWH, COST, KWH.length, ROOM_OF, 2, 10_000, 42L);
+        BillEstimator.Samples other = estimator.estimate(KWH, COST, KWH.length, ROOM_OF, 2, 10_000, 43L);
+
+        for (double p : PERCENTILES) {
+            assertEquals(first.kWh(p), second.kWh(p), 0.0);
+            assertEquals(first.cost(p), second.cost(p), 0.0);
+            for (int room = 0; room < 2; room++) {
+                assertEquals(first.roomKWh(room, p), second.roomKWh(room, p), 0.0);
+                assertEquals(first.roomCost(room, p), second.roomCost(room, p), 0.0);
+            }
+        }
+        assertNotEquals(first.kWh(50), other.kWh(50));
+    }
+
+    @Test
+    void percentilesAreOrdered() {
+        BillEstimator.Samples samples = new BillEstimator(0.25, 0.35, 1_000_000)
+                .estimate(KWH, COST, KWH.length, ROOM_OF, 2, 10_000, 7L);
+
+        assertTrue(samples.kWh(10) <= samples.kWh(50) && samples.kWh(50) <= samples.kWh(90));
+        assertTrue(samples.cost(10) <= samples.cost(50) && samples.cost(50) <= samples.cost(90));
+        assertTrue(samples.kWh(10) < samples.kWh(90), "spread with non-zero sigma");
+        for (int room = 0; room < 2; room++) {
+            assertTrue(samples.roomKWh(room, 10) <= samples.roomKWh(room, 50));
+            assertTrue(samples.roomKWh(room, 50) <= samples.roomKWh(room, 90));
+        }
+        // The factors have median 1, so the median is near the point estimate
+        assertEquals(6.44, samples.kWh(50), 0.5);
+    }
+
+    // With no uncertainty every sample equals the point estimate
+    @Test
+    void zeroSigmaGivesThePointEstimate() {
+        BillEstimator.Samples samples = new BillEstimator(0.0, 0.0, 1_000_000)
+                .estimate(KWH, COST, KWH.length, ROOM_OF, 2, 5_000, 1L);
+
+        for (double p : PERCENTILES) {
+            assertEquals(6.44, samples.kWh(p), 1e-9);
+            assertEquals(1.932, samples.cost(p), 1e-9);
+            assertEquals(4.04, samples.roomKWh(0, p), 1e-9);
+            assertEquals(2.4, samples.roomKWh(1, p), 1e-9);
+        }
+    }
+
+    // max-room-values is shared between rooms; household totals still use every sample
+    @Test
+    void roomSeriesAreTruncatedToMaxRoomValuesPerRoom() {
+        int[] fourRooms = {0, 1, 2, 3};
+        BillEstimator estimator = new BillEstimator(0.0, 0.0, 100);
+
+        BillEstimator.Samples samples = estimator.estimate(KWH, COST, KWH.length, fourRooms, 4, 5_000, 1L);
+
+        assertEquals(5_000, samples.getCount());
+        assertEquals(25, samples.getRoomSamples());
+        for (int room = 0; room < 4; room++) {
+            // The minimum kept value is filled in, so no kept slot was left at 0
+            assertEquals(KWH[room], samples.roomKWh(room, 0), 1e-9);
+            assertEquals(COST[room], samples.roomCost(room, 100), 1e-9);
+        }
+        assertEquals(6.44, samples.kWh(0), 1e-9);
+
+        // Never more per room than there are samples, never fewer than one
+        assertEquals(10, estimator.estimate(KWH, COST, KWH.length, fourRooms, 4, 10, 1L).getRoomSamples());
+        assertEquals(1, new BillEstimator(0.0, 0.0, 2)
+                .estimate(KWH, COST, KWH.length, fourRooms, 4, 10, 1L).getRoomSamples());
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * File: CaseInsensitiveIndexTests.java
+ * Description: Checks CaseInsensitiveIndex lookups, hash collisions, table sizing and
+ *              missing keys.
+ * Author: Liam Connell
+ * Date: 2026-10-17
+ */
+
+package com.currently.currently_backend.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Class: CaseInsensitiveIndexTests
+ * Purpose: Build indexes from key lists and look keys up in the spellings callers use.
+ */
+class CaseInsensitiveIndexTests {
+
+    @Test
+    void lookupsDifferingOnlyInCaseOrPadding() {
+        CaseInsensitiveIndex index = CaseInsensitiveIndex.of(List.of("Fridge", "Electric Kettle", "TV"));
+
+        assertEquals(0, index.get("fridge"));
+        assertEquals(0, index.get("FRIDGE"));
+        assertEquals(0, index.get("  fRiDgE\t"));
+        assertEquals(1, index.get("electric KETTLE"));
+        assertEquals(2, index.get("tv"));
+        assertEquals(3, index.size());
+    }
+
+    // The first spelling wins; later case-insensitive duplicates, nulls and blanks are
+    // skipped but keep their position in the id numbering
+    @Test
+    void firstRegistrationWins() {
+        CaseInsensitiveIndex index = CaseInsensitiveIndex.of(Arrays.asList("Oven", null, "  ", "OVEN", "Toaster"));
+
+        assertEquals(0, index.get("oven"));
+        assertEquals(4, index.get("toaster"));
+        assertEquals(2, index.size());
+    }
+
+    @Test
+    void missingKeys() {
+        CaseInsensitiveIndex index = CaseInsensitiveIndex.of(List.of("Fridge", "Freezer"));
+
+        assertEquals(CaseInsensitiveIndex.MISSING, index.get("Fridges"));
+        assertEquals(CaseInsensitiveIndex.MISSING, index.get("Fridg"));
+        assertEquals(CaseInsensitiveIndex.MISSING, index.get("Fri dge"));
+        assertEquals(CaseInsensitiveIndex.MISSING, index.get(""));
+        assertEquals(CaseInsensitiveIndex.MISSING, index.get("   "));
+        assertEquals(CaseInsensitiveIndex.MISSING, index.get(null));
+        assertEquals(CaseInsensitiveIndex.MISSING, CaseInsensitiveIndex.of(List.of()).get("Fridge"));
+    }
+
+    // "1z" and "2[" hash the same (31 * '1' + 'z' == 31 * '2' + '['), so every string
+    // built from those blocks lands in one probe chain
+    @Test
+    void collidingKeysAreAllFound() {
+        List<String> keys = new ArrayList<>();
+        for (int bits = 0; bits < 64; bits++) {
+            StringBuilder key = new StringBuilder();
+            for (int i = 0; i < 6; i++) {
+                key.append((bits >> i & 1) == 0 ? "1Z" : "2[");
+            }
+            keys.add(key.toString());
+        }
+        CaseInsensitiveIndex index = CaseInsensitiveIndex.of(keys);
+
+        assertEquals(64, index.size());
+        for (int id = 0; id < keys.size(); id++) {
+            assertEquals(id, index.get(keys.get(id).toLowerCase()));
+        }
+        assertEquals(CaseInsensitiveIndex.MISSING, index.get("1z1z1z1z1z"));
+        assertEquals(CaseInsensitiveIndex.MISSING, index.get("1z1z1z1z1z1z1z"));
+    }
+
+    // The table is a power of two at least twice the key count, whatever the count, so
+    // a miss always reaches an empty slot
+    @Test
+    void tableStaysAtMostHalfFull() {
+        for (int count = 0; count <= 300; count++) {
+            List<String> keys = new ArrayList<>();
+            for (int i = 0; i < count; i++) {
+                keys.add("Appliance " + i);
+            }
+            CaseInsensitiveIndex index = CaseInsensitiveIndex.of(keys);
+
+            int capacity = index.capacity();
+            assertEquals(0, capacity & (capacity - 1), "power of two for " + count);
+            assertTrue(capacity >= 2 * count, "load factor for " + count);
+            for (int i = 0; i < count; i++) {
+                assertEquals(i, index.get("APPLIANCE " + i));
+            }
+            assertEquals(CaseInsensitiveIndex.MISSING, index.get("Appliance " + count));
+        }
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * File: ColumnarCatalogueReaderTests.java
+ * Description: Checks that a JSON catalogue read into columnar storage gives the same
+ *              rows as the same file loaded as Appliance objects.
+ * Author: Liam Connell
+ * Date: 2026-10-17
+ */
+
+package com.currently.currently_backend.service;
+
+import com.currently.currently_backend.model.Appliance;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Class: ColumnarCatalogueReaderTests
+ * Purpose: Load one file both ways (object mode is how ApplianceService reads the
+ *          bundled catalogue) and compare every accessor row by row.
+ */
+class ColumnarCatalogueReaderTests {
+
+    private static final TypeReference<List<Appliance>> APPLIANCE_LIST = new TypeReference<>() {};
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void bundledCatalogueReadsTheSameBothWays() throws IOException {
+        Path file = directory.resolve("appliances.json");
+        try (InputStream in = getClass().getResourceAsStream("/appliances/appliances.json")) {
+            Files.copy(in, file);
+        }
+
+        assertSameRows(file);
+    }
+
+    // SKU fields, explicit nulls, missing fields and repeated dictionary values
+    @Test
+    void skuRowsReadTheSameBothWays() throws IOException {
+        Path file = directory.resolve("sku.json");
+        Files.writeString(file, """
+                [
+                  {"name": "Fridge A1", "category": "Kitchen", "usageType": "continuous",
+                   "averageWatts": 120, "defaultHoursPerDay": 24,
+                   "brand": "Acme", "model": "A1", "energyLabel": "C"},
+                  {"name": "Kettle K2", "category": "Kitchen", "usageType": "perUse",
+                   "averageWattsPerUse": 110, "defaultUsesPerDay": 4,
+                   "brand": "Acme", "model": null, "energyLabel": null},
+                  {"name": "Lamp", "category": "Living Room", "usageType": "continuous",
+                   "averageWatts": 9, "defaultHoursPerDay": 5, "model": "L-9"},
+                  {"name": "Dryer D", "category": "Utility", "usageType": "perUse",
+                   "averageWattsPerUse": 2400, "defaultUsesPerDay": 1, "brand": "Dryco", "energyLabel": "C"}
+                ]
+                """);
+
+        ApplianceRows columnar = assertSameRows(file);
+        assertEquals(4, columnar.size());
+        assertEquals("Fridge A1 Acme A1", columnar.searchText(0));
+    }
+
+    // Helper: every accessor of every row matches; returns the columnar rows
+    private ApplianceRows assertSameRows(Path file) throws IOException {
+        ApplianceRows objects;
+        try (InputStream in = Files.newInputStream(file)) {
+            objects = ApplianceRows.of(new ObjectMapper().readValue(in, APPLIANCE_LIST));
+        }
+        ColumnarApplianceStore.Builder builder = new ColumnarApplianceStore.Builder();
+        ColumnarCatalogueReader.read(file, builder);
+        ApplianceRows columnar = builder.build();
+
+        assertEquals(objects.size(), columnar.size());
+        for (int row = 0; row < objects.size(); row++) {
+            Appliance expected = objects.get(row);
+            Appliance actual = columnar.get(row);
+            String at = "row " + row;
+            assertEquals(expected.getName(), actual.getName(), at);
+            assertEquals(expected.getCategory(), actual.getCategory(), at);
+            assertEquals(expected.getUsageType(), actual.getUsageType(), at);
+            assertEquals(expected.getAverageWatts(), actual.getAverageWatts(), at);
+            assertEquals(expected.getDefaultHoursPerDay(), actual.getDefaultHoursPerDay(), at);
+            assertEquals(expected.getAverageWattsPerUse(), actual.getAverageWattsPerUse(), at);
+            assertEquals(expected.getDefaultUsesPerDay(), actual.getDefaultUsesPerDay(), at);
+            assertEquals(expected.getBrand(), actual.getBrand(), at);
+            assertEquals(expected.getModel(), actual.getModel(), at);
+            assertEquals(expected.getEnergyLabel(), actual.getEnergyLabel(), at);
+            assertEquals(objects.name(row), columnar.name(row), at);
+            assertEquals(objects.category(row), columnar.category(row), at);
+            assertEquals(objects.usageType(row), columnar.usageType(row), at);
+            assertEquals(objects.searchText(row), columnar.searchText(row), at);
+        }
+        return columnar;
+    }
+}
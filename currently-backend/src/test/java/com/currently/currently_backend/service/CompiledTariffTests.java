@@ -0,0 +1,117 @@
+/*
+ * File: CompiledTariffTests.java
+ * Description: Checks how CompiledTariff lays bands onto the week and the effective
+ *              price it derives for each time-of-use profile.
+ * Author: Liam Connell
+ * Date: 2026-10-17
+ */
+
+package com.currently.currently_backend.service;
+
+import com.currently.currently_backend.model.TariffBand;
+import com.currently.currently_backend.model.TimeOfUseProfile;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Class: CompiledTariffTests
+ * Purpose: Compile small plans and read prices back by day (0 = Monday) and half-hour
+ *          slot (0 = 00:00-00:30).
+ */
+class CompiledTariffTests {
+
+    private static final double DEFAULT_RATE = 0.30;
+    private static final double DAY = 0.40;
+    private static final double NIGHT = 0.20;
+    private static final int WEEKDAYS = 0b0011111;
+    private static final int WEEKEND = 0b1100000;
+
+    private static final List<TariffBand> DAY_NIGHT = List.of(
+            new TariffBand("day", TariffBand.ALL_DAYS, 8 * 60, 23 * 60, DAY),
+            new TariffBand("night", TariffBand.ALL_DAYS, 23 * 60, 8 * 60, NIGHT));
+
+    @Test
+    void overnightBandWrapsPastMidnight() {
+        CompiledTariff tariff = CompiledTariff.compile(0.0, DAY_NIGHT, DEFAULT_RATE);
+
+        assertEquals(DAY, tariff.price(0, 45), 0.0);   // 22:30
+        assertEquals(NIGHT, tariff.price(0, 46), 0.0); // 23:00
+        assertEquals(NIGHT, tariff.price(1, 0), 0.0);
+        assertEquals(NIGHT, tariff.price(1, 15), 0.0); // 07:30
+        assertEquals(DAY, tariff.price(1, 16), 0.0);   // 08:00
+        assertEquals(NIGHT, tariff.getCheapestPrice(), 0.0);
+    }
+
+    // A band on Friday night runs into Saturday morning, and Sunday night into Monday
+    @Test
+    void overnightBandRunsIntoTheNextDay() {
+        CompiledTariff tariff = CompiledTariff.compile(0.0, List.of(
+                new TariffBand("friday night", 1 << 4, 22 * 60, 2 * 60, NIGHT),
+                new TariffBand("sunday night", 1 << 6, 22 * 60, 2 * 60, NIGHT)), DEFAULT_RATE);
+
+        assertEquals(NIGHT, tariff.price(4, 44), 0.0);
+        assertEquals(NIGHT, tariff.price(5, 3), 0.0);  // Saturday 01:30
+        assertEquals(DEFAULT_RATE, tariff.price(5, 4), 0.0);
+        assertEquals(DEFAULT_RATE, tariff.price(4, 3), 0.0); // Friday early morning
+        assertEquals(NIGHT, tariff.price(0, 0), 0.0);  // Monday 00:00
+        assertEquals(DEFAULT_RATE, tariff.price(5, 44), 0.0);
+    }
+
+    @Test
+    void weekdayAndWeekendBands() {
+        CompiledTariff tariff = CompiledTariff.compile(0.0, List.of(
+                new TariffBand("weekday", WEEKDAYS, 0, 0, DAY),
+                new TariffBand("weekend", WEEKEND, 0, 0, NIGHT),
+                // Later bands win: a weekday peak over the weekday rate
+                new TariffBand("peak", WEEKDAYS, 17 * 60, 19 * 60, 0.50)), DEFAULT_RATE);
+
+        assertEquals(DAY, tariff.price(4, 20), 0.0);
+        assertEquals(0.50, tariff.price(4, 34), 0.0);
+        assertEquals(DAY, tariff.price(4, 38), 0.0);
+        assertEquals(NIGHT, tariff.price(5, 34), 0.0);
+        assertEquals(NIGHT, tariff.price(6, 20), 0.0);
+    }
+
+    @Test
+    void gapsFallBackToTheDefaultRate() {
+        CompiledTariff tariff = CompiledTariff.compile(0.25,
+                List.of(new TariffBand("night", TariffBand.ALL_DAYS, 23 * 60, 8 * 60, NIGHT)), DEFAULT_RATE);
+
+        assertEquals(NIGHT, tariff.price(2, 0), 0.0);
+        assertEquals(DEFAULT_RATE, tariff.price(2, 20), 0.0);
+        assertEquals(0.25, tariff.getStandingChargePerDay(), 0.0);
+        assertEquals(CompiledTariff.flat(DEFAULT_RATE), CompiledTariff.compile(0.0, List.of(), DEFAULT_RATE));
+    }
+
+    // Day rate 08:00-23:00 (30 slots), night rate for the other 18
+    @Test
+    void effectivePricePerProfile() {
+        CompiledTariff tariff = CompiledTariff.compile(0.0, DAY_NIGHT, DEFAULT_RATE);
+
+        assertEquals((30 * DAY + 18 * NIGHT) / 48, effective(tariff, TimeOfUseProfile.FLAT), 1e-12);
+        // NIGHT weights: 22:00-24:00 x3 (the first hour at the day rate), 00:00-07:00 x2
+        assertEquals((6 * DAY + 34 * NIGHT) / 40, effective(tariff, TimeOfUseProfile.NIGHT), 1e-12);
+
+        for (TimeOfUseProfile profile : TimeOfUseProfile.values()) {
+            double expected = 0.0;
+            for (int slot = 0; slot < CompiledTariff.SLOTS_PER_DAY; slot++) {
+                expected += profile.weight(slot) * tariff.price(3, slot);
+            }
+            assertEquals(expected, effective(tariff, profile), 1e-12, profile.name());
+            assertEquals(DEFAULT_RATE, effective(CompiledTariff.flat(DEFAULT_RATE), profile), 1e-12);
+        }
+
+        double[] kWh = new double[TimeOfUseProfile.values().length];
+        kWh[TimeOfUseProfile.FLAT.getCode()] = 2.0;
+        kWh[TimeOfUseProfile.NIGHT.getCode()] = 1.0;
+        assertEquals(2.0 * effective(tariff, TimeOfUseProfile.FLAT) + effective(tariff, TimeOfUseProfile.NIGHT),
+                tariff.dailyEnergyCost(kWh), 1e-12);
+    }
+
+    private static double effective(CompiledTariff tariff, TimeOfUseProfile profile) {
+        return tariff.effectivePrice(profile.getCode());
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * File: EnergyCalculatorTests.java
+ * Description: Checks EnergyCalculator's kWh and cost formulas and the household totals.
+ * Author: Liam Connell
+ * Date: 2026-10-17
+ */
+
+package com.currently.currently_backend.service;
+
+import com.currently.currently_backend.model.Appliance;
+import com.currently.currently_backend.model.TariffBand;
+import com.currently.currently_backend.model.TimeOfUseProfile;
+import com.currently.currently_backend.model.UsageType;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Class: EnergyCalculatorTests
+ * Purpose: Price small households built from catalogue-style entries and compare with
+ *          the figures worked out by hand.
+ */
+class EnergyCalculatorTests {
+
+    private static final double EPSILON = 1e-9;
+
+    private static final Appliance FRIDGE = appliance("Fridge", "Kitchen", "continuous", 150, 24, null, null);
+    private static final Appliance TELEVISION = appliance("Television", "Living Room", "continuous", 100, 4, null, null);
+    private static final Appliance KETTLE = appliance("Electric Kettle", "Kitchen", "perUse", null, null, 110, 4);
+
+    private final EnergyCalculator calculator = new EnergyCalculator();
+
+    // Continuous rows use hours and ignore uses; per-use rows the reverse
+    @Test
+    void hoursBasedAndUsesBasedRows() {
+        assertEquals(3.6, EnergyCalculator.dailyKWh(UsageType.CONTINUOUS.getCode(), 150, 24, 99), EPSILON);
+        assertEquals(0.44, EnergyCalculator.dailyKWh(UsageType.PER_USE.getCode(), 110, 99, 4), EPSILON);
+        assertEquals(0.0, EnergyCalculator.dailyKWh(UsageType.UNKNOWN_CODE, 150, 24, 4), 0.0);
+
+        HouseholdColumns household = new HouseholdColumns();
+        household.add("continuous", FRIDGE, 24.0, 3.0);
+        household.add("perUse", KETTLE, 5.0, 4.0);
+        household.add("continuous", TELEVISION, 4.0, null);
+        household.add("somethingElse", FRIDGE, 24.0, 1.0);
+        household.add("continuous", null, 10.0, null);
+
+        double[] kWh = new double[household.size()];
+        double[] cost = new double[household.size()];
+        EnergyTotals totals = new EnergyTotals();
+        calculator.calculate(household, CompiledTariff.flat(0.30), kWh, cost, totals);
+
+        assertArrayEquals(new double[]{3.6, 0.44, 0.4, 0.0, 0.0}, kWh, EPSILON);
+        assertArrayEquals(new double[]{1.08, 0.132, 0.12, 0.0, 0.0}, cost, EPSILON);
+        assertEquals(4.44, totals.getDailyKWh(), EPSILON);
+        assertEquals(1.332, totals.getDailyEnergyCost(), EPSILON);
+    }
+
+    // Each row is priced at its profile's effective price; the standing charge is
+    // added once per household, not per row
+    @Test
+    void standingChargeAndProfilePrices() {
+        CompiledTariff tariff = CompiledTariff.compile(0.50, List.of(
+                new TariffBand("day", TariffBand.ALL_DAYS, 8 * 60, 23 * 60, 0.40),
+                new TariffBand("night", TariffBand.ALL_DAYS, 23 * 60, 8 * 60, 0.20)), 0.30);
+        HouseholdColumns household = new HouseholdColumns();
+        household.add("continuous", FRIDGE, 24.0, null);
+        household.add("continuous", TELEVISION, 4.0, null);
+
+        EnergyTotals totals = new EnergyTotals();
+        calculator.calculate(household, tariff, null, null, totals);
+
+        double flat = tariff.effectivePrice(TimeOfUseProfile.FLAT.getCode());
+        double evening = tariff.effectivePrice(TimeOfUseProfile.EVENING.getCode());
+        assertEquals(3.6 * flat + 0.4 * evening, totals.getDailyEnergyCost(), EPSILON);
+        assertEquals(0.50, totals.getStandingChargePerDay(), 0.0);
+        assertEquals(totals.getDailyEnergyCost() + 0.50, totals.getDailyCost(), EPSILON);
+
+        // An empty household still pays the standing charge
+        calculator.calculate(new HouseholdColumns(), tariff, null, null, totals);
+        assertEquals(0.0, totals.getDailyKWh(), 0.0);
+        assertEquals(0.50, totals.getDailyCost(), EPSILON);
+    }
+
+    @Test
+    void monthlyAndAnnualTotals() {
+        HouseholdColumns household = new HouseholdColumns();
+        household.add("continuous", FRIDGE, 24.0, null);
+        CompiledTariff tariff = CompiledTariff.compile(0.60, List.of(), 0.25);
+
+        EnergyTotals totals = new EnergyTotals();
+        calculator.calculate(household, tariff, null, null, totals);
+
+        // 3.6 kWh x 0.25 + 0.60 standing charge = 1.50 a day
+        assertEquals(1.50, totals.getDailyCost(), EPSILON);
+        assertEquals(3.6 * 365, totals.getAnnualKWh(), EPSILON);
+        assertEquals(1.50 * 365, totals.getAnnualCost(), EPSILON);
+        assertEquals(3.6 * 365 / 12, totals.getMonthlyKWh(), EPSILON);
+        assertEquals(1.50 * 365 / 12, totals.getMonthlyCost(), EPSILON);
+        assertEquals(totals.getAnnualCost(), 12 * totals.getMonthlyCost(), EPSILON);
+    }
+
+    @Test
+    void batchMatchesSingleHouseholds() {
+        HouseholdColumns first = new HouseholdColumns();
+        first.add("continuous", FRIDGE, 24.0, null);
+        HouseholdColumns second = new HouseholdColumns();
+        second.add("perUse", KETTLE, null, 10.0);
+        CompiledTariff withStanding = CompiledTariff.compile(0.50, List.of(), 0.30);
+
+        double[] kWh = new double[2];
+        double[] cost = new double[2];
+        calculator.calculateBatch(new HouseholdColumns[]{first, second},
+                new CompiledTariff[]{CompiledTariff.flat(0.30), withStanding}, 2, kWh, cost);
+
+        assertArrayEquals(new double[]{3.6, 1.1}, kWh, EPSILON);
+        assertArrayEquals(new double[]{1.08, 0.33 + 0.50}, cost, EPSILON);
+    }
+
+    private static Appliance appliance(String name, String category, String usageType,
+                                       Integer watts, Integer hours, Integer wattsPerUse, Integer uses) {
+        return new Appliance(name, category, usageType, watts, hours, wattsPerUse, uses, null, null, null);
+    }
+}
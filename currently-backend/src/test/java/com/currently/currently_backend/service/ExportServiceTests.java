@@ -0,0 +1,280 @@
+/*
+ * File: ExportServiceTests.java
+ * Description: Checks the export's keyset chunking, its JSON and CSV output and that
+ *              export slots are always given back.
+ * Author: Liam Connell
+ * Date: 2026-10-17
+ */
+
+package com.currently.currently_backend.service;
+
+import com.currently.currently_backend.dto.RoomRequest;
+import com.currently.currently_backend.dto.RoomResponse;
+import com.currently.currently_backend.dto.UserApplianceRequest;
+import com.currently.currently_backend.dto.UserApplianceResponse;
+import com.currently.currently_backend.model.User;
+import com.currently.currently_backend.repository.UserRepository;
+import com.currently.currently_backend.util.AuthenticatedUser;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Class: ExportServiceTests
+ * Purpose: Export a fresh household with a chunk size of 3, so rooms and appliances
+ *          span several chunks and chunk boundaries fall between rows that tie on the
+ *          leading sort keys (same floor and name, same creation time).
+ */
+@SpringBootTest(properties = {"currently.export.chunk-size=3", "currently.export.max-concurrent=4"})
+class ExportServiceTests {
+
+    private static final LocalDate DAY = LocalDate.of(2026, 1, 15);
+    private static final String AWKWARD_NAME = "Mum's \"good\", kettle";
+
+    @Autowired
+    private ExportService exportService;
+
+    @Autowired
+    private RoomService roomService;
+
+    @Autowired
+    private UserApplianceService userApplianceService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private WriteQueue writeQueue;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private List<RoomResponse> rooms;
+    private List<Long> applianceIds;
+
+    @BeforeEach
+    void setUp() {
+        String email = "export-" + System.nanoTime() + "@example.com";
+        User user = writeQueue.execute(() -> userRepository.save(new User(email, "Export", email, "unused")));
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(new AuthenticatedUser(user.getId(), email), null, List.of()));
+
+        rooms = new ArrayList<>();
+        for (String[] room : new String[][]{{"Bedroom", "First"}, {"Kitchen", "Ground"}, {"Bedroom", "First"},
+                {"Bedroom", "First"}, {"Attic", "Second"}, {"Bedroom", "First"}, {"Hall", "Ground"}}) {
+            rooms.add(roomService.createRoom(room(room[0], room[1])));
+        }
+
+        // One bulk insert (one creation time for every row), then a few single inserts
+        List<UserApplianceRequest> bulk = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            bulk.add(appliance(i % 2 == 0 ? "Fridge" : "Television", "continuous", 2.0 + i, null,
+                    rooms.get(i % rooms.size()).getId()));
+        }
+        applianceIds = new ArrayList<>();
+        userApplianceService.createUserAppliances(bulk).forEach(a -> applianceIds.add(a.getId()));
+        UserApplianceRequest kettle = appliance("Electric Kettle", "perUse", null, 4.0, null);
+        kettle.setCustomName(AWKWARD_NAME);
+        applianceIds.add(userApplianceService.createUserAppliance(kettle).getId());
+        applianceIds.add(userApplianceService.createUserAppliance(
+                appliance("Microwave", "perUse", null, 2.0, rooms.get(1).getId())).getId());
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    // Every row exactly once, in keyset order, and totals that add up
+    @Test
+    void chunksCoverEveryRowOnce() throws IOException {
+        JsonNode export = objectMapper.readTree(write(exportService.streamMyExport("json", DAY, DAY)));
+
+        List<Long> expectedRooms = rooms.stream()
+                .sorted(Comparator.comparing(RoomResponse::getFloorLabel)
+                        .thenComparing(RoomResponse::getName)
+                        .thenComparing(RoomResponse::getId))
+                .map(RoomResponse::getId)
+                .toList();
+        List<Long> exportedRooms = new ArrayList<>();
+        export.get("rooms").forEach(room -> exportedRooms.add(room.get("id").asLong()));
+        assertEquals(expectedRooms, exportedRooms);
+
+        List<Long> exportedAppliances = new ArrayList<>();
+        double kWh = 0;
+        for (JsonNode appliance : export.get("appliances")) {
+            exportedAppliances.add(appliance.get("id").asLong());
+            kWh += appliance.get("dailyKWh").asDouble();
+        }
+        assertEquals(applianceIds.stream().sorted().toList(), exportedAppliances.stream().sorted().toList());
+        assertEquals(applianceIds.size(), export.get("totals").get("applianceCount").asInt());
+        assertEquals(kWh, export.get("totals").get("dailyKWh").asDouble(), 1e-9);
+
+        double expectedKWh = userApplianceService.getUserAppliances().stream()
+                .mapToDouble(UserApplianceResponse::getDailyKWh).sum();
+        assertEquals(expectedKWh, kWh, 1e-9);
+    }
+
+    // Same rows and figures in both formats; awkward text is quoted in CSV
+    @Test
+    void csvMatchesJson() throws IOException {
+        JsonNode json = objectMapper.readTree(write(exportService.streamMyExport("json", DAY, DAY)));
+        Map<String, List<List<String>>> csv = parseCsv(write(exportService.streamMyExport("csv", DAY, DAY)));
+
+        assertEquals(List.of("user", "rooms", "appliances", "totals", "history"), new ArrayList<>(csv.keySet()));
+        assertEquals(List.of("id", "applianceName", "customName", "usageType", "hoursPerDay", "usesPerDay",
+                "createdAt", "roomId", "roomName", "dailyKWh", "dailyCost", "monthlyKWh", "monthlyCost"),
+                csv.get("appliances").get(0));
+
+        List<List<String>> csvRooms = csv.get("rooms").subList(1, csv.get("rooms").size());
+        assertEquals(json.get("rooms").size(), csvRooms.size());
+        for (int i = 0; i < csvRooms.size(); i++) {
+            assertEquals(json.get("rooms").get(i).get("id").asText(), csvRooms.get(i).get(0));
+        }
+
+        List<List<String>> csvAppliances = csv.get("appliances").subList(1, csv.get("appliances").size());
+        assertEquals(json.get("appliances").size(), csvAppliances.size());
+        for (int i = 0; i < csvAppliances.size(); i++) {
+            JsonNode expected = json.get("appliances").get(i);
+            List<String> row = csvAppliances.get(i);
+            assertEquals(expected.get("id").asText(), row.get(0));
+            assertEquals(expected.get("customName").isNull() ? "" : expected.get("customName").asText(), row.get(2));
+            assertEquals(expected.get("roomId").isNull() ? "" : expected.get("roomId").asText(), row.get(7));
+            assertEquals(expected.get("dailyKWh").asDouble(), Double.parseDouble(row.get(9)), 1e-12);
+            assertEquals(expected.get("dailyCost").asDouble(), Double.parseDouble(row.get(10)), 1e-12);
+        }
+        assertEquals(1, csvAppliances.stream().filter(row -> row.get(2).equals(AWKWARD_NAME)).count());
+
+        List<String> totals = csv.get("totals").get(1);
+        JsonNode jsonTotals = json.get("totals");
+        assertEquals(jsonTotals.get("applianceCount").asText(), totals.get(0));
+        assertEquals(jsonTotals.get("dailyKWh").asDouble(), Double.parseDouble(totals.get(2)), 1e-12);
+        assertEquals(jsonTotals.get("dailyCost").asDouble(), Double.parseDouble(totals.get(3)), 1e-12);
+        assertEquals(1, csv.get("history").size(), "header only: no history recorded");
+    }
+
+    // An export whose body never runs (async timeout, client gone) gets its slot back
+    // when the request completes; a body that did run does not release it twice
+    @Test
+    void slotsAreReleasedWhenTheBodyNeverRuns() throws Exception {
+        for (int i = 0; i < 10; i++) {
+            MockHttpServletRequest request = new MockHttpServletRequest();
+            RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+            exportService.streamMyExport("json", DAY, DAY);
+            completeRequest(request);
+        }
+
+        for (int i = 0; i < 10; i++) {
+            MockHttpServletRequest request = new MockHttpServletRequest();
+            RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+            write(exportService.streamMyExport("csv", DAY, DAY));
+            completeRequest(request);
+        }
+
+        // Still exactly four slots
+        List<MockHttpServletRequest> open = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            MockHttpServletRequest request = new MockHttpServletRequest();
+            RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+            exportService.streamMyExport("json", DAY, DAY);
+            open.add(request);
+        }
+        assertThrows(IllegalStateException.class, () -> exportService.streamMyExport("json", DAY, DAY));
+        for (MockHttpServletRequest request : open) {
+            completeRequest(request);
+        }
+        write(exportService.streamMyExport("json", DAY, DAY));
+    }
+
+    // Helper: what the servlet container's async completion does for the interceptor
+    private static void completeRequest(MockHttpServletRequest request) throws Exception {
+        WebAsyncUtils.getAsyncManager(request).getCallableInterceptor(ExportService.SLOT_INTERCEPTOR)
+                .afterCompletion(new ServletWebRequest(request), null);
+    }
+
+    private static String write(StreamingResponseBody body) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        body.writeTo(out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    // Helper: "# name" sections of rows, honouring quoted fields
+    private static Map<String, List<List<String>>> parseCsv(String text) {
+        Map<String, List<List<String>>> sections = new LinkedHashMap<>();
+        List<List<String>> current = null;
+        for (String line : text.split("\n")) {
+            if (line.startsWith("# ")) {
+                current = new ArrayList<>();
+                sections.put(line.substring(2), current);
+            } else if (!line.isEmpty() && current != null) {
+                current.add(splitCsv(line));
+            }
+        }
+        return sections;
+    }
+
+    private static List<String> splitCsv(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted && c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                field.append('"');
+                i++;
+            } else if (c == '"') {
+                quoted = !quoted;
+            } else if (c == ',' && !quoted) {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    private static RoomRequest room(String name, String floor) {
+        RoomRequest request = new RoomRequest();
+        request.setName(name);
+        request.setFloorLabel(floor);
+        return request;
+    }
+
+    private static UserApplianceRequest appliance(String name, String usageType, Double hours, Double uses,
+                                                  Long roomId) {
+        UserApplianceRequest request = new UserApplianceRequest();
+        request.setApplianceName(name);
+        request.setUsageType(usageType);
+        request.setHoursPerDay(hours);
+        request.setUsesPerDay(uses);
+        request.setRoomId(roomId);
+        return request;
+    }
+}
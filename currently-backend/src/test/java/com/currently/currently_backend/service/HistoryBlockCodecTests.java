@@ -0,0 +1,137 @@
+/*
+ * File: HistoryBlockCodecTests.java
+ * Description: Round-trips months of snapshots through HistoryBlockCodec.
+ * Author: Liam Connell
+ * Date: 2026-10-17
+ */
+
+package com.currently.currently_backend.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Class: HistoryBlockCodecTests
+ * Purpose: Encode snapshots, decode the block and compare day by day. Values are
+ *          stored in Wh and 0.0001 currency units, so they come back rounded to those.
+ */
+class HistoryBlockCodecTests {
+
+    private static final Long USER = 7L;
+    private static final YearMonth MONTH = YearMonth.of(2026, 1);
+
+    // Days 2, 3, 17 and 31 only: the mask keeps the gaps and the last bit
+    @Test
+    void keepsMissingDaysAndDay31() {
+        List<DailySnapshot> month = List.of(
+                day(2, 5.0, 1.5),
+                day(3, 5.0, 1.5),
+                day(17, 6.25, 1.875),
+                day(31, 4.0, 1.2));
+
+        List<DailySnapshot> decoded = roundTrip(month);
+
+        assertEquals(List.of(MONTH.atDay(2), MONTH.atDay(3), MONTH.atDay(17), MONTH.atDay(31)),
+                decoded.stream().map(DailySnapshot::getDate).toList());
+        assertSame(month, decoded);
+    }
+
+    // Values that fall back below an earlier day are stored as negative deltas
+    @Test
+    void keepsFallingValues() {
+        List<DailySnapshot> month = List.of(
+                day(1, 12.345, 3.7035, new long[]{10}, new double[]{12.345}),
+                day(2, 0.5, 0.15, new long[]{10}, new double[]{0.5}),
+                day(3, 9.0, 2.7, new long[]{10}, new double[]{0.001}),
+                day(4, 0.0, 0.0));
+
+        assertSame(month, roundTrip(month));
+    }
+
+    // A room first seen mid-month is absent (not 0 kWh) on the days before
+    @Test
+    void roomsCanAppearMidMonth() {
+        List<DailySnapshot> month = List.of(
+                day(1, 2.0, 0.6, new long[]{3}, new double[]{2.0}),
+                day(2, 2.0, 0.6, new long[]{3}, new double[]{2.0}),
+                day(3, 5.0, 1.5, new long[]{3, 900}, new double[]{2.0, 3.0}),
+                day(4, 5.5, 1.65, new long[]{3, 900}, new double[]{2.0, 3.5}));
+
+        List<DailySnapshot> decoded = roundTrip(month);
+
+        assertSame(month, decoded);
+        assertArrayEquals(new long[]{3}, decoded.get(1).getRoomIds());
+        assertArrayEquals(new long[]{3, 900}, decoded.get(2).getRoomIds());
+    }
+
+    // A room recorded with 0 kWh cannot be told from an absent room, so it is dropped
+    @Test
+    void dropsRoomsWithoutConsumption() {
+        List<DailySnapshot> month = List.of(
+                day(5, 1.0, 0.3, new long[]{1, 2}, new double[]{1.0, 0.0}));
+
+        DailySnapshot decoded = roundTrip(month).get(0);
+
+        assertArrayEquals(new long[]{1}, decoded.getRoomIds());
+        assertArrayEquals(new double[]{1.0}, decoded.getRoomKWh());
+    }
+
+    // Snapshots for a day already stored replace it; other days are kept in date order
+    @Test
+    void mergeReplacesADay() {
+        List<DailySnapshot> existing = List.of(day(1, 1.0, 0.3), day(2, 2.0, 0.6), day(9, 9.0, 2.7));
+        List<DailySnapshot> added = List.of(day(5, 5.0, 1.5), day(2, 20.0, 6.0));
+
+        List<DailySnapshot> merged = HistoryBlockCodec.merge(existing, added);
+
+        assertSame(List.of(day(1, 1.0, 0.3), day(2, 20.0, 6.0), day(5, 5.0, 1.5), day(9, 9.0, 2.7)),
+                roundTrip(merged));
+    }
+
+    @Test
+    void rejectsUnknownFormat() {
+        byte[] block = HistoryBlockCodec.encode(List.of(day(1, 1.0, 0.3)));
+        block[0] = 99;
+        assertThrows(IllegalStateException.class, () -> HistoryBlockCodec.decode(block, USER, MONTH));
+    }
+
+    @Test
+    void monthKeys() {
+        assertEquals(202601, HistoryBlockCodec.monthKey(LocalDate.of(2026, 1, 31)));
+        assertEquals(YearMonth.of(2025, 12), HistoryBlockCodec.monthOf(202512));
+    }
+
+    private static List<DailySnapshot> roundTrip(List<DailySnapshot> snapshots) {
+        return HistoryBlockCodec.decode(HistoryBlockCodec.encode(snapshots), USER, MONTH);
+    }
+
+    private static DailySnapshot day(int day, double kWh, double cost) {
+        return day(day, kWh, cost, new long[0], new double[0]);
+    }
+
+    private static DailySnapshot day(int day, double kWh, double cost, long[] roomIds, double[] roomKWh) {
+        return new DailySnapshot(USER, MONTH.atDay(day), kWh, cost, roomIds, roomKWh);
+    }
+
+    // Helper: same days with the same values, to the stored precision
+    private static void assertSame(List<DailySnapshot> expected, List<DailySnapshot> actual) {
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            DailySnapshot e = expected.get(i);
+            DailySnapshot a = actual.get(i);
+            assertEquals(e.getUserId(), a.getUserId());
+            assertEquals(e.getDate(), a.getDate());
+            assertEquals(e.getDailyKWh(), a.getDailyKWh(), 0.0005);
+            assertEquals(e.getDailyCost(), a.getDailyCost(), 0.00005);
+            assertArrayEquals(e.getRoomIds(), a.getRoomIds(), "rooms on " + e.getDate());
+            assertArrayEquals(e.getRoomKWh(), a.getRoomKWh(), 0.0005);
+        }
+    }
+}
@@ -0,0 +1,157 @@
+/*
+ * File: ListStatementCountTests.java
+ * Description: Checks that the appliance and room list endpoints run a fixed number of
+ *              SQL statements, however large the household.
+ * Author: Liam Connell
+ * Date: 2026-10-17
+ */
+
+package com.currently.currently_backend.service;
+
+import com.currently.currently_backend.model.Room;
+import com.currently.currently_backend.model.User;
+import com.currently.currently_backend.model.UserAppliance;
+import com.currently.currently_backend.repository.RoomRepository;
+import com.currently.currently_backend.repository.UserApplianceRepository;
+import com.currently.currently_backend.repository.UserRepository;
+import com.currently.currently_backend.util.AuthenticatedUser;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Class: ListStatementCountTests
+ * Purpose: Count prepared statements with Hibernate statistics while listing a small and
+ *          a large household. The current user comes from the token's principal, so each
+ *          list must cost a single statement for the rows and must not load any entities.
+ *          Runs in a transaction that is rolled back, so no test data is kept.
+ */
+@SpringBootTest
+@Transactional
+class ListStatementCountTests {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private UserApplianceRepository userApplianceRepository;
+
+    @Autowired
+    private UserApplianceService userApplianceService;
+
+    @Autowired
+    private RoomService roomService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+
+        String email = "statements-" + System.nanoTime() + "@example.com";
+        user = userRepository.save(new User("statements", "Statements", email, "unused"));
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(new AuthenticatedUser(user.getId(), email), null, List.of()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        statistics.setStatisticsEnabled(false);
+    }
+
+    @Test
+    void applianceListRunsFixedStatements() {
+        addRoomsWithAppliances(2, 2);
+        Count small = count(userApplianceService::getUserAppliances);
+
+        addRoomsWithAppliances(20, 5);
+        Count large = count(userApplianceService::getUserAppliances);
+
+        assertEquals(5, small.rows);
+        assertEquals(106, large.rows);
+        assertEquals(1, small.statements);
+        assertEquals(1, large.statements);
+        // Not even the current user is loaded
+        assertEquals(0, large.entities);
+    }
+
+    @Test
+    void roomListRunsFixedStatements() {
+        addRoomsWithAppliances(2, 1);
+        Count small = count(roomService::getRoomsForCurrentUser);
+
+        addRoomsWithAppliances(30, 1);
+        Count large = count(roomService::getRoomsForCurrentUser);
+
+        assertEquals(2, small.rows);
+        assertEquals(32, large.rows);
+        assertEquals(1, small.statements);
+        assertEquals(1, large.statements);
+        assertEquals(0, large.entities);
+    }
+
+    // Helper: rooms with appliances in each, plus one appliance with no room per call
+    private void addRoomsWithAppliances(int rooms, int appliancesPerRoom) {
+        for (int r = 0; r < rooms; r++) {
+            Room room = roomRepository.save(new Room(user, "Room " + r, "Floor " + (r % 3), "Bedroom"));
+            for (int a = 0; a < appliancesPerRoom; a++) {
+                addAppliance(room);
+            }
+        }
+        addAppliance(null);
+    }
+
+    private void addAppliance(Room room) {
+        UserAppliance appliance = new UserAppliance();
+        appliance.setUser(user);
+        appliance.setRoom(room);
+        appliance.setApplianceName("Fridge");
+        appliance.setUsageType("continuous");
+        appliance.setHoursPerDay(24.0);
+        appliance.setCreatedAt(LocalDateTime.now());
+        appliance.setUpdatedAt(LocalDateTime.now());
+        userApplianceRepository.save(appliance);
+    }
+
+    // Helper: statements and entity loads of one call, starting from an empty
+    // persistence context; a first call warms caches such as the user's tariff
+    private Count count(Supplier<List<?>> call) {
+        call.get();
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+
+        int rows = call.get().size();
+        return new Count(rows, statistics.getPrepareStatementCount(), statistics.getEntityLoadCount());
+    }
+
+    private record Count(int rows, long statements, long entities) {
+    }
+}
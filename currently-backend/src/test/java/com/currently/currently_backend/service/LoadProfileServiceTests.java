@@ -0,0 +1,75 @@
+/*
+ * File: LoadProfileServiceTests.java
+ * Description: Checks the year range LoadProfileService accepts.
+ * Author: Liam Connell
+ * Date: 2026-10-17
+ */
+
+package com.currently.currently_backend.service;
+
+import com.currently.currently_backend.dto.LoadProfileResponse;
+import com.currently.currently_backend.model.User;
+import com.currently.currently_backend.repository.UserRepository;
+import com.currently.currently_backend.util.AuthenticatedUser;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Class: LoadProfileServiceTests
+ * Purpose: Request yearly profiles just inside and just outside 1970..2100 for a
+ *          fresh user.
+ */
+@SpringBootTest
+class LoadProfileServiceTests {
+
+    @Autowired
+    private LoadProfileService loadProfileService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private WriteQueue writeQueue;
+
+    @BeforeEach
+    void setUp() {
+        String email = "load-profile-" + System.nanoTime() + "@example.com";
+        User user = writeQueue.execute(() -> userRepository.save(new User(email, "Load Profile", email, "unused")));
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(new AuthenticatedUser(user.getId(), email), null, List.of()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void acceptsYearsFrom1970To2100() {
+        for (int year : new int[]{1970, 2100}) {
+            LoadProfileResponse response = loadProfileService.getMyLoadProfile("year", year);
+            assertEquals(year, response.getYear());
+            assertEquals(LoadProfileSimulator.HOURS_PER_YEAR, response.getHourlyKW().length);
+        }
+    }
+
+    @Test
+    void rejectsYearsOutsideTheRange() {
+        for (int year : new int[]{1969, 2101, -1, 0}) {
+            IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                    () -> loadProfileService.getMyLoadProfile("year", year));
+            assertEquals("year must be between 1970 and 2100.", e.getMessage());
+        }
+        assertThrows(IllegalArgumentException.class, () -> loadProfileService.getMyLoadProfile("week", null));
+    }
+}
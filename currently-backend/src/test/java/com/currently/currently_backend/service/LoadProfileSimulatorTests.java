@@ -0,0 +1,89 @@
+/*
+ * File: LoadProfileSimulatorTests.java
+ * Description: Checks that simulated day and year curves keep the household's energy.
+ * Author: Liam Connell
+ * Date: 2026-10-17
+ */
+
+package com.currently.currently_backend.service;
+
+import com.currently.currently_backend.model.TimeOfUseProfile;
+import com.currently.currently_backend.model.UsageType;
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Class: LoadProfileSimulatorTests
+ * Purpose: Simulate a household with one appliance per time-of-use profile, spread over
+ *          three rooms, and compare curve totals with the daily kWh that went in.
+ */
+class LoadProfileSimulatorTests {
+
+    private static final int ROOMS = 3;
+    private static final double EPSILON = 1e-9;
+
+    private final LoadProfileSimulator simulator = new LoadProfileSimulator();
+    private final HouseholdColumns household = new HouseholdColumns();
+    private final double[] dailyKWh;
+    private final int[] roomOf;
+    private final double[] roomKWh = new double[ROOMS];
+    private final double totalKWh;
+
+    LoadProfileSimulatorTests() {
+        TimeOfUseProfile[] profiles = TimeOfUseProfile.values();
+        dailyKWh = new double[profiles.length];
+        roomOf = new int[profiles.length];
+        double total = 0.0;
+        for (TimeOfUseProfile profile : profiles) {
+            int row = household.add(UsageType.CONTINUOUS.getCode(), profile.getCode(), 100, 1, 0);
+            dailyKWh[row] = 0.5 + row;
+            roomOf[row] = row % ROOMS;
+            roomKWh[roomOf[row]] += dailyKWh[row];
+            total += dailyKWh[row];
+        }
+        totalKWh = total;
+    }
+
+    @Test
+    void dayCurveSumsToDailyKWh() {
+        LoadProfileSimulator.Simulation day = simulator.simulateDay(household, dailyKWh, roomOf, ROOMS);
+
+        assertEquals(24, day.getHousehold().getHours());
+        assertEquals(totalKWh, day.getHousehold().getTotalKWh(), EPSILON);
+        for (int room = 0; room < ROOMS; room++) {
+            assertEquals(roomKWh[room], day.getRoom(room).getTotalKWh(), EPSILON, "room " + room);
+        }
+    }
+
+    // Whatever weekday the year starts on, seasonal and weekend factors only move energy
+    // between days
+    @Test
+    void yearSumsToDailyKWhTimes365() {
+        for (DayOfWeek firstDay : DayOfWeek.values()) {
+            LoadProfileSimulator.Simulation year =
+                    simulator.simulateYear(household, dailyKWh, roomOf, ROOMS, firstDay, false);
+
+            assertEquals(LoadProfileSimulator.HOURS_PER_YEAR, year.getHousehold().getHours());
+            assertEquals(totalKWh * 365, year.getHousehold().getTotalKWh(), 1e-6, firstDay.name());
+            for (int room = 0; room < ROOMS; room++) {
+                assertEquals(roomKWh[room] * 365, year.getRoom(room).getTotalKWh(), 1e-6, "room " + room);
+                assertNull(year.getRoom(room).getHourlyKW());
+            }
+        }
+    }
+
+    @Test
+    void parallelYearMatchesSequential() {
+        double[] sequential = simulator.simulateYear(household, dailyKWh, roomOf, ROOMS, DayOfWeek.THURSDAY, false)
+                .getHousehold().getHourlyKW();
+        double[] parallel = simulator.simulateYear(household, dailyKWh, roomOf, ROOMS, DayOfWeek.THURSDAY, true)
+                .getHousehold().getHourlyKW();
+
+        assertArrayEquals(sequential, parallel, 0.0);
+    }
+}
@@ -0,0 +1,140 @@
+/*
+ * File: LogHistogramTests.java
+ * Description: Checks LogHistogram bucketing, percentile lookups and add/remove/merge.
+ * Author: Liam Connell
+ * Date: 2026-10-17
+ */
+
+package com.currently.currently_backend.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Class: LogHistogramTests
+ * Purpose: Values between 0.1 and 1000 land in buckets about 5% wide, so values read
+ *          back are compared within half a bucket (in log terms).
+ */
+class LogHistogramTests {
+
+    // ln of one bucket's width: BUCKETS - 2 buckets span ln(1000 / 0.1)
+    private static final double BUCKET_LOG_WIDTH = Math.log(1000 / 0.1) / (LogHistogram.BUCKETS - 2);
+
+    @Test
+    void middleOfABucketFallsInThatBucket() {
+        for (double value = 0.1; value < 1000; value *= 1.013) {
+            int bucket = LogHistogram.bucketOf(value);
+            double middle = LogHistogram.middleOf(bucket);
+
+            assertEquals(bucket, LogHistogram.bucketOf(middle), "bucket of " + value);
+            assertTrue(Math.abs(Math.log(value / middle)) <= BUCKET_LOG_WIDTH / 2 + 1e-9, "middle of " + value);
+        }
+        for (int bucket = 1; bucket < LogHistogram.BUCKETS - 1; bucket++) {
+            assertEquals(bucket, LogHistogram.bucketOf(LogHistogram.middleOf(bucket)));
+        }
+    }
+
+    @Test
+    void outOfRangeValuesUseTheEndBuckets() {
+        assertEquals(0, LogHistogram.bucketOf(0.0));
+        assertEquals(0, LogHistogram.bucketOf(0.0999));
+        assertEquals(0, LogHistogram.bucketOf(-5));
+        assertEquals(0, LogHistogram.bucketOf(Double.NaN));
+        assertEquals(1, LogHistogram.bucketOf(0.1));
+        assertEquals(LogHistogram.BUCKETS - 2, LogHistogram.bucketOf(999.99));
+        assertEquals(LogHistogram.BUCKETS - 1, LogHistogram.bucketOf(1000));
+        assertEquals(LogHistogram.BUCKETS - 1, LogHistogram.bucketOf(Double.POSITIVE_INFINITY));
+    }
+
+    // A quarter each of 1, 2, 4 and 8 kWh
+    @Test
+    void percentilesOfKnownData() {
+        LogHistogram histogram = new LogHistogram();
+        for (double value : new double[]{1, 2, 4, 8}) {
+            for (int i = 0; i < 25; i++) {
+                histogram.add(value);
+            }
+        }
+
+        assertEquals(100, histogram.count());
+        assertClose(1, histogram.quantile(0));
+        assertClose(1, histogram.quantile(25));
+        assertClose(2, histogram.quantile(25.1));
+        assertClose(2, histogram.quantile(50));
+        assertClose(4, histogram.quantile(75));
+        assertClose(8, histogram.quantile(100));
+
+        assertEquals(0.0, histogram.percentileOf(0.5), 0.0);
+        assertEquals(12.5, histogram.percentileOf(1), 0.0);
+        assertEquals(37.5, histogram.percentileOf(2), 0.0);
+        assertEquals(50.0, histogram.percentileOf(3), 0.0);
+        assertEquals(100.0, histogram.percentileOf(20), 0.0);
+    }
+
+    @Test
+    void emptyHistogram() {
+        LogHistogram histogram = new LogHistogram();
+        assertEquals(0, histogram.count());
+        assertEquals(0.0, histogram.quantile(50), 0.0);
+        assertEquals(0.0, histogram.percentileOf(5), 0.0);
+    }
+
+    @Test
+    void removeUndoesAdd() {
+        SplittableRandom random = new SplittableRandom(3);
+        LogHistogram histogram = new LogHistogram();
+        for (int i = 0; i < 1000; i++) {
+            histogram.add(Math.exp(random.nextDouble(-3, 8)));
+        }
+        long[] before = counts(histogram);
+
+        double[] extra = new double[500];
+        for (int i = 0; i < extra.length; i++) {
+            extra[i] = Math.exp(random.nextDouble(-4, 9));
+            histogram.add(extra[i]);
+        }
+        for (double value : extra) {
+            histogram.remove(value);
+        }
+
+        assertEquals(1000, histogram.count());
+        for (int b = 0; b < LogHistogram.BUCKETS; b++) {
+            assertEquals(before[b], histogram.count(b), "bucket " + b);
+        }
+    }
+
+    @Test
+    void mergeAddsCounts() {
+        LogHistogram a = new LogHistogram();
+        LogHistogram b = new LogHistogram();
+        a.add(1);
+        a.add(5);
+        b.add(5);
+        b.add(500);
+
+        LogHistogram merged = new LogHistogram();
+        a.mergeInto(merged);
+        b.mergeInto(merged);
+
+        assertEquals(4, merged.count());
+        assertEquals(2, merged.count(LogHistogram.bucketOf(5)));
+        assertEquals(2, a.count());
+    }
+
+    private static long[] counts(LogHistogram histogram) {
+        long[] counts = new long[LogHistogram.BUCKETS];
+        for (int b = 0; b < counts.length; b++) {
+            counts[b] = histogram.count(b);
+        }
+        return counts;
+    }
+
+    private static void assertClose(double expected, double actual) {
+        assertTrue(Math.abs(Math.log(actual / expected)) <= BUCKET_LOG_WIDTH / 2 + 1e-9,
+                "expected about " + expected + " but was " + actual);
+    }
+}
@@ -0,0 +1,162 @@
+/*
+ * File: MappedHistoryStoreTests.java
+ * Description: Checks MappedHistoryStore's segment files and monthly rollups against a
+ *              temporary directory.
+ * Author: Liam Connell
+ * Date: 2026-10-17
+ */
+
+package com.currently.currently_backend.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Class: MappedHistoryStoreTests
+ * Purpose: Write snapshots through a store on a fresh directory and read them back,
+ *          through the same store and through a new one opened on the same files.
+ *          Values are stored as float32, so they are compared to that precision.
+ */
+class MappedHistoryStoreTests {
+
+    private static final Long USER = 1234L;
+    private static final double FLOAT = 1e-4;
+
+    @TempDir
+    Path directory;
+
+    private MappedHistoryStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = new MappedHistoryStore(directory.toString());
+    }
+
+    @Test
+    void readsBackWhatWasWritten() {
+        store.appendAll(List.of(
+                day(2025, 3, 1, 4.5, 1.35, new long[]{10, 20}, new double[]{3.0, 1.5}),
+                day(2025, 3, 3, 6.0, 1.8, new long[]{20}, new double[]{6.0})));
+
+        List<DailySnapshot> read = new MappedHistoryStore(directory.toString())
+                .read(USER, LocalDate.of(2025, 3, 1), LocalDate.of(2025, 3, 31));
+
+        // Day 2 was never written: the presence bitmap leaves it out
+        assertEquals(2, read.size());
+        assertDay(read.get(0), LocalDate.of(2025, 3, 1), 4.5, 1.35, new long[]{10, 20}, new double[]{3.0, 1.5});
+        assertDay(read.get(1), LocalDate.of(2025, 3, 3), 6.0, 1.8, new long[]{20}, new double[]{6.0});
+        assertTrue(Files.exists(store.segmentPath(USER, 2025)));
+        assertEquals(List.of(), store.read(USER, LocalDate.of(2024, 1, 1), LocalDate.of(2024, 12, 31)));
+    }
+
+    // A day written again replaces the whole slot, room columns included
+    @Test
+    void overwritesADay() {
+        store.appendAll(List.of(day(2025, 6, 10, 5.0, 1.5, new long[]{1, 2}, new double[]{2.0, 3.0})));
+        store.appendAll(List.of(day(2025, 6, 10, 7.0, 2.1, new long[]{2}, new double[]{7.0})));
+
+        List<DailySnapshot> read = store.read(USER, LocalDate.of(2025, 6, 10), LocalDate.of(2025, 6, 10));
+
+        assertEquals(1, read.size());
+        assertDay(read.get(0), LocalDate.of(2025, 6, 10), 7.0, 2.1, new long[]{2}, new double[]{7.0});
+    }
+
+    // Only MAX_ROOMS rooms get a column per year; the household total still includes
+    // the rest
+    @Test
+    void roomsBeyondTheColumnCapOnlyCountInTheTotal() {
+        int rooms = MappedHistoryStore.MAX_ROOMS + 1;
+        long[] roomIds = LongStream.rangeClosed(1, rooms).toArray();
+        double[] roomKWh = new double[rooms];
+        Arrays.fill(roomKWh, 1.0);
+        store.appendAll(List.of(day(2025, 1, 5, rooms, rooms * 0.3, roomIds, roomKWh)));
+
+        DailySnapshot read = store.read(USER, LocalDate.of(2025, 1, 5), LocalDate.of(2025, 1, 5)).get(0);
+
+        assertEquals(rooms, read.getDailyKWh(), FLOAT);
+        assertArrayEquals(LongStream.rangeClosed(1, MappedHistoryStore.MAX_ROOMS).toArray(), read.getRoomIds());
+    }
+
+    // A compacted year reads back as one averaged record per month, dated the 1st
+    @Test
+    void compactWritesMonthlyAveragesAndDeletesTheSegment() throws IOException {
+        writeTwoMonths();
+
+        assertTrue(store.compact(USER, 2024));
+
+        assertFalse(Files.exists(store.segmentPath(USER, 2024)));
+        assertMonthlyRollups(store.read(USER, LocalDate.of(2024, 1, 1), LocalDate.of(2024, 12, 31)));
+        assertFalse(store.compact(USER, 2024));
+    }
+
+    // A run that stopped after writing some months (and before deleting the segment)
+    // is finished by the next run without writing any month twice
+    @Test
+    void compactResumesAfterAPartialRollup() throws IOException {
+        writeTwoMonths();
+        Path segment = store.segmentPath(USER, 2024);
+        Path saved = directory.resolve("saved.seg");
+        Files.copy(segment, saved);
+        assertTrue(store.compact(USER, 2024));
+        Path rollup = segment.resolveSibling("u" + USER + ".rollup");
+        assertEquals(2L * MappedHistoryStore.ROLLUP_BYTES, Files.size(rollup));
+
+        // Back to the state after January only
+        try (FileChannel channel = FileChannel.open(rollup, StandardOpenOption.WRITE)) {
+            channel.truncate(MappedHistoryStore.ROLLUP_BYTES);
+        }
+        Files.copy(saved, segment, StandardCopyOption.REPLACE_EXISTING);
+
+        MappedHistoryStore restarted = new MappedHistoryStore(directory.toString());
+        assertTrue(restarted.compact(USER, 2024));
+
+        assertFalse(Files.exists(segment));
+        assertEquals(2L * MappedHistoryStore.ROLLUP_BYTES, Files.size(rollup));
+        assertMonthlyRollups(restarted.read(USER, LocalDate.of(2024, 1, 1), LocalDate.of(2024, 12, 31)));
+    }
+
+    // Helper: January days 1 and 2, February day 29 (2024 is a leap year)
+    private void writeTwoMonths() {
+        store.appendAll(List.of(
+                day(2024, 1, 1, 2.0, 0.6, new long[]{5}, new double[]{2.0}),
+                day(2024, 1, 2, 4.0, 1.2, new long[]{5, 6}, new double[]{1.0, 3.0}),
+                day(2024, 2, 29, 8.0, 2.4, new long[]{6}, new double[]{8.0})));
+    }
+
+    private static void assertMonthlyRollups(List<DailySnapshot> months) {
+        assertEquals(2, months.size());
+        assertDay(months.get(0), LocalDate.of(2024, 1, 1), 3.0, 0.9, new long[]{5, 6}, new double[]{1.5, 1.5});
+        assertDay(months.get(1), LocalDate.of(2024, 2, 1), 8.0, 2.4, new long[]{6}, new double[]{8.0});
+    }
+
+    private static DailySnapshot day(int year, int month, int day, double kWh, double cost,
+                                     long[] roomIds, double[] roomKWh) {
+        return new DailySnapshot(USER, LocalDate.of(year, month, day), kWh, cost, roomIds, roomKWh);
+    }
+
+    private static void assertDay(DailySnapshot snapshot, LocalDate date, double kWh, double cost,
+                                  long[] roomIds, double[] roomKWh) {
+        assertEquals(date, snapshot.getDate());
+        assertEquals(kWh, snapshot.getDailyKWh(), FLOAT);
+        assertEquals(cost, snapshot.getDailyCost(), FLOAT);
+        assertArrayEquals(roomIds, snapshot.getRoomIds(), "rooms on " + date);
+        assertArrayEquals(roomKWh, snapshot.getRoomKWh(), FLOAT);
+    }
+}
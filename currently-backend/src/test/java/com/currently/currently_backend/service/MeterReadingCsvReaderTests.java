@@ -0,0 +1,74 @@
+/*
+ * File: MeterReadingCsvReaderTests.java
+ * Description: Checks how MeterReadingCsvReader reads numbers in ',' and ';' exports.
+ * Author: Liam Connell
+ * Date: 2026-10-17
+ */
+
+package com.currently.currently_backend.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Class: MeterReadingCsvReaderTests
+ * Purpose: Read small exports in memory and check the readings handed to the sink.
+ *          No database or Spring context is involved.
+ */
+class MeterReadingCsvReaderTests {
+
+    // A ';' export writes kWh and cost with a decimal comma
+    @Test
+    void semicolonExportUsesDecimalComma() throws IOException {
+        List<double[]> readings = new ArrayList<>();
+        long skipped = read("Start;kWh;Cost\n"
+                + "2026-01-01 00:00;0,125;€ 0,04\n"
+                + "2026-01-01 00:30;1.234,5;\n"
+                + "2026-01-01 01:00;0.25;0,08\n", readings);
+
+        assertEquals(0, skipped);
+        assertEquals(3, readings.size());
+        assertEquals(0.125, readings.get(0)[0]);
+        assertEquals(0.04, readings.get(0)[1]);
+        assertEquals(1234.5, readings.get(1)[0]);
+        assertTrue(Double.isNaN(readings.get(1)[1]));
+        // A decimal point with no comma is still read as written
+        assertEquals(0.25, readings.get(2)[0]);
+    }
+
+    // In a ',' export a comma can only be a delimiter, so "0,125" is two fields
+    @Test
+    void commaExportUsesDecimalPoint() throws IOException {
+        List<double[]> readings = new ArrayList<>();
+        long skipped = read("start,kwh\n"
+                + "2026-01-01 00:00,0.125\n"
+                + "2026-01-01 00:30,n/a\n", readings);
+
+        assertEquals(1, skipped);
+        assertEquals(1, readings.size());
+        assertEquals(0.125, readings.get(0)[0]);
+    }
+
+    @Test
+    void parsesNumbersWithUnits() {
+        assertEquals(12.5, MeterReadingCsvReader.parseNumber("12.5 kWh", false));
+        assertEquals(12.5, MeterReadingCsvReader.parseNumber("12,5 kWh", true));
+        assertEquals(-3.0, MeterReadingCsvReader.parseNumber("€-3", false));
+        assertTrue(Double.isNaN(MeterReadingCsvReader.parseNumber("12,5", false)));
+        assertTrue(Double.isNaN(MeterReadingCsvReader.parseNumber("", true)));
+    }
+
+    // Helper: read a CSV string, collecting {kWh, cost} for every reading
+    private static long read(String csv, List<double[]> readings) throws IOException {
+        return MeterReadingCsvReader.read(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)), 30,
+                (start, minutes, kWh, cost) -> readings.add(new double[]{kWh, cost}));
+    }
+}
@@ -0,0 +1,170 @@
+/*
+ * File: RecommendationServiceTests.java
+ * Description: Checks the bounded top-K ranking and when cached recommendations are
+ *              recomputed.
+ * Author: Liam Connell
+ * Date: 2026-10-17
+ */
+
+package com.currently.currently_backend.service;
+
+import com.currently.currently_backend.dto.RecommendationResponse;
+import com.currently.currently_backend.dto.TariffBandDto;
+import com.currently.currently_backend.dto.TariffPlanDto;
+import com.currently.currently_backend.dto.UserApplianceRequest;
+import com.currently.currently_backend.model.User;
+import com.currently.currently_backend.repository.UserRepository;
+import com.currently.currently_backend.util.AuthenticatedUser;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Class: RecommendationServiceTests
+ * Purpose: TopK is exercised directly. The cache tests use a fresh household and an
+ *          external catalogue location (the bundled file), so the catalogue can be
+ *          reloaded to a new version.
+ */
+@SpringBootTest(properties = "currently.catalogue.location=src/main/resources/appliances/appliances.json")
+class RecommendationServiceTests {
+
+    @Autowired
+    private RecommendationService recommendationService;
+
+    @Autowired
+    private UserApplianceService userApplianceService;
+
+    @Autowired
+    private ApplianceService applianceService;
+
+    @Autowired
+    private TariffService tariffService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private WriteQueue writeQueue;
+
+    private Long userId;
+
+    @BeforeEach
+    void setUp() {
+        String email = "recommendations-" + System.nanoTime() + "@example.com";
+        User user = writeQueue.execute(() -> userRepository.save(new User(email, "Recommendations", email, "unused")));
+        userId = user.getId();
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(new AuthenticatedUser(userId, email), null, List.of()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    // Offers rows 0..99 with savings rising with the row; only the best k survive
+    @Test
+    void topKKeepsTheBest() {
+        RecommendationService.TopK top = new RecommendationService.TopK(5);
+        for (int row = 0; row < 100; row++) {
+            int shuffled = (row * 37) % 100;
+            top.offer(RecommendationService.Kind.SWAP, shuffled, null, 1.0, 0.01 * (shuffled + 1));
+        }
+        // Below the minimum monthly saving: never kept
+        top.offer(RecommendationService.Kind.SWAP, 1000, null, 1.0, 0.0001);
+
+        List<RecommendationService.Candidate> best = top.drainDescending();
+
+        assertEquals(List.of(99, 98, 97, 96, 95), best.stream().map(c -> c.row).toList());
+        assertEquals(0, top.size());
+    }
+
+    // Equal savings keep offer order, and a later equal candidate does not displace
+    // one already kept
+    @Test
+    void topKOrderIsStableForEqualSavings() {
+        RecommendationService.TopK top = new RecommendationService.TopK(4);
+        top.offer(RecommendationService.Kind.REDUCE_USAGE, 0, null, 1.0, 0.5);
+        top.offer(RecommendationService.Kind.SWAP, 1, null, 1.0, 0.2);
+        top.offer(RecommendationService.Kind.SHIFT_OFF_PEAK, 2, null, 0.0, 0.5);
+        top.offer(RecommendationService.Kind.SWAP, 3, null, 1.0, 0.2);
+        top.offer(RecommendationService.Kind.SWAP, 4, null, 1.0, 0.5);
+        top.offer(RecommendationService.Kind.SWAP, 5, null, 1.0, 0.2);
+
+        assertEquals(List.of(0, 2, 4, 1), top.drainDescending().stream().map(c -> c.row).toList());
+    }
+
+    @Test
+    void cacheIsReusedUntilSomethingChanges() {
+        userApplianceService.createUserAppliance(appliance("Incandescent Lamp", "continuous", 5.0, null));
+        userApplianceService.createUserAppliance(appliance("Washing Machine", "perUse", null, 1.0));
+
+        List<RecommendationResponse> first = recommendationService.getRecommendations(userId, 20);
+        assertFalse(first.isEmpty());
+        assertSame(first.get(0), recommendationService.getRecommendations(userId, 20).get(0));
+        assertSame(first.get(0), recommendationService.getRecommendations(userId, 1).get(0));
+        assertFalse(types(first).contains("SHIFT_OFF_PEAK"), "nothing to shift on a flat rate");
+
+        // Household data version
+        userApplianceService.createUserAppliance(appliance("Television", "continuous", 6.0, null));
+        List<RecommendationResponse> afterAppliance = recommendationService.getRecommendations(userId, 20);
+        assertNotSame(first.get(0), afterAppliance.get(0));
+        assertTrue(afterAppliance.stream().anyMatch(r -> r.getApplianceName().equals("Television")));
+
+        // Catalogue version
+        assertTrue(applianceService.reload());
+        List<RecommendationResponse> afterReload = recommendationService.getRecommendations(userId, 20);
+        assertNotSame(afterAppliance.get(0), afterReload.get(0));
+        assertSame(afterReload.get(0), recommendationService.getRecommendations(userId, 20).get(0));
+
+        // Tariff: a cheap night rate makes the washing machine worth shifting
+        tariffService.updateMyPlan(dayNightPlan());
+        List<RecommendationResponse> afterTariff = recommendationService.getRecommendations(userId, 20);
+        assertNotSame(afterReload.get(0), afterTariff.get(0));
+        assertTrue(types(afterTariff).contains("SHIFT_OFF_PEAK"));
+    }
+
+    private static List<String> types(List<RecommendationResponse> recommendations) {
+        return recommendations.stream().map(RecommendationResponse::getType).toList();
+    }
+
+    private static UserApplianceRequest appliance(String name, String usageType, Double hours, Double uses) {
+        UserApplianceRequest request = new UserApplianceRequest();
+        request.setApplianceName(name);
+        request.setUsageType(usageType);
+        request.setHoursPerDay(hours);
+        request.setUsesPerDay(uses);
+        return request;
+    }
+
+    private static TariffPlanDto dayNightPlan() {
+        TariffBandDto day = new TariffBandDto();
+        day.setName("day");
+        day.setStart("08:00");
+        day.setEnd("23:00");
+        day.setPricePerKWh(0.40);
+        TariffBandDto night = new TariffBandDto();
+        night.setName("night");
+        night.setStart("23:00");
+        night.setEnd("08:00");
+        night.setPricePerKWh(0.15);
+
+        TariffPlanDto plan = new TariffPlanDto();
+        plan.setName("Day/night");
+        plan.setStandingChargePerDay(0.5);
+        plan.setBands(List.of(day, night));
+        return plan;
+    }
+}
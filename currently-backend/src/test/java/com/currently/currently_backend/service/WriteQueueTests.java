@@ -0,0 +1,226 @@
+/*
+ * File: WriteQueueTests.java
+ * Description: Checks the WriteQueue's group-commit failure handling: a failing write is
+ *              rolled back alone, commit failures are isolated, and database failures
+ *              fail the group at once.
+ * Author: Liam Connell
+ * Date: 2026-10-17
+ */
+
+package com.currently.currently_backend.service;
+
+import com.currently.currently_backend.model.Room;
+import com.currently.currently_backend.repository.RoomRepository;
+import com.currently.currently_backend.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.sqlite.SQLiteErrorCode;
+import org.sqlite.SQLiteException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Class: WriteQueueTests
+ * Purpose: Queue three writes behind a write that holds the writer, so the three are
+ *          committed as one group, and check what each caller sees and what was stored.
+ *          Each write inserts a user row tagged with the test's own prefix.
+ */
+@SpringBootTest
+class WriteQueueTests {
+
+    @Autowired
+    private WriteQueue writeQueue;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private String prefix;
+
+    @BeforeEach
+    void setUp() {
+        prefix = "write-queue-" + System.nanoTime() + "-";
+    }
+
+    // A write that throws fails alone; the group is re-run without it and committed
+    @Test
+    void failingWriteIsRolledBackAlone() {
+        AtomicInteger firstRuns = new AtomicInteger();
+        List<CompletableFuture<String>> futures = inOneGroup(
+                () -> {
+                    firstRuns.incrementAndGet();
+                    return insert("a");
+                },
+                () -> {
+                    insert("b");
+                    throw new IllegalArgumentException("Room not found");
+                },
+                () -> insert("c"));
+
+        assertEquals("a", futures.get(0).join());
+        assertEquals("c", futures.get(2).join());
+        CompletionException failure = assertThrows(CompletionException.class, () -> futures.get(1).join());
+        assertInstanceOf(IllegalArgumentException.class, failure.getCause());
+        assertEquals(List.of("a", "c"), stored());
+        // Rolled back with the failed attempt and run again in the retry
+        assertEquals(2, firstRuns.get());
+    }
+
+    // A failure while committing cannot be pinned on a write, so each is committed alone
+    @Test
+    void commitFailureIsIsolated() {
+        List<CompletableFuture<String>> futures = inOneGroup(
+                () -> insert("a"),
+                () -> {
+                    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                        @Override
+                        public void beforeCommit(boolean readOnly) {
+                            throw new IllegalStateException("Commit refused");
+                        }
+                    });
+                    return insert("b");
+                },
+                () -> insert("c"));
+
+        assertEquals("a", futures.get(0).join());
+        assertEquals("c", futures.get(2).join());
+        CompletionException failure = assertThrows(CompletionException.class, () -> futures.get(1).join());
+        assertInstanceOf(IllegalStateException.class, failure.getCause());
+        assertEquals(List.of("a", "c"), stored());
+    }
+
+    // A query auto-flushes the inserts earlier writes left pending, so a constraint
+    // failure can surface in a later write; the writes are then committed one by one
+    // and only the write that made the bad row fails
+    @Test
+    void flushFailureIsNotBlamedOnTheQueryingWrite() {
+        List<CompletableFuture<String>> futures = inOneGroup(
+                () -> insert("a"),
+                () -> {
+                    // Ids are assigned in memory, so the insert waits for the next flush;
+                    // a row written directly under the same id makes that insert fail
+                    Room room = roomRepository.save(
+                            new Room(userRepository.getReferenceById(1L), "Kitchen", "Ground", null));
+                    jdbcTemplate.update("insert into rooms (id, name, floor_label, user_id) values (?, ?, ?, ?)",
+                            room.getId(), "Taken", "Ground", 1L);
+                    return "duplicate room";
+                },
+                () -> {
+                    roomRepository.findResponsesByUserId(-1L);
+                    return insert("c");
+                });
+
+        assertEquals("a", futures.get(0).join());
+        assertEquals("c", futures.get(2).join());
+        CompletionException failure = assertThrows(CompletionException.class, () -> futures.get(1).join());
+        assertInstanceOf(DataAccessException.class, failure.getCause());
+        assertEquals(List.of("a", "c"), stored());
+    }
+
+    // A database failure fails the whole group at once; nothing is retried
+    @Test
+    void databaseFailureFailsGroupWithoutRetry() {
+        AtomicInteger runs = new AtomicInteger();
+        List<CompletableFuture<String>> futures = inOneGroup(
+                () -> {
+                    runs.incrementAndGet();
+                    return insert("a");
+                },
+                () -> {
+                    runs.incrementAndGet();
+                    throw new DataAccessResourceFailureException("Connection is not available");
+                },
+                () -> {
+                    runs.incrementAndGet();
+                    return insert("c");
+                });
+
+        for (CompletableFuture<String> future : futures) {
+            CompletionException failure = assertThrows(CompletionException.class, future::join);
+            assertInstanceOf(DataAccessResourceFailureException.class, failure.getCause());
+        }
+        assertEquals(2, runs.get());
+        assertEquals(List.of(), stored());
+    }
+
+    @Test
+    void recognisesDatabaseFailures() {
+        assertTrue(WriteQueue.isInfrastructureFailure(
+                new RuntimeException(new SQLiteException("database is locked", SQLiteErrorCode.SQLITE_BUSY))));
+        assertTrue(WriteQueue.isInfrastructureFailure(
+                new SQLiteException("snapshot", SQLiteErrorCode.SQLITE_BUSY_SNAPSHOT)));
+        assertFalse(WriteQueue.isInfrastructureFailure(
+                new SQLiteException("constraint", SQLiteErrorCode.SQLITE_CONSTRAINT_UNIQUE)));
+        assertFalse(WriteQueue.isInfrastructureFailure(new IllegalArgumentException("Room not found")));
+    }
+
+    // Helper: hold the writer with one write until the given writes are all queued, so
+    // they are collected into the same group
+    @SafeVarargs
+    private List<CompletableFuture<String>> inOneGroup(Supplier<String>... writes) {
+        CountDownLatch holding = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Void> blocker = writeQueue.submit(() -> {
+            holding.countDown();
+            await(release);
+            return null;
+        });
+        await(holding);
+
+        List<CompletableFuture<String>> futures = new ArrayList<>();
+        for (Supplier<String> write : writes) {
+            futures.add(writeQueue.submit(write));
+        }
+        release.countDown();
+        blocker.join();
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0]))
+                .exceptionally(e -> null)
+                .join();
+        return futures;
+    }
+
+    private String insert(String name) {
+        jdbcTemplate.update("insert into users (email, name, password, username) values (?, ?, 'unused', ?)",
+                prefix + name + "@example.com", name, prefix + name);
+        return name;
+    }
+
+    private List<String> stored() {
+        return jdbcTemplate.queryForList("select name from users where username like ? order by name",
+                String.class, prefix + "%");
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(10, TimeUnit.SECONDS), "Timed out waiting for the writer");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ * File: JwtUtilTests.java
+ * Description: Checks JwtUtil's verified-token cache: expiry, eviction and which
+ *              tokens are never cached.
+ * Author: Liam Connell
+ * Date: 2026-10-17
+ */
+
+package com.currently.currently_backend.util;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Class: JwtUtilTests
+ * Purpose: Verify tokens through a JwtUtil with a small cache and read the outcome from
+ *          its currently.jwt.cache.* meters. No Spring context is involved.
+ */
+class JwtUtilTests {
+
+    private static final long HOUR = 60 * 60 * 1000L;
+
+    private final SimpleMeterRegistry meters = new SimpleMeterRegistry();
+
+    @Test
+    void cachedTokenIsRejectedOnceExpired() throws InterruptedException {
+        JwtUtil jwtUtil = new JwtUtil(meters, 100);
+        // Expiry is stored in whole seconds, so give it at least one full second
+        long expiresAt = (System.currentTimeMillis() / 1000 + 2) * 1000;
+        String token = jwtUtil.generateToken("a@example.com", 1L, expiresAt);
+
+        assertEquals(new AuthenticatedUser(1L, "a@example.com"), jwtUtil.verify(token));
+        assertNotNull(jwtUtil.verify(token));
+        assertEquals(1, hits());
+
+        Thread.sleep(Math.max(0, expiresAt - System.currentTimeMillis()) + 100);
+
+        assertNull(jwtUtil.verify(token));
+        assertEquals(1, hits());
+        assertEquals(0, size());
+    }
+
+    // When full, expired tokens go first; only then is the cache cut back to 90%
+    @Test
+    void evictsExpiredTokensBeforeTrimming() throws InterruptedException {
+        JwtUtil jwtUtil = new JwtUtil(meters, 10);
+        long soon = (System.currentTimeMillis() / 1000 + 2) * 1000;
+        List<String> valid = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            jwtUtil.verify(jwtUtil.generateToken("expiring" + i + "@example.com", 100L + i, soon));
+        }
+        for (int i = 0; i < 7; i++) {
+            String token = jwtUtil.generateToken("valid" + i + "@example.com", 200L + i,
+                    System.currentTimeMillis() + HOUR);
+            valid.add(token);
+            jwtUtil.verify(token);
+        }
+        assertEquals(10, size());
+        Thread.sleep(Math.max(0, soon - System.currentTimeMillis()) + 100);
+
+        // Full: the three expired tokens are dropped, which is enough
+        jwtUtil.verify(jwtUtil.generateToken("new0@example.com", 300L, System.currentTimeMillis() + HOUR));
+        assertEquals(3, evictions());
+        assertEquals(8, size());
+        for (String token : valid) {
+            assertNotNull(jwtUtil.verify(token));
+        }
+        assertEquals(7, hits());
+
+        // Full again with nothing expired: cut back to 9 entries before adding
+        for (int i = 1; i <= 3; i++) {
+            jwtUtil.verify(jwtUtil.generateToken("new" + i + "@example.com", 300L + i,
+                    System.currentTimeMillis() + HOUR));
+        }
+        assertEquals(4, evictions());
+        assertEquals(10, size());
+    }
+
+    @Test
+    void tokenWithoutUserIdIsRejected() {
+        JwtUtil jwtUtil = new JwtUtil(meters, 100);
+        String token = jwtUtil.generateToken("a@example.com", null, System.currentTimeMillis() + HOUR);
+
+        assertNull(jwtUtil.verify(token));
+        assertNull(jwtUtil.verify(token));
+        assertEquals(0, size());
+        assertEquals(0, hits());
+    }
+
+    // The cache is keyed by the whole token, so a changed signature is a miss that fails
+    // verification, even while the genuine token is cached
+    @Test
+    void tamperedSignatureNeverHitsTheCache() {
+        JwtUtil jwtUtil = new JwtUtil(meters, 100);
+        String token = jwtUtil.generateToken("a@example.com", 1L);
+        assertNotNull(jwtUtil.verify(token));
+
+        // A character inside the signature (the last one also carries padding bits)
+        int at = token.length() - 10;
+        char flipped = token.charAt(at) == 'A' ? 'B' : 'A';
+        String tampered = token.substring(0, at) + flipped + token.substring(at + 1);
+
+        assertNull(jwtUtil.verify(tampered));
+        assertNull(jwtUtil.verify(tampered));
+        assertEquals(0, hits());
+        assertEquals(1, size());
+        assertNotNull(jwtUtil.verify(token));
+        assertEquals(1, hits());
+    }
+
+    private long hits() {
+        return (long) meters.get("currently.jwt.cache.gets").tag("result", "hit").functionCounter().count();
+    }
+
+    private long evictions() {
+        return (long) meters.get("currently.jwt.cache.evictions").functionCounter().count();
+    }
+
+    private long size() {
+        return (long) meters.get("currently.jwt.cache.size").gauge().value();
+    }
+}